@@ -0,0 +1,37 @@
+package xyz.jphil.datahelper;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares alternative names under which a field is recognized when resolving names to fields.
+ *
+ * <p>The generated {@code fieldOrdinal(...)} lookup maps each alias to the ordinal of the
+ * annotated field, so readers that bind by ordinal (e.g. the JSON trait's {@code fromJson})
+ * accept the alias as an input key. Output always uses the declared field name; the
+ * by-name accessors ({@code getPropertyByName} / {@code setPropertyByName}) are unaffected.</p>
+ *
+ * <p>Example:</p>
+ * <pre>
+ * {@code
+ * @Data
+ * public final class Person extends Person_A {
+ *     @Alias({"full_name", "fullName"}) String name;
+ *     Integer age;
+ * }
+ * }
+ * </pre>
+ *
+ * <p>An alias must not collide with another field's name or alias of the same class; the
+ * processor reports such collisions as compile errors.</p>
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.FIELD)
+public @interface Alias {
+    /**
+     * The alternative names of the field.
+     */
+    String[] value();
+}
@@ -0,0 +1,41 @@
+package xyz.jphil.datahelper;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Fixes the stable ID of a field, which identifies it in version-tolerant formats (the indexed
+ * binary format, and protobuf unless {@code @ProtoField} overrides it) regardless of its name or
+ * position.
+ *
+ * <p>Fields without this annotation take their ID from the ID lock file when the processor is
+ * given one ({@code -Adatahelper.fieldIdLock=path}): the processor records every field's ID there
+ * and hands a new field the next ID never used by its class, so fields can be added, removed and
+ * reordered freely as long as the file is kept under version control. Without a lock file, IDs
+ * follow the declaration order (the first field is 1).</p>
+ *
+ * <p>Example:</p>
+ * <pre>
+ * {@code
+ * @Data
+ * public final class Order extends Order_A {
+ *     @FieldId(1) String id;
+ *     @FieldId(4) List<Line> lines;    // field 2 and 3 were removed: never reuse their IDs
+ * }
+ * }
+ * </pre>
+ *
+ * <p>To rename a field, keep its ID (annotate the new name, or rename it in the lock file). IDs
+ * must be unique within the class and between 1 and 268435455; the processor reports violations
+ * as compile errors.</p>
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.FIELD)
+public @interface FieldId {
+    /**
+     * The field ID.
+     */
+    int value();
+}
@@ -0,0 +1,57 @@
+package xyz.jphil.datahelper;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Fixes the protobuf field number of a field, and optionally its integer encoding, for the
+ * generated {@code Foo_ProtoCodec} and {@code Foo.proto}.
+ *
+ * <p>Fields without this annotation use their stable ID (see {@link FieldId}), which follows the
+ * declaration order unless fixed by {@code @FieldId} or the ID lock file, so numbers only stay
+ * stable across versions if fields are appended. Fix the numbers once a message is shared with
+ * other services, and never reuse a number. The encoding applies to integral fields, list
+ * elements and map values; other types have a single encoding.</p>
+ *
+ * <p>Example:</p>
+ * <pre>
+ * {@code
+ * @Data
+ * public final class Order extends Order_A {
+ *     @ProtoField(1) String id;
+ *     @ProtoField(value = 2, encoding = ProtoField.Encoding.ZIGZAG) long delta;
+ *     @ProtoField(5) List<Line> lines;
+ * }
+ * }
+ * </pre>
+ *
+ * <p>Numbers must be unique within the class, between 1 and 536870911, and outside the range
+ * 19000-19999 reserved by protobuf; the processor reports violations as compile errors.</p>
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.FIELD)
+public @interface ProtoField {
+    /**
+     * The field number.
+     */
+    int value();
+
+    /**
+     * The wire encoding of integral values.
+     */
+    Encoding encoding() default Encoding.DEFAULT;
+
+    /**
+     * Wire encodings of integral values.
+     */
+    enum Encoding {
+        /** {@code int32} / {@code int64}: varint; negative values take 10 bytes. */
+        DEFAULT,
+        /** {@code sint32} / {@code sint64}: zigzag varint, compact for small negative values. */
+        ZIGZAG,
+        /** {@code sfixed32} / {@code sfixed64}: always 4 / 8 bytes, compact for large values. */
+        FIXED
+    }
+}
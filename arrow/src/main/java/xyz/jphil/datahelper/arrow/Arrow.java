@@ -0,0 +1,124 @@
+package xyz.jphil.datahelper.arrow;
+
+import xyz.jphil.datahelper.DataHelper_I;
+import xyz.jphil.datahelper.DataHelper_IR;
+import xyz.jphil.datahelper.Field_I;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Apache Arrow IPC stream export and import of DTOs: the schema from the generated
+ * {@code FIELDS}, values columnar through the ordinal accessors, no native dependencies.
+ *
+ * <p>Example:</p>
+ * <pre>
+ * {@code
+ * try (ArrowStreamWriter out = Arrow.writer(Files.newOutputStream(path), Person_IR.FIELDS)) {
+ *     out.writeAll(people);                    // one record batch per 64K rows
+ * }
+ * try (Stream<Person> people = Arrow.stream(Files.newInputStream(path), Person::new)) {
+ *     List<Person_R> records = people.map(Person::toRecord).toList();
+ * }
+ * }
+ * </pre>
+ *
+ * <p>The output is the IPC <em>stream</em> format (schema, record batches, end-of-stream
+ * marker), as read by {@code pyarrow.ipc.open_stream}, Arrow Java's {@code ArrowStreamReader}
+ * or DuckDB / Polars. See {@link ArrowSchema} for how fields map to Arrow types and
+ * {@link ArrowStreamReader} for what is accepted on read.</p>
+ */
+public final class Arrow {
+
+    private Arrow() {
+    }
+
+    /**
+     * Open a writer with a column per field, typically a DTO's {@code FIELDS}, batching
+     * 64K rows per record batch. The schema message is written immediately.
+     *
+     * @see ArrowSchema#of(List)
+     */
+    public static ArrowStreamWriter writer(OutputStream out, List<? extends Field_I<?, ?>> fields) throws IOException {
+        return new ArrowStreamWriter(out, ArrowSchema.of(fields), ArrowStreamWriter.DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Open a writer with a column per field and {@code batchSize} rows per record batch.
+     */
+    public static ArrowStreamWriter writer(OutputStream out, List<? extends Field_I<?, ?>> fields, int batchSize) throws IOException {
+        return new ArrowStreamWriter(out, ArrowSchema.of(fields), batchSize);
+    }
+
+    /**
+     * Open a writer for a schema built once and reused across streams.
+     */
+    public static ArrowStreamWriter writer(OutputStream out, ArrowSchema schema, int batchSize) throws IOException {
+        return new ArrowStreamWriter(out, schema, batchSize);
+    }
+
+    /**
+     * Write all DTOs as one stream and close it.
+     */
+    public static void write(OutputStream out, List<? extends Field_I<?, ?>> fields,
+                             Iterable<? extends DataHelper_IR<?>> dtos) throws IOException {
+        try (ArrowStreamWriter writer = writer(out, fields)) {
+            writer.writeAll(dtos);
+        }
+    }
+
+    /**
+     * Write the remaining DTOs of an iterator as one stream and close it.
+     */
+    public static void write(OutputStream out, List<? extends Field_I<?, ?>> fields,
+                             Iterator<? extends DataHelper_IR<?>> dtos) throws IOException {
+        try (ArrowStreamWriter writer = writer(out, fields)) {
+            writer.writeAll(dtos);
+        }
+    }
+
+    /**
+     * Open a reader over an Arrow IPC stream, decoding one record batch at a time.
+     */
+    public static <E extends DataHelper_I<E>> ArrowStreamReader<E> reader(InputStream in, Supplier<E> factory) {
+        return new ArrowStreamReader<>(in, factory);
+    }
+
+    /**
+     * Stream the rows of an Arrow IPC stream; closing the stream closes the input.
+     */
+    public static <E extends DataHelper_I<E>> Stream<E> stream(InputStream in, Supplier<E> factory) {
+        ArrowStreamReader<E> reader = reader(in, factory);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(reader, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(() -> {
+                    try {
+                        reader.close();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
+    /**
+     * Read every row of an Arrow IPC stream and close it.
+     */
+    public static <E extends DataHelper_I<E>> List<E> readAll(InputStream in, Supplier<E> factory) throws IOException {
+        try (ArrowStreamReader<E> reader = reader(in, factory)) {
+            List<E> rows = new ArrayList<>();
+            for (List<E> batch; (batch = reader.nextBatch()) != null; ) {
+                rows.addAll(batch);
+            }
+            return rows;
+        }
+    }
+}
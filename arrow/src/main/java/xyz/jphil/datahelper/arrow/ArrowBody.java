@@ -0,0 +1,100 @@
+package xyz.jphil.datahelper.arrow;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * The body of one record batch under construction: its buffers laid out back to back, each
+ * starting at a multiple of 8 and zero-padded, plus the field nodes and buffer locations the
+ * batch's metadata lists. Reused from batch to batch, so it only grows to the largest batch.
+ */
+final class ArrowBody {
+
+    private static final VarHandle SHORTS = MethodHandles.byteArrayViewVarHandle(short[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle INTS = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    byte[] bytes = new byte[64 * 1024];
+    int size = 0;
+    /** Field nodes as (length, null count) pairs, in depth-first order. */
+    long[] nodes = new long[32];
+    int nodeCount = 0;
+    /** Buffers as (offset, length) pairs, in depth-first order. */
+    long[] buffers = new long[64];
+    int bufferCount = 0;
+
+    void reset() {
+        size = 0;
+        nodeCount = 0;
+        bufferCount = 0;
+    }
+
+    void node(long length, long nullCount) {
+        if (2 * nodeCount + 2 > nodes.length) {
+            nodes = Arrays.copyOf(nodes, nodes.length * 2);
+        }
+        nodes[2 * nodeCount] = length;
+        nodes[2 * nodeCount + 1] = nullCount;
+        nodeCount++;
+    }
+
+    /**
+     * Start a buffer of at most {@code maxLength} bytes, zeroed; returns its offset.
+     */
+    int begin(long maxLength) {
+        ensure(maxLength);
+        Arrays.fill(bytes, size, size + (int) maxLength, (byte) 0);
+        return size;
+    }
+
+    /** Make room for {@code extra} more bytes past the current end plus padding, e.g. to grow a buffer being written. */
+    void ensure(long extra) {
+        long needed = size + extra + 8;
+        if (needed > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Record batch body exceeds 2 GiB; use a smaller batch size");
+        }
+        if (needed > bytes.length) {
+            bytes = Arrays.copyOf(bytes, (int) Math.min(Integer.MAX_VALUE - 8, Math.max(needed, 2L * bytes.length)));
+        }
+    }
+
+    /**
+     * Finish the buffer started at {@code start} with {@code length} bytes and pad to 8.
+     */
+    void end(int start, int length) {
+        if (2 * bufferCount + 2 > buffers.length) {
+            buffers = Arrays.copyOf(buffers, buffers.length * 2);
+        }
+        buffers[2 * bufferCount] = start;
+        buffers[2 * bufferCount + 1] = length;
+        bufferCount++;
+        int end = start + length;
+        int padded = (end + 7) & -8;
+        Arrays.fill(bytes, end, padded, (byte) 0);
+        size = padded;
+    }
+
+    /** An absent buffer, e.g. the validity bitmap of a column without nulls. */
+    void empty() {
+        end(size, 0);
+    }
+
+    void putShort(int pos, short value) {
+        SHORTS.set(bytes, pos, value);
+    }
+
+    void putInt(int pos, int value) {
+        INTS.set(bytes, pos, value);
+    }
+
+    void putLong(int pos, long value) {
+        LONGS.set(bytes, pos, value);
+    }
+
+    /** Set bit {@code index} of the bitmap at {@code pos} (least significant bit first). */
+    void setBit(int pos, int index) {
+        bytes[pos + (index >>> 3)] |= (byte) (1 << (index & 7));
+    }
+}
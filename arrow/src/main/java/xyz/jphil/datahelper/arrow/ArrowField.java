@@ -0,0 +1,190 @@
+package xyz.jphil.datahelper.arrow;
+
+import xyz.jphil.datahelper.arrow.ArrowStreamReader.ArrowFormatException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One field of an Arrow schema: a column, or a child of a struct, list or map column.
+ *
+ * <p>Only the types this library writes and binds are modelled: signed/unsigned integers,
+ * floating point, bool, utf8, struct, list and map. Other types read from a foreign stream are
+ * kept as {@link #OTHER} with their type id, enough to skip their buffers.</p>
+ */
+final class ArrowField {
+
+    static final byte INT = 0;
+    static final byte FLOAT = 1;
+    static final byte BOOL = 2;
+    static final byte UTF8 = 3;
+    static final byte STRUCT = 4;
+    static final byte LIST = 5;
+    static final byte MAP = 6;
+    static final byte OTHER = 7;
+
+    // Type union ids (Schema.fbs)
+    static final int TYPE_NULL = 1;
+    static final int TYPE_INT = 2;
+    static final int TYPE_FLOATING_POINT = 3;
+    static final int TYPE_BINARY = 4;
+    static final int TYPE_UTF8 = 5;
+    static final int TYPE_BOOL = 6;
+    static final int TYPE_LIST = 12;
+    static final int TYPE_STRUCT = 13;
+    static final int TYPE_UNION = 14;
+    static final int TYPE_FIXED_SIZE_LIST = 16;
+    static final int TYPE_MAP = 17;
+    static final int TYPE_LARGE_BINARY = 19;
+    static final int TYPE_LARGE_UTF8 = 20;
+    static final int TYPE_LARGE_LIST = 21;
+
+    final String name;
+    final boolean nullable;
+    final byte kind;
+    /** INT: 8/16/32/64; FLOAT: 16/32/64. */
+    final int bitWidth;
+    final boolean signed;
+    /** The type union id, for {@link #OTHER}. */
+    final int typeId;
+    final List<ArrowField> children;
+
+    ArrowField(String name, boolean nullable, byte kind, int bitWidth, boolean signed, int typeId, List<ArrowField> children) {
+        this.name = name;
+        this.nullable = nullable;
+        this.kind = kind;
+        this.bitWidth = bitWidth;
+        this.signed = signed;
+        this.typeId = typeId;
+        this.children = children;
+    }
+
+    static ArrowField leaf(String name, byte kind, int bitWidth) {
+        int typeId = switch (kind) {
+            case INT -> TYPE_INT;
+            case FLOAT -> TYPE_FLOATING_POINT;
+            case BOOL -> TYPE_BOOL;
+            default -> TYPE_UTF8;
+        };
+        return new ArrowField(name, true, kind, bitWidth, true, typeId, List.of());
+    }
+
+    static ArrowField struct(String name, boolean nullable, List<ArrowField> children) {
+        return new ArrowField(name, nullable, STRUCT, 0, false, TYPE_STRUCT, children);
+    }
+
+    static ArrowField list(String name, ArrowField item) {
+        return new ArrowField(name, true, LIST, 0, false, TYPE_LIST, List.of(item));
+    }
+
+    /** A map column: a list of non-null {@code entries} structs of a non-null key and a value. */
+    static ArrowField map(String name, ArrowField key, ArrowField value) {
+        ArrowField requiredKey = new ArrowField(key.name, false, key.kind, key.bitWidth, key.signed, key.typeId, key.children);
+        return new ArrowField(name, true, MAP, 0, false, TYPE_MAP, List.of(struct("entries", false, List.of(requiredKey, value))));
+    }
+
+    /** Number of body buffers of this field alone (not its children), per the columnar format. */
+    int bufferCount() {
+        return switch (typeId) {
+            case TYPE_NULL -> 0;
+            case TYPE_STRUCT, TYPE_FIXED_SIZE_LIST -> 1;
+            case TYPE_BINARY, TYPE_UTF8, TYPE_LARGE_BINARY, TYPE_LARGE_UTF8 -> 3;
+            case TYPE_UNION -> -1;  // depends on the mode; not supported
+            default -> typeId <= TYPE_LARGE_LIST ? 2 : -1;  // validity plus values or offsets; newer layouts not supported
+        };
+    }
+
+    // ========== Metadata ==========
+
+    /**
+     * This field as a FlatBuffers {@code Field} table.
+     */
+    FlatBufferBuilder.Table toFlatBuffer() {
+        FlatBufferBuilder.Table type = switch (kind) {
+            case INT -> new FlatBufferBuilder.Table(2).addInt(0, bitWidth).addBool(1, signed);
+            case FLOAT -> new FlatBufferBuilder.Table(1).addShort(0, bitWidth == 16 ? 0 : bitWidth == 32 ? 1 : 2);
+            case MAP -> new FlatBufferBuilder.Table(1).addBool(0, false);
+            default -> new FlatBufferBuilder.Table(0);
+        };
+        List<FlatBufferBuilder.Table> childTables = new ArrayList<>(children.size());
+        for (ArrowField child : children) {
+            childTables.add(child.toFlatBuffer());
+        }
+        return new FlatBufferBuilder.Table(7)
+                .addString(0, name)
+                .addBool(1, nullable)
+                .addByte(2, typeId)
+                .addTable(3, type)
+                .addTables(5, childTables);  // always present: readers reject a missing children vector
+    }
+
+    /**
+     * Read a FlatBuffers {@code Field} table.
+     *
+     * @throws ArrowFormatException for dictionary-encoded fields
+     */
+    static ArrowField fromFlatBuffer(FlatBufferTable field) {
+        String name = field.getString(0);
+        boolean nullable = field.getBool(1, false);
+        int typeId = field.getByte(2, 0);
+        FlatBufferTable type = field.getTable(3);
+        if (field.getTable(4) != null) {
+            throw new ArrowFormatException("Dictionary-encoded column '" + name + "' is not supported");
+        }
+        int childCount = field.vectorLength(5);
+        List<ArrowField> children = new ArrayList<>(childCount);
+        for (int i = 0; i < childCount; i++) {
+            children.add(fromFlatBuffer(field.vectorTable(5, i)));
+        }
+        byte kind = OTHER;
+        int bitWidth = 0;
+        boolean signed = false;
+        switch (typeId) {
+            case TYPE_INT -> {
+                kind = INT;
+                bitWidth = type.getInt(0, 0);
+                signed = type.getBool(1, false);
+            }
+            case TYPE_FLOATING_POINT -> {
+                kind = FLOAT;
+                bitWidth = switch (type.getShort(0, 0)) {
+                    case 0 -> 16;
+                    case 1 -> 32;
+                    default -> 64;
+                };
+            }
+            case TYPE_BOOL -> kind = BOOL;
+            case TYPE_UTF8 -> kind = UTF8;
+            case TYPE_STRUCT -> kind = STRUCT;
+            case TYPE_LIST -> kind = LIST;
+            case TYPE_MAP -> kind = MAP;
+            default -> { }
+        }
+        return new ArrowField(name == null ? "" : name, nullable, kind, bitWidth, signed, typeId, children);
+    }
+
+    @Override
+    public String toString() {
+        return name + ": " + typeString();
+    }
+
+    private String typeString() {
+        return switch (kind) {
+            case INT -> (signed ? "int" : "uint") + bitWidth;
+            case FLOAT -> bitWidth == 16 ? "halffloat" : bitWidth == 32 ? "float" : "double";
+            case BOOL -> "bool";
+            case UTF8 -> "utf8";
+            case STRUCT -> {
+                StringBuilder sb = new StringBuilder("struct<");
+                for (int i = 0; i < children.size(); i++) {
+                    sb.append(i > 0 ? ", " : "").append(children.get(i));
+                }
+                yield sb.append('>').toString();
+            }
+            case LIST -> "list<" + children.get(0).typeString() + ">";
+            case MAP -> "map<" + children.get(0).children.get(0).typeString() + ", "
+                    + children.get(0).children.get(1).typeString() + ">";
+            default -> "type#" + typeId;
+        };
+    }
+}
@@ -0,0 +1,151 @@
+package xyz.jphil.datahelper.arrow;
+
+import xyz.jphil.datahelper.DataField;
+import xyz.jphil.datahelper.Field_I;
+import xyz.jphil.datahelper.ListDataField;
+import xyz.jphil.datahelper.MapDataField;
+import xyz.jphil.datahelper.arrow.ArrowStreamReader.ArrowFormatException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The Arrow schema of a DTO type, derived from its generated {@code FIELDS}: one column per
+ * field, in declaration order, all nullable.
+ *
+ * <table>
+ *   <caption>Field to column types</caption>
+ *   <tr><th>Field</th><th>Arrow type</th></tr>
+ *   <tr><td>{@code byte}, {@code short}, {@code int}, {@code long} (and boxes)</td><td>int8, int16, int32, int64</td></tr>
+ *   <tr><td>{@code float}, {@code double} (and boxes)</td><td>float (single), double</td></tr>
+ *   <tr><td>{@code boolean}</td><td>bool</td></tr>
+ *   <tr><td>{@code String}, {@code char} and any other scalar</td><td>utf8 (its {@code toString()})</td></tr>
+ *   <tr><td>nested DTO ({@code DataField})</td><td>struct of the nested type's columns</td></tr>
+ *   <tr><td>list of DTOs ({@code ListDataField})</td><td>list of struct</td></tr>
+ *   <tr><td>map to DTOs ({@code MapDataField})</td><td>map of the key type to struct</td></tr>
+ * </table>
+ *
+ * <p>Lists and maps of scalars are left out: their element types are not part of the field
+ * metadata. A DTO type that contains itself, directly or indirectly, has no finite schema and is
+ * rejected. Schemas are immutable and thread-safe.</p>
+ */
+public final class ArrowSchema {
+
+    final List<ArrowField> fields;
+
+    private ArrowSchema(List<ArrowField> fields) {
+        this.fields = List.copyOf(fields);
+    }
+
+    /**
+     * The schema for the given field symbols, typically a DTO's {@code FIELDS}.
+     *
+     * @throws IllegalArgumentException if a nested DTO type contains itself, or no field has a column
+     */
+    public static ArrowSchema of(List<? extends Field_I<?, ?>> fields) {
+        List<ArrowField> columns = columns(fields, new HashSet<>());
+        if (columns.isEmpty()) {
+            throw new IllegalArgumentException("No columns: every field is a list or map of scalars");
+        }
+        return new ArrowSchema(columns);
+    }
+
+    /**
+     * The schema for the given field symbols.
+     *
+     * @see #of(List)
+     */
+    public static ArrowSchema of(Field_I<?, ?>... fields) {
+        return of(Arrays.asList(fields));
+    }
+
+    /**
+     * The top-level column names, in order.
+     */
+    public List<String> columnNames() {
+        List<String> names = new ArrayList<>(fields.size());
+        for (ArrowField field : fields) {
+            names.add(field.name);
+        }
+        return names;
+    }
+
+    private static List<ArrowField> columns(List<? extends Field_I<?, ?>> fields, Set<Class<?>> enclosing) {
+        List<ArrowField> columns = new ArrayList<>(fields.size());
+        for (Field_I<?, ?> field : fields) {
+            String name = field.name();
+            if (field instanceof DataField<?, ?> nested) {
+                columns.add(ArrowField.struct(name, true, nestedColumns(nested.type(), nested.nestedFields(), enclosing)));
+            } else if (field instanceof ListDataField<?, ?> list) {
+                ArrowField item = ArrowField.struct("item", true, nestedColumns(list.elementType(), list.elementFields(), enclosing));
+                columns.add(ArrowField.list(name, item));
+            } else if (field instanceof MapDataField<?, ?, ?> map) {
+                ArrowField value = ArrowField.struct("value", true, nestedColumns(map.valueType(), map.valueFields(), enclosing));
+                columns.add(ArrowField.map(name, leaf("key", map.keyType()), value));
+            } else if (!Collection.class.isAssignableFrom(field.type()) && !Map.class.isAssignableFrom(field.type())) {
+                columns.add(leaf(name, field.type()));
+            }
+        }
+        return columns;
+    }
+
+    private static List<ArrowField> nestedColumns(Class<?> type, List<? extends Field_I<?, ?>> fields, Set<Class<?>> enclosing) {
+        if (!enclosing.add(type)) {
+            throw new IllegalArgumentException(type.getName() + " contains itself and has no finite Arrow schema");
+        }
+        List<ArrowField> columns = columns(fields, enclosing);
+        enclosing.remove(type);
+        return columns;
+    }
+
+    private static ArrowField leaf(String name, Class<?> type) {
+        if (type == Integer.class || type == int.class) return ArrowField.leaf(name, ArrowField.INT, 32);
+        if (type == Long.class || type == long.class) return ArrowField.leaf(name, ArrowField.INT, 64);
+        if (type == Short.class || type == short.class) return ArrowField.leaf(name, ArrowField.INT, 16);
+        if (type == Byte.class || type == byte.class) return ArrowField.leaf(name, ArrowField.INT, 8);
+        if (type == Double.class || type == double.class) return ArrowField.leaf(name, ArrowField.FLOAT, 64);
+        if (type == Float.class || type == float.class) return ArrowField.leaf(name, ArrowField.FLOAT, 32);
+        if (type == Boolean.class || type == boolean.class) return ArrowField.leaf(name, ArrowField.BOOL, 0);
+        return ArrowField.leaf(name, ArrowField.UTF8, 0);
+    }
+
+    // ========== Metadata ==========
+
+    /**
+     * This schema as a FlatBuffers {@code Schema} table (little-endian).
+     */
+    FlatBufferBuilder.Table toFlatBuffer() {
+        List<FlatBufferBuilder.Table> tables = new ArrayList<>(fields.size());
+        for (ArrowField field : fields) {
+            tables.add(field.toFlatBuffer());
+        }
+        return new FlatBufferBuilder.Table(4).addTables(1, tables);
+    }
+
+    /**
+     * Read a FlatBuffers {@code Schema} table.
+     *
+     * @throws ArrowFormatException for big-endian data
+     */
+    static ArrowSchema fromFlatBuffer(FlatBufferTable schema) {
+        if (schema.getShort(0, 0) != 0) {
+            throw new ArrowFormatException("Big-endian Arrow data is not supported");
+        }
+        int count = schema.vectorLength(1);
+        List<ArrowField> fields = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            fields.add(ArrowField.fromFlatBuffer(schema.vectorTable(1, i)));
+        }
+        return new ArrowSchema(fields);
+    }
+
+    @Override
+    public String toString() {
+        return "ArrowSchema" + fields;
+    }
+}
@@ -0,0 +1,721 @@
+package xyz.jphil.datahelper.arrow;
+
+import xyz.jphil.datahelper.DataHelper_I;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.Supplier;
+
+import static xyz.jphil.datahelper.arrow.ArrowStreamWriter.*;
+
+/**
+ * Reads an Arrow IPC stream back into DTOs, one record batch at a time.
+ *
+ * <p>The schema message is matched against a prototype from the factory once: each column is
+ * bound to the field of the same name (or alias), struct columns to nested DTO fields, lists of
+ * structs to lists of DTOs and maps with struct values to maps of DTOs. Columns that name no
+ * field, or whose shape does not fit the field's, are ignored. Each batch is then decoded column
+ * by column straight from its buffers into the batch's DTOs through the ordinal setters
+ * (primitive fields without boxing). Memory use is bounded by one batch.</p>
+ *
+ * <p>Streams from other Arrow implementations are read as long as their columns are of the
+ * types in {@link ArrowSchema} (any integer width and signedness, half/single/double floats)
+ * or can be skipped; dictionary batches, compressed bodies and big-endian data are rejected with
+ * an {@link ArrowFormatException}, as is malformed input. {@link #close()} closes the underlying
+ * stream. Obtain instances through {@link Arrow#reader} / {@link Arrow#stream}.</p>
+ *
+ * @param <E> the row DTO type
+ */
+public final class ArrowStreamReader<E extends DataHelper_I<E>> implements Iterator<E>, Closeable {
+
+    private static final VarHandle SHORTS = MethodHandles.byteArrayViewVarHandle(short[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle INTS = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private final InputStream in;
+    private final Supplier<E> factory;
+    private ArrowSchema schema;
+    private Member[] bindings;
+    private boolean finished = false;
+
+    private final byte[] prefix = new byte[4];
+    private byte[] metadata = new byte[1024];
+    private byte[] body = new byte[64 * 1024];
+    private long bodyLength;
+    private long offset = 0;            // bytes consumed from the stream
+    private long messageOffset;
+
+    // Cursor over the current batch's nodes and buffers
+    private FlatBufferTable batchMetadata;
+    private int nodeCount;
+    private int bufferCount;
+    private int node;
+    private int buffer;
+
+    private List<E> batch = List.of();
+    private int index = 0;
+
+    ArrowStreamReader(InputStream in, Supplier<E> factory) {
+        this.in = in;
+        this.factory = factory;
+    }
+
+    /**
+     * The stream's schema, reading the schema message if that has not happened yet.
+     */
+    public ArrowSchema schema() {
+        if (schema == null) {
+            try {
+                readSchema();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return schema;
+    }
+
+    /**
+     * The rows of the next record batch (empty batches are skipped), or null at the end of the
+     * stream. Rows of a batch already partly consumed through {@link #next()} are not returned
+     * again.
+     */
+    public List<E> nextBatch() {
+        if (index < batch.size()) {
+            List<E> rest = batch.subList(index, batch.size());
+            batch = List.of();
+            index = 0;
+            return rest;
+        }
+        return readBatch() ? consumeBatch() : null;
+    }
+
+    private List<E> consumeBatch() {
+        List<E> rows = batch;
+        batch = List.of();
+        index = 0;
+        return rows;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return index < batch.size() || readBatch();
+    }
+
+    @Override
+    public E next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return batch.get(index++);
+    }
+
+    /**
+     * Close the underlying stream.
+     */
+    @Override
+    public void close() throws IOException {
+        finished = true;
+        batch = List.of();
+        in.close();
+    }
+
+    // ========== Messages ==========
+
+    private void readSchema() throws IOException {
+        int type = readMessage();
+        if (type != HEADER_SCHEMA) {
+            throw new ArrowFormatException("Expected a schema message at byte offset " + messageOffset
+                    + (type < 0 ? ", found the end of the stream" : ", found message type " + type));
+        }
+        try {
+            schema = ArrowSchema.fromFlatBuffer(batchMetadata);
+            E prototype = factory.get();
+            bindings = resolve(schema.fields, prototype);
+        } catch (IndexOutOfBoundsException e) {
+            throw new ArrowFormatException("Malformed schema message at byte offset " + messageOffset, e);
+        }
+    }
+
+    /** Read the next non-empty batch into {@link #batch}; false at the end of the stream. */
+    private boolean readBatch() {
+        if (finished) {
+            return false;
+        }
+        try {
+            if (schema == null) {
+                readSchema();
+            }
+            while (true) {
+                int type = readMessage();
+                if (type < 0) {
+                    finished = true;
+                    return false;
+                }
+                if (type == HEADER_DICTIONARY_BATCH) {
+                    throw new ArrowFormatException("Dictionary batches are not supported (byte offset " + messageOffset + ")");
+                }
+                if (type == HEADER_RECORD_BATCH) {
+                    batch = decodeBatch();
+                    index = 0;
+                    if (!batch.isEmpty()) {
+                        return true;
+                    }
+                }
+                // other message types (tensors) carry no rows
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (IndexOutOfBoundsException | ClassCastException | NegativeArraySizeException e) {
+            throw new ArrowFormatException("Malformed record batch at byte offset " + messageOffset, e);
+        }
+    }
+
+    /**
+     * Read one encapsulated message: its metadata into {@link #batchMetadata} and its body into
+     * {@link #body}. Returns the header type, or -1 at the end of the stream.
+     */
+    private int readMessage() throws IOException {
+        messageOffset = offset;
+        int n = readUpTo(prefix, 4);
+        if (n == 0) {
+            return -1;  // no end-of-stream marker: tolerated
+        }
+        if (n < 4) {
+            throw truncated();
+        }
+        int length = (int) INTS.get(prefix, 0);
+        if (length == CONTINUATION) {
+            if (readUpTo(prefix, 4) < 4) {
+                throw truncated();
+            }
+            length = (int) INTS.get(prefix, 0);
+        }
+        // otherwise a pre-1.0 message without the continuation marker
+        if (length == 0) {
+            return -1;
+        }
+        if (length < 0) {
+            throw new ArrowFormatException("Invalid metadata length " + length + " at byte offset " + messageOffset);
+        }
+        metadata = readFully(metadata, length);
+        try {
+            FlatBufferTable message = FlatBufferTable.root(metadata, length);
+            int version = message.getShort(0, 0);
+            if (version < METADATA_V5 - 1) {
+                throw new ArrowFormatException("Unsupported metadata version " + version + " at byte offset " + messageOffset);
+            }
+            int type = message.getByte(1, 0);
+            batchMetadata = message.getTable(2);
+            bodyLength = message.getLong(3, 0);
+            if (batchMetadata == null) {
+                throw new ArrowFormatException("Message without a header at byte offset " + messageOffset);
+            }
+            if (bodyLength < 0 || bodyLength > Integer.MAX_VALUE - 8) {
+                throw new ArrowFormatException("Unsupported body length " + bodyLength + " at byte offset " + messageOffset);
+            }
+            body = readFully(body, (int) bodyLength);
+            return type;
+        } catch (IndexOutOfBoundsException e) {
+            throw new ArrowFormatException("Malformed message metadata at byte offset " + messageOffset, e);
+        }
+    }
+
+    private int readUpTo(byte[] target, int length) throws IOException {
+        int n = in.readNBytes(target, 0, length);
+        offset += n;
+        return n;
+    }
+
+    /**
+     * Read {@code length} bytes into {@code target}, or a larger array replacing it. The array
+     * grows only as the bytes arrive, so a corrupt length fails as truncated rather than
+     * allocating it up front.
+     */
+    private byte[] readFully(byte[] target, int length) throws IOException {
+        int read = 0;
+        while (read < length) {
+            if (read == target.length) {
+                target = Arrays.copyOf(target, (int) Math.min(length, Math.max(2L * target.length, 64 * 1024)));
+            }
+            int n = in.read(target, read, Math.min(length, target.length) - read);
+            if (n < 0) {
+                throw truncated();
+            }
+            read += n;
+            offset += n;
+        }
+        return target;
+    }
+
+    private ArrowFormatException truncated() {
+        return new ArrowFormatException("Truncated message at byte offset " + messageOffset);
+    }
+
+    // ========== Record Batches ==========
+
+    private List<E> decodeBatch() {
+        FlatBufferTable recordBatch = batchMetadata;
+        if (recordBatch.getTable(3) != null) {
+            throw new ArrowFormatException("Compressed record batches are not supported (byte offset " + messageOffset + ")");
+        }
+        long length = recordBatch.getLong(0, 0);
+        if (length < 0 || length > Integer.MAX_VALUE - 8) {
+            throw new ArrowFormatException("Invalid batch length " + length + " at byte offset " + messageOffset);
+        }
+        int n = (int) length;
+        nodeCount = recordBatch.vectorLength(1);
+        bufferCount = recordBatch.vectorLength(2);
+        node = 0;
+        buffer = 0;
+        if (!schema.fields.isEmpty() && peekNodeLength() != n) {
+            // checked before the rows are allocated, so a corrupt length cannot exhaust the heap
+            throw new ArrowFormatException("Batch length " + n + " does not match its columns (byte offset " + messageOffset + ")");
+        }
+
+        List<E> rows = new ArrayList<>(n);
+        DataHelper_I<?>[] owners = new DataHelper_I<?>[n];
+        for (int i = 0; i < n; i++) {
+            E row = factory.get();
+            rows.add(row);
+            owners[i] = row;
+        }
+        List<ArrowField> fields = schema.fields;
+        for (int c = 0; c < fields.size(); c++) {
+            decodeMember(fields.get(c), bindings[c], owners, n);
+        }
+        return rows;
+    }
+
+    /** Length of the next field node, checked against the expected length. */
+    private int nextNode(ArrowField field, int expectedLength) {
+        if (node >= nodeCount) {
+            throw new ArrowFormatException("Record batch at byte offset " + messageOffset + " has too few field nodes");
+        }
+        long length = batchMetadata.vectorStructLong(1, node, 2, 0);
+        node++;
+        if (expectedLength >= 0 && length != expectedLength) {
+            throw new ArrowFormatException("Column '" + field.name + "' has " + length + " values, expected "
+                    + expectedLength + " (byte offset " + messageOffset + ")");
+        }
+        return (int) length;
+    }
+
+    /** Offset of the next buffer in {@link #body}, checked to hold at least {@code minLength} bytes; -1 if empty. */
+    private int nextBuffer(ArrowField field, long minLength) {
+        if (buffer >= bufferCount) {
+            throw new ArrowFormatException("Record batch at byte offset " + messageOffset + " has too few buffers");
+        }
+        long start = batchMetadata.vectorStructLong(2, buffer, 2, 0);
+        long length = batchMetadata.vectorStructLong(2, buffer, 2, 1);
+        buffer++;
+        if (start < 0 || length < 0 || start + length > bodyLength || length < minLength) {
+            throw new ArrowFormatException("Buffer of column '" + field.name + "' out of range in the record batch at byte offset "
+                    + messageOffset);
+        }
+        return length == 0 ? -1 : (int) start;
+    }
+
+    /** The validity bitmap offset, or -1 if every value is valid. */
+    private int nextValidity(ArrowField field, int length) {
+        int bitmap = nextBuffer(field, 0);
+        if (bitmap >= 0) {
+            long bytes = batchMetadata.vectorStructLong(2, buffer - 1, 2, 1);
+            if (bytes < (length + 7) / 8) {
+                throw new ArrowFormatException("Validity bitmap of column '" + field.name + "' too short (byte offset " + messageOffset + ")");
+            }
+        }
+        return bitmap;
+    }
+
+    private boolean isValid(int bitmap, int i) {
+        return bitmap < 0 || (body[bitmap + (i >>> 3)] & (1 << (i & 7))) != 0;
+    }
+
+    /** Step over a column (and its children) that is not bound. */
+    private void skip(ArrowField field) {
+        int buffers = field.bufferCount();
+        if (buffers < 0) {
+            throw new ArrowFormatException("Column '" + field.name + "' has an unsupported type (id " + field.typeId + ")");
+        }
+        nextNode(field, -1);
+        for (int b = 0; b < buffers; b++) {
+            nextBuffer(field, 0);
+        }
+        for (ArrowField child : field.children) {
+            skip(child);
+        }
+    }
+
+    /**
+     * Decode the column of {@code field} into its member of the owners (null owners are
+     * skipped). Without a binding the column is stepped over.
+     */
+    private void decodeMember(ArrowField field, Member member, DataHelper_I<?>[] owners, int n) {
+        if (member == null) {
+            skip(field);
+            return;
+        }
+        switch (field.kind) {
+            case ArrowField.STRUCT -> {
+                DataHelper_I<?>[] nested = decodeStruct(field, member.nested, owners, n, Creator.NESTED, member.name);
+                for (int i = 0; i < n; i++) {
+                    if (nested[i] != null) {
+                        owners[i].setPropertyByOrdinal(member.ordinal, nested[i]);
+                    }
+                }
+            }
+            case ArrowField.LIST -> decodeList(field, member, owners, n);
+            case ArrowField.MAP -> decodeMap(field, member, owners, n);
+            default -> decodeLeaf(field, member, owners, n, null);
+        }
+    }
+
+    private DataHelper_I<?>[] decodeStruct(ArrowField field, Member[] members, DataHelper_I<?>[] owners, int n,
+                                           Creator creator, String name) {
+        nextNode(field, n);
+        int validity = nextValidity(field, n);
+        DataHelper_I<?>[] objects = new DataHelper_I<?>[n];
+        for (int i = 0; i < n; i++) {
+            if (owners[i] != null && isValid(validity, i)) {
+                objects[i] = creator.create(owners[i], name);
+            }
+        }
+        for (int c = 0; c < field.children.size(); c++) {
+            decodeMember(field.children.get(c), members[c], objects, n);
+        }
+        return objects;
+    }
+
+    private void decodeList(ArrowField field, Member member, DataHelper_I<?>[] owners, int n) {
+        nextNode(field, n);
+        int validity = nextValidity(field, n);
+        int offsets = nextBuffer(field, 4L * (n + 1));
+        ArrowField item = field.children.get(0);
+        int childLength = peekNodeLength();
+        DataHelper_I<?>[] elementOwners = new DataHelper_I<?>[childLength];
+        for (int i = 0; i < n; i++) {
+            if (owners[i] != null && isValid(validity, i)) {
+                int from = offset(field, offsets, i, childLength);
+                int to = offset(field, offsets, i + 1, childLength);
+                for (int j = from; j < to; j++) {
+                    elementOwners[j] = owners[i];
+                }
+            }
+        }
+        DataHelper_I<?>[] elements = decodeStruct(item, member.nested, elementOwners, childLength, Creator.LIST_ELEMENT, member.name);
+        for (int i = 0; i < n; i++) {
+            if (owners[i] != null && isValid(validity, i)) {
+                int from = offset(field, offsets, i, childLength);
+                int to = offset(field, offsets, i + 1, childLength);
+                List<Object> list = new ArrayList<>(Math.max(0, to - from));
+                list.addAll(Arrays.asList(elements).subList(from, to));
+                owners[i].setPropertyByOrdinal(member.ordinal, list);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void decodeMap(ArrowField field, Member member, DataHelper_I<?>[] owners, int n) {
+        nextNode(field, n);
+        int validity = nextValidity(field, n);
+        int offsets = nextBuffer(field, 4L * (n + 1));
+        ArrowField entries = field.children.get(0);
+        int count = nextNode(entries, -1);
+        nextValidity(entries, count);  // entries are never null
+
+        DataHelper_I<?>[] entryOwners = new DataHelper_I<?>[count];
+        for (int i = 0; i < n; i++) {
+            if (owners[i] != null && isValid(validity, i)) {
+                int from = offset(field, offsets, i, count);
+                int to = offset(field, offsets, i + 1, count);
+                for (int j = from; j < to; j++) {
+                    entryOwners[j] = owners[i];
+                }
+            }
+        }
+        Object[] keys = new Object[count];
+        decodeLeaf(entries.children.get(0), member.key, entryOwners, count, keys);
+        DataHelper_I<?>[] values = decodeStruct(entries.children.get(1), member.nested, entryOwners, count,
+                Creator.MAP_VALUE, member.name);
+        for (int i = 0; i < n; i++) {
+            if (owners[i] != null && isValid(validity, i)) {
+                Map<Object, Object> map = (Map<Object, Object>) owners[i].createMapInstance(member.name);
+                int from = offset(field, offsets, i, count);
+                int to = offset(field, offsets, i + 1, count);
+                for (int j = from; j < to; j++) {
+                    map.put(keys[j], values[j]);
+                }
+                owners[i].setPropertyByOrdinal(member.ordinal, map);
+            }
+        }
+    }
+
+    private int peekNodeLength() {
+        if (node >= nodeCount) {
+            throw new ArrowFormatException("Record batch at byte offset " + messageOffset + " has too few field nodes");
+        }
+        return (int) batchMetadata.vectorStructLong(1, node, 2, 0);
+    }
+
+    private int offset(ArrowField field, int offsets, int i, int limit) {
+        int value = (int) INTS.get(body, offsets + 4 * i);
+        if (value < 0 || value > limit) {
+            throw new ArrowFormatException("Offset " + value + " of column '" + field.name + "' out of range (byte offset "
+                    + messageOffset + ")");
+        }
+        return value;
+    }
+
+    /**
+     * Decode a leaf column into the member of the owners, or, with {@code into}, into that array
+     * (converted to the member's type; map keys).
+     */
+    private void decodeLeaf(ArrowField field, Member member, DataHelper_I<?>[] owners, int n, Object[] into) {
+        nextNode(field, n);
+        int validity = nextValidity(field, n);
+        switch (field.kind) {
+            case ArrowField.INT -> {
+                int width = field.bitWidth / 8;
+                int data = nextBuffer(field, (long) width * n);
+                for (int i = 0; i < n; i++) {
+                    if (owners[i] == null || !isValid(validity, i)) continue;
+                    long value = switch (width) {
+                        case 8 -> (long) LONGS.get(body, data + 8 * i);
+                        case 4 -> field.signed ? (int) INTS.get(body, data + 4 * i) : Integer.toUnsignedLong((int) INTS.get(body, data + 4 * i));
+                        case 2 -> field.signed ? (short) SHORTS.get(body, data + 2 * i) : Short.toUnsignedInt((short) SHORTS.get(body, data + 2 * i));
+                        default -> field.signed ? body[data + i] : Byte.toUnsignedInt(body[data + i]);
+                    };
+                    if (into != null) {
+                        into[i] = member.convert(value, field);
+                    } else if (member.mode == Member.LONG) {
+                        owners[i].setLongByOrdinal(member.ordinal, member.checkRange(value, field));
+                    } else if (member.mode == Member.DOUBLE) {
+                        owners[i].setDoubleByOrdinal(member.ordinal, value);
+                    } else {
+                        owners[i].setPropertyByOrdinal(member.ordinal, member.convert(value, field));
+                    }
+                }
+            }
+            case ArrowField.FLOAT -> {
+                int width = field.bitWidth / 8;
+                int data = nextBuffer(field, (long) width * n);
+                for (int i = 0; i < n; i++) {
+                    if (owners[i] == null || !isValid(validity, i)) continue;
+                    Number value = switch (width) {
+                        case 8 -> Double.longBitsToDouble((long) LONGS.get(body, data + 8 * i));
+                        case 4 -> Float.intBitsToFloat((int) INTS.get(body, data + 4 * i));
+                        default -> Float.float16ToFloat((short) SHORTS.get(body, data + 2 * i));
+                    };
+                    if (into == null && member.mode == Member.DOUBLE) {
+                        owners[i].setDoubleByOrdinal(member.ordinal, value.doubleValue());
+                        continue;
+                    }
+                    Object converted = member.convert(value, field);
+                    if (into != null) {
+                        into[i] = converted;
+                    } else {
+                        owners[i].setPropertyByOrdinal(member.ordinal, converted);
+                    }
+                }
+            }
+            case ArrowField.BOOL -> {
+                int data = nextBuffer(field, (n + 7) / 8);
+                for (int i = 0; i < n; i++) {
+                    if (owners[i] == null || !isValid(validity, i)) continue;
+                    Object converted = member.convert((body[data + (i >>> 3)] & (1 << (i & 7))) != 0, field);
+                    if (into != null) {
+                        into[i] = converted;
+                    } else {
+                        owners[i].setPropertyByOrdinal(member.ordinal, converted);
+                    }
+                }
+            }
+            default -> {
+                int offsets = nextBuffer(field, 4L * (n + 1));
+                int dataStart = nextBuffer(field, 0);
+                long dataLength = batchMetadata.vectorStructLong(2, buffer - 1, 2, 1);
+                for (int i = 0; i < n; i++) {
+                    if (owners[i] == null || !isValid(validity, i)) continue;
+                    int from = offset(field, offsets, i, (int) dataLength);
+                    int to = offset(field, offsets, i + 1, (int) dataLength);
+                    if (to < from) {
+                        throw new ArrowFormatException("Offsets of column '" + field.name + "' decrease (byte offset " + messageOffset + ")");
+                    }
+                    String value = from == to ? "" : new String(body, dataStart + from, to - from, StandardCharsets.UTF_8);
+                    Object converted = member.convert(value, field);
+                    if (into != null) {
+                        into[i] = converted;
+                    } else {
+                        owners[i].setPropertyByOrdinal(member.ordinal, converted);
+                    }
+                }
+            }
+        }
+    }
+
+    // ========== Binding ==========
+
+    /** Bind the columns of a struct (or the schema) to the fields of {@code prototype}; null where ignored. */
+    private static Member[] resolve(List<ArrowField> fields, DataHelper_I<?> prototype) {
+        Member[] members = new Member[fields.size()];
+        for (int c = 0; c < members.length; c++) {
+            members[c] = resolve(fields.get(c), prototype);
+        }
+        return members;
+    }
+
+    private static Member resolve(ArrowField field, DataHelper_I<?> prototype) {
+        int ordinal = prototype.fieldOrdinal(field.name);
+        if (ordinal < 0) {
+            return null;
+        }
+        String name = prototype.fieldNames().get(ordinal);
+        boolean nestedField = prototype.isNestedObjectField(name);
+        boolean listField = prototype.isListField(name);
+        boolean mapField = prototype.isMapField(name);
+        switch (field.kind) {
+            case ArrowField.STRUCT -> {
+                return nestedField
+                        ? new Member(ordinal, name, null, resolve(field.children, prototype.createNestedObject(name)), null)
+                        : null;
+            }
+            case ArrowField.LIST -> {
+                DataHelper_I<?> element = listField && field.children.get(0).kind == ArrowField.STRUCT
+                        ? prototype.createListElement(name) : null;
+                return element == null ? null
+                        : new Member(ordinal, name, null, resolve(field.children.get(0).children, element), null);
+            }
+            case ArrowField.MAP -> {
+                ArrowField entries = field.children.get(0);
+                if (!mapField || !prototype.isMapValueDataHelper(name) || entries.children.size() != 2
+                        || entries.children.get(1).kind != ArrowField.STRUCT || !isLeaf(entries.children.get(0))) {
+                    return null;
+                }
+                DataHelper_I<?> value = prototype.createMapValueElement(name);
+                Member key = new Member(-1, name, prototype.getMapKeyType(name), null, null);
+                return new Member(ordinal, name, null, resolve(entries.children.get(1).children, value), key);
+            }
+            case ArrowField.OTHER -> {
+                return null;
+            }
+            default -> {
+                if (nestedField || listField || mapField) {
+                    return null;
+                }
+                Member member = new Member(ordinal, name, prototype.getPropertyType(name), null, null);
+                member.mode = prototype.isPrimitiveIntegralField(ordinal) ? Member.LONG
+                        : prototype.isPrimitiveDoubleField(ordinal) ? Member.DOUBLE : Member.OBJECT;
+                return member;
+            }
+        }
+    }
+
+    private static boolean isLeaf(ArrowField field) {
+        return field.kind <= ArrowField.UTF8;
+    }
+
+    /** How the DTO for a struct slot is created from its owner. */
+    private enum Creator {
+        NESTED, LIST_ELEMENT, MAP_VALUE;
+
+        DataHelper_I<?> create(DataHelper_I<?> owner, String name) {
+            return switch (this) {
+                case NESTED -> owner.createNestedObject(name);
+                case LIST_ELEMENT -> owner.createListElement(name);
+                case MAP_VALUE -> owner.createMapValueElement(name);
+            };
+        }
+    }
+
+    /**
+     * A column bound to a field: its ordinal and type, the bindings of a struct's columns, and
+     * for maps the binding of the key.
+     */
+    private static final class Member {
+        static final byte OBJECT = 0;
+        static final byte LONG = 1;
+        static final byte DOUBLE = 2;
+
+        final int ordinal;
+        final String name;
+        final Class<?> type;
+        final Member[] nested;
+        final Member key;
+        byte mode = OBJECT;
+
+        Member(int ordinal, String name, Class<?> type, Member[] nested, Member key) {
+            this.ordinal = ordinal;
+            this.name = name;
+            this.type = type;
+            this.nested = nested;
+            this.key = key;
+        }
+
+        /** An integer for a primitive integral field, checked against its width. */
+        long checkRange(long value, ArrowField column) {
+            boolean fits = type == Integer.class ? value == (int) value
+                    : type == Short.class ? value == (short) value
+                    : type != Byte.class || value == (byte) value;
+            if (!fits) {
+                throw mismatch(value, column);
+            }
+            return value;
+        }
+
+        /** A column value converted to the field type, exactly. */
+        Object convert(Object value, ArrowField column) {
+            if (type == null || type.isInstance(value)) {
+                return value;
+            }
+            Object converted;
+            if (type == Character.class && value instanceof String s && s.length() == 1) {
+                converted = s.charAt(0);
+            } else {
+                converted = DataHelper_I.convertType(value, type);
+            }
+            if (!type.isInstance(converted)
+                    || (value instanceof Number number && converted instanceof Number result && !sameValue(number, result))) {
+                throw mismatch(value, column);
+            }
+            return converted;
+        }
+
+        private static boolean sameValue(Number a, Number b) {
+            return (a instanceof Long || a instanceof Integer || a instanceof Short || a instanceof Byte)
+                    && (b instanceof Long || b instanceof Integer || b instanceof Short || b instanceof Byte)
+                    ? a.longValue() == b.longValue()
+                    : Double.compare(a.doubleValue(), b.doubleValue()) == 0 || (a instanceof Float && b instanceof Double);
+        }
+
+        private ArrowFormatException mismatch(Object value, ArrowField column) {
+            return new ArrowFormatException("Cannot bind " + value + " of column '" + column.name + "' to "
+                    + type.getSimpleName() + " field '" + name + "'");
+        }
+    }
+
+    /**
+     * Thrown when an Arrow stream is malformed, uses an unsupported feature, or holds a value that
+     * does not fit its field.
+     */
+    public static class ArrowFormatException extends RuntimeException {
+        public ArrowFormatException(String message) {
+            super(message);
+        }
+
+        public ArrowFormatException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+}
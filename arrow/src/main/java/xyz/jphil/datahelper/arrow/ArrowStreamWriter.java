@@ -0,0 +1,537 @@
+package xyz.jphil.datahelper.arrow;
+
+import xyz.jphil.datahelper.DataHelper_IR;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes DTOs as an Arrow IPC stream: the schema message, then one record batch per
+ * {@code batchSize} rows, then the end-of-stream marker.
+ *
+ * <p>Rows are collected by reference and converted when a batch is full, one column at a time:
+ * each column's values are read through the ordinal accessors straight into its buffers
+ * (primitive fields through {@code getLongByOrdinal} / {@code getDoubleByOrdinal}, without
+ * boxing), validity bitmaps are written only for columns that contain nulls, and nested DTOs,
+ * lists and maps become struct, list and map columns recursively. The batch body is a reused
+ * buffer, so memory stays bounded by one batch however many rows are written.</p>
+ *
+ * <p>Not thread-safe. Obtain instances through {@link Arrow#writer}.</p>
+ */
+public final class ArrowStreamWriter implements Closeable, Flushable {
+
+    static final int DEFAULT_BATCH_SIZE = 64 * 1024;
+
+    static final int CONTINUATION = 0xFFFFFFFF;
+    static final short METADATA_V5 = 4;
+    static final int HEADER_SCHEMA = 1;
+    static final int HEADER_DICTIONARY_BATCH = 2;
+    static final int HEADER_RECORD_BATCH = 3;
+
+    private static final byte MEMBER_OBJECT = 0;
+    private static final byte MEMBER_LONG = 1;
+    private static final byte MEMBER_DOUBLE = 2;
+
+    private final OutputStream out;
+    private final ArrowSchema schema;
+    private final DataHelper_IR<?>[] rows;
+    private int pending = 0;
+    private final ArrowBody body = new ArrowBody();
+    private final Map<ArrowField, Member> members = new IdentityHashMap<>();
+    private final byte[] prefix = new byte[8];
+
+    // Per-column scratch, grown to the largest column
+    private long[] longs = new long[0];
+    private double[] doubles = new double[0];
+    private Object[] objects = new Object[0];
+
+    ArrowStreamWriter(OutputStream out, ArrowSchema schema, int batchSize) throws IOException {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be positive, was " + batchSize);
+        }
+        this.out = out;
+        this.schema = schema;
+        this.rows = new DataHelper_IR<?>[batchSize];
+        writeMessage(HEADER_SCHEMA, schema.toFlatBuffer(), null, 0);
+    }
+
+    /**
+     * Append one DTO as a row; a full batch is written out. The DTO is read only when its batch
+     * is written, so it must not be modified (or reused for the next row) before then.
+     *
+     * @return this writer for chaining
+     * @throws IllegalArgumentException if a column names no field of the DTO
+     */
+    public ArrowStreamWriter write(DataHelper_IR<?> dto) throws IOException {
+        rows[pending++] = dto;
+        if (pending == rows.length) {
+            writeBatch();
+        }
+        return this;
+    }
+
+    /**
+     * Append every DTO of the source as a row, in iteration order.
+     *
+     * @return this writer for chaining
+     */
+    public ArrowStreamWriter writeAll(Iterable<? extends DataHelper_IR<?>> dtos) throws IOException {
+        return writeAll(dtos.iterator());
+    }
+
+    /**
+     * Append every remaining DTO of the iterator as a row.
+     *
+     * @return this writer for chaining
+     */
+    public ArrowStreamWriter writeAll(Iterator<? extends DataHelper_IR<?>> dtos) throws IOException {
+        while (dtos.hasNext()) {
+            write(dtos.next());
+        }
+        return this;
+    }
+
+    /**
+     * Write the pending rows as a (possibly short) batch and flush the stream.
+     */
+    @Override
+    public void flush() throws IOException {
+        if (pending > 0) {
+            writeBatch();
+        }
+        out.flush();
+    }
+
+    /**
+     * Write the pending rows and the end-of-stream marker, and close the underlying stream.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            if (pending > 0) {
+                writeBatch();
+            }
+            writeInt(0, CONTINUATION);
+            writeInt(4, 0);
+            out.write(prefix, 0, 8);
+        } finally {
+            out.close();
+        }
+    }
+
+    // ========== Record Batches ==========
+
+    private void writeBatch() throws IOException {
+        int n = pending;
+        body.reset();
+        for (ArrowField field : schema.fields) {
+            writeMember(field, rows, n);
+        }
+        Arrays.fill(rows, 0, n, null);
+        pending = 0;
+
+        FlatBufferBuilder.Table batch = new FlatBufferBuilder.Table(5)
+                .addLong(0, n)
+                .addStructs(1, Arrays.copyOf(body.nodes, 2 * body.nodeCount), body.nodeCount)
+                .addStructs(2, Arrays.copyOf(body.buffers, 2 * body.bufferCount), body.bufferCount);
+        writeMessage(HEADER_RECORD_BATCH, batch, body.bytes, body.size);
+    }
+
+    /** The column of {@code field} over {@code parents}, which are DTOs holding it (or null). */
+    private void writeMember(ArrowField field, DataHelper_IR<?>[] parents, int n) {
+        Member member = members.computeIfAbsent(field, f -> new Member(f.name));
+        switch (field.kind) {
+            case ArrowField.STRUCT -> writeStruct(field, gatherObjects(member, parents, n), n);
+            case ArrowField.LIST -> writeList(field, gatherObjects(member, parents, n), n);
+            case ArrowField.MAP -> writeMap(field, gatherObjects(member, parents, n), n);
+            case ArrowField.INT -> writeInts(field, gatherLongs(member, parents, n), n);
+            case ArrowField.FLOAT -> writeFloats(field, gatherDoubles(member, parents, n), n);
+            case ArrowField.BOOL -> writeBools(gatherObjects(member, parents, n), n);
+            default -> writeStrings(gatherObjects(member, parents, n), n);
+        }
+    }
+
+    private void writeStruct(ArrowField field, Object[] values, int n) {
+        int nulls = writeValidity(values, n);
+        DataHelper_IR<?>[] nested = new DataHelper_IR<?>[n];
+        for (int i = 0; i < n; i++) {
+            nested[i] = (DataHelper_IR<?>) values[i];
+        }
+        body.node(n, nulls);
+        for (ArrowField child : field.children) {
+            writeMember(child, nested, n);
+        }
+    }
+
+    private void writeList(ArrowField field, Object[] values, int n) {
+        body.node(n, writeValidity(values, n));
+        int offsets = body.begin(4L * (n + 1));
+        long total = 0;
+        for (int i = 0; i < n; i++) {
+            body.putInt(offsets + 4 * i, (int) total);
+            if (values[i] != null) {
+                total += ((Collection<?>) values[i]).size();
+            }
+        }
+        checkOffset(total);
+        body.putInt(offsets + 4 * n, (int) total);
+        body.end(offsets, 4 * (n + 1));
+
+        Object[] elements = new Object[(int) total];
+        int e = 0;
+        for (int i = 0; i < n; i++) {
+            if (values[i] != null) {
+                for (Object element : (Collection<?>) values[i]) {
+                    elements[e++] = element;
+                }
+            }
+        }
+        writeStruct(field.children.get(0), elements, e);
+    }
+
+    private void writeMap(ArrowField field, Object[] values, int n) {
+        body.node(n, writeValidity(values, n));
+        int offsets = body.begin(4L * (n + 1));
+        long total = 0;
+        for (int i = 0; i < n; i++) {
+            body.putInt(offsets + 4 * i, (int) total);
+            if (values[i] != null) {
+                total += ((Map<?, ?>) values[i]).size();
+            }
+        }
+        checkOffset(total);
+        body.putInt(offsets + 4 * n, (int) total);
+        body.end(offsets, 4 * (n + 1));
+
+        int count = (int) total;
+        Object[] keys = new Object[count];
+        Object[] entryValues = new Object[count];
+        int e = 0;
+        for (int i = 0; i < n; i++) {
+            if (values[i] != null) {
+                for (Map.Entry<?, ?> entry : ((Map<?, ?>) values[i]).entrySet()) {
+                    if (entry.getKey() == null) {
+                        throw new IllegalArgumentException("Map column '" + field.name + "' has a null key, which Arrow does not allow");
+                    }
+                    keys[e] = entry.getKey();
+                    entryValues[e++] = entry.getValue();
+                }
+            }
+        }
+        ArrowField entries = field.children.get(0);
+        ArrowField key = entries.children.get(0);
+        body.node(count, 0);
+        body.empty();  // entries are never null
+        switch (key.kind) {
+            case ArrowField.INT -> writeInts(key, gatherLongs(keys, count), count);
+            case ArrowField.FLOAT -> writeFloats(key, gatherDoubles(keys, count), count);
+            case ArrowField.BOOL -> writeBools(keys, count);
+            default -> writeStrings(keys, count);
+        }
+        writeStruct(entries.children.get(1), entryValues, count);
+    }
+
+    // ========== Leaf Columns ==========
+
+    private void writeInts(ArrowField field, int nulls, int n) {
+        body.node(n, writeNullBitmap(nulls, n));
+        int width = field.bitWidth / 8;
+        int data = body.begin((long) width * n);
+        long[] v = longs;
+        switch (width) {
+            case 8 -> {
+                for (int i = 0; i < n; i++) body.putLong(data + 8 * i, v[i]);
+            }
+            case 4 -> {
+                for (int i = 0; i < n; i++) body.putInt(data + 4 * i, (int) v[i]);
+            }
+            case 2 -> {
+                for (int i = 0; i < n; i++) body.putShort(data + 2 * i, (short) v[i]);
+            }
+            default -> {
+                for (int i = 0; i < n; i++) body.bytes[data + i] = (byte) v[i];
+            }
+        }
+        body.end(data, width * n);
+    }
+
+    private void writeFloats(ArrowField field, int nulls, int n) {
+        body.node(n, writeNullBitmap(nulls, n));
+        double[] v = doubles;
+        if (field.bitWidth == 32) {
+            int data = body.begin(4L * n);
+            for (int i = 0; i < n; i++) body.putInt(data + 4 * i, Float.floatToRawIntBits((float) v[i]));
+            body.end(data, 4 * n);
+        } else {
+            int data = body.begin(8L * n);
+            for (int i = 0; i < n; i++) body.putLong(data + 8 * i, Double.doubleToRawLongBits(v[i]));
+            body.end(data, 8 * n);
+        }
+    }
+
+    private void writeBools(Object[] values, int n) {
+        body.node(n, writeValidity(values, n));
+        int data = body.begin((n + 7) / 8);
+        for (int i = 0; i < n; i++) {
+            if (Boolean.TRUE.equals(values[i])) {
+                body.setBit(data, i);
+            }
+        }
+        body.end(data, (n + 7) / 8);
+    }
+
+    private void writeStrings(Object[] values, int n) {
+        body.node(n, writeValidity(values, n));
+        int offsets = body.begin(4L * (n + 1));
+        body.end(offsets, 4 * (n + 1));
+        // The data buffer grows as strings are encoded; offsets are filled in along the way
+        int data = body.size;
+        int pos = data;
+        for (int i = 0; i < n; i++) {
+            body.putInt(offsets + 4 * i, pos - data);
+            if (values[i] != null) {
+                String s = values[i].toString();
+                body.size = pos;
+                body.ensure(3L * s.length());
+                pos = encodeUtf8(s, body.bytes, pos);
+                checkOffset((long) pos - data);
+            }
+        }
+        body.putInt(offsets + 4 * n, pos - data);
+        body.end(data, pos - data);
+    }
+
+    /** UTF-8 of {@code s} at {@code pos}; an unpaired surrogate becomes {@code '?'}, as {@code String.getBytes} does. */
+    private static int encodeUtf8(String s, byte[] buf, int pos) {
+        int length = s.length();
+        for (int i = 0; i < length; i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                buf[pos++] = (byte) c;
+            } else if (c < 0x800) {
+                buf[pos++] = (byte) (0xC0 | (c >> 6));
+                buf[pos++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(s.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, s.charAt(++i));
+                buf[pos++] = (byte) (0xF0 | (cp >> 18));
+                buf[pos++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                buf[pos++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                buf[pos++] = (byte) (0x80 | (cp & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                buf[pos++] = '?';
+            } else {
+                buf[pos++] = (byte) (0xE0 | (c >> 12));
+                buf[pos++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buf[pos++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        return pos;
+    }
+
+    /** Validity of {@code values} (null means null): an empty buffer if none is null. Returns the null count. */
+    private int writeValidity(Object[] values, int n) {
+        int nulls = 0;
+        for (int i = 0; i < n; i++) {
+            if (values[i] == null) nulls++;
+        }
+        if (nulls == 0) {
+            body.empty();
+            return 0;
+        }
+        int bitmap = body.begin((n + 7) / 8);
+        for (int i = 0; i < n; i++) {
+            if (values[i] != null) body.setBit(bitmap, i);
+        }
+        body.end(bitmap, (n + 7) / 8);
+        return nulls;
+    }
+
+    /** Validity of gathered primitives, whose nulls are marked in {@code objects} by null. */
+    private int writeNullBitmap(int nulls, int n) {
+        if (nulls == 0) {
+            body.empty();
+            return 0;
+        }
+        return writeValidity(objects, n);
+    }
+
+    private static void checkOffset(long offset) {
+        if (offset > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Column exceeds 2^31 values or bytes in one batch; use a smaller batch size");
+        }
+    }
+
+    // ========== Gathering Values ==========
+
+    /** Values of the member over the parents (null where the parent is null). */
+    private Object[] gatherObjects(Member member, DataHelper_IR<?>[] parents, int n) {
+        Object[] values = new Object[n];
+        for (int i = 0; i < n; i++) {
+            DataHelper_IR<?> parent = parents[i];
+            if (parent != null) {
+                values[i] = parent.getPropertyByOrdinal(member.ordinal(parent));
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Integral values of the member into {@link #longs}, nulls marked by a null in
+     * {@link #objects} (non-null otherwise). Returns the null count.
+     */
+    private int gatherLongs(Member member, DataHelper_IR<?>[] parents, int n) {
+        grow(n);
+        long[] v = longs;
+        Object[] marks = objects;
+        int nulls = 0;
+        for (int i = 0; i < n; i++) {
+            DataHelper_IR<?> parent = parents[i];
+            marks[i] = Boolean.TRUE;
+            if (parent == null) {
+                marks[i] = null;
+                v[i] = 0;
+                nulls++;
+                continue;
+            }
+            int ordinal = member.ordinal(parent);
+            if (member.mode == MEMBER_LONG) {
+                v[i] = parent.getLongByOrdinal(ordinal);
+            } else {
+                Object value = parent.getPropertyByOrdinal(ordinal);
+                if (value == null) {
+                    marks[i] = null;
+                    v[i] = 0;
+                    nulls++;
+                } else {
+                    v[i] = ((Number) value).longValue();
+                }
+            }
+        }
+        return nulls;
+    }
+
+    private int gatherLongs(Object[] values, int n) {
+        grow(n);
+        for (int i = 0; i < n; i++) {
+            longs[i] = ((Number) values[i]).longValue();
+            objects[i] = Boolean.TRUE;
+        }
+        return 0;
+    }
+
+    /** Floating-point values of the member into {@link #doubles}; see {@link #gatherLongs(Member, DataHelper_IR[], int)}. */
+    private int gatherDoubles(Member member, DataHelper_IR<?>[] parents, int n) {
+        grow(n);
+        double[] v = doubles;
+        Object[] marks = objects;
+        int nulls = 0;
+        for (int i = 0; i < n; i++) {
+            DataHelper_IR<?> parent = parents[i];
+            marks[i] = Boolean.TRUE;
+            if (parent == null) {
+                marks[i] = null;
+                v[i] = 0;
+                nulls++;
+                continue;
+            }
+            int ordinal = member.ordinal(parent);
+            if (member.mode == MEMBER_DOUBLE) {
+                v[i] = parent.getDoubleByOrdinal(ordinal);
+            } else {
+                Object value = parent.getPropertyByOrdinal(ordinal);
+                if (value == null) {
+                    marks[i] = null;
+                    v[i] = 0;
+                    nulls++;
+                } else {
+                    v[i] = ((Number) value).doubleValue();
+                }
+            }
+        }
+        return nulls;
+    }
+
+    private int gatherDoubles(Object[] values, int n) {
+        grow(n);
+        for (int i = 0; i < n; i++) {
+            doubles[i] = ((Number) values[i]).doubleValue();
+            objects[i] = Boolean.TRUE;
+        }
+        return 0;
+    }
+
+    private void grow(int n) {
+        if (longs.length < n) {
+            longs = new long[n];
+            doubles = new double[n];
+            objects = new Object[n];
+        }
+    }
+
+    // ========== Framing ==========
+
+    /**
+     * One encapsulated message: continuation marker, metadata length, the {@code Message}
+     * FlatBuffer padded to 8 bytes, then the body.
+     */
+    private void writeMessage(int headerType, FlatBufferBuilder.Table header, byte[] bodyBytes, int bodyLength) throws IOException {
+        byte[] metadata = FlatBufferBuilder.finish(new FlatBufferBuilder.Table(5)
+                .addShort(0, METADATA_V5)
+                .addByte(1, headerType)
+                .addTable(2, header)
+                .addLong(3, bodyLength));
+        int padded = (metadata.length + 7) & -8;
+        writeInt(0, CONTINUATION);
+        writeInt(4, padded);
+        out.write(prefix, 0, 8);
+        out.write(metadata);
+        out.write(new byte[padded - metadata.length]);
+        if (bodyLength > 0) {
+            out.write(bodyBytes, 0, bodyLength);
+        }
+    }
+
+    private void writeInt(int pos, int value) {
+        for (int i = 0; i < 4; i++) {
+            prefix[pos + i] = (byte) (value >> (8 * i));
+        }
+    }
+
+    /**
+     * A column's field within its parent DTOs: the ordinal and how to read it, cached for the
+     * parent class seen last.
+     */
+    private static final class Member {
+        final String name;
+        Class<?> type;
+        int ordinal;
+        byte mode;
+
+        Member(String name) {
+            this.name = name;
+        }
+
+        int ordinal(DataHelper_IR<?> parent) {
+            if (parent.getClass() != type) {
+                int resolved = parent.fieldOrdinal(name);
+                if (resolved < 0) {
+                    throw new IllegalArgumentException("Column '" + name + "': no field in " + parent.getClass().getName());
+                }
+                ordinal = resolved;
+                mode = parent.isPrimitiveIntegralField(resolved) ? MEMBER_LONG
+                        : parent.isPrimitiveDoubleField(resolved) ? MEMBER_DOUBLE : MEMBER_OBJECT;
+                type = parent.getClass();
+            }
+            return ordinal;
+        }
+    }
+}
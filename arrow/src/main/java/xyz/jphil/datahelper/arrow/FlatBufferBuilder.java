@@ -0,0 +1,248 @@
+package xyz.jphil.datahelper.arrow;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Just enough of a FlatBuffers encoder for Arrow IPC metadata: tables with scalar fields,
+ * strings, vectors of tables and vectors of 64-bit structs.
+ *
+ * <p>A message is assembled as a small tree of {@link Table}s and laid out front to back: the
+ * root offset, then each object followed by the objects it refers to, with every reference
+ * patched once its target is placed. References therefore always point forward, as unsigned
+ * FlatBuffers offsets must, and each vtable sits immediately before its table. Scalars are
+ * aligned to their size relative to the start of the buffer, which the IPC framing keeps
+ * 8-byte aligned.</p>
+ */
+final class FlatBufferBuilder {
+
+    private byte[] buffer = new byte[512];
+    private int size = 0;
+    /** Reference fields waiting for their target: position, then the target object. */
+    private final ArrayDeque<Object> pending = new ArrayDeque<>();
+
+    private FlatBufferBuilder() {
+    }
+
+    /**
+     * Lay out {@code root} and everything it refers to.
+     */
+    static byte[] finish(Table root) {
+        FlatBufferBuilder b = new FlatBufferBuilder();
+        b.reserve(4);
+        b.size = 4;
+        b.pending.add(0);
+        b.pending.add(root);
+        while (!b.pending.isEmpty()) {
+            int field = (Integer) b.pending.poll();
+            int target = b.place(b.pending.poll());
+            b.putInt(field, field == 0 ? target : target - field);  // the root offset is from the buffer start
+        }
+        return Arrays.copyOf(b.buffer, b.size);
+    }
+
+    private int place(Object node) {
+        if (node instanceof Table table) {
+            return placeTable(table);
+        } else if (node instanceof String s) {
+            byte[] utf8 = s.getBytes(StandardCharsets.UTF_8);
+            int pos = align(4, 0);
+            reserve(4 + utf8.length + 1);
+            putInt(pos, utf8.length);
+            System.arraycopy(utf8, 0, buffer, pos + 4, utf8.length);
+            size = pos + 4 + utf8.length + 1;  // zero terminated
+            return pos;
+        } else if (node instanceof TableVector vector) {
+            int pos = align(4, 0);
+            int count = vector.tables.size();
+            reserve(4 + 4 * count);
+            putInt(pos, count);
+            size = pos + 4 + 4 * count;
+            for (int i = 0; i < count; i++) {
+                pending.add(pos + 4 + 4 * i);
+                pending.add(vector.tables.get(i));
+            }
+            return pos;
+        } else {
+            StructVector vector = (StructVector) node;
+            int pos = align(8, 4);  // the elements after the length are 8-byte aligned
+            reserve(4 + 8 * vector.longs.length);
+            putInt(pos, vector.count);
+            int p = pos + 4;
+            for (long value : vector.longs) {
+                putLong(p, value);
+                p += 8;
+            }
+            size = p;
+            return pos;
+        }
+    }
+
+    private int placeTable(Table table) {
+        // Inline layout: the vtable offset, then the fields by descending size, each aligned
+        int slots = table.widths.length;
+        while (slots > 0 && table.widths[slots - 1] == 0) {
+            slots--;
+        }
+        int[] offsets = new int[slots];
+        int inline = 4;
+        for (int width = 8; width >= 1; width >>= 1) {
+            for (int slot = 0; slot < slots; slot++) {
+                if (table.widths[slot] == width) {
+                    inline = (inline + width - 1) & -width;
+                    offsets[slot] = inline;
+                    inline += width;
+                }
+            }
+        }
+        inline = (inline + 3) & -4;
+        int vtableSize = 4 + 2 * slots;
+        int start = (size + vtableSize + 7) & -8;  // the table 8-aligned, its vtable just before
+        int vtable = start - vtableSize;
+        reserve(start + inline - size);
+        putShort(vtable, vtableSize);
+        putShort(vtable + 2, inline);
+        for (int slot = 0; slot < slots; slot++) {
+            putShort(vtable + 4 + 2 * slot, offsets[slot]);
+        }
+        putInt(start, vtableSize);  // vtable = table - offset
+        for (int slot = 0; slot < slots; slot++) {
+            int p = start + offsets[slot];
+            switch (table.widths[slot]) {
+                case 0 -> { }
+                case 1 -> buffer[p] = (byte) table.scalars[slot];
+                case 2 -> putShort(p, (int) table.scalars[slot]);
+                case 4 -> {
+                    if (table.refs[slot] != null) {
+                        pending.add(p);
+                        pending.add(table.refs[slot]);
+                    } else {
+                        putInt(p, (int) table.scalars[slot]);
+                    }
+                }
+                default -> putLong(p, table.scalars[slot]);
+            }
+        }
+        size = start + inline;
+        return start;
+    }
+
+    /** Pad to the next position {@code p} with {@code (p + skew) % alignment == 0}, returning it. */
+    private int align(int alignment, int skew) {
+        int p = size;
+        while ((p + skew) % alignment != 0) {
+            p++;
+        }
+        reserve(p - size);
+        size = p;
+        return p;
+    }
+
+    private void reserve(int n) {
+        if (size + n > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(size + n, buffer.length * 2));
+        }
+    }
+
+    private void putShort(int p, int value) {
+        buffer[p] = (byte) value;
+        buffer[p + 1] = (byte) (value >> 8);
+    }
+
+    private void putInt(int p, int value) {
+        for (int i = 0; i < 4; i++) {
+            buffer[p + i] = (byte) (value >> (8 * i));
+        }
+    }
+
+    private void putLong(int p, long value) {
+        for (int i = 0; i < 8; i++) {
+            buffer[p + i] = (byte) (value >> (8 * i));
+        }
+    }
+
+    /**
+     * A table under construction; fields are identified by their slot (declaration order in the
+     * schema, a union taking two: its type, then its value).
+     */
+    static final class Table {
+        private final long[] scalars;
+        private final byte[] widths;
+        private final Object[] refs;
+
+        Table(int slots) {
+            this.scalars = new long[slots];
+            this.widths = new byte[slots];
+            this.refs = new Object[slots];
+        }
+
+        Table addBool(int slot, boolean value) {
+            return scalar(slot, 1, value ? 1 : 0);
+        }
+
+        Table addByte(int slot, int value) {
+            return scalar(slot, 1, value);
+        }
+
+        Table addShort(int slot, int value) {
+            return scalar(slot, 2, value);
+        }
+
+        Table addInt(int slot, int value) {
+            return scalar(slot, 4, value);
+        }
+
+        Table addLong(int slot, long value) {
+            return scalar(slot, 8, value);
+        }
+
+        Table addString(int slot, String value) {
+            return ref(slot, value);
+        }
+
+        Table addTable(int slot, Table value) {
+            return ref(slot, value);
+        }
+
+        Table addTables(int slot, List<Table> values) {
+            return ref(slot, new TableVector(values));
+        }
+
+        /** A vector of {@code count} structs made of 64-bit fields, flattened into {@code longs}. */
+        Table addStructs(int slot, long[] longs, int count) {
+            return ref(slot, new StructVector(longs, count));
+        }
+
+        private Table scalar(int slot, int width, long value) {
+            widths[slot] = (byte) width;
+            scalars[slot] = value;
+            return this;
+        }
+
+        private Table ref(int slot, Object target) {
+            widths[slot] = 4;
+            refs[slot] = target;
+            return this;
+        }
+    }
+
+    private static final class TableVector {
+        final List<Table> tables;
+
+        TableVector(List<Table> tables) {
+            this.tables = tables;
+        }
+    }
+
+    private static final class StructVector {
+        final long[] longs;
+        final int count;
+
+        StructVector(long[] longs, int count) {
+            this.longs = longs;
+            this.count = count;
+        }
+    }
+}
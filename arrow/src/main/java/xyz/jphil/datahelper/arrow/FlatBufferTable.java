@@ -0,0 +1,120 @@
+package xyz.jphil.datahelper.arrow;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Read access to one FlatBuffers table of Arrow IPC metadata: scalar fields by slot (absent
+ * fields yield the schema default), strings, nested tables and vectors.
+ *
+ * <p>Out-of-range offsets in corrupt metadata surface as {@link IndexOutOfBoundsException}, which
+ * the reader reports as a format error.</p>
+ */
+final class FlatBufferTable {
+
+    private final ByteBuffer buffer;
+    private final int position;
+
+    private FlatBufferTable(ByteBuffer buffer, int position) {
+        this.buffer = buffer;
+        this.position = position;
+    }
+
+    /**
+     * The root table of a FlatBuffers message.
+     */
+    static FlatBufferTable root(byte[] bytes, int length) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, 0, length).order(ByteOrder.LITTLE_ENDIAN);
+        return new FlatBufferTable(buffer, buffer.getInt(0));
+    }
+
+    /** Offset of the slot's field within the table, or 0 if absent. */
+    private int field(int slot) {
+        int vtable = position - buffer.getInt(position);
+        int vtableSize = Short.toUnsignedInt(buffer.getShort(vtable));
+        int entry = 4 + 2 * slot;
+        return entry + 2 <= vtableSize ? Short.toUnsignedInt(buffer.getShort(vtable + entry)) : 0;
+    }
+
+    boolean getBool(int slot, boolean defaultValue) {
+        int f = field(slot);
+        return f == 0 ? defaultValue : buffer.get(position + f) != 0;
+    }
+
+    int getByte(int slot, int defaultValue) {
+        int f = field(slot);
+        return f == 0 ? defaultValue : Byte.toUnsignedInt(buffer.get(position + f));
+    }
+
+    int getShort(int slot, int defaultValue) {
+        int f = field(slot);
+        return f == 0 ? defaultValue : buffer.getShort(position + f);
+    }
+
+    int getInt(int slot, int defaultValue) {
+        int f = field(slot);
+        return f == 0 ? defaultValue : buffer.getInt(position + f);
+    }
+
+    long getLong(int slot, long defaultValue) {
+        int f = field(slot);
+        return f == 0 ? defaultValue : buffer.getLong(position + f);
+    }
+
+    /** The target of the slot's offset field, or -1 if absent. */
+    private int target(int slot) {
+        int f = field(slot);
+        if (f == 0) {
+            return -1;
+        }
+        int p = position + f;
+        int target = p + buffer.getInt(p);
+        if (target < 0 || target >= buffer.limit()) {
+            throw new IndexOutOfBoundsException("Offset out of range: " + target);
+        }
+        return target;
+    }
+
+    /** The length at {@code p} of a string or vector of {@code elementSize} byte elements, checked to fit. */
+    private int length(int p, int elementSize) {
+        int length = buffer.getInt(p);
+        if (length < 0 || length > (buffer.limit() - p - 4) / elementSize) {
+            throw new IndexOutOfBoundsException("Length out of range: " + length);
+        }
+        return length;
+    }
+
+    String getString(int slot) {
+        int p = target(slot);
+        if (p < 0) {
+            return null;
+        }
+        int length = length(p, 1);
+        byte[] utf8 = new byte[length];
+        buffer.get(p + 4, utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    FlatBufferTable getTable(int slot) {
+        int p = target(slot);
+        return p < 0 ? null : new FlatBufferTable(buffer, p);
+    }
+
+    /** Length of the slot's vector, 0 if absent. */
+    int vectorLength(int slot) {
+        int p = target(slot);
+        return p < 0 ? 0 : length(p, 4);
+    }
+
+    /** Element {@code index} of a vector of tables. */
+    FlatBufferTable vectorTable(int slot, int index) {
+        int element = target(slot) + 4 + 4 * index;
+        return new FlatBufferTable(buffer, element + buffer.getInt(element));
+    }
+
+    /** Field {@code field} of element {@code index} of a vector of structs of {@code longsPerStruct} longs. */
+    long vectorStructLong(int slot, int index, int longsPerStruct, int field) {
+        return buffer.getLong(target(slot) + 4 + 8 * (index * longsPerStruct + field));
+    }
+}
@@ -0,0 +1,76 @@
+package xyz.jphil.datahelper;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Reusable {@code byte[]} encode buffers, shared by the JVM format modules (JSON UTF-8 output,
+ * binary, indexed binary, CBOR, protobuf), so an encode call does not allocate its working buffer.
+ *
+ * <p>The pool is a fixed array of slots indexed by thread id, not a {@code ThreadLocal}, so it
+ * stays bounded with any number of (virtual) threads: a thread takes the array in its slot (or
+ * the neighbouring one) with an atomic swap and allocates a fresh one when both are empty. Since
+ * an array is taken out of its slot while in use, nested encode calls get their own. Arrays larger
+ * than {@link #MAX_POOLED_CAPACITY} bytes are dropped on release, so the pool retains at most
+ * {@code slots * MAX_POOLED_CAPACITY} bytes whatever the formats and threads using it.</p>
+ *
+ * <p>Example:</p>
+ * <pre>
+ * {@code
+ * byte[] buffer = ByteArrayPool.acquire(8192);
+ * try {
+ *     // encode into buffer, growing it by copying as needed
+ * } finally {
+ *     ByteArrayPool.release(buffer);   // the grown array, if it was replaced
+ * }
+ * }
+ * </pre>
+ */
+public final class ByteArrayPool {
+
+    /** Arrays with a larger length (in bytes) are not returned to the pool. */
+    public static final int MAX_POOLED_CAPACITY = 1 << 20;
+
+    private static final int SLOT_MASK = slotCount() - 1;
+    private static final AtomicReferenceArray<byte[]> SLOTS = new AtomicReferenceArray<>(SLOT_MASK + 1);
+
+    private ByteArrayPool() {
+    }
+
+    /**
+     * Take an array of at least {@code minimum} bytes. Its contents are undefined.
+     * Pass it to {@link #release} when done.
+     */
+    public static byte[] acquire(int minimum) {
+        int slot = (int) Thread.currentThread().threadId() & SLOT_MASK;
+        byte[] array = SLOTS.getAndSet(slot, null);
+        if (array == null) {
+            slot = (slot + 1) & SLOT_MASK;
+            array = SLOTS.getAndSet(slot, null);
+        }
+        if (array == null) {
+            return new byte[minimum];
+        }
+        if (array.length < minimum) {
+            SLOTS.compareAndSet(slot, null, array);  // too small here: leave it for another use
+            return new byte[minimum];
+        }
+        return array;
+    }
+
+    /**
+     * Return an array obtained from {@link #acquire} (or one that replaced it when growing). It is
+     * kept for reuse unless it is longer than {@link #MAX_POOLED_CAPACITY} or the thread's slot is
+     * occupied. The caller must not use it afterwards.
+     */
+    public static void release(byte[] array) {
+        if (array.length > MAX_POOLED_CAPACITY) {
+            return;
+        }
+        SLOTS.compareAndSet((int) Thread.currentThread().threadId() & SLOT_MASK, null, array);
+    }
+
+    private static int slotCount() {
+        int wanted = Math.min(64, 2 * Runtime.getRuntime().availableProcessors());
+        return Integer.highestOneBit(wanted - 1) << 1;
+    }
+}
@@ -1,5 +1,6 @@
 package xyz.jphil.datahelper;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 
@@ -29,6 +30,55 @@ public interface DataHelper_I<E extends DataHelper_I<E>> extends DataHelper_IR<E
      */
     void setPropertyByName(String propertyName, Object value);
 
+    /**
+     * Set property value by ordinal (the field's index in {@link #fieldNames()}).
+     *
+     * <p>Generated code overrides this with an {@code int} switch; the default delegates to
+     * {@link #setPropertyByName(String, Object)}. Out-of-range ordinals are ignored, matching
+     * the by-name setter's handling of unknown names.</p>
+     *
+     * @param ordinal the field ordinal
+     * @param value the value to set
+     */
+    default void setPropertyByOrdinal(int ordinal, Object value) {
+        List<String> names = fieldNames();
+        if (ordinal >= 0 && ordinal < names.size()) {
+            setPropertyByName(names.get(ordinal), value);
+        }
+    }
+
+    /**
+     * Set a numeric property by ordinal from a primitive {@code long}.
+     *
+     * <p>Generated code overrides this to call the field's setter directly (no boxing for
+     * primitive fields), so readers that scan numbers into primitives can deliver them directly.
+     * {@code int}, {@code short} and {@code byte} fields are narrowed with {@link #toIntExact},
+     * {@link #toShortExact} and {@link #toByteExact}. The default boxes and delegates to
+     * {@link #setPropertyByOrdinal(int, Object)}.</p>
+     *
+     * @param ordinal the field ordinal
+     * @param value the value to set
+     * @throws ArithmeticException if the value does not fit the field's type
+     */
+    default void setLongByOrdinal(int ordinal, long value) {
+        setPropertyByOrdinal(ordinal, value);
+    }
+
+    /**
+     * Set a numeric property by ordinal from a primitive {@code double}.
+     *
+     * <p>Generated code passes the value through {@link #toLongExact(double)} for integral
+     * fields, so a fraction or an out-of-range value is rejected rather than truncated.</p>
+     *
+     * @param ordinal the field ordinal
+     * @param value the value to set
+     * @throws ArithmeticException if the value does not fit the field's type
+     * @see #setLongByOrdinal(int, long)
+     */
+    default void setDoubleByOrdinal(int ordinal, double value) {
+        setPropertyByOrdinal(ordinal, value);
+    }
+
     /**
      * Create nested object for a property.
      * Generated code uses switch statement with direct instantiation (TeaVM-compatible).
@@ -95,6 +145,50 @@ public interface DataHelper_I<E extends DataHelper_I<E>> extends DataHelper_IR<E
 
     // ========== Helper Methods ==========
 
+    /**
+     * Narrow a {@code long} to an {@code int} field, as generated {@code setLongByOrdinal} does.
+     *
+     * @throws ArithmeticException if the value is out of the {@code int} range
+     */
+    static int toIntExact(long value) {
+        if ((int) value != value) throw new ArithmeticException(value + " does not fit int");
+        return (int) value;
+    }
+
+    /**
+     * Narrow a {@code long} to a {@code short} field.
+     *
+     * @throws ArithmeticException if the value is out of the {@code short} range
+     */
+    static short toShortExact(long value) {
+        if ((short) value != value) throw new ArithmeticException(value + " does not fit short");
+        return (short) value;
+    }
+
+    /**
+     * Narrow a {@code long} to a {@code byte} field.
+     *
+     * @throws ArithmeticException if the value is out of the {@code byte} range
+     */
+    static byte toByteExact(long value) {
+        if ((byte) value != value) throw new ArithmeticException(value + " does not fit byte");
+        return (byte) value;
+    }
+
+    /**
+     * Convert a {@code double} to an integral field's {@code long}, as generated
+     * {@code setDoubleByOrdinal} does.
+     *
+     * @throws ArithmeticException if the value has a fraction, is not finite or is out of the
+     *                             {@code long} range
+     */
+    static long toLongExact(double value) {
+        if (value != Math.rint(value) || value < -0x1p63 || value >= 0x1p63) {
+            throw new ArithmeticException(value + " is not an integer in the long range");
+        }
+        return (long) value;
+    }
+
     /**
      * Convert value to target type.
      * Handles common numeric conversions (Number to Integer/Long/Double/Float).
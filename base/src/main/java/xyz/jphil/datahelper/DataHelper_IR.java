@@ -54,6 +54,158 @@ public interface DataHelper_IR<E extends DataHelper_IR<E>> {
      */
     Object getPropertyByName(String propertyName);
 
+    /**
+     * Get property value by ordinal (the field's index in {@link #fieldNames()}).
+     *
+     * <p>Generated code overrides this with an {@code int} switch, so callers that already
+     * resolved a field (e.g. via {@link #fieldOrdinal(CharSequence, int, int)}) skip the
+     * by-name string dispatch. The default delegates to {@link #getPropertyByName(String)}.</p>
+     *
+     * @param ordinal the field ordinal
+     * @return the property value, or null if the ordinal is out of range
+     */
+    default Object getPropertyByOrdinal(int ordinal) {
+        List<String> names = fieldNames();
+        return ordinal < 0 || ordinal >= names.size() ? null : getPropertyByName(names.get(ordinal));
+    }
+
+    /**
+     * Get a numeric property by ordinal as a primitive {@code long}.
+     *
+     * <p>Generated code overrides this to return the getter of primitive integral fields
+     * (int/long/short/byte) without boxing, so writers can format them allocation-free. Other
+     * ordinals, and the default, unbox {@link #getPropertyByOrdinal(int)}; the value must then
+     * be a non-null {@link Number}.</p>
+     *
+     * @param ordinal the field ordinal
+     * @return the value as a long
+     */
+    default long getLongByOrdinal(int ordinal) {
+        return ((Number) getPropertyByOrdinal(ordinal)).longValue();
+    }
+
+    /**
+     * Get a numeric property by ordinal as a primitive {@code double}.
+     *
+     * @param ordinal the field ordinal
+     * @return the value as a double
+     * @see #getLongByOrdinal(int)
+     */
+    default double getDoubleByOrdinal(int ordinal) {
+        return ((Number) getPropertyByOrdinal(ordinal)).doubleValue();
+    }
+
+    /**
+     * Whether the field is a primitive {@code int}, {@code long}, {@code short} or {@code byte},
+     * i.e. readable through {@link #getLongByOrdinal(int)} without boxing. The default returns false.
+     *
+     * @param ordinal the field ordinal
+     */
+    default boolean isPrimitiveIntegralField(int ordinal) {
+        return false;
+    }
+
+    /**
+     * Whether the field is a primitive {@code double}, i.e. readable through
+     * {@link #getDoubleByOrdinal(int)} without boxing. The default returns false.
+     *
+     * @param ordinal the field ordinal
+     */
+    default boolean isPrimitiveDoubleField(int ordinal) {
+        return false;
+    }
+
+    /**
+     * Resolve a field name, given as the region {@code [start, end)} of a character source,
+     * to its ordinal (its index in {@link #fieldNames()}). Declared aliases of a field
+     * resolve to that field's ordinal.
+     *
+     * <p>Generated code overrides this with a switch over the key length and a discriminating
+     * character, followed by a single region compare, so a parser can map a key straight out
+     * of its input buffer without materializing a {@code String}. The default copies the
+     * region and searches {@link #fieldNames()}.</p>
+     *
+     * @param src   the character source holding the name (e.g. the JSON text)
+     * @param start start index of the name in {@code src} (inclusive)
+     * @param end   end index of the name in {@code src} (exclusive)
+     * @return the field ordinal, or -1 if no field (or alias) has that name
+     */
+    default int fieldOrdinal(CharSequence src, int start, int end) {
+        return fieldNames().indexOf(src.subSequence(start, end).toString());
+    }
+
+    /**
+     * Resolve a field name (or alias) to its ordinal.
+     *
+     * @param name the field name
+     * @return the field ordinal, or -1 if no field (or alias) has that name
+     */
+    default int fieldOrdinal(String name) {
+        return fieldOrdinal(name, 0, name.length());
+    }
+
+    /**
+     * Resolve a relaxed field name to its ordinal: a name compared without case and without
+     * {@code '-'} and {@code '_'}, so {@code pool-size}, {@code POOL_SIZE} and {@code poolSize}
+     * all name the field {@code poolSize}. Declared aliases resolve too.
+     *
+     * <p>Generated code overrides this with a {@code switch} over the relaxed names computed at
+     * compile time; where two names relax to the same key, the first declared wins. The default
+     * searches {@link #fieldNames()}.</p>
+     *
+     * @param key the name, already relaxed by {@link #relaxedName(CharSequence, int, int)}
+     * @return the field ordinal, or -1 if no field (or alias) has that relaxed name
+     */
+    default int relaxedFieldOrdinal(String key) {
+        List<String> names = fieldNames();
+        for (int i = 0; i < names.size(); i++) {
+            String name = names.get(i);
+            if (relaxedName(name, 0, name.length()).equals(key)) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * The stable ID of a field, which identifies it in version-tolerant encodings independently
+     * of its name and position.
+     *
+     * <p>Generated code returns the ID from {@code @FieldId} or the processor's ID lock file,
+     * else the declaration position; the default returns {@code ordinal + 1}.</p>
+     *
+     * @param ordinal the field ordinal
+     * @return the field's ID (at least 1), or -1 for an unknown ordinal
+     */
+    default int fieldId(int ordinal) {
+        return ordinal < 0 || ordinal >= fieldNames().size() ? -1 : ordinal + 1;
+    }
+
+    /**
+     * Pre-encoded {@code "name":} tokens of the fields, indexed by ordinal.
+     *
+     * <p>Generated code returns its {@code FIELD_NAME_TOKENS} constant, letting text writers
+     * emit field names with a bulk copy. The default returns null, in which case writers
+     * escape the names from {@link #fieldNames()} themselves.</p>
+     *
+     * @return the tokens, or null if the type provides none
+     */
+    default FieldNameTokens fieldNameTokens() {
+        return null;
+    }
+
+    /**
+     * A serialization codec of the given kind generated for this type.
+     *
+     * <p>Format modules look up their codec here (e.g. {@code codec(JsonCodec.class)}) and fall
+     * back to the generic ordinal-based path when there is none. Generated code overrides this
+     * when the processor was asked to emit codecs; the default returns null.</p>
+     *
+     * @param kind the codec base class of the format
+     * @return the codec, or null if the type has none of that kind
+     */
+    default <C> C codec(Class<C> kind) {
+        return null;
+    }
+
     /**
      * Get property type by name.
      * Generated code uses switch statement for performance.
@@ -104,6 +256,19 @@ public interface DataHelper_IR<E extends DataHelper_IR<E>> {
      */
     boolean isMapValueDataHelper(String propertyName);
 
+    /**
+     * Get the element type of a list property.
+     *
+     * <p>Generated code returns the declared element type. The default returns null, as for
+     * a property that is not a list.</p>
+     *
+     * @param propertyName the property name
+     * @return the list element type, or null if not a list field or unknown
+     */
+    default Class<?> getListElementType(String propertyName) {
+        return null;
+    }
+
     /**
      * Get map key type for a property.
      *
@@ -133,4 +298,44 @@ public interface DataHelper_IR<E extends DataHelper_IR<E>> {
         throw new UnsupportedOperationException(
             "getMapValueType() not implemented for property: " + propertyName);
     }
+
+    // ========== Helper Methods ==========
+
+    /**
+     * Check whether {@code src} holds exactly {@code name} starting at {@code start}.
+     * Used by generated {@link #fieldOrdinal(CharSequence, int, int)} implementations once
+     * the key length has already been matched.
+     *
+     * @param src   the character source
+     * @param start start index of the candidate in {@code src}
+     * @param name  the field name to compare against
+     * @return true if the {@code name.length()} characters at {@code start} equal {@code name}
+     */
+    static boolean regionMatches(CharSequence src, int start, String name) {
+        if (src instanceof String s) {
+            return s.startsWith(name, start);
+        }
+        for (int i = 0; i < name.length(); i++) {
+            if (src.charAt(start + i) != name.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * The relaxed form of the name in {@code [start, end)} of {@code src}, as used by
+     * {@link #relaxedFieldOrdinal(String)}: lower case, without {@code '-'} and {@code '_'}.
+     *
+     * @param src   the character source holding the name
+     * @param start start index of the name in {@code src} (inclusive)
+     * @param end   end index of the name in {@code src} (exclusive)
+     * @return the relaxed name
+     */
+    static String relaxedName(CharSequence src, int start, int end) {
+        StringBuilder sb = new StringBuilder(end - start);
+        for (int i = start; i < end; i++) {
+            char c = src.charAt(i);
+            if (c != '-' && c != '_') sb.append(Character.toLowerCase(c));
+        }
+        return sb.toString();
+    }
 }
@@ -0,0 +1,53 @@
+package xyz.jphil.datahelper;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Pre-encoded {@code "name":} tokens of a DataHelper type, indexed by field ordinal.
+ *
+ * <p>The processor emits one instance per type ({@code FIELD_NAME_TOKENS}, returned by
+ * {@link DataHelper_IR#fieldNameTokens()}) from literals that are already quoted and escaped at
+ * compile time. Each token is held both as {@code char[]} (for character output) and as UTF-8
+ * {@code byte[]} (for byte output), converted once when the type is initialized, so writers emit
+ * a field name with a single bulk copy instead of escaping it on every call.</p>
+ *
+ * <p>The returned arrays are shared and must not be modified.</p>
+ */
+public final class FieldNameTokens {
+
+    private final char[][] chars;
+    private final byte[][] utf8;
+
+    /**
+     * @param tokens the complete tokens in ordinal order, e.g. {@code "\"name\":"}
+     */
+    public FieldNameTokens(String... tokens) {
+        this.chars = new char[tokens.length][];
+        this.utf8 = new byte[tokens.length][];
+        for (int i = 0; i < tokens.length; i++) {
+            chars[i] = tokens[i].toCharArray();
+            utf8[i] = tokens[i].getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Number of tokens (the number of fields).
+     */
+    public int size() {
+        return chars.length;
+    }
+
+    /**
+     * The token of the field with the given ordinal, as characters.
+     */
+    public char[] chars(int ordinal) {
+        return chars[ordinal];
+    }
+
+    /**
+     * The token of the field with the given ordinal, encoded as UTF-8.
+     */
+    public byte[] utf8(int ordinal) {
+        return utf8[ordinal];
+    }
+}
@@ -0,0 +1,156 @@
+package xyz.jphil.datahelper;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * The kind, name and declared type of each field of a DataHelper type, indexed by ordinal and
+ * resolved once per class from the type's own metadata ({@code isPrimitive*Field},
+ * {@code is*Field}, {@code getPropertyType}).
+ *
+ * <p>Shared by the binary format modules (binary, indexed binary, CBOR, MessagePack), which
+ * switch on the kinds when encoding and decoding. A module that needs more per-class data
+ * (pre-encoded keys, a field order) derives it in its own {@link Cache}.</p>
+ *
+ * <p>The returned arrays are shared and must not be modified.</p>
+ */
+public final class FieldSchema {
+
+    // ========== Field kinds ==========
+
+    /** Primitive integral field, read with {@code getLongByOrdinal}. */
+    public static final byte PRIMITIVE_LONG = 0;
+    /** Primitive floating-point field, read with {@code getDoubleByOrdinal}. */
+    public static final byte PRIMITIVE_DOUBLE = 1;
+    /** Boxed {@code Long}/{@code Integer}/{@code Short}/{@code Byte}. */
+    public static final byte INTEGRAL = 2;
+    /** Boxed {@code Double}/{@code Float}. */
+    public static final byte FLOATING = 3;
+    /** {@code Boolean} or {@code boolean}. */
+    public static final byte BOOLEAN = 4;
+    /** {@code String}. */
+    public static final byte STRING = 5;
+    /** Nested DataHelper. */
+    public static final byte OBJECT = 6;
+    /** {@code List}. */
+    public static final byte LIST = 7;
+    /** {@code Map}. */
+    public static final byte MAP = 8;
+    /** Anything else. */
+    public static final byte ANY = 9;
+
+    private static final Cache<FieldSchema> SCHEMAS = new Cache<>(FieldSchema::new);
+
+    private final byte[] kinds;
+    private final String[] names;
+    private final Class<?>[] types;
+
+    private FieldSchema(DataHelper_IR<?> dto) {
+        List<String> fieldNames = dto.fieldNames();
+        int count = fieldNames.size();
+        this.kinds = new byte[count];
+        this.names = fieldNames.toArray(new String[0]);
+        this.types = new Class<?>[count];
+        for (int ordinal = 0; ordinal < count; ordinal++) {
+            String name = names[ordinal];
+            types[ordinal] = dto.getPropertyType(name);
+            kinds[ordinal] = kindOf(dto, ordinal, name, types[ordinal]);
+        }
+    }
+
+    /**
+     * The schema of {@code dto}'s class.
+     */
+    public static FieldSchema of(DataHelper_IR<?> dto) {
+        return SCHEMAS.get(dto);
+    }
+
+    /**
+     * Field kinds by ordinal (one of the constants above).
+     */
+    public byte[] kinds() {
+        return kinds;
+    }
+
+    /**
+     * Field names by ordinal.
+     */
+    public String[] names() {
+        return names;
+    }
+
+    /**
+     * Declared property types by ordinal (the target of conversions on read).
+     */
+    public Class<?>[] types() {
+        return types;
+    }
+
+    /**
+     * Whether the field at {@code ordinal} holds a number: primitive, boxed or another
+     * {@link Number} subclass.
+     */
+    public boolean isNumeric(int ordinal) {
+        return kinds[ordinal] <= FLOATING || (types[ordinal] != null && Number.class.isAssignableFrom(types[ordinal]));
+    }
+
+    private static byte kindOf(DataHelper_IR<?> dto, int ordinal, String name, Class<?> type) {
+        if (dto.isPrimitiveIntegralField(ordinal)) return PRIMITIVE_LONG;
+        if (dto.isPrimitiveDoubleField(ordinal)) return PRIMITIVE_DOUBLE;
+        if (dto.isNestedObjectField(name)) return OBJECT;
+        if (dto.isListField(name)) return LIST;
+        if (dto.isMapField(name)) return MAP;
+        if (type == Long.class || type == Integer.class || type == Short.class || type == Byte.class
+                || type == long.class || type == int.class || type == short.class || type == byte.class) {
+            return INTEGRAL;
+        }
+        if (type == Double.class || type == Float.class || type == double.class || type == float.class) {
+            return FLOATING;
+        }
+        if (type == Boolean.class || type == boolean.class) return BOOLEAN;
+        if (type == String.class) return STRING;
+        return ANY;
+    }
+
+    /**
+     * Per-class values derived from an instance of the class, computed on first use.
+     *
+     * <p>Backed by a {@link ClassValue}, so entries do not keep classes from being unloaded. The
+     * value is computed from the first instance seen rather than in {@code computeValue}, which
+     * only has the class; two threads may compute it concurrently, which is harmless as long as
+     * the factory depends only on the class's metadata.</p>
+     *
+     * @param <S> the derived value type
+     */
+    public static final class Cache<S> {
+
+        private final Function<? super DataHelper_IR<?>, ? extends S> factory;
+        private final ClassValue<Holder<S>> holders = new ClassValue<>() {
+            @Override
+            protected Holder<S> computeValue(Class<?> type) {
+                return new Holder<>();
+            }
+        };
+
+        public Cache(Function<? super DataHelper_IR<?>, ? extends S> factory) {
+            this.factory = factory;
+        }
+
+        /**
+         * The value for {@code dto}'s class.
+         */
+        public S get(DataHelper_IR<?> dto) {
+            Holder<S> holder = holders.get(dto.getClass());
+            S value = holder.value;
+            if (value == null) {
+                value = factory.apply(dto);
+                holder.value = value;  // benign race: every thread derives the same value
+            }
+            return value;
+        }
+    }
+
+    private static final class Holder<S> {
+        volatile S value;
+    }
+}
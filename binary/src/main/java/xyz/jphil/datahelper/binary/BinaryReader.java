@@ -0,0 +1,280 @@
+package xyz.jphil.datahelper.binary;
+
+import xyz.jphil.datahelper.DataHelper_I;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static xyz.jphil.datahelper.FieldSchema.*;
+import static xyz.jphil.datahelper.binary.BinarySchema.*;
+
+/**
+ * Decodes the format of {@link BinaryWriter} into DataHelper objects.
+ *
+ * <p>Fields are bound by ordinal through {@code setLongByOrdinal} / {@code setDoubleByOrdinal}
+ * (no boxing for numeric fields) and {@code setPropertyByOrdinal}; nested objects, lists and maps
+ * are created with the target's {@code create*} factories, as the JSON parser does. Absent
+ * (null) fields leave the target untouched. Untyped values come back as {@code Long},
+ * {@code Double}, {@code String}, {@code Boolean}, {@code ArrayList} and {@code LinkedHashMap},
+ * converted to the declared type where one is known.</p>
+ */
+public final class BinaryReader {
+
+    private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private final byte[] buf;
+    private final int start;
+    private final int limit;
+    private int pos;
+
+    private BinaryReader(byte[] buf, int offset, int length) {
+        if (offset < 0 || length < 0 || offset + length > buf.length) {
+            throw new IndexOutOfBoundsException("offset " + offset + ", length " + length + ", array length " + buf.length);
+        }
+        this.buf = buf;
+        this.start = offset;
+        this.limit = offset + length;
+        this.pos = offset;
+    }
+
+    /**
+     * Decode one object from {@code bytes} into {@code target}.
+     *
+     * @return the target
+     * @throws BinaryFormatException if the bytes are truncated, malformed or written for a type
+     *         with a different number of fields
+     */
+    public static <T extends DataHelper_I<?>> T read(byte[] bytes, T target) {
+        return read(bytes, 0, bytes.length, target);
+    }
+
+    /**
+     * Decode one object from {@code length} bytes at {@code offset} into {@code target}.
+     * Trailing bytes after the object are ignored.
+     *
+     * @return the target
+     * @throws BinaryFormatException if the bytes are truncated, malformed or written for a type
+     *         with a different number of fields
+     */
+    public static <T extends DataHelper_I<?>> T read(byte[] bytes, int offset, int length, T target) {
+        new BinaryReader(bytes, offset, length).readObjectInto(target);
+        return target;
+    }
+
+    /**
+     * Decode one object from the buffer's position into {@code target}, advancing the position
+     * past it. Heap buffers are read in place; the remaining bytes of direct buffers are copied
+     * first.
+     *
+     * @return the target
+     * @throws BinaryFormatException if the bytes are truncated, malformed or written for a type
+     *         with a different number of fields
+     */
+    public static <T extends DataHelper_I<?>> T read(ByteBuffer buffer, T target) {
+        BinaryReader in;
+        if (buffer.hasArray()) {
+            in = new BinaryReader(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+        } else {
+            byte[] copy = new byte[buffer.remaining()];
+            buffer.duplicate().get(copy);
+            in = new BinaryReader(copy, 0, copy.length);
+        }
+        in.readObjectInto(target);
+        buffer.position(buffer.position() + (in.pos - in.start));
+        return target;
+    }
+
+    // ========== Internal Reading Methods ==========
+
+    @SuppressWarnings("unchecked")
+    private void readObjectInto(DataHelper_I<?> target) {
+        BinarySchema schema = BinarySchema.of(target);
+        byte[] kinds = schema.kinds;
+        int count = readCount();
+        if (count != kinds.length) {
+            throw new BinaryFormatException("Object at offset " + (pos - start) + " has " + count
+                    + " fields, " + target.getClass().getSimpleName() + " has " + kinds.length);
+        }
+        int bitmap = pos;
+        require((count + 7) >>> 3);
+        pos += (count + 7) >>> 3;
+
+        for (int ordinal = 0; ordinal < count; ordinal++) {
+            if ((buf[bitmap + (ordinal >>> 3)] & (1 << (ordinal & 7))) == 0) continue;
+            String name = schema.names[ordinal];
+            switch (kinds[ordinal]) {
+                case PRIMITIVE_LONG, INTEGRAL -> {
+                    int at = pos;
+                    try {
+                        target.setLongByOrdinal(ordinal, readZigzag());
+                    } catch (ArithmeticException e) {
+                        throw new BinaryFormatException("Value of field '" + name + "' at offset "
+                                + (at - start) + " does not fit it: " + e.getMessage());
+                    }
+                }
+                case PRIMITIVE_DOUBLE, FLOATING -> target.setDoubleByOrdinal(ordinal, readDouble());
+                case BOOLEAN -> target.setPropertyByOrdinal(ordinal, readByte() != 0);
+                case STRING -> target.setPropertyByOrdinal(ordinal, readString());
+                case OBJECT -> {
+                    DataHelper_I<?> nested = target.createNestedObject(name);
+                    if (nested == null) {
+                        throw new BinaryFormatException("No DataHelper type to decode field '" + name + "' into");
+                    }
+                    readObjectInto(nested);
+                    target.setPropertyByOrdinal(ordinal, nested);
+                }
+                case LIST -> target.setPropertyByOrdinal(ordinal, readList(target, name));
+                case MAP -> {
+                    Map<Object, Object> map = (Map<Object, Object>) target.createMapInstance(name);
+                    readMapInto(target, name, map);
+                    target.setPropertyByOrdinal(ordinal, map);
+                }
+                default -> target.setPropertyByOrdinal(ordinal,
+                        DataHelper_I.convertType(readTagged(null, null, false), schema.types[ordinal]));
+            }
+        }
+    }
+
+    private List<Object> readList(DataHelper_I<?> owner, String fieldName) {
+        Class<?> elementType = owner.getListElementType(fieldName);
+        int size = readCount();
+        List<Object> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(DataHelper_I.convertType(readTagged(owner, fieldName, false), elementType));
+        }
+        return list;
+    }
+
+    private void readMapInto(DataHelper_I<?> owner, String fieldName, Map<Object, Object> map) {
+        Class<?> keyType = owner.getMapKeyType(fieldName);
+        Class<?> valueType = owner.getMapValueType(fieldName);
+        int size = readCount();
+        for (int i = 0; i < size; i++) {
+            Object key = DataHelper_I.convertType(readTagged(null, null, false), keyType);
+            map.put(key, DataHelper_I.convertType(readTagged(owner, fieldName, true), valueType));
+        }
+    }
+
+    /**
+     * Read a tagged value. Objects are created by {@code owner}'s list-element or map-value
+     * factory for {@code fieldName}; without an owner they cannot be decoded.
+     */
+    private Object readTagged(DataHelper_I<?> owner, String fieldName, boolean mapValue) {
+        int at = pos;
+        byte tag = readByte();
+        switch (tag) {
+            case TAG_NULL:
+                return null;
+            case TAG_FALSE:
+                return Boolean.FALSE;
+            case TAG_TRUE:
+                return Boolean.TRUE;
+            case TAG_INTEGRAL:
+                return readZigzag();
+            case TAG_FLOATING:
+                return readDouble();
+            case TAG_STRING:
+                return readString();
+            case TAG_OBJECT: {
+                DataHelper_I<?> element = owner == null ? null
+                        : mapValue ? owner.createMapValueElement(fieldName) : owner.createListElement(fieldName);
+                if (element == null) {
+                    throw new BinaryFormatException("No DataHelper type to decode the object at offset "
+                            + (at - start) + " into" + (fieldName == null ? "" : " (field '" + fieldName + "')"));
+                }
+                readObjectInto(element);
+                return element;
+            }
+            case TAG_LIST: {
+                int size = readCount();
+                List<Object> list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    list.add(readTagged(null, null, false));
+                }
+                return list;
+            }
+            case TAG_MAP: {
+                int size = readCount();
+                Map<Object, Object> map = new LinkedHashMap<>();
+                for (int i = 0; i < size; i++) {
+                    map.put(readTagged(null, null, false), readTagged(null, null, false));
+                }
+                return map;
+            }
+            default:
+                throw new BinaryFormatException("Unknown value tag " + tag + " at offset " + (at - start));
+        }
+    }
+
+    // ========== Primitive Decoding ==========
+
+    private void require(int n) {
+        if (n > limit - pos) {
+            throw new BinaryFormatException("Truncated input: " + n + " bytes needed at offset "
+                    + (pos - start) + ", " + (limit - pos) + " left");
+        }
+    }
+
+    private byte readByte() {
+        require(1);
+        return buf[pos++];
+    }
+
+    private long readVarint() {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new BinaryFormatException("Varint longer than 10 bytes at offset " + (pos - start));
+    }
+
+    private long readZigzag() {
+        long code = readVarint();
+        return (code >>> 1) ^ -(code & 1);
+    }
+
+    /** A size or count; every counted item takes at least one byte, which bounds it. */
+    private int readCount() {
+        long count = readVarint();
+        if (count > limit - pos) {
+            throw new BinaryFormatException("Count " + count + " at offset " + (pos - start)
+                    + " exceeds the " + (limit - pos) + " bytes left");
+        }
+        return (int) count;
+    }
+
+    private double readDouble() {
+        require(8);
+        double value = Double.longBitsToDouble((long) LONGS.get(buf, pos));
+        pos += 8;
+        return value;
+    }
+
+    private String readString() {
+        int length = readCount();
+        String value = new String(buf, pos, length, StandardCharsets.UTF_8);
+        pos += length;
+        return value;
+    }
+
+    /**
+     * Exception thrown when binary input is truncated, malformed, or does not match the target
+     * type's schema.
+     */
+    public static class BinaryFormatException extends RuntimeException {
+        public BinaryFormatException(String message) {
+            super(message);
+        }
+    }
+}
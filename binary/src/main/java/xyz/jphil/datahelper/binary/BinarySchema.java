@@ -0,0 +1,73 @@
+package xyz.jphil.datahelper.binary;
+
+import xyz.jphil.datahelper.DataHelper_IR;
+import xyz.jphil.datahelper.FieldSchema;
+
+import java.util.Arrays;
+
+/**
+ * How each field of a DataHelper type is encoded, resolved once per class: the field kinds of
+ * {@link FieldSchema} plus the field ID order of the indexed format.
+ *
+ * <p>Fields are encoded by kind, without a tag: the reader resolves the same kinds for its type.
+ * Values whose type the schema cannot pin down (list elements, map keys and values, fields of
+ * other types) are written self-describing, prefixed with one of the {@code TAG_*} bytes. The
+ * indexed format ({@link IndexedBinaryWriter}) tags every field and orders them by
+ * {@code fieldId}.</p>
+ */
+final class BinarySchema {
+
+    // ========== Value tags ==========
+
+    static final byte TAG_NULL = 0;
+    static final byte TAG_FALSE = 1;
+    static final byte TAG_TRUE = 2;
+    static final byte TAG_INTEGRAL = 3;
+    static final byte TAG_FLOATING = 4;
+    static final byte TAG_STRING = 5;
+    static final byte TAG_OBJECT = 6;
+    static final byte TAG_LIST = 7;
+    static final byte TAG_MAP = 8;
+
+    private static final FieldSchema.Cache<BinarySchema> SCHEMAS = new FieldSchema.Cache<>(BinarySchema::new);
+
+    /** Field kinds by ordinal ({@link FieldSchema} constants). */
+    final byte[] kinds;
+    /** Field names by ordinal. */
+    final String[] names;
+    /** Declared property types by ordinal (target of conversions on read). */
+    final Class<?>[] types;
+    /** Stable field IDs by ordinal ({@code fieldId}), for the indexed format. */
+    final int[] ids;
+    /** The field IDs in ascending order, and the ordinal of each: the indexed format's field order. */
+    final int[] sortedIds;
+    final int[] ordinalsById;
+
+    private BinarySchema(DataHelper_IR<?> dto) {
+        FieldSchema fields = FieldSchema.of(dto);
+        this.kinds = fields.kinds();
+        this.names = fields.names();
+        this.types = fields.types();
+        int count = kinds.length;
+        this.ids = new int[count];
+        long[] idOrdinals = new long[count];
+        for (int ordinal = 0; ordinal < count; ordinal++) {
+            ids[ordinal] = dto.fieldId(ordinal);
+            idOrdinals[ordinal] = (long) ids[ordinal] << 32 | ordinal;
+        }
+        Arrays.sort(idOrdinals);
+        this.sortedIds = new int[count];
+        this.ordinalsById = new int[count];
+        for (int i = 0; i < count; i++) {
+            sortedIds[i] = (int) (idOrdinals[i] >>> 32);
+            ordinalsById[i] = (int) idOrdinals[i];
+        }
+    }
+
+    /**
+     * The schema of {@code dto}'s class.
+     */
+    static BinarySchema of(DataHelper_IR<?> dto) {
+        return SCHEMAS.get(dto);
+    }
+}
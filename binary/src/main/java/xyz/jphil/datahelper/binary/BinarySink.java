@@ -0,0 +1,128 @@
+package xyz.jphil.datahelper.binary;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * A growable byte buffer with the primitive encodings of the binary format: unsigned and zigzag
+ * varints, little-endian IEEE 754 doubles and length-prefixed UTF-8 strings.
+ */
+final class BinarySink {
+
+    private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    byte[] buffer;
+    int count = 0;
+
+    /** A sink writing into {@code buffer} from its start, growing it by copying as needed. */
+    BinarySink(byte[] buffer) {
+        this.buffer = buffer;
+    }
+
+    /** Make room for {@code n} more bytes. */
+    void ensure(int n) {
+        if (count + n > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(count + n, buffer.length * 2));
+        }
+    }
+
+    void writeByte(int b) {
+        ensure(1);
+        buffer[count++] = (byte) b;
+    }
+
+    /** Reserve {@code n} zeroed bytes; returns their offset. */
+    int reserve(int n) {
+        ensure(n);
+        int at = count;
+        Arrays.fill(buffer, at, at + n, (byte) 0);
+        count += n;
+        return at;
+    }
+
+    /** Unsigned LEB128: 7 bits per byte, low groups first. */
+    void writeVarint(long value) {
+        ensure(10);
+        byte[] buf = buffer;
+        int pos = count;
+        while ((value & ~0x7FL) != 0) {
+            buf[pos++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buf[pos++] = (byte) value;
+        count = pos;
+    }
+
+    /** Signed varint: zigzag maps small magnitudes of either sign to small codes. */
+    void writeZigzag(long value) {
+        writeVarint((value << 1) ^ (value >> 63));
+    }
+
+    void writeDouble(double value) {
+        ensure(8);
+        LONGS.set(buffer, count, Double.doubleToRawLongBits(value));
+        count += 8;
+    }
+
+    /**
+     * Varint UTF-8 byte length, then the bytes. An unpaired surrogate is encoded as {@code '?'},
+     * as {@code String.getBytes(UTF_8)} does.
+     */
+    void writeString(String s) {
+        int length = s.length();
+        int utf8Length = utf8Length(s, length);
+        writeVarint(utf8Length);
+        ensure(utf8Length);
+        byte[] buf = buffer;
+        int pos = count;
+        if (utf8Length == length) {
+            for (int i = 0; i < length; i++) {
+                buf[pos++] = (byte) s.charAt(i);
+            }
+            count = pos;
+            return;
+        }
+        for (int i = 0; i < length; i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                buf[pos++] = (byte) c;
+            } else if (c < 0x800) {
+                buf[pos++] = (byte) (0xC0 | (c >> 6));
+                buf[pos++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(s.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, s.charAt(++i));
+                buf[pos++] = (byte) (0xF0 | (cp >> 18));
+                buf[pos++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                buf[pos++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                buf[pos++] = (byte) (0x80 | (cp & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                buf[pos++] = '?';
+            } else {
+                buf[pos++] = (byte) (0xE0 | (c >> 12));
+                buf[pos++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buf[pos++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        count = pos;
+    }
+
+    private static int utf8Length(String s, int length) {
+        int bytes = length;
+        for (int i = 0; i < length; i++) {
+            char c = s.charAt(i);
+            if (c >= 0x80) {
+                if (c < 0x800) {
+                    bytes += 1;
+                } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(s.charAt(i + 1))) {
+                    bytes += 2;  // 4 bytes for the pair
+                    i++;
+                } else if (!Character.isSurrogate(c)) {
+                    bytes += 2;
+                }
+            }
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,184 @@
+package xyz.jphil.datahelper.binary;
+
+import xyz.jphil.datahelper.ByteArrayPool;
+import xyz.jphil.datahelper.DataHelper_IR;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static xyz.jphil.datahelper.FieldSchema.*;
+import static xyz.jphil.datahelper.binary.BinarySchema.*;
+
+/**
+ * Compact binary writer for DataHelper objects, using field ordinals instead of names.
+ *
+ * <p><strong>Format.</strong> An object is its field count (varint), a presence bitmap of
+ * {@code ceil(count / 8)} bytes (bit {@code i} set: field {@code i} is non-null and follows), then
+ * the present fields in ordinal order, each encoded by its declared kind (see
+ * {@link BinarySchema}) with no tag or name:</p>
+ * <ul>
+ *   <li>integral numbers: zigzag varint (1 byte for -64..63)</li>
+ *   <li>floating-point numbers: IEEE 754 double, 8 bytes little-endian</li>
+ *   <li>booleans: 1 byte</li>
+ *   <li>strings: varint byte length, then UTF-8</li>
+ *   <li>nested DataHelpers: an object, recursively</li>
+ *   <li>lists: varint size, then tagged elements; maps: varint size, then tagged keys and values</li>
+ * </ul>
+ *
+ * <p>A tagged value is one tag byte (null, false, true, integral, floating, string, object,
+ * list, map) followed by the encoding above. Values of other types are written as the tagged
+ * string of {@code toString()}, as {@code MinimalJsonWriter} does.</p>
+ *
+ * <p>The format is schema-driven: reader and writer must agree on the type's fields and their
+ * order. A differing field count is detected and rejected; renamed, retyped or reordered fields
+ * are not.</p>
+ *
+ * <p><strong>Not supported:</strong> circular references (will cause StackOverflowError).</p>
+ */
+public final class BinaryWriter {
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    private BinaryWriter() {
+    }
+
+    /**
+     * Encode a DataHelper object (deep).
+     *
+     * @return a new array holding exactly the encoded bytes
+     */
+    public static byte[] write(DataHelper_IR<?> dataHelper) {
+        BinarySink out = acquire();
+        try {
+            writeObject(out, dataHelper);
+            return Arrays.copyOf(out.buffer, out.count);
+        } finally {
+            release(out);
+        }
+    }
+
+    /**
+     * Encode a DataHelper object (deep) to a stream, in one write. The stream is neither flushed
+     * nor closed.
+     */
+    public static void write(DataHelper_IR<?> dataHelper, OutputStream target) throws IOException {
+        BinarySink out = acquire();
+        try {
+            writeObject(out, dataHelper);
+            target.write(out.buffer, 0, out.count);
+        } finally {
+            release(out);
+        }
+    }
+
+    /**
+     * Encode a DataHelper object (deep) into a buffer, starting at its position.
+     *
+     * @return the same buffer, positioned after the encoded bytes
+     * @throws java.nio.BufferOverflowException if the bytes do not fit (nothing is written then)
+     */
+    public static ByteBuffer write(DataHelper_IR<?> dataHelper, ByteBuffer target) {
+        BinarySink out = acquire();
+        try {
+            writeObject(out, dataHelper);
+            return target.put(out.buffer, 0, out.count);
+        } finally {
+            release(out);
+        }
+    }
+
+    /** A sink over a pooled buffer; see {@link ByteArrayPool}. */
+    private static BinarySink acquire() {
+        return new BinarySink(ByteArrayPool.acquire(INITIAL_CAPACITY));
+    }
+
+    private static void release(BinarySink out) {
+        ByteArrayPool.release(out.buffer);
+    }
+
+    // ========== Internal Writing Methods ==========
+
+    private static void writeObject(BinarySink out, DataHelper_IR<?> dataHelper) {
+        BinarySchema schema = BinarySchema.of(dataHelper);
+        byte[] kinds = schema.kinds;
+        int count = kinds.length;
+        out.writeVarint(count);
+        int bitmap = out.reserve((count + 7) >>> 3);
+
+        for (int ordinal = 0; ordinal < count; ordinal++) {
+            byte kind = kinds[ordinal];
+            if (kind == PRIMITIVE_LONG) {
+                out.writeZigzag(dataHelper.getLongByOrdinal(ordinal));
+            } else if (kind == PRIMITIVE_DOUBLE) {
+                out.writeDouble(dataHelper.getDoubleByOrdinal(ordinal));
+            } else {
+                Object value = dataHelper.getPropertyByOrdinal(ordinal);
+                if (value == null) continue;
+                writeField(out, kind, value);
+            }
+            out.buffer[bitmap + (ordinal >>> 3)] |= (byte) (1 << (ordinal & 7));
+        }
+    }
+
+    private static void writeField(BinarySink out, byte kind, Object value) {
+        switch (kind) {
+            case INTEGRAL -> out.writeZigzag(((Number) value).longValue());
+            case FLOATING -> out.writeDouble(((Number) value).doubleValue());
+            case BOOLEAN -> out.writeByte((Boolean) value ? 1 : 0);
+            case STRING -> out.writeString((String) value);
+            case OBJECT -> writeObject(out, (DataHelper_IR<?>) value);
+            case LIST -> writeList(out, (List<?>) value);
+            case MAP -> writeMap(out, (Map<?, ?>) value);
+            default -> writeTagged(out, value);
+        }
+    }
+
+    private static void writeList(BinarySink out, List<?> list) {
+        out.writeVarint(list.size());
+        for (Object element : list) {
+            writeTagged(out, element);
+        }
+    }
+
+    private static void writeMap(BinarySink out, Map<?, ?> map) {
+        out.writeVarint(map.size());
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            writeTagged(out, entry.getKey());
+            writeTagged(out, entry.getValue());
+        }
+    }
+
+    private static void writeTagged(BinarySink out, Object value) {
+        if (value == null) {
+            out.writeByte(TAG_NULL);
+        } else if (value instanceof String s) {
+            out.writeByte(TAG_STRING);
+            out.writeString(s);
+        } else if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            out.writeByte(TAG_INTEGRAL);
+            out.writeZigzag(((Number) value).longValue());
+        } else if (value instanceof Double || value instanceof Float) {
+            out.writeByte(TAG_FLOATING);
+            out.writeDouble(((Number) value).doubleValue());
+        } else if (value instanceof Boolean b) {
+            out.writeByte(b ? TAG_TRUE : TAG_FALSE);
+        } else if (value instanceof DataHelper_IR<?> nested) {
+            out.writeByte(TAG_OBJECT);
+            writeObject(out, nested);
+        } else if (value instanceof List<?> list) {
+            out.writeByte(TAG_LIST);
+            writeList(out, list);
+        } else if (value instanceof Map<?, ?> map) {
+            out.writeByte(TAG_MAP);
+            writeMap(out, map);
+        } else {
+            // Fallback: toString(), like the JSON writer
+            out.writeByte(TAG_STRING);
+            out.writeString(value.toString());
+        }
+    }
+}
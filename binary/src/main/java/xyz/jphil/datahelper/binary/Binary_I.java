@@ -0,0 +1,74 @@
+package xyz.jphil.datahelper.binary;
+
+import xyz.jphil.datahelper.DataHelper_I;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Write side of the binary trait: decoding ({@code fromBinary}).
+ *
+ * <p>Extends {@link Binary_IR} (which carries {@code toBinary}) and {@link DataHelper_I}, the same
+ * way {@code Json_I} pairs with {@code Json_IR}. Records are not decoded into directly: decode
+ * into the mutable form, then call {@code toRecord()}.</p>
+ *
+ * <p><strong>Usage:</strong></p>
+ * <pre>{@code
+ * @Data
+ * public final class Person extends Person_A implements Binary_I<Person> {
+ *     String name;
+ *     int age;
+ * }
+ *
+ * byte[] bytes = person.toBinary();
+ * Person copy = new Person().fromBinary(bytes);
+ * }</pre>
+ *
+ * @param <E> the implementing type (self-reference for fluent API)
+ */
+public interface Binary_I<E extends DataHelper_I<E>> extends Binary_IR<E>, DataHelper_I<E> {
+
+    /**
+     * Populate this DTO from bytes written by {@link Binary_IR#toBinary()}.
+     *
+     * @param bytes the encoded object
+     * @return this instance for chaining
+     * @throws BinaryReader.BinaryFormatException if the bytes are malformed or were written for a
+     *         type with a different number of fields
+     */
+    @SuppressWarnings("unchecked")
+    default E fromBinary(byte[] bytes) {
+        BinaryReader.read(bytes, this);
+        return (E) this;
+    }
+
+    /**
+     * Populate this DTO from the encoded object at {@code offset}.
+     *
+     * @param bytes holds the encoded object
+     * @param offset start of the object
+     * @param length bytes available from {@code offset}
+     * @return this instance for chaining
+     * @throws BinaryReader.BinaryFormatException if the bytes are malformed or were written for a
+     *         type with a different number of fields
+     */
+    @SuppressWarnings("unchecked")
+    default E fromBinary(byte[] bytes, int offset, int length) {
+        BinaryReader.read(bytes, offset, length, this);
+        return (E) this;
+    }
+
+    /**
+     * Populate this DTO from the encoded object at the buffer's position, advancing the position
+     * past it (so consecutive objects can be read from one buffer).
+     *
+     * @param buffer holds the encoded object
+     * @return this instance for chaining
+     * @throws BinaryReader.BinaryFormatException if the bytes are malformed or were written for a
+     *         type with a different number of fields
+     */
+    @SuppressWarnings("unchecked")
+    default E fromBinary(ByteBuffer buffer) {
+        BinaryReader.read(buffer, this);
+        return (E) this;
+    }
+}
@@ -0,0 +1,54 @@
+package xyz.jphil.datahelper.binary;
+
+import xyz.jphil.datahelper.DataHelper_IR;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Read side of the binary trait: compact encoding ({@code toBinary}).
+ *
+ * <p>The binary counterpart of {@code Json_IR}: fields are identified by ordinal instead of
+ * name, numbers are varints or raw IEEE doubles instead of decimal text, and absent fields cost
+ * one bit (see {@link BinaryWriter} for the format). Like {@code Json_IR} it can be mixed into the
+ * readable {@code _IR} interface via {@code superInterfaces}, so immutable {@code _R} records
+ * encode as well; the processor routes the {@link Binary_I} write half onto the mutable type.</p>
+ *
+ * <p>The encoding carries no field names, so it is only readable by the same DTO type with the
+ * same fields in the same order: use it between services built from one model, not as a
+ * long-term storage format.</p>
+ *
+ * @param <E> the implementing type (self-reference for fluent API)
+ */
+public interface Binary_IR<E extends DataHelper_IR<E>> extends DataHelper_IR<E> {
+
+    /**
+     * Encode this DTO (deep).
+     *
+     * @return the encoded bytes
+     */
+    default byte[] toBinary() {
+        return BinaryWriter.write(this);
+    }
+
+    /**
+     * Encode this DTO (deep) to a stream. The stream is neither flushed nor closed.
+     *
+     * @param out receives the encoded bytes
+     */
+    default void toBinary(OutputStream out) throws IOException {
+        BinaryWriter.write(this, out);
+    }
+
+    /**
+     * Encode this DTO (deep) into a buffer at its position.
+     *
+     * @param target the destination buffer
+     * @return the same buffer, positioned after the encoded bytes
+     * @throws java.nio.BufferOverflowException if the encoding does not fit
+     */
+    default ByteBuffer toBinary(ByteBuffer target) {
+        return BinaryWriter.write(this, target);
+    }
+}
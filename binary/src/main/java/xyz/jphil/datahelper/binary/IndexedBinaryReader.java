@@ -0,0 +1,447 @@
+package xyz.jphil.datahelper.binary;
+
+import xyz.jphil.datahelper.DataHelper_I;
+import xyz.jphil.datahelper.binary.BinaryReader.BinaryFormatException;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static xyz.jphil.datahelper.FieldSchema.*;
+import static xyz.jphil.datahelper.binary.BinarySchema.*;
+
+/**
+ * Decodes the format of {@link IndexedBinaryWriter} into DataHelper objects.
+ *
+ * <p>The directory of each object is matched against the target's field IDs in one merged pass
+ * (both are in ascending ID order). Entries with IDs the target does not have are passed over
+ * without touching their values; fields the input lacks leave the target untouched. A value
+ * whose tag differs from the field's type is converted where possible ({@code Integer} to
+ * {@code Long}, integral to floating-point, numeric strings, ...), otherwise it is rejected.
+ * {@link #read(byte[], DataHelper_I, String...)} decodes only the named fields, finding each by
+ * binary search in the directory.</p>
+ *
+ * <p>Every value is confined to its directory slot, so malformed input fails with a
+ * {@link BinaryFormatException} carrying the byte offset, never with a read past the object.</p>
+ */
+public final class IndexedBinaryReader {
+
+    private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private final byte[] buf;
+    private final int start;
+    private int limit;
+    private int pos;
+
+    private IndexedBinaryReader(byte[] buf, int offset, int length) {
+        if (offset < 0 || length < 0 || offset + length > buf.length) {
+            throw new IndexOutOfBoundsException("offset " + offset + ", length " + length + ", array length " + buf.length);
+        }
+        this.buf = buf;
+        this.start = offset;
+        this.limit = offset + length;
+        this.pos = offset;
+    }
+
+    /**
+     * Decode one object from {@code bytes} into {@code target}.
+     *
+     * @return the target
+     * @throws BinaryFormatException if the bytes are truncated or malformed, or a value does not
+     *         fit its field
+     */
+    public static <T extends DataHelper_I<?>> T read(byte[] bytes, T target) {
+        return read(bytes, 0, bytes.length, target);
+    }
+
+    /**
+     * Decode one object from {@code length} bytes at {@code offset} into {@code target}.
+     * Trailing bytes after the object are ignored.
+     *
+     * @return the target
+     * @throws BinaryFormatException if the bytes are truncated or malformed, or a value does not
+     *         fit its field
+     */
+    public static <T extends DataHelper_I<?>> T read(byte[] bytes, int offset, int length, T target) {
+        new IndexedBinaryReader(bytes, offset, length).readObjectInto(target);
+        return target;
+    }
+
+    /**
+     * Decode one object from the buffer's position into {@code target}, advancing the position
+     * past it. Heap buffers are read in place; the remaining bytes of direct buffers are copied
+     * first.
+     *
+     * @return the target
+     * @throws BinaryFormatException if the bytes are truncated or malformed, or a value does not
+     *         fit its field
+     */
+    public static <T extends DataHelper_I<?>> T read(ByteBuffer buffer, T target) {
+        IndexedBinaryReader in;
+        if (buffer.hasArray()) {
+            in = new IndexedBinaryReader(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+        } else {
+            byte[] copy = new byte[buffer.remaining()];
+            buffer.duplicate().get(copy);
+            in = new IndexedBinaryReader(copy, 0, copy.length);
+        }
+        in.readObjectInto(target);
+        buffer.position(buffer.position() + (in.pos - in.start));
+        return target;
+    }
+
+    /**
+     * Decode only the named fields (names or aliases) of the object in {@code bytes} into
+     * {@code target}, leaving its other fields untouched. Each field is located by binary search
+     * in the directory, so the cost depends on the fields read, not on the size of the object.
+     *
+     * @return the target
+     * @throws IllegalArgumentException if {@code target} has no field of one of the names
+     * @throws BinaryFormatException if the bytes are truncated or malformed, or a value does not
+     *         fit its field
+     */
+    public static <T extends DataHelper_I<?>> T read(byte[] bytes, T target, String... fieldNames) {
+        BinarySchema schema = BinarySchema.of(target);
+        IndexedBinaryReader in = new IndexedBinaryReader(bytes, 0, bytes.length);
+        Directory dir = in.readDirectory();
+        for (String name : fieldNames) {
+            int ordinal = target.fieldOrdinal(name);
+            if (ordinal < 0) {
+                throw new IllegalArgumentException(target.getClass().getSimpleName() + " has no field '" + name + "'");
+            }
+            int id = schema.ids[ordinal];
+            int low = 0;
+            int high = dir.count - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                long midId = in.key(dir, mid) >>> 4;
+                if (midId < id) {
+                    low = mid + 1;
+                } else if (midId > id) {
+                    high = mid - 1;
+                } else {
+                    in.readEntry(dir, mid, target, schema, ordinal);
+                    break;
+                }
+            }
+        }
+        return target;
+    }
+
+    // ========== Internal Reading Methods ==========
+
+    /** The header of an object: where its directory and body are. */
+    private static final class Directory {
+        int count;
+        int keyWidth;
+        int entryWidth;
+        int entries;
+        int body;
+        int bodyLength;
+    }
+
+    /**
+     * Read an object's header, leaving the position after the object.
+     */
+    private Directory readDirectory() {
+        Directory dir = new Directory();
+        int at = pos;
+        dir.count = readCount();
+        if (dir.count == 0) {
+            return dir;
+        }
+        dir.bodyLength = readCount();
+        int widths = readByte();
+        if ((widths & ~0xF) != 0 || (widths & 3) == 3 || (widths & 0xC) == 0xC) {
+            throw new BinaryFormatException("Invalid directory widths " + widths + " at offset " + (at - start));
+        }
+        dir.keyWidth = 1 << (widths & 3);
+        dir.entryWidth = dir.keyWidth + (1 << (widths >>> 2));
+        long directoryLength = (long) dir.count * dir.entryWidth;
+        require(directoryLength + dir.bodyLength);
+        dir.entries = pos;
+        dir.body = pos + (int) directoryLength;
+        pos = dir.body + dir.bodyLength;
+        return dir;
+    }
+
+    /** The key ({@code id << 4 | tag}) of directory entry {@code i}. */
+    private long key(Directory dir, int i) {
+        return getFixed(dir.entries + i * dir.entryWidth, dir.keyWidth);
+    }
+
+    /** Where the value of directory entry {@code i} starts, relative to the body. */
+    private long offset(Directory dir, int i) {
+        return i == dir.count ? dir.bodyLength
+                : getFixed(dir.entries + i * dir.entryWidth + dir.keyWidth, dir.entryWidth - dir.keyWidth);
+    }
+
+    private void readObjectInto(DataHelper_I<?> target) {
+        BinarySchema schema = BinarySchema.of(target);
+        Directory dir = readDirectory();
+        int after = pos;
+        int[] sortedIds = schema.sortedIds;
+        int known = 0;
+        long previousKey = -1;
+        for (int i = 0; i < dir.count; i++) {
+            long key = key(dir, i);
+            if (key <= previousKey) {
+                throw new BinaryFormatException("Directory keys out of order at offset "
+                        + (dir.entries + i * dir.entryWidth - start));
+            }
+            previousKey = key;
+            long id = key >>> 4;
+            while (known < sortedIds.length && sortedIds[known] < id) {
+                known++;
+            }
+            if (known < sortedIds.length && sortedIds[known] == id) {
+                readEntry(dir, i, target, schema, schema.ordinalsById[known]);
+            }
+        }
+        pos = after;
+    }
+
+    /**
+     * Decode the value of directory entry {@code i} into field {@code ordinal} of the target,
+     * confined to the value's slot.
+     */
+    private void readEntry(Directory dir, int i, DataHelper_I<?> target, BinarySchema schema, int ordinal) {
+        long from = offset(dir, i);
+        long to = offset(dir, i + 1);
+        if (from > to || to > dir.bodyLength) {
+            throw new BinaryFormatException("Invalid value offsets " + from + ".." + to + " in the directory at offset "
+                    + (dir.entries + i * dir.entryWidth - start));
+        }
+        int enclosing = limit;
+        pos = dir.body + (int) from;
+        limit = dir.body + (int) to;
+        try {
+            readField(target, schema, ordinal, (int) (key(dir, i) & 0xF));
+        } catch (ArithmeticException e) {
+            throw new BinaryFormatException("Value of field '" + schema.names[ordinal] + "' at offset "
+                    + (dir.body + from - start) + " does not fit it: " + e.getMessage());
+        }
+        if (pos != limit) {
+            throw new BinaryFormatException("Value of field '" + schema.names[ordinal] + "' at offset "
+                    + (dir.body + from - start) + " does not fill its " + (to - from) + " bytes");
+        }
+        limit = enclosing;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void readField(DataHelper_I<?> target, BinarySchema schema, int ordinal, int tag) {
+        byte kind = schema.kinds[ordinal];
+        String name = schema.names[ordinal];
+        switch (tag) {
+            case TAG_INTEGRAL -> {
+                long value = readZigzag();
+                if (kind == PRIMITIVE_LONG || kind == INTEGRAL) {
+                    target.setLongByOrdinal(ordinal, value);
+                } else if (kind == PRIMITIVE_DOUBLE || kind == FLOATING) {
+                    target.setDoubleByOrdinal(ordinal, value);
+                } else {
+                    setConverted(target, schema, ordinal, value);
+                }
+            }
+            case TAG_FLOATING -> {
+                double value = readDouble();
+                if (kind == PRIMITIVE_DOUBLE || kind == FLOATING) {
+                    target.setDoubleByOrdinal(ordinal, value);
+                } else {
+                    setConverted(target, schema, ordinal, value);
+                }
+            }
+            case TAG_FALSE, TAG_TRUE -> setConverted(target, schema, ordinal, tag == TAG_TRUE);
+            case TAG_STRING -> setConverted(target, schema, ordinal, readString());
+            case TAG_OBJECT -> {
+                DataHelper_I<?> nested = kind == OBJECT ? target.createNestedObject(name) : null;
+                if (nested == null) {
+                    throw mismatch(schema, ordinal, "an object");
+                }
+                readObjectInto(nested);
+                target.setPropertyByOrdinal(ordinal, nested);
+            }
+            case TAG_LIST -> {
+                if (kind != LIST) {
+                    throw mismatch(schema, ordinal, "a list");
+                }
+                Class<?> elementType = target.getListElementType(name);
+                int size = readCount();
+                List<Object> list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    list.add(DataHelper_I.convertType(readTagged(target, name, false), elementType));
+                }
+                target.setPropertyByOrdinal(ordinal, list);
+            }
+            case TAG_MAP -> {
+                if (kind != MAP) {
+                    throw mismatch(schema, ordinal, "a map");
+                }
+                Map<Object, Object> map = (Map<Object, Object>) target.createMapInstance(name);
+                Class<?> keyType = target.getMapKeyType(name);
+                Class<?> valueType = target.getMapValueType(name);
+                int size = readCount();
+                for (int i = 0; i < size; i++) {
+                    Object key = DataHelper_I.convertType(readTagged(null, null, false), keyType);
+                    map.put(key, DataHelper_I.convertType(readTagged(target, name, true), valueType));
+                }
+                target.setPropertyByOrdinal(ordinal, map);
+            }
+            default -> throw new BinaryFormatException("Unknown value tag " + tag + " for field '" + name
+                    + "' at offset " + (pos - start));
+        }
+    }
+
+    /**
+     * Set a scalar that is not in the field's own encoding, converted to the declared type.
+     */
+    private void setConverted(DataHelper_I<?> target, BinarySchema schema, int ordinal, Object value) {
+        Class<?> type = schema.types[ordinal];
+        Object converted = DataHelper_I.convertType(value, type);
+        if (type != null && type != Object.class && !boxed(type).isInstance(converted)) {
+            throw new BinaryFormatException("Field '" + schema.names[ordinal] + "' of type " + type.getSimpleName()
+                    + " cannot hold the value " + value + " at offset " + (pos - start));
+        }
+        target.setPropertyByOrdinal(ordinal, converted);
+    }
+
+    private BinaryFormatException mismatch(BinarySchema schema, int ordinal, String what) {
+        Class<?> type = schema.types[ordinal];
+        return new BinaryFormatException("Field '" + schema.names[ordinal] + "' of type "
+                + (type == null ? "?" : type.getSimpleName()) + " cannot hold " + what + " at offset " + (pos - start));
+    }
+
+    private static Class<?> boxed(Class<?> type) {
+        if (!type.isPrimitive()) return type;
+        if (type == int.class) return Integer.class;
+        if (type == long.class) return Long.class;
+        if (type == double.class) return Double.class;
+        if (type == boolean.class) return Boolean.class;
+        if (type == float.class) return Float.class;
+        if (type == short.class) return Short.class;
+        if (type == byte.class) return Byte.class;
+        return Character.class;
+    }
+
+    /**
+     * Read a tagged list element, map key or map value. Objects are created by {@code owner}'s
+     * list-element or map-value factory for {@code fieldName}; without an owner they cannot be
+     * decoded.
+     */
+    private Object readTagged(DataHelper_I<?> owner, String fieldName, boolean mapValue) {
+        int at = pos;
+        byte tag = readByte();
+        switch (tag) {
+            case TAG_NULL:
+                return null;
+            case TAG_FALSE:
+                return Boolean.FALSE;
+            case TAG_TRUE:
+                return Boolean.TRUE;
+            case TAG_INTEGRAL:
+                return readZigzag();
+            case TAG_FLOATING:
+                return readDouble();
+            case TAG_STRING:
+                return readString();
+            case TAG_OBJECT: {
+                DataHelper_I<?> element = owner == null ? null
+                        : mapValue ? owner.createMapValueElement(fieldName) : owner.createListElement(fieldName);
+                if (element == null) {
+                    throw new BinaryFormatException("No DataHelper type to decode the object at offset "
+                            + (at - start) + " into" + (fieldName == null ? "" : " (field '" + fieldName + "')"));
+                }
+                readObjectInto(element);
+                return element;
+            }
+            case TAG_LIST: {
+                int size = readCount();
+                List<Object> list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    list.add(readTagged(null, null, false));
+                }
+                return list;
+            }
+            case TAG_MAP: {
+                int size = readCount();
+                Map<Object, Object> map = new LinkedHashMap<>();
+                for (int i = 0; i < size; i++) {
+                    map.put(readTagged(null, null, false), readTagged(null, null, false));
+                }
+                return map;
+            }
+            default:
+                throw new BinaryFormatException("Unknown value tag " + tag + " at offset " + (at - start));
+        }
+    }
+
+    // ========== Primitive Decoding ==========
+
+    private void require(long n) {
+        if (n > limit - pos) {
+            throw new BinaryFormatException("Truncated input: " + n + " bytes needed at offset "
+                    + (pos - start) + ", " + (limit - pos) + " left");
+        }
+    }
+
+    private byte readByte() {
+        require(1);
+        return buf[pos++];
+    }
+
+    private long readVarint() {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new BinaryFormatException("Varint longer than 10 bytes at offset " + (pos - start));
+    }
+
+    private long readZigzag() {
+        long code = readVarint();
+        return (code >>> 1) ^ -(code & 1);
+    }
+
+    /** A size, count or length; each counted item takes at least one byte, which bounds it. */
+    private int readCount() {
+        long count = readVarint();
+        if (count < 0 || count > limit - pos) {
+            throw new BinaryFormatException("Count " + count + " at offset " + (pos - start)
+                    + " exceeds the " + (limit - pos) + " bytes left");
+        }
+        return (int) count;
+    }
+
+    private double readDouble() {
+        require(8);
+        double value = Double.longBitsToDouble((long) LONGS.get(buf, pos));
+        pos += 8;
+        return value;
+    }
+
+    private String readString() {
+        int length = readCount();
+        String value = new String(buf, pos, length, StandardCharsets.UTF_8);
+        pos += length;
+        return value;
+    }
+
+    /** An unsigned little-endian value of 1, 2 or 4 bytes at {@code p}. */
+    private long getFixed(int p, int width) {
+        long value = 0;
+        for (int i = width - 1; i >= 0; i--) {
+            value = value << 8 | (buf[p + i] & 0xFF);
+        }
+        return value;
+    }
+}
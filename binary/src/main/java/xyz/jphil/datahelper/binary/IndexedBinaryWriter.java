@@ -0,0 +1,249 @@
+package xyz.jphil.datahelper.binary;
+
+import xyz.jphil.datahelper.ByteArrayPool;
+import xyz.jphil.datahelper.DataHelper_IR;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static xyz.jphil.datahelper.FieldSchema.*;
+import static xyz.jphil.datahelper.binary.BinarySchema.*;
+
+/**
+ * Version-tolerant binary writer: every object carries a directory of its fields by stable ID
+ * ({@code fieldId}), so readers built from older or newer versions of the DTO skip the fields
+ * they do not know and can jump straight to the ones they want.
+ *
+ * <p><strong>Format.</strong> An object is the number {@code n} of its non-null fields (varint);
+ * if {@code n > 0}, it continues with:</p>
+ * <ul>
+ *   <li>the body length in bytes (varint)</li>
+ *   <li>one width byte: bits 0-1 the key width, bits 2-3 the offset width, each coded 0, 1, 2
+ *       for 1, 2 or 4 bytes (the smallest width that fits every entry of this object)</li>
+ *   <li>the directory: {@code n} fixed-width little-endian entries in ascending ID order, each a
+ *       key {@code id << 4 | tag} then the offset of the value from the start of the body</li>
+ *   <li>the body: the values in directory order; a value ends where the next one starts</li>
+ * </ul>
+ *
+ * <p>The tag is one of the value tags of the compact format and says how the value is encoded:
+ * false and true have no bytes, integral numbers are zigzag varints, floating-point numbers 8
+ * bytes IEEE 754, strings a varint length then UTF-8, nested objects an object as above, lists
+ * and maps a varint size then tagged elements (a tag byte, then the value). Since the header
+ * holds the body length, any object, known or not, is skipped in O(1).</p>
+ *
+ * <p>Fields are matched by ID only, so they can be renamed, reordered, added and removed as long
+ * as IDs are not reused (see {@code @FieldId}). A field whose type changed is converted where the
+ * value allows, like JSON input.</p>
+ *
+ * <p><strong>Not supported:</strong> circular references (will cause StackOverflowError).</p>
+ */
+public final class IndexedBinaryWriter {
+
+    /** Largest field ID: a directory key is {@code id << 4 | tag} in at most 4 bytes. */
+    static final int MAX_FIELD_ID = (1 << 28) - 1;
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    private final BinarySink out;
+    /** Directory entries of the objects being written, innermost last: key in the high half, offset in the low. */
+    private long[] entries = new long[32];
+    private int entryCount;
+
+    private IndexedBinaryWriter(byte[] buffer) {
+        this.out = new BinarySink(buffer);
+    }
+
+    /**
+     * Encode a DataHelper object (deep).
+     *
+     * @return a new array holding exactly the encoded bytes
+     */
+    public static byte[] write(DataHelper_IR<?> dataHelper) {
+        IndexedBinaryWriter writer = acquire();
+        try {
+            writer.writeObject(dataHelper);
+            return Arrays.copyOf(writer.out.buffer, writer.out.count);
+        } finally {
+            release(writer);
+        }
+    }
+
+    /**
+     * Encode a DataHelper object (deep) to a stream, in one write. The stream is neither flushed
+     * nor closed.
+     */
+    public static void write(DataHelper_IR<?> dataHelper, OutputStream target) throws IOException {
+        IndexedBinaryWriter writer = acquire();
+        try {
+            writer.writeObject(dataHelper);
+            target.write(writer.out.buffer, 0, writer.out.count);
+        } finally {
+            release(writer);
+        }
+    }
+
+    /**
+     * Encode a DataHelper object (deep) into a buffer, starting at its position.
+     *
+     * @return the same buffer, positioned after the encoded bytes
+     * @throws java.nio.BufferOverflowException if the bytes do not fit (nothing is written then)
+     */
+    public static ByteBuffer write(DataHelper_IR<?> dataHelper, ByteBuffer target) {
+        IndexedBinaryWriter writer = acquire();
+        try {
+            writer.writeObject(dataHelper);
+            return target.put(writer.out.buffer, 0, writer.out.count);
+        } finally {
+            release(writer);
+        }
+    }
+
+    /** A writer encoding into a pooled buffer; see {@link ByteArrayPool}. */
+    private static IndexedBinaryWriter acquire() {
+        return new IndexedBinaryWriter(ByteArrayPool.acquire(INITIAL_CAPACITY));
+    }
+
+    private static void release(IndexedBinaryWriter writer) {
+        ByteArrayPool.release(writer.out.buffer);
+    }
+
+    // ========== Internal Writing Methods ==========
+
+    /**
+     * Write the body first, collecting the directory, then move the body up to make room for
+     * the header, whose widths depend on it.
+     */
+    private void writeObject(DataHelper_IR<?> dataHelper) {
+        BinarySchema schema = BinarySchema.of(dataHelper);
+        byte[] kinds = schema.kinds;
+        int[] ordinalsById = schema.ordinalsById;
+        int[] sortedIds = schema.sortedIds;
+        int first = entryCount;
+        int body = out.count;
+
+        for (int i = 0; i < ordinalsById.length; i++) {
+            int ordinal = ordinalsById[i];
+            int offset = out.count - body;
+            int tag;
+            byte kind = kinds[ordinal];
+            if (kind == PRIMITIVE_LONG) {
+                out.writeZigzag(dataHelper.getLongByOrdinal(ordinal));
+                tag = TAG_INTEGRAL;
+            } else if (kind == PRIMITIVE_DOUBLE) {
+                out.writeDouble(dataHelper.getDoubleByOrdinal(ordinal));
+                tag = TAG_FLOATING;
+            } else {
+                Object value = dataHelper.getPropertyByOrdinal(ordinal);
+                if (value == null) continue;
+                tag = writeValue(value);
+            }
+            int id = sortedIds[i];
+            if (id < 1 || id > MAX_FIELD_ID) {
+                throw new IllegalStateException("Field ID " + id + " of " + dataHelper.getClass().getName()
+                        + "." + schema.names[ordinal] + " is outside 1.." + MAX_FIELD_ID);
+            }
+            if (entryCount == entries.length) {
+                entries = Arrays.copyOf(entries, entryCount * 2);
+            }
+            entries[entryCount++] = ((long) id << 4 | tag) << 32 | offset;
+        }
+
+        int n = entryCount - first;
+        int bodyLength = out.count - body;
+        if (n == 0) {
+            out.writeVarint(0);
+            return;
+        }
+        long maxKey = entries[entryCount - 1] >>> 32;  // ascending: the last is the largest
+        int keyCode = widthCode(maxKey);
+        int offsetCode = widthCode(bodyLength);
+        int keyWidth = 1 << keyCode;
+        int offsetWidth = 1 << offsetCode;
+        int headerLength = varintSize(n) + varintSize(bodyLength) + 1 + n * (keyWidth + offsetWidth);
+
+        out.ensure(headerLength);
+        byte[] buf = out.buffer;
+        System.arraycopy(buf, body, buf, body + headerLength, bodyLength);
+        out.count = body;
+        out.writeVarint(n);
+        out.writeVarint(bodyLength);
+        out.writeByte(keyCode | offsetCode << 2);
+        buf = out.buffer;
+        int p = out.count;
+        for (int e = first; e < entryCount; e++) {
+            long entry = entries[e];
+            putFixed(buf, p, (int) (entry >>> 32), keyWidth);
+            putFixed(buf, p + keyWidth, (int) entry, offsetWidth);
+            p += keyWidth + offsetWidth;
+        }
+        out.count = body + headerLength + bodyLength;
+        entryCount = first;
+    }
+
+    /**
+     * Write a non-null value without its tag, returning the tag.
+     */
+    private int writeValue(Object value) {
+        if (value instanceof String s) {
+            out.writeString(s);
+            return TAG_STRING;
+        } else if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            out.writeZigzag(((Number) value).longValue());
+            return TAG_INTEGRAL;
+        } else if (value instanceof Double || value instanceof Float) {
+            out.writeDouble(((Number) value).doubleValue());
+            return TAG_FLOATING;
+        } else if (value instanceof Boolean b) {
+            return b ? TAG_TRUE : TAG_FALSE;
+        } else if (value instanceof DataHelper_IR<?> nested) {
+            writeObject(nested);
+            return TAG_OBJECT;
+        } else if (value instanceof List<?> list) {
+            out.writeVarint(list.size());
+            for (Object element : list) {
+                writeTagged(element);
+            }
+            return TAG_LIST;
+        } else if (value instanceof Map<?, ?> map) {
+            out.writeVarint(map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                writeTagged(entry.getKey());
+                writeTagged(entry.getValue());
+            }
+            return TAG_MAP;
+        } else {
+            // Fallback: toString(), like the JSON writer
+            out.writeString(value.toString());
+            return TAG_STRING;
+        }
+    }
+
+    private void writeTagged(Object value) {
+        if (value == null) {
+            out.writeByte(TAG_NULL);
+            return;
+        }
+        int at = out.reserve(1);
+        int tag = writeValue(value);
+        out.buffer[at] = (byte) tag;
+    }
+
+    /** 0, 1 or 2 for a value that fits 1, 2 or 4 bytes. */
+    private static int widthCode(long value) {
+        return value < 0x100 ? 0 : value < 0x10000 ? 1 : 2;
+    }
+
+    private static int varintSize(int value) {
+        return value < 0x80 ? 1 : value < 0x4000 ? 2 : value < 0x200000 ? 3 : value < 0x10000000 ? 4 : 5;
+    }
+
+    private static void putFixed(byte[] buf, int p, int value, int width) {
+        for (int i = 0; i < width; i++) {
+            buf[p + i] = (byte) (value >>> (8 * i));
+        }
+    }
+}
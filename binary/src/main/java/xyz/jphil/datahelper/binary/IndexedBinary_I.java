@@ -0,0 +1,94 @@
+package xyz.jphil.datahelper.binary;
+
+import xyz.jphil.datahelper.DataHelper_I;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Write side of the indexed binary trait: decoding ({@code fromIndexedBinary}).
+ *
+ * <p>Extends {@link IndexedBinary_IR} (which carries {@code toIndexedBinary}) and
+ * {@link DataHelper_I}. Fields are matched by their stable ID ({@code @FieldId} or the processor's
+ * ID lock file): fields unknown to this version are skipped, and fields missing from the input
+ * are left untouched. Records are not decoded into directly: decode into the mutable form, then
+ * call {@code toRecord()}.</p>
+ *
+ * <p><strong>Usage:</strong></p>
+ * <pre>{@code
+ * @Data
+ * public final class Person extends Person_A implements IndexedBinary_I<Person> {
+ *     @FieldId(1) String name;
+ *     @FieldId(3) int age;
+ * }
+ *
+ * byte[] bytes = person.toIndexedBinary();
+ * Person copy = new Person().fromIndexedBinary(bytes);
+ * Person names = new Person().fromIndexedBinary(bytes, "name");   // partial read
+ * }</pre>
+ *
+ * @param <E> the implementing type (self-reference for fluent API)
+ */
+public interface IndexedBinary_I<E extends DataHelper_I<E>> extends IndexedBinary_IR<E>, DataHelper_I<E> {
+
+    /**
+     * Populate this DTO from bytes written by {@link IndexedBinary_IR#toIndexedBinary()}.
+     *
+     * @param bytes the encoded object
+     * @return this instance for chaining
+     * @throws BinaryReader.BinaryFormatException if the bytes are malformed or a value does not
+     *         fit its field
+     */
+    @SuppressWarnings("unchecked")
+    default E fromIndexedBinary(byte[] bytes) {
+        IndexedBinaryReader.read(bytes, this);
+        return (E) this;
+    }
+
+    /**
+     * Populate this DTO from the encoded object at {@code offset}.
+     *
+     * @param bytes holds the encoded object
+     * @param offset start of the object
+     * @param length bytes available from {@code offset}
+     * @return this instance for chaining
+     * @throws BinaryReader.BinaryFormatException if the bytes are malformed or a value does not
+     *         fit its field
+     */
+    @SuppressWarnings("unchecked")
+    default E fromIndexedBinary(byte[] bytes, int offset, int length) {
+        IndexedBinaryReader.read(bytes, offset, length, this);
+        return (E) this;
+    }
+
+    /**
+     * Populate this DTO from the encoded object at the buffer's position, advancing the position
+     * past it (so consecutive objects can be read from one buffer).
+     *
+     * @param buffer holds the encoded object
+     * @return this instance for chaining
+     * @throws BinaryReader.BinaryFormatException if the bytes are malformed or a value does not
+     *         fit its field
+     */
+    @SuppressWarnings("unchecked")
+    default E fromIndexedBinary(ByteBuffer buffer) {
+        IndexedBinaryReader.read(buffer, this);
+        return (E) this;
+    }
+
+    /**
+     * Populate only the named fields of this DTO, locating each through the object's directory
+     * without decoding the others.
+     *
+     * @param bytes the encoded object
+     * @param fieldNames the fields to read (names or aliases)
+     * @return this instance for chaining
+     * @throws IllegalArgumentException if this type has no field of one of the names
+     * @throws BinaryReader.BinaryFormatException if the bytes are malformed or a value does not
+     *         fit its field
+     */
+    @SuppressWarnings("unchecked")
+    default E fromIndexedBinary(byte[] bytes, String... fieldNames) {
+        IndexedBinaryReader.read(bytes, this, fieldNames);
+        return (E) this;
+    }
+}
@@ -0,0 +1,52 @@
+package xyz.jphil.datahelper.binary;
+
+import xyz.jphil.datahelper.DataHelper_IR;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Read side of the indexed binary trait: version-tolerant encoding ({@code toIndexedBinary}).
+ *
+ * <p>Like {@link Binary_IR}, but every object carries a directory of its fields by stable ID
+ * (see {@link IndexedBinaryWriter} for the format), so services built from different versions of
+ * a DTO can exchange it without a migration step, and a reader can decode a few fields of a large
+ * object without scanning the rest. The price is a few bytes per field for the directory. It can
+ * be mixed into the readable {@code _IR} interface via {@code superInterfaces}, so immutable
+ * {@code _R} records encode as well; the processor routes the {@link IndexedBinary_I} write half
+ * onto the mutable type.</p>
+ *
+ * @param <E> the implementing type (self-reference for fluent API)
+ */
+public interface IndexedBinary_IR<E extends DataHelper_IR<E>> extends DataHelper_IR<E> {
+
+    /**
+     * Encode this DTO (deep).
+     *
+     * @return the encoded bytes
+     */
+    default byte[] toIndexedBinary() {
+        return IndexedBinaryWriter.write(this);
+    }
+
+    /**
+     * Encode this DTO (deep) to a stream. The stream is neither flushed nor closed.
+     *
+     * @param out receives the encoded bytes
+     */
+    default void toIndexedBinary(OutputStream out) throws IOException {
+        IndexedBinaryWriter.write(this, out);
+    }
+
+    /**
+     * Encode this DTO (deep) into a buffer at its position.
+     *
+     * @param target the destination buffer
+     * @return the same buffer, positioned after the encoded bytes
+     * @throws java.nio.BufferOverflowException if the encoding does not fit
+     */
+    default ByteBuffer toIndexedBinary(ByteBuffer target) {
+        return IndexedBinaryWriter.write(this, target);
+    }
+}
@@ -0,0 +1,667 @@
+package xyz.jphil.datahelper.binary;
+
+import xyz.jphil.datahelper.DataHelper_I;
+import xyz.jphil.datahelper.DataHelper_IR;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only store of DTOs in memory-mapped segment files on local disk, addressed by sequence
+ * number.
+ *
+ * <p>Each DTO is appended in the indexed binary format ({@link IndexedBinaryWriter}), so a log
+ * written by one version of the DTO stays readable by the next. Appends go straight into the
+ * mapped active segment; when it is full, it is flushed and a new segment is started. An
+ * in-memory offset index per segment, rebuilt from the frame headers on {@link #open}, gives
+ * O(1) access by sequence number within a segment, and a binary search over the segments. Reads
+ * copy the record's bytes out of the mapping once and decode them into a fresh DTO from the
+ * factory. Iteration, in sequence order, does the same; call {@code toRecord()} on the result for
+ * the immutable {@code _R} form.</p>
+ *
+ * <p><strong>Files.</strong> The directory holds one {@code <first sequence>.seg} file per
+ * segment (20 digits), or {@code <first sequence>.<generation>.seg} once compaction has rewritten
+ * it; of two files for the same segment, the higher generation is current. A segment starts with a 16-byte header
+ * (magic, version, first sequence number) followed by frames: payload length (int), CRC-32C of
+ * the sequence number and payload (int), sequence number (long), then the payload. All numbers
+ * are little-endian. A length of 0 ends the segment; active segments are preallocated to the
+ * segment size and read as zeros past the last frame.</p>
+ *
+ * <p><strong>Durability.</strong> The length is written last, so a process that dies during an
+ * append leaves no partial frame behind. Data reaches the disk when the OS writes the mapped
+ * pages back, or at {@link #flush()}, roll-over and {@link #close()}. On {@link #open}, the frames
+ * of the last segment are checked against their CRC; the log ends before the first frame that
+ * fails, and the rest of the segment is cleared so that stale bytes are never read as frames.
+ * Earlier segments were flushed when they were closed and are trusted.</p>
+ *
+ * <p><strong>Compaction.</strong> {@link #compact(Function)} keeps only the latest record per key
+ * in the closed segments, rewriting each into the file of its next generation (written under a
+ * temporary name, then renamed). Sequence numbers do not change; those of dropped records read as
+ * null. Replaced files are deleted right away where the OS allows it; Windows refuses to delete a
+ * file while it is mapped, and mappings are only released when garbage collected, so there they
+ * are deleted by a later {@link #open} instead.</p>
+ *
+ * <p>Instances are thread-safe: appends, reads and compaction are serialized on the log. Only one
+ * {@code MappedRecordLog}, in any process, may have a directory open at a time: {@link #open}
+ * takes a lock on the file {@code log.lock} in the directory until {@link #close()}, and fails if
+ * it is held.</p>
+ *
+ * <pre>{@code
+ * try (var log = MappedRecordLog.open(Path.of("events"), Event::new)) {
+ *     long seq = log.append(event);
+ *     Event again = log.get(seq);
+ *     for (Event e : log) { ... }
+ * }
+ * }</pre>
+ *
+ * @param <E> the DTO type
+ */
+public final class MappedRecordLog<E extends DataHelper_I<E>> implements Iterable<E>, Closeable {
+
+    /** Default segment size: 64 MiB. */
+    public static final int DEFAULT_SEGMENT_SIZE = 64 << 20;
+
+    private static final int MAGIC = 0x474C4844;  // "DHLG" in little-endian
+    private static final int VERSION = 1;
+    private static final int SEGMENT_HEADER = 16;
+    private static final int FRAME_HEADER = 16;
+    private static final String SUFFIX = ".seg";
+    private static final String TEMP_SUFFIX = ".compact";
+    private static final String LOCK_FILE = "log.lock";
+
+    private final Path directory;
+    private final Supplier<E> factory;
+    private final int segmentSize;
+    /** Holds the lock on {@link #LOCK_FILE} while the log is open. */
+    private final FileChannel lockChannel;
+    /** By first sequence number; the last one is the active segment. */
+    private final List<Segment> segments = new ArrayList<>();
+    private final CRC32C crc = new CRC32C();
+    private byte[] scratch = new byte[256];
+    private long nextSequence;
+    private boolean closed;
+
+    private MappedRecordLog(Path directory, Supplier<E> factory, int segmentSize, FileChannel lockChannel) {
+        this.directory = directory;
+        this.factory = factory;
+        this.segmentSize = segmentSize;
+        this.lockChannel = lockChannel;
+    }
+
+    /**
+     * Open the log in {@code directory} with {@link #DEFAULT_SEGMENT_SIZE}, creating it if needed.
+     *
+     * @param factory creates the DTOs records are read into
+     * @throws LogFormatException if a segment file is not a log segment or is damaged before its
+     *         last frame
+     * @throws IllegalStateException if another log has the directory open
+     */
+    public static <E extends DataHelper_I<E>> MappedRecordLog<E> open(Path directory, Supplier<E> factory) throws IOException {
+        return open(directory, factory, DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * Open the log in {@code directory}, creating it if needed. Segments are {@code segmentSize}
+     * bytes, or larger for a single record that does not fit one.
+     *
+     * @param factory creates the DTOs records are read into
+     * @throws LogFormatException if a segment file is not a log segment or is damaged before its
+     *         last frame
+     * @throws IllegalStateException if another log has the directory open
+     */
+    public static <E extends DataHelper_I<E>> MappedRecordLog<E> open(Path directory, Supplier<E> factory,
+                                                                      int segmentSize) throws IOException {
+        if (segmentSize < SEGMENT_HEADER + FRAME_HEADER + 1) {
+            throw new IllegalArgumentException("Segment size " + segmentSize + " is too small");
+        }
+        Files.createDirectories(directory);
+        FileChannel lockChannel = lock(directory);
+        try {
+            MappedRecordLog<E> log = new MappedRecordLog<>(directory, factory, segmentSize, lockChannel);
+            log.load();
+            return log;
+        } catch (IOException | RuntimeException e) {
+            lockChannel.close();
+            throw e;
+        }
+    }
+
+    /** Lock the directory's lock file, failing if another log, in any process, holds it. */
+    private static FileChannel lock(Path directory) throws IOException {
+        Path path = directory.resolve(LOCK_FILE);
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        FileLock lock;
+        try {
+            lock = channel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            lock = null;  // held by another log in this JVM
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        if (lock == null) {
+            channel.close();
+            throw new IllegalStateException("Log " + directory + " is open in another MappedRecordLog (lock file "
+                    + path + ")");
+        }
+        return channel;
+    }
+
+    /**
+     * Map the current generation of every segment, and delete leftovers: unfinished compaction
+     * output, replaced generations and segments compaction emptied.
+     */
+    private void load() throws IOException {
+        Map<Long, Path> current = new TreeMap<>();
+        List<Path> replaced = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+            for (Path file : stream) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(TEMP_SUFFIX)) {
+                    Files.delete(file);  // left by a compaction that did not finish
+                } else if (name.endsWith(SUFFIX)) {
+                    long base = baseOf(file);
+                    Path other = current.get(base);
+                    if (other == null || generationOf(file) > generationOf(other)) {
+                        current.put(base, file);
+                        if (other != null) replaced.add(other);
+                    } else {
+                        replaced.add(file);
+                    }
+                }
+            }
+        }
+        for (Path file : replaced) {
+            discard(file);
+        }
+        List<Path> files = new ArrayList<>(current.values());
+        for (int i = 0; i < files.size(); i++) {
+            Path file = files.get(i);
+            boolean last = i == files.size() - 1;
+            if (!last && Files.size(file) <= SEGMENT_HEADER) {
+                discard(file);  // every record dropped by compaction
+            } else {
+                segments.add(Segment.load(file, last));
+            }
+        }
+        if (segments.isEmpty()) {
+            segments.add(createSegment(0, 0, segmentSize));
+        }
+        nextSequence = active().end();
+    }
+
+    /**
+     * Append a DTO (deep), or an {@code _R} record.
+     *
+     * @return its sequence number
+     */
+    public synchronized long append(DataHelper_IR<?> dto) throws IOException {
+        ensureOpen();
+        Segment s = active();
+        int start = s.position;
+        int length = -1;
+        if (start <= s.buffer.capacity() - FRAME_HEADER) {
+            try {
+                ByteBuffer target = s.buffer.duplicate().position(start + FRAME_HEADER);
+                IndexedBinaryWriter.write(dto, target);
+                length = target.position() - start - FRAME_HEADER;
+            } catch (BufferOverflowException e) {
+                // does not fit: roll over below
+            }
+        }
+        if (length < 0) {
+            byte[] bytes = IndexedBinaryWriter.write(dto);
+            if (bytes.length > Integer.MAX_VALUE - SEGMENT_HEADER - FRAME_HEADER) {
+                throw new IllegalArgumentException("Record of " + bytes.length + " bytes is too large");
+            }
+            s = roll(SEGMENT_HEADER + FRAME_HEADER + bytes.length);
+            start = s.position;
+            s.buffer.put(start + FRAME_HEADER, bytes);
+            length = bytes.length;
+        }
+        long sequence = nextSequence;
+        ByteBuffer buf = s.buffer;
+        buf.putLong(start + 8, sequence);
+        buf.putInt(start + 4, checksum(buf, start, length));
+        buf.putInt(start, length);
+        s.add(sequence, start);
+        s.position = start + FRAME_HEADER + length;
+        return nextSequence++;
+    }
+
+    /**
+     * Read the record with the given sequence number into a new DTO.
+     *
+     * @return the DTO, or null if there is no such record (not appended yet, or dropped by
+     *         compaction)
+     */
+    public synchronized E get(long sequence) {
+        ensureOpen();
+        Segment s = segmentOf(sequence);
+        int offset = s == null ? -1 : s.offset(sequence);
+        return offset < 0 ? null : read(s, offset);
+    }
+
+    /** The sequence number the next append will get; also the number of records ever appended. */
+    public synchronized long nextSequence() {
+        return nextSequence;
+    }
+
+    /** The records in sequence order, including those appended while iterating. */
+    @Override
+    public Iterator<E> iterator() {
+        return iterator(0);
+    }
+
+    /** The records from {@code sequence} on, in sequence order. */
+    public Iterator<E> iterator(long sequence) {
+        return new Iterator<>() {
+            private long cursor = sequence;
+            private E prepared;
+
+            @Override
+            public boolean hasNext() {
+                if (prepared == null) {
+                    synchronized (MappedRecordLog.this) {
+                        ensureOpen();
+                        while (prepared == null && cursor < nextSequence) {
+                            int index = segmentIndexOf(cursor);
+                            if (index < 0) {
+                                cursor = segments.get(0).base;
+                                continue;
+                            }
+                            Segment s = segments.get(index);
+                            if (cursor >= s.end()) {
+                                cursor = index + 1 < segments.size() ? segments.get(index + 1).base : nextSequence;
+                                continue;
+                            }
+                            int offset = s.offset(cursor++);
+                            if (offset >= 0) {
+                                prepared = read(s, offset);
+                            }
+                        }
+                    }
+                }
+                return prepared != null;
+            }
+
+            @Override
+            public E next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                E result = prepared;
+                prepared = null;
+                return result;
+            }
+        };
+    }
+
+    /**
+     * Keep only the latest record per key in the closed segments: a record is dropped when a
+     * later record, in any segment, has an equal non-null key. Records with a null key are kept.
+     * Segments left empty are removed. The active segment is read but not rewritten.
+     *
+     * @return the number of records dropped
+     */
+    public synchronized int compact(Function<? super E, ?> key) throws IOException {
+        ensureOpen();
+        Map<Object, Long> latest = new HashMap<>();
+        BitSet[] dropped = new BitSet[segments.size()];
+        for (int i = 0; i < segments.size(); i++) {
+            dropped[i] = new BitSet();
+            Segment s = segments.get(i);
+            for (int slot = 0; slot < s.count; slot++) {
+                if (s.offsets[slot] < 0) continue;
+                Object k = key.apply(read(s, s.offsets[slot]));
+                if (k == null) continue;
+                Long previous = latest.put(k, s.base + slot);
+                if (previous != null) {
+                    int at = segmentIndexOf(previous);
+                    dropped[at].set((int) (previous - segments.get(at).base));
+                }
+            }
+        }
+
+        int total = 0;
+        List<Segment> compacted = new ArrayList<>();
+        for (int i = 0; i < segments.size(); i++) {
+            Segment s = segments.get(i);
+            int drops = dropped[i].cardinality();
+            if (i == segments.size() - 1 || drops == 0) {
+                compacted.add(s);
+            } else if (drops == s.size()) {
+                Path empty = rewrite(s, dropped[i]);
+                if (discard(s.path)) {
+                    discard(empty);  // else it hides the old file from the next open
+                }
+                total += drops;
+            } else {
+                Path path = rewrite(s, dropped[i]);
+                discard(s.path);
+                compacted.add(Segment.load(path, false));
+                total += drops;
+            }
+        }
+        segments.clear();
+        segments.addAll(compacted);
+        return total;
+    }
+
+    /** Write the active segment's pages to disk. */
+    public synchronized void flush() {
+        ensureOpen();
+        active().buffer.force();
+    }
+
+    /**
+     * Flush and close the log, and release the directory lock. The mappings are released when
+     * they are garbage collected.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) return;
+        closed = true;
+        try {
+            active().buffer.force();
+            segments.clear();
+        } finally {
+            lockChannel.close();
+        }
+    }
+
+    // ========== Internal Methods ==========
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Log " + directory + " is closed");
+        }
+    }
+
+    private Segment active() {
+        return segments.get(segments.size() - 1);
+    }
+
+    /** The index of the last segment whose first sequence number is at most {@code sequence}, or -1. */
+    private int segmentIndexOf(long sequence) {
+        int lo = 0, hi = segments.size() - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            if (segments.get(mid).base <= sequence) lo = mid + 1;
+            else hi = mid - 1;
+        }
+        return hi;
+    }
+
+    private Segment segmentOf(long sequence) {
+        int index = segmentIndexOf(sequence);
+        return index < 0 ? null : segments.get(index);
+    }
+
+    private E read(Segment s, int offset) {
+        int length = s.buffer.getInt(offset);
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        s.buffer.get(offset + FRAME_HEADER, scratch, 0, length);
+        return IndexedBinaryReader.read(scratch, 0, length, factory.get());
+    }
+
+    /** CRC-32C of the sequence number and payload of the frame at {@code start}. */
+    private int checksum(ByteBuffer buf, int start, int length) {
+        crc.reset();
+        crc.update(buf.slice(start + 8, 8 + length));
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Flush the active segment and start a new one of at least {@code minSize} bytes. An empty
+     * active segment, too small for the record, is replaced instead.
+     */
+    private Segment roll(int minSize) throws IOException {
+        Segment current = active();
+        int generation = 0;
+        if (current.count == 0) {
+            segments.remove(segments.size() - 1);
+            discard(current.path);
+            generation = current.generation + 1;  // same first sequence number, and the file may remain
+        } else {
+            current.buffer.force();
+        }
+        Segment s = createSegment(nextSequence, generation, Math.max(segmentSize, minSize));
+        segments.add(s);
+        return s;
+    }
+
+    private Segment createSegment(long base, int generation, int size) throws IOException {
+        Path path = directory.resolve(fileName(base, generation));
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        Segment.writeHeader(buffer, base);
+        buffer.force();
+        return new Segment(path, base, generation, buffer);
+    }
+
+    /**
+     * Copy the frames of {@code s} not in {@code dropped} to the file of its next generation,
+     * which replaces it from then on.
+     *
+     * @return the new file
+     */
+    private Path rewrite(Segment s, BitSet dropped) throws IOException {
+        Path path = directory.resolve(fileName(s.base, s.generation + 1));
+        Path temp = directory.resolve(path.getFileName() + TEMP_SUFFIX);
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(SEGMENT_HEADER).order(ByteOrder.LITTLE_ENDIAN);
+            Segment.writeHeader(header, s.base);
+            while (header.hasRemaining()) channel.write(header);
+            for (int slot = 0; slot < s.count; slot++) {
+                int offset = s.offsets[slot];
+                if (offset < 0 || dropped.get(slot)) continue;
+                ByteBuffer frame = s.buffer.slice(offset, FRAME_HEADER + s.buffer.getInt(offset));
+                while (frame.hasRemaining()) channel.write(frame);
+            }
+            channel.force(true);
+        }
+        Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE);
+        return path;
+    }
+
+    /**
+     * Delete a file that is no longer part of the log. Returns false if it is still there:
+     * Windows does not delete files that are mapped, and {@link #open} retries.
+     */
+    private static boolean discard(Path path) {
+        try {
+            Files.deleteIfExists(path);
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static String fileName(long base, int generation) {
+        return String.format("%020d", base) + (generation == 0 ? "" : "." + generation) + SUFFIX;
+    }
+
+    /** The first sequence number in a segment file name. */
+    private static long baseOf(Path path) {
+        String name = path.getFileName().toString();
+        int end = name.indexOf('.');
+        try {
+            return Long.parseLong(name.substring(0, end));
+        } catch (NumberFormatException e) {
+            throw new LogFormatException("Not a log segment: " + path);
+        }
+    }
+
+    /** The generation in a segment file name, 0 for the file written by appends. */
+    private static int generationOf(Path path) {
+        String name = path.getFileName().toString();
+        int dot = name.indexOf('.');
+        int end = name.length() - SUFFIX.length();
+        try {
+            return dot == end ? 0 : Integer.parseInt(name.substring(dot + 1, end));
+        } catch (NumberFormatException e) {
+            throw new LogFormatException("Not a log segment: " + path);
+        }
+    }
+
+    /** One mapped segment file and its offset index. */
+    private static final class Segment {
+        final Path path;
+        final long base;
+        final int generation;
+        final MappedByteBuffer buffer;
+        /** Frame offsets by {@code sequence - base}; -1 for sequence numbers dropped by compaction. */
+        int[] offsets = new int[64];
+        int count;
+        /** Where the next frame goes. */
+        int position = SEGMENT_HEADER;
+
+        Segment(Path path, long base, int generation, MappedByteBuffer buffer) {
+            this.path = path;
+            this.base = base;
+            this.generation = generation;
+            this.buffer = buffer;
+            Arrays.fill(offsets, -1);
+        }
+
+        static void writeHeader(ByteBuffer buffer, long base) {
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, VERSION);
+            buffer.putLong(8, base);
+        }
+
+        /**
+         * Map a segment file and index its frames. The last segment is checked frame by frame and
+         * cut after the last valid one; in the others, a damaged frame is an error.
+         */
+        static Segment load(Path path, boolean last) throws IOException {
+            long base = baseOf(path);
+            int generation = generationOf(path);
+            MappedByteBuffer buffer;
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                long size = channel.size();
+                if (size > Integer.MAX_VALUE) {
+                    throw new LogFormatException("Segment " + path + " is larger than 2 GiB");
+                }
+                buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(size, SEGMENT_HEADER));
+            }
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            if (last && buffer.getInt(0) == 0 && buffer.getLong(8) == 0) {
+                writeHeader(buffer, base);  // created, but the header never reached the disk
+            } else if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION || buffer.getLong(8) != base) {
+                throw new LogFormatException("Not a log segment, or of another version: " + path);
+            }
+
+            Segment s = new Segment(path, base, generation, buffer);
+            CRC32C crc = new CRC32C();
+            int capacity = buffer.capacity();
+            int pos = SEGMENT_HEADER;
+            while (pos <= capacity - FRAME_HEADER) {
+                int length = buffer.getInt(pos);
+                if (length == 0) break;
+                long sequence = buffer.getLong(pos + 8);
+                boolean valid = length > 0 && length <= capacity - pos - FRAME_HEADER
+                        && sequence >= s.end() && sequence - base < Integer.MAX_VALUE;
+                if (valid && last) {
+                    crc.reset();
+                    crc.update(buffer.slice(pos + 8, 8 + length));
+                    valid = (int) crc.getValue() == buffer.getInt(pos + 4) && sequence == s.end();
+                }
+                if (!valid) {
+                    if (!last) {
+                        throw new LogFormatException("Damaged frame at offset " + pos + " of segment " + path);
+                    }
+                    break;
+                }
+                s.add(sequence, pos);
+                pos += FRAME_HEADER + length;
+            }
+            s.position = pos;
+            if (last) {
+                // Clear the torn tail, and any pages written back out of order before a crash
+                int p = pos;
+                for (; p < capacity && (p & 7) != 0; p++) {
+                    if (buffer.get(p) != 0) buffer.put(p, (byte) 0);
+                }
+                for (; p <= capacity - 8; p += 8) {
+                    if (buffer.getLong(p) != 0) buffer.putLong(p, 0);
+                }
+                for (; p < capacity; p++) {
+                    if (buffer.get(p) != 0) buffer.put(p, (byte) 0);
+                }
+            }
+            return s;
+        }
+
+        /** Index the frame of {@code sequence} at {@code offset}; sequence numbers only grow. */
+        void add(long sequence, int offset) {
+            int slot = (int) (sequence - base);
+            if (slot >= offsets.length) {
+                int from = offsets.length;
+                offsets = Arrays.copyOf(offsets, Math.max(slot + 1, from * 2));
+                Arrays.fill(offsets, from, offsets.length, -1);
+            }
+            offsets[slot] = offset;
+            count = slot + 1;
+        }
+
+        int offset(long sequence) {
+            long slot = sequence - base;
+            return slot < 0 || slot >= count ? -1 : offsets[(int) slot];
+        }
+
+        /** One past the last sequence number in this segment. */
+        long end() {
+            return base + count;
+        }
+
+        /** The number of records. */
+        int size() {
+            int n = 0;
+            for (int i = 0; i < count; i++) {
+                if (offsets[i] >= 0) n++;
+            }
+            return n;
+        }
+    }
+
+    /**
+     * Exception thrown when a segment file is not a log segment, or a closed segment is damaged.
+     */
+    public static class LogFormatException extends RuntimeException {
+        public LogFormatException(String message) {
+            super(message);
+        }
+    }
+}
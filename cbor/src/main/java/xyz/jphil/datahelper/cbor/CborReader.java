@@ -0,0 +1,490 @@
+package xyz.jphil.datahelper.cbor;
+
+import xyz.jphil.datahelper.DataHelper_I;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static xyz.jphil.datahelper.FieldSchema.*;
+import static xyz.jphil.datahelper.cbor.CborSink.*;
+
+/**
+ * Decodes CBOR (RFC 8949) maps straight into DataHelper objects, with no intermediate tree.
+ *
+ * <p>Map keys are matched to field ordinals with the generated
+ * {@code fieldOrdinal(CharSequence, int, int)} over the input bytes, so ASCII keys cost no
+ * {@code String}; values of unknown keys are skipped without being decoded. Integers and floats
+ * reach numeric fields through {@code setLongByOrdinal} / {@code setDoubleByOrdinal} without
+ * boxing; nested objects, lists and maps are created with the target's {@code create*}
+ * factories, as the JSON parser does. {@code null} and {@code undefined} leave a field
+ * untouched.</p>
+ *
+ * <p>Any well-formed input is accepted, including indefinite-length strings, arrays and maps
+ * and items in non-preferred form. Untyped values come back as {@code Long} (or
+ * {@code BigInteger} beyond 64 bits), {@code Double}, {@code String}, {@code byte[]},
+ * {@code Boolean}, {@code ArrayList} and {@code LinkedHashMap}; tags other than bignums are
+ * ignored in favour of their content.</p>
+ */
+public final class CborReader {
+
+    private static final int BREAK = 0xFF;
+    private static final int INDEFINITE = 31;
+
+    private final byte[] buf;
+    private final int start;
+    private final int limit;
+    private int pos;
+    private final AsciiView key = new AsciiView();
+
+    private CborReader(byte[] buf, int offset, int length) {
+        if (offset < 0 || length < 0 || offset + length > buf.length) {
+            throw new IndexOutOfBoundsException("offset " + offset + ", length " + length + ", array length " + buf.length);
+        }
+        this.buf = buf;
+        this.start = offset;
+        this.limit = offset + length;
+        this.pos = offset;
+    }
+
+    /**
+     * Decode the CBOR map in {@code bytes} into {@code target}.
+     *
+     * @return the target
+     * @throws CborFormatException if the input is malformed or not a map
+     */
+    public static <T extends DataHelper_I<?>> T read(byte[] bytes, T target) {
+        return read(bytes, 0, bytes.length, target);
+    }
+
+    /**
+     * Decode the CBOR map of {@code length} bytes at {@code offset} into {@code target}. Bytes
+     * after the map are ignored.
+     *
+     * @return the target
+     * @throws CborFormatException if the input is malformed or not a map
+     */
+    public static <T extends DataHelper_I<?>> T read(byte[] bytes, int offset, int length, T target) {
+        new CborReader(bytes, offset, length).readObjectInto(target);
+        return target;
+    }
+
+    /**
+     * Decode the CBOR map at the buffer's position into {@code target}, advancing the position
+     * past it (so a sequence of items can be read from one buffer). Heap buffers are read in
+     * place; the remaining bytes of direct buffers are copied first.
+     *
+     * @return the target
+     * @throws CborFormatException if the input is malformed or not a map
+     */
+    public static <T extends DataHelper_I<?>> T read(ByteBuffer buffer, T target) {
+        CborReader in;
+        if (buffer.hasArray()) {
+            in = new CborReader(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+        } else {
+            byte[] copy = new byte[buffer.remaining()];
+            buffer.duplicate().get(copy);
+            in = new CborReader(copy, 0, copy.length);
+        }
+        in.readObjectInto(target);
+        buffer.position(buffer.position() + (in.pos - in.start));
+        return target;
+    }
+
+    // ========== Binding ==========
+
+    private void readObjectInto(DataHelper_I<?> target) {
+        int at = pos;
+        int initial = readUnsignedByte();
+        if (initial >>> 5 != MAJOR_MAP) {
+            throw new CborFormatException("Expected a map at offset " + (at - start) + ", found " + describe(initial));
+        }
+        CborSchema schema = CborSchema.of(target);
+        long size = readLength(initial, 2);
+        for (long i = 0; size < 0 ? !atBreak() : i < size; i++) {
+            int ordinal = readKeyOrdinal(target);
+            if (ordinal < 0) {
+                skipItem();  // unknown key: skip without decoding
+            } else {
+                int valueAt = pos;
+                try {
+                    readFieldInto(target, schema, ordinal);
+                } catch (ArithmeticException e) {
+                    throw new CborFormatException("Number at offset " + (valueAt - start) + " does not fit field '"
+                            + schema.names[ordinal] + "': " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /** Read a map key; the ordinal of the field it names, or -1. */
+    private int readKeyOrdinal(DataHelper_I<?> target) {
+        int initial = peekUnsignedByte();
+        if (initial >>> 5 != MAJOR_TEXT || (initial & 0x1F) == INDEFINITE) {
+            Object other = readValue(null, null, false);
+            return other instanceof String s ? target.fieldOrdinal(s) : -1;
+        }
+        pos++;
+        int length = (int) readLength(initial, 1);
+        int from = pos;
+        pos += length;
+        for (int i = from; i < pos; i++) {
+            if (buf[i] < 0) {
+                return target.fieldOrdinal(new String(buf, from, length, StandardCharsets.UTF_8));
+            }
+        }
+        key.offset = from;
+        key.length = length;
+        return target.fieldOrdinal(key, 0, length);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void readFieldInto(DataHelper_I<?> target, CborSchema schema, int ordinal) {
+        int initial = peekUnsignedByte();
+        if (initial == NULL || initial == 0xF7) {
+            pos++;  // null / undefined leave the field untouched
+            return;
+        }
+        int major = initial >>> 5;
+        String name = schema.names[ordinal];
+        byte kind = schema.kinds[ordinal];
+
+        if ((major == MAJOR_UNSIGNED || major == MAJOR_NEGATIVE) && schema.fields.isNumeric(ordinal)) {
+            target.setLongByOrdinal(ordinal, readLong());
+        } else if (major == 7 && initial >= 0xF9 && initial <= 0xFB && schema.fields.isNumeric(ordinal)) {
+            target.setDoubleByOrdinal(ordinal, readFloat());
+        } else if (major == MAJOR_MAP && kind == OBJECT) {
+            DataHelper_I<?> nested = target.createNestedObject(name);
+            if (nested == null) {
+                throw new CborFormatException("No DataHelper type to decode field '" + name + "' into");
+            }
+            readObjectInto(nested);
+            target.setPropertyByOrdinal(ordinal, nested);
+        } else if (major == MAJOR_MAP && kind == MAP) {
+            Map<Object, Object> map = (Map<Object, Object>) target.createMapInstance(name);
+            readMapInto(target, name, map);
+            target.setPropertyByOrdinal(ordinal, map);
+        } else if (major == MAJOR_ARRAY && kind == LIST) {
+            target.setPropertyByOrdinal(ordinal, readList(target, name));
+        } else {
+            int at = pos;
+            Class<?> type = schema.types[ordinal];
+            Object value = DataHelper_I.convertType(readValue(null, null, false), type);
+            if (value != null && type != null && !type.isInstance(value)) {
+                throw new CborFormatException("Expected " + type.getSimpleName() + " for field '" + name
+                        + "' at offset " + (at - start) + ", found " + describe(initial));
+            }
+            target.setPropertyByOrdinal(ordinal, value);
+        }
+    }
+
+    private List<Object> readList(DataHelper_I<?> owner, String fieldName) {
+        Class<?> elementType = owner.getListElementType(fieldName);
+        int initial = readUnsignedByte();
+        long size = readLength(initial, 1);
+        List<Object> list = new ArrayList<>(size < 0 ? 10 : (int) size);
+        for (long i = 0; size < 0 ? !atBreak() : i < size; i++) {
+            list.add(DataHelper_I.convertType(readValue(owner, fieldName, false), elementType));
+        }
+        return list;
+    }
+
+    private void readMapInto(DataHelper_I<?> owner, String fieldName, Map<Object, Object> map) {
+        Class<?> keyType = owner.getMapKeyType(fieldName);
+        Class<?> valueType = owner.getMapValueType(fieldName);
+        int initial = readUnsignedByte();
+        long size = readLength(initial, 2);
+        for (long i = 0; size < 0 ? !atBreak() : i < size; i++) {
+            Object key = DataHelper_I.convertType(readValue(null, null, false), keyType);
+            map.put(key, DataHelper_I.convertType(readValue(owner, fieldName, true), valueType));
+        }
+    }
+
+    /**
+     * Decode any item. A map is bound into a DataHelper when {@code owner} has a list-element
+     * (or map-value) factory for {@code fieldName}, otherwise it becomes a {@code LinkedHashMap}.
+     */
+    private Object readValue(DataHelper_I<?> owner, String fieldName, boolean mapValue) {
+        int initial = peekUnsignedByte();
+        switch (initial >>> 5) {
+            case MAJOR_UNSIGNED, MAJOR_NEGATIVE -> {
+                return readInteger();
+            }
+            case MAJOR_BYTES -> {
+                pos++;
+                return readByteString(initial);
+            }
+            case MAJOR_TEXT -> {
+                pos++;
+                return readTextString(initial);
+            }
+            case MAJOR_ARRAY -> {
+                pos++;
+                long size = readLength(initial, 1);
+                List<Object> list = new ArrayList<>(size < 0 ? 10 : (int) size);
+                for (long i = 0; size < 0 ? !atBreak() : i < size; i++) {
+                    list.add(readValue(null, null, false));
+                }
+                return list;
+            }
+            case MAJOR_MAP -> {
+                DataHelper_I<?> element = owner == null ? null
+                        : mapValue ? (owner.isMapValueDataHelper(fieldName) ? owner.createMapValueElement(fieldName) : null)
+                        : owner.createListElement(fieldName);
+                if (element != null) {
+                    readObjectInto(element);
+                    return element;
+                }
+                pos++;
+                long size = readLength(initial, 2);
+                Map<Object, Object> map = new LinkedHashMap<>();
+                for (long i = 0; size < 0 ? !atBreak() : i < size; i++) {
+                    map.put(readValue(null, null, false), readValue(null, null, false));
+                }
+                return map;
+            }
+            case MAJOR_TAG -> {
+                pos++;
+                long tag = readArgument(initial);
+                if ((tag == 2 || tag == 3) && peekUnsignedByte() >>> 5 == MAJOR_BYTES) {
+                    BigInteger magnitude = new BigInteger(1, readByteString(readUnsignedByte()));
+                    return tag == 2 ? magnitude : magnitude.not();
+                }
+                return readValue(owner, fieldName, mapValue);  // other tags: the content
+            }
+            default -> {
+                switch (initial) {
+                    case FALSE -> { pos++; return Boolean.FALSE; }
+                    case TRUE -> { pos++; return Boolean.TRUE; }
+                    case NULL, 0xF7 -> { pos++; return null; }
+                    case 0xF9, 0xFA, 0xFB -> { return readFloat(); }
+                    default -> throw new CborFormatException("Unsupported " + describe(initial) + " at offset " + (pos - start));
+                }
+            }
+        }
+    }
+
+    // ========== Skipping ==========
+
+    /** Skip one item of any kind, allocating nothing. */
+    private void skipItem() {
+        int initial = readUnsignedByte();
+        int major = initial >>> 5;
+        int info = initial & 0x1F;
+        switch (major) {
+            case MAJOR_UNSIGNED, MAJOR_NEGATIVE -> readArgument(initial);
+            case MAJOR_BYTES, MAJOR_TEXT -> {
+                if (info == INDEFINITE) {
+                    while (!atBreak()) {
+                        skipItem();
+                    }
+                } else {
+                    long length = readArgument(initial);
+                    require(length);
+                    pos += (int) length;
+                }
+            }
+            case MAJOR_ARRAY, MAJOR_MAP -> {
+                long items = readLength(initial, major == MAJOR_MAP ? 2 : 1);
+                if (items < 0) {
+                    while (!atBreak()) {
+                        skipItem();
+                    }
+                } else {
+                    for (long i = 0, n = major == MAJOR_MAP ? 2 * items : items; i < n; i++) {
+                        skipItem();
+                    }
+                }
+            }
+            case MAJOR_TAG -> {
+                readArgument(initial);
+                skipItem();
+            }
+            default -> {
+                if (info == INDEFINITE) {
+                    throw new CborFormatException("Unexpected break at offset " + (pos - 1 - start));
+                }
+                readArgument(initial);  // simple values and floats
+            }
+        }
+    }
+
+    // ========== Primitive Decoding ==========
+
+    private void require(long n) {
+        if (n > limit - pos) {
+            throw new CborFormatException("Truncated input: " + n + " bytes needed at offset "
+                    + (pos - start) + ", " + (limit - pos) + " left");
+        }
+    }
+
+    private int readUnsignedByte() {
+        require(1);
+        return buf[pos++] & 0xFF;
+    }
+
+    private int peekUnsignedByte() {
+        require(1);
+        return buf[pos] & 0xFF;
+    }
+
+    /** At a break byte: consume it and return true. */
+    private boolean atBreak() {
+        if (peekUnsignedByte() == BREAK) {
+            pos++;
+            return true;
+        }
+        return false;
+    }
+
+    /** The argument following an initial byte (as an unsigned 64-bit value). */
+    private long readArgument(int initial) {
+        int info = initial & 0x1F;
+        if (info < 24) {
+            return info;
+        }
+        int bytes = switch (info) {
+            case 24 -> 1;
+            case 25 -> 2;
+            case 26 -> 4;
+            case 27 -> 8;
+            default -> throw new CborFormatException("Invalid additional information " + info
+                    + " at offset " + (pos - 1 - start));
+        };
+        require(bytes);
+        long value = 0;
+        for (int i = 0; i < bytes; i++) {
+            value = (value << 8) | (buf[pos++] & 0xFF);
+        }
+        return value;
+    }
+
+    /**
+     * Length of a string, array or map ({@code -1} if indefinite); every counted entry takes at
+     * least {@code minBytesPerEntry} bytes, which bounds it by the remaining input.
+     */
+    private long readLength(int initial, int minBytesPerEntry) {
+        if ((initial & 0x1F) == INDEFINITE) {
+            return -1;
+        }
+        long length = readArgument(initial);
+        if (length < 0 || length > (limit - pos) / minBytesPerEntry) {
+            throw new CborFormatException("Length " + Long.toUnsignedString(length) + " at offset "
+                    + (pos - start) + " exceeds the " + (limit - pos) + " bytes left");
+        }
+        return length;
+    }
+
+    /** An integer item as a {@code long}. */
+    private long readLong() {
+        int at = pos;
+        int initial = readUnsignedByte();
+        long argument = readArgument(initial);
+        if (argument < 0) {
+            throw new CborFormatException("Integer at offset " + (at - start) + " does not fit in 64 bits");
+        }
+        return initial >>> 5 == MAJOR_NEGATIVE ? -1 - argument : argument;
+    }
+
+    /** An integer item as a {@code Long}, or a {@code BigInteger} beyond 64 bits. */
+    private Object readInteger() {
+        int initial = readUnsignedByte();
+        long argument = readArgument(initial);
+        if (argument < 0) {
+            BigInteger unsigned = new BigInteger(Long.toUnsignedString(argument));
+            return initial >>> 5 == MAJOR_NEGATIVE ? unsigned.not() : unsigned;
+        }
+        return initial >>> 5 == MAJOR_NEGATIVE ? -1 - argument : argument;
+    }
+
+    /** A half, single or double precision float item. */
+    private double readFloat() {
+        int initial = readUnsignedByte();
+        long bits = readArgument(initial);
+        return switch (initial) {
+            case 0xF9 -> Float.float16ToFloat((short) bits);
+            case 0xFA -> Float.intBitsToFloat((int) bits);
+            default -> Double.longBitsToDouble(bits);
+        };
+    }
+
+    private String readTextString(int initial) {
+        if ((initial & 0x1F) == INDEFINITE) {
+            StringBuilder sb = new StringBuilder();
+            while (!atBreak()) {
+                int chunk = readUnsignedByte();
+                if (chunk >>> 5 != MAJOR_TEXT || (chunk & 0x1F) == INDEFINITE) {
+                    throw new CborFormatException("Invalid text string chunk at offset " + (pos - 1 - start));
+                }
+                sb.append(readTextString(chunk));
+            }
+            return sb.toString();
+        }
+        int length = (int) readLength(initial, 1);
+        String value = new String(buf, pos, length, StandardCharsets.UTF_8);
+        pos += length;
+        return value;
+    }
+
+    private byte[] readByteString(int initial) {
+        if ((initial & 0x1F) == INDEFINITE) {
+            java.io.ByteArrayOutputStream bytes = new java.io.ByteArrayOutputStream();
+            while (!atBreak()) {
+                int chunk = readUnsignedByte();
+                if (chunk >>> 5 != MAJOR_BYTES || (chunk & 0x1F) == INDEFINITE) {
+                    throw new CborFormatException("Invalid byte string chunk at offset " + (pos - 1 - start));
+                }
+                bytes.writeBytes(readByteString(chunk));
+            }
+            return bytes.toByteArray();
+        }
+        int length = (int) readLength(initial, 1);
+        byte[] value = new byte[length];
+        System.arraycopy(buf, pos, value, 0, length);
+        pos += length;
+        return value;
+    }
+
+    private static String describe(int initial) {
+        return "major type " + (initial >>> 5) + " (initial byte 0x" + Integer.toHexString(initial) + ")";
+    }
+
+    /** The ASCII key bytes at {@code offset} as chars, for {@code fieldOrdinal}. */
+    private final class AsciiView implements CharSequence {
+        int offset;
+        int length;
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(int index) {
+            return (char) buf[offset + index];
+        }
+
+        @Override
+        public CharSequence subSequence(int from, int to) {
+            return new String(buf, offset + from, to - from, StandardCharsets.ISO_8859_1);
+        }
+
+        @Override
+        public String toString() {
+            return new String(buf, offset, length, StandardCharsets.ISO_8859_1);
+        }
+    }
+
+    /**
+     * Exception thrown when CBOR input is malformed or does not have the expected shape.
+     */
+    public static class CborFormatException extends RuntimeException {
+        public CborFormatException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package xyz.jphil.datahelper.cbor;
+
+import xyz.jphil.datahelper.DataHelper_IR;
+import xyz.jphil.datahelper.FieldSchema;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Per-class facts the CBOR writer and reader need, resolved once from the type's own metadata:
+ * the field kinds of {@link FieldSchema}, each field name pre-encoded as a CBOR text string, and
+ * the canonical (RFC 8949 §4.2.1) order of those keys.
+ */
+final class CborSchema {
+
+    private static final FieldSchema.Cache<CborSchema> SCHEMAS = new FieldSchema.Cache<>(CborSchema::new);
+
+    final FieldSchema fields;
+    final byte[] kinds;
+    final String[] names;
+    final Class<?>[] types;
+    /** Field names as complete CBOR text strings (head and UTF-8 bytes). */
+    final byte[][] keys;
+    /** Ordinals sorted by the bytewise order of their encoded keys. */
+    final int[] canonicalOrder;
+
+    private CborSchema(DataHelper_IR<?> dto) {
+        this.fields = FieldSchema.of(dto);
+        this.kinds = fields.kinds();
+        this.names = fields.names();
+        this.types = fields.types();
+        int count = kinds.length;
+        this.keys = new byte[count][];
+        for (int ordinal = 0; ordinal < count; ordinal++) {
+            keys[ordinal] = encodeKey(names[ordinal]);
+        }
+        this.canonicalOrder = IntStream.range(0, count).boxed()
+                .sorted((a, b) -> Arrays.compareUnsigned(keys[a], keys[b]))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    /**
+     * The schema of {@code dto}'s class.
+     */
+    static CborSchema of(DataHelper_IR<?> dto) {
+        return SCHEMAS.get(dto);
+    }
+
+    private static byte[] encodeKey(String name) {
+        CborSink sink = new CborSink(name.length() + 9);
+        sink.writeString(name);
+        return Arrays.copyOf(sink.buffer, sink.count);
+    }
+}
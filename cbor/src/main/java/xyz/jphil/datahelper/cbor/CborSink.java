@@ -0,0 +1,232 @@
+package xyz.jphil.datahelper.cbor;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * CBOR data items into a byte buffer that either grows (in-memory output) or is drained to an
+ * {@link OutputStream} whenever it fills (streaming output, constant memory).
+ *
+ * <p>Heads always use the shortest argument encoding and floating-point values the shortest of
+ * half, single and double precision that represents them exactly (RFC 8949 preferred
+ * serialization). I/O errors surface as {@link UncheckedIOException}; callers with an
+ * {@code IOException} contract unwrap them.</p>
+ */
+final class CborSink {
+
+    static final int MAJOR_UNSIGNED = 0;
+    static final int MAJOR_NEGATIVE = 1;
+    static final int MAJOR_BYTES = 2;
+    static final int MAJOR_TEXT = 3;
+    static final int MAJOR_ARRAY = 4;
+    static final int MAJOR_MAP = 5;
+    static final int MAJOR_TAG = 6;
+
+    static final int FALSE = 0xF4;
+    static final int TRUE = 0xF5;
+    static final int NULL = 0xF6;
+
+    byte[] buffer;
+    int count = 0;
+    private final OutputStream out;
+
+    /** A growing in-memory sink. */
+    CborSink(int capacity) {
+        this.buffer = new byte[capacity];
+        this.out = null;
+    }
+
+    /** A sink draining {@code buffer} to {@code out} whenever it fills. */
+    CborSink(byte[] buffer, OutputStream out) {
+        this.buffer = buffer;
+        this.out = out;
+    }
+
+    /** Make room for {@code n} more bytes ({@code n} at most the buffer size when streaming). */
+    private void ensure(int n) {
+        if (count + n > buffer.length) {
+            if (out != null) {
+                flush();
+            } else {
+                buffer = Arrays.copyOf(buffer, Math.max(count + n, buffer.length * 2));
+            }
+        }
+    }
+
+    /** Hand the buffered bytes to the stream (streaming sinks only). */
+    void flush() {
+        if (count > 0 && out != null) {
+            try {
+                out.write(buffer, 0, count);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            count = 0;
+        }
+    }
+
+    void writeByte(int b) {
+        ensure(1);
+        buffer[count++] = (byte) b;
+    }
+
+    /** A head: major type and argument in the shortest form. */
+    void writeHead(int major, long argument) {
+        ensure(9);
+        byte[] buf = buffer;
+        int m = major << 5;
+        if (argument >= 0 && argument < 24) {
+            buf[count++] = (byte) (m | (int) argument);
+        } else if (argument >= 0 && argument <= 0xFF) {
+            buf[count++] = (byte) (m | 24);
+            buf[count++] = (byte) argument;
+        } else if (argument >= 0 && argument <= 0xFFFF) {
+            buf[count++] = (byte) (m | 25);
+            buf[count++] = (byte) (argument >> 8);
+            buf[count++] = (byte) argument;
+        } else if (argument >= 0 && argument <= 0xFFFFFFFFL) {
+            buf[count++] = (byte) (m | 26);
+            buf[count++] = (byte) (argument >> 24);
+            buf[count++] = (byte) (argument >> 16);
+            buf[count++] = (byte) (argument >> 8);
+            buf[count++] = (byte) argument;
+        } else {
+            // 8-byte argument; negative longs here are unsigned values above Long.MAX_VALUE
+            buf[count++] = (byte) (m | 27);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                buf[count++] = (byte) (argument >> shift);
+            }
+        }
+    }
+
+    void writeLong(long value) {
+        if (value >= 0) {
+            writeHead(MAJOR_UNSIGNED, value);
+        } else {
+            writeHead(MAJOR_NEGATIVE, -1 - value);
+        }
+    }
+
+    /** Shortest exact float: half, single or double precision; NaN as the canonical half 0x7E00. */
+    void writeDouble(double value) {
+        ensure(9);
+        byte[] buf = buffer;
+        float f = (float) value;
+        if (Double.isNaN(value)) {
+            buf[count++] = (byte) 0xF9;
+            buf[count++] = 0x7E;
+            buf[count++] = 0x00;
+        } else if (f == value) {
+            short half = Float.floatToFloat16(f);
+            if (Float.float16ToFloat(half) == f) {
+                buf[count++] = (byte) 0xF9;
+                buf[count++] = (byte) (half >> 8);
+                buf[count++] = (byte) half;
+            } else {
+                int bits = Float.floatToRawIntBits(f);
+                buf[count++] = (byte) 0xFA;
+                buf[count++] = (byte) (bits >> 24);
+                buf[count++] = (byte) (bits >> 16);
+                buf[count++] = (byte) (bits >> 8);
+                buf[count++] = (byte) bits;
+            }
+        } else {
+            long bits = Double.doubleToRawLongBits(value);
+            buf[count++] = (byte) 0xFB;
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                buf[count++] = (byte) (bits >> shift);
+            }
+        }
+    }
+
+    /** Raw bytes (already encoded items, or the payload of a byte/text string). */
+    void writeRaw(byte[] bytes, int offset, int length) {
+        if (out != null && length > buffer.length - count) {
+            flush();
+            if (length > buffer.length) {
+                try {
+                    out.write(bytes, offset, length);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return;
+            }
+        }
+        ensure(length);
+        System.arraycopy(bytes, offset, buffer, count, length);
+        count += length;
+    }
+
+    void writeBytes(byte[] bytes) {
+        writeHead(MAJOR_BYTES, bytes.length);
+        writeRaw(bytes, 0, bytes.length);
+    }
+
+    /**
+     * A text string. An unpaired surrogate is encoded as {@code '?'}, as
+     * {@code String.getBytes(UTF_8)} does.
+     */
+    void writeString(String s) {
+        int length = s.length();
+        int utf8Length = utf8Length(s, length);
+        writeHead(MAJOR_TEXT, utf8Length);
+        if (out != null && utf8Length > buffer.length) {
+            byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            writeRaw(bytes, 0, bytes.length);
+            return;
+        }
+        ensure(utf8Length);
+        byte[] buf = buffer;
+        int pos = count;
+        if (utf8Length == length) {
+            for (int i = 0; i < length; i++) {
+                buf[pos++] = (byte) s.charAt(i);
+            }
+            count = pos;
+            return;
+        }
+        for (int i = 0; i < length; i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                buf[pos++] = (byte) c;
+            } else if (c < 0x800) {
+                buf[pos++] = (byte) (0xC0 | (c >> 6));
+                buf[pos++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(s.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, s.charAt(++i));
+                buf[pos++] = (byte) (0xF0 | (cp >> 18));
+                buf[pos++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                buf[pos++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                buf[pos++] = (byte) (0x80 | (cp & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                buf[pos++] = '?';
+            } else {
+                buf[pos++] = (byte) (0xE0 | (c >> 12));
+                buf[pos++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buf[pos++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        count = pos;
+    }
+
+    private static int utf8Length(String s, int length) {
+        int bytes = length;
+        for (int i = 0; i < length; i++) {
+            char c = s.charAt(i);
+            if (c >= 0x80) {
+                if (c < 0x800) {
+                    bytes += 1;
+                } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(s.charAt(i + 1))) {
+                    bytes += 2;  // 4 bytes for the pair
+                    i++;
+                } else if (!Character.isSurrogate(c)) {
+                    bytes += 2;
+                }
+            }
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,230 @@
+package xyz.jphil.datahelper.cbor;
+
+import xyz.jphil.datahelper.ByteArrayPool;
+import xyz.jphil.datahelper.DataHelper_IR;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static xyz.jphil.datahelper.FieldSchema.*;
+import static xyz.jphil.datahelper.cbor.CborSink.*;
+
+/**
+ * CBOR (RFC 8949) writer for DataHelper objects, straight from the ordinal accessors with no
+ * intermediate tree or JSON text.
+ *
+ * <p>A DataHelper is a map from field name (text string) to value, with null fields omitted,
+ * like {@code toJson()}; field names are encoded once per class and copied. Values map to CBOR
+ * as:</p>
+ * <ul>
+ *   <li>integers: major type 0/1; {@code BigInteger}: bignum tag 2/3 when beyond 64 bits</li>
+ *   <li>floating-point: the shortest of half/single/double that is exact</li>
+ *   <li>String: text string; {@code byte[]}: byte string; Boolean / null: simple values</li>
+ *   <li>nested DataHelpers: maps, recursively; List: array; Map: map with its keys as items</li>
+ *   <li>anything else: text string of {@code toString()}, as the JSON writer does</li>
+ * </ul>
+ *
+ * <p>All lengths are definite and use the shortest head. With {@code canonical}, map keys are
+ * also sorted by their encoded bytes, giving the core deterministic encoding of RFC 8949
+ * §4.2.1 (equal DTOs encode to equal bytes, e.g. for hashing or signing).</p>
+ *
+ * <p><strong>Not supported:</strong> circular references (will cause StackOverflowError).</p>
+ */
+public final class CborWriter {
+
+    private static final int INITIAL_CAPACITY = 256;
+    private static final int STREAM_BUFFER_SIZE = 8192;
+
+    private CborWriter() {
+    }
+
+    /**
+     * Encode a DataHelper object (deep) in preferred serialization.
+     */
+    public static byte[] write(DataHelper_IR<?> dataHelper) {
+        return write(dataHelper, false);
+    }
+
+    /**
+     * Encode a DataHelper object (deep).
+     *
+     * @param canonical sort map keys for the deterministic encoding
+     */
+    public static byte[] write(DataHelper_IR<?> dataHelper, boolean canonical) {
+        CborSink out = new CborSink(ByteArrayPool.acquire(INITIAL_CAPACITY), null);
+        try {
+            writeObject(out, dataHelper, canonical);
+            return Arrays.copyOf(out.buffer, out.count);
+        } finally {
+            ByteArrayPool.release(out.buffer);
+        }
+    }
+
+    /**
+     * Encode a DataHelper object (deep) to a stream through a fixed-size buffer, so output of any
+     * size needs constant memory. The stream is neither flushed nor closed.
+     *
+     * @param canonical sort map keys for the deterministic encoding
+     */
+    public static void write(DataHelper_IR<?> dataHelper, boolean canonical, OutputStream target) throws IOException {
+        byte[] buffer = ByteArrayPool.acquire(STREAM_BUFFER_SIZE);
+        try {
+            CborSink out = new CborSink(buffer, target);
+            writeObject(out, dataHelper, canonical);
+            out.flush();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            ByteArrayPool.release(buffer);
+        }
+    }
+
+    /**
+     * Encode a DataHelper object (deep) into a buffer, starting at its position.
+     *
+     * @param canonical sort map keys for the deterministic encoding
+     * @return the same buffer, positioned after the encoded item
+     * @throws java.nio.BufferOverflowException if the item does not fit (nothing is written then)
+     */
+    public static ByteBuffer write(DataHelper_IR<?> dataHelper, boolean canonical, ByteBuffer target) {
+        CborSink out = new CborSink(ByteArrayPool.acquire(INITIAL_CAPACITY), null);
+        try {
+            writeObject(out, dataHelper, canonical);
+            return target.put(out.buffer, 0, out.count);
+        } finally {
+            ByteArrayPool.release(out.buffer);
+        }
+    }
+
+    // ========== Internal Writing Methods ==========
+
+    private static void writeObject(CborSink out, DataHelper_IR<?> dataHelper, boolean canonical) {
+        CborSchema schema = CborSchema.of(dataHelper);
+        byte[] kinds = schema.kinds;
+        int count = kinds.length;
+
+        // Definite length: count the members first
+        int present = 0;
+        for (int ordinal = 0; ordinal < count; ordinal++) {
+            byte kind = kinds[ordinal];
+            if (kind == PRIMITIVE_LONG || kind == PRIMITIVE_DOUBLE || dataHelper.getPropertyByOrdinal(ordinal) != null) {
+                present++;
+            }
+        }
+        out.writeHead(MAJOR_MAP, present);
+
+        int[] order = canonical ? schema.canonicalOrder : null;
+        for (int i = 0; i < count; i++) {
+            int ordinal = order == null ? i : order[i];
+            byte[] key = schema.keys[ordinal];
+            switch (kinds[ordinal]) {
+                case PRIMITIVE_LONG -> {
+                    out.writeRaw(key, 0, key.length);
+                    out.writeLong(dataHelper.getLongByOrdinal(ordinal));
+                }
+                case PRIMITIVE_DOUBLE -> {
+                    out.writeRaw(key, 0, key.length);
+                    out.writeDouble(dataHelper.getDoubleByOrdinal(ordinal));
+                }
+                default -> {
+                    Object value = dataHelper.getPropertyByOrdinal(ordinal);
+                    if (value != null) {
+                        out.writeRaw(key, 0, key.length);
+                        writeValue(out, value, canonical);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void writeValue(CborSink out, Object value, boolean canonical) {
+        if (value == null) {
+            out.writeByte(NULL);
+        } else if (value instanceof String s) {
+            out.writeString(s);
+        } else if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            out.writeLong(((Number) value).longValue());
+        } else if (value instanceof Double || value instanceof Float) {
+            out.writeDouble(((Number) value).doubleValue());
+        } else if (value instanceof Boolean b) {
+            out.writeByte(b ? TRUE : FALSE);
+        } else if (value instanceof DataHelper_IR<?> nested) {
+            writeObject(out, nested, canonical);
+        } else if (value instanceof List<?> list) {
+            writeArray(out, list, canonical);
+        } else if (value instanceof Map<?, ?> map) {
+            writeMap(out, map, canonical);
+        } else if (value instanceof byte[] bytes) {
+            out.writeBytes(bytes);
+        } else if (value instanceof BigInteger big) {
+            writeBigInteger(out, big);
+        } else {
+            // Fallback: toString(), like the JSON writer
+            out.writeString(value.toString());
+        }
+    }
+
+    private static void writeArray(CborSink out, Collection<?> items, boolean canonical) {
+        out.writeHead(MAJOR_ARRAY, items.size());
+        for (Object item : items) {
+            writeValue(out, item, canonical);
+        }
+    }
+
+    private static void writeMap(CborSink out, Map<?, ?> map, boolean canonical) {
+        out.writeHead(MAJOR_MAP, map.size());
+        if (!canonical) {
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                writeValue(out, entry.getKey(), false);
+                writeValue(out, entry.getValue(), false);
+            }
+            return;
+        }
+        // Deterministic order: by the bytes of each encoded key
+        int size = map.size();
+        byte[][] keys = new byte[size][];
+        Object[] values = new Object[size];
+        CborSink scratch = new CborSink(64);
+        int i = 0;
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            scratch.count = 0;
+            writeValue(scratch, entry.getKey(), true);
+            keys[i] = Arrays.copyOf(scratch.buffer, scratch.count);
+            values[i++] = entry.getValue();
+        }
+        Integer[] order = new Integer[size];
+        for (int k = 0; k < size; k++) {
+            order[k] = k;
+        }
+        Arrays.sort(order, (a, b) -> Arrays.compareUnsigned(keys[a], keys[b]));
+        for (int k : order) {
+            out.writeRaw(keys[k], 0, keys[k].length);
+            writeValue(out, values[k], true);
+        }
+    }
+
+    private static void writeBigInteger(CborSink out, BigInteger value) {
+        if (value.bitLength() < 64) {
+            out.writeLong(value.longValue());
+        } else if (value.signum() >= 0 && value.bitLength() == 64) {
+            out.writeHead(MAJOR_UNSIGNED, value.longValue());  // unsigned 64-bit argument
+        } else if (value.signum() < 0 && value.not().bitLength() == 64) {
+            out.writeHead(MAJOR_NEGATIVE, value.not().longValue());  // -1 - n as unsigned
+        } else {
+            // Bignum: tag 2 (n) or 3 (-1 - n) over the big-endian magnitude
+            BigInteger magnitude = value.signum() >= 0 ? value : value.not();
+            byte[] bytes = magnitude.toByteArray();
+            int skip = bytes[0] == 0 ? 1 : 0;  // drop the sign byte
+            out.writeHead(MAJOR_TAG, value.signum() >= 0 ? 2 : 3);
+            out.writeHead(MAJOR_BYTES, bytes.length - skip);
+            out.writeRaw(bytes, skip, bytes.length - skip);
+        }
+    }
+}
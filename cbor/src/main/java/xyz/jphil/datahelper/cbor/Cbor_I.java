@@ -0,0 +1,71 @@
+package xyz.jphil.datahelper.cbor;
+
+import xyz.jphil.datahelper.DataHelper_I;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Write side of the CBOR trait: decoding ({@code fromCbor}).
+ *
+ * <p>Extends {@link Cbor_IR} (which carries {@code toCbor}) and {@link DataHelper_I}, the same
+ * way {@code Json_I} pairs with {@code Json_IR}. Records are not decoded into directly: decode
+ * into the mutable form, then call {@code toRecord()}.</p>
+ *
+ * <p><strong>Usage:</strong></p>
+ * <pre>{@code
+ * @Data
+ * public final class Person extends Person_A implements Cbor_I<Person> {
+ *     String name;
+ *     int age;
+ * }
+ *
+ * byte[] bytes = person.toCbor();
+ * Person copy = new Person().fromCbor(bytes);
+ * }</pre>
+ *
+ * @param <E> the implementing type (self-reference for fluent API)
+ */
+public interface Cbor_I<E extends DataHelper_I<E>> extends Cbor_IR<E>, DataHelper_I<E> {
+
+    /**
+     * Populate this DTO from a CBOR map. Unknown keys are skipped.
+     *
+     * @param bytes the encoded map
+     * @return this instance for chaining
+     * @throws CborReader.CborFormatException if the bytes are malformed or not a map
+     */
+    @SuppressWarnings("unchecked")
+    default E fromCbor(byte[] bytes) {
+        CborReader.read(bytes, this);
+        return (E) this;
+    }
+
+    /**
+     * Populate this DTO from the CBOR map at {@code offset}.
+     *
+     * @param bytes holds the encoded map
+     * @param offset start of the map
+     * @param length bytes available from {@code offset}
+     * @return this instance for chaining
+     * @throws CborReader.CborFormatException if the bytes are malformed or not a map
+     */
+    @SuppressWarnings("unchecked")
+    default E fromCbor(byte[] bytes, int offset, int length) {
+        CborReader.read(bytes, offset, length, this);
+        return (E) this;
+    }
+
+    /**
+     * Populate this DTO from the CBOR map at the buffer's position, advancing the position past
+     * it (so a CBOR sequence can be read from one buffer).
+     *
+     * @param buffer holds the encoded map
+     * @return this instance for chaining
+     * @throws CborReader.CborFormatException if the bytes are malformed or not a map
+     */
+    @SuppressWarnings("unchecked")
+    default E fromCbor(ByteBuffer buffer) {
+        CborReader.read(buffer, this);
+        return (E) this;
+    }
+}
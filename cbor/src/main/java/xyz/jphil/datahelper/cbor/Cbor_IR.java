@@ -0,0 +1,61 @@
+package xyz.jphil.datahelper.cbor;
+
+import xyz.jphil.datahelper.DataHelper_IR;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Read side of the CBOR trait: encoding ({@code toCbor}).
+ *
+ * <p>CBOR (RFC 8949) is the standard, self-describing counterpart of the binary trait: maps keyed
+ * by field name like {@code toJson()}, so any CBOR library can read the output and fields may be
+ * added, removed or reordered between versions. Like {@code Json_IR} it can be mixed into the
+ * readable {@code _IR} interface via {@code superInterfaces}, so immutable {@code _R} records
+ * encode as well; the processor routes the {@link Cbor_I} write half onto the mutable type.</p>
+ *
+ * @param <E> the implementing type (self-reference for fluent API)
+ */
+public interface Cbor_IR<E extends DataHelper_IR<E>> extends DataHelper_IR<E> {
+
+    /**
+     * Encode this DTO (deep) in preferred serialization.
+     *
+     * @return the encoded bytes
+     */
+    default byte[] toCbor() {
+        return CborWriter.write(this);
+    }
+
+    /**
+     * Encode this DTO (deep) in the deterministic encoding of RFC 8949 §4.2.1: equal DTOs give
+     * equal bytes, whatever the field or map insertion order.
+     *
+     * @return the encoded bytes
+     */
+    default byte[] toCanonicalCbor() {
+        return CborWriter.write(this, true);
+    }
+
+    /**
+     * Encode this DTO (deep) to a stream in constant memory. The stream is neither flushed nor
+     * closed.
+     *
+     * @param out receives the encoded bytes
+     */
+    default void toCbor(OutputStream out) throws IOException {
+        CborWriter.write(this, false, out);
+    }
+
+    /**
+     * Encode this DTO (deep) into a buffer at its position.
+     *
+     * @param target the destination buffer
+     * @return the same buffer, positioned after the encoded bytes
+     * @throws java.nio.BufferOverflowException if the encoding does not fit
+     */
+    default ByteBuffer toCbor(ByteBuffer target) {
+        return CborWriter.write(this, false, target);
+    }
+}
@@ -0,0 +1,356 @@
+package xyz.jphil.datahelper.config;
+
+import xyz.jphil.datahelper.DataHelper_I;
+import xyz.jphil.datahelper.DataHelper_IR;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Binds configuration keys from System properties, environment variables and {@code .properties}
+ * files into settings DTOs, without reflection.
+ *
+ * <p>A key is cut into words at {@code '.'}, {@code '-'} and {@code '_'}, so
+ * {@code db.pool.max-size}, {@code DB_POOL_MAX_SIZE} and {@code db.pool.maxSize} are the same key.
+ * Words are matched against the DTO's fields with the generated
+ * {@link DataHelper_IR#relaxedFieldOrdinal(String) relaxedFieldOrdinal} switch, which compares
+ * names without case and separators. The shortest run of words naming a field wins. A nested DTO
+ * field ({@code DataField}) binds the remaining words into the nested object, created through
+ * {@code createNestedObject} if it is null. A map field takes the rest of the key as the map key.
+ * For a map to DTOs, the next word is the map key and the rest binds into the value. So binding is
+ * one pass over the source, with a switch lookup per word run and no reflection or per-class
+ * metadata.</p>
+ *
+ * <p>Values are converted to the field type: numbers, booleans ({@code true}/{@code false}), a
+ * single {@code char} and strings. A list field takes a comma-separated list of these. A value
+ * that does not convert fails with a {@link ConfigException} naming the key. Keys outside the
+ * {@link #withPrefix prefix} are ignored, as are unknown keys inside it unless the binder is
+ * {@link #withStrict strict}.</p>
+ *
+ * <pre>{@code
+ * ServerSettings s = ConfigBinder.DEFAULT.withPrefix("myapp")
+ *         .bindAll(new ServerSettings(), Path.of("app.properties"));
+ * // myapp.db.pool.size=8  /  MYAPP_DB_POOL_SIZE=8  /  -Dmyapp.db.pool-size=8
+ * }</pre>
+ *
+ * <p>Binders are immutable and thread-safe.</p>
+ */
+public final class ConfigBinder {
+
+    /** No prefix, unknown keys ignored. */
+    public static final ConfigBinder DEFAULT = new ConfigBinder("", false);
+
+    private final String prefix;
+    /** The relaxed words of the prefix. */
+    private final String[] prefixWords;
+    private final boolean strict;
+
+    private ConfigBinder(String prefix, boolean strict) {
+        this.prefix = prefix;
+        this.strict = strict;
+        Key key = Key.of(prefix);
+        this.prefixWords = new String[key.count];
+        for (int i = 0; i < key.count; i++) {
+            prefixWords[i] = key.relaxedWord(i);
+        }
+    }
+
+    /** A binder reading only keys that start with the words of {@code prefix}, such as {@code myapp}. */
+    public ConfigBinder withPrefix(String prefix) {
+        return new ConfigBinder(prefix, strict);
+    }
+
+    /** A binder that fails on keys within its prefix that name no field, instead of ignoring them. */
+    public ConfigBinder withStrict(boolean strict) {
+        return new ConfigBinder(prefix, strict);
+    }
+
+    public String prefix() {
+        return prefix;
+    }
+
+    public boolean strict() {
+        return strict;
+    }
+
+    /**
+     * Bind every entry of {@code source} (for example a {@link Properties} or
+     * {@code System.getenv()}) with a {@code String} key. Entries later in the map win over
+     * earlier ones that name the same field.
+     *
+     * @return the target
+     * @throws ConfigException if a value does not convert, or a key is unknown in strict mode
+     */
+    public <T extends DataHelper_I<?>> T bind(T target, Map<?, ?> source) {
+        for (Map.Entry<?, ?> e : source.entrySet()) {
+            if (e.getKey() instanceof String key && e.getValue() != null) {
+                bind(target, key, e.getValue().toString());
+            }
+        }
+        return target;
+    }
+
+    /**
+     * Bind the entries of a {@code .properties} file, read as UTF-8.
+     *
+     * @return the target
+     * @throws ConfigException if a value does not convert, or a key is unknown in strict mode
+     */
+    public <T extends DataHelper_I<?>> T bind(T target, Path propertiesFile) throws IOException {
+        Properties properties = new Properties();
+        try (Reader in = Files.newBufferedReader(propertiesFile, StandardCharsets.UTF_8)) {
+            properties.load(in);
+        }
+        return bind(target, properties);
+    }
+
+    /**
+     * Bind the environment variables, such as {@code MYAPP_DB_POOL_SIZE}.
+     *
+     * @return the target
+     */
+    public <T extends DataHelper_I<?>> T bindEnvironment(T target) {
+        return bind(target, System.getenv());
+    }
+
+    /**
+     * Bind the System properties, such as {@code -Dmyapp.db.pool.size=8}.
+     *
+     * @return the target
+     */
+    public <T extends DataHelper_I<?>> T bindSystemProperties(T target) {
+        return bind(target, System.getProperties());
+    }
+
+    /**
+     * Bind the usual layers in increasing precedence: the {@code .properties} files in order
+     * (missing ones are skipped), then the environment variables, then the System properties.
+     *
+     * @return the target
+     */
+    public <T extends DataHelper_I<?>> T bindAll(T target, Path... propertiesFiles) throws IOException {
+        for (Path file : propertiesFiles) {
+            if (Files.exists(file)) {
+                bind(target, file);
+            }
+        }
+        bindEnvironment(target);
+        return bindSystemProperties(target);
+    }
+
+    /**
+     * Bind one key.
+     *
+     * @return true if the key named a field and was bound; false if it was ignored
+     * @throws ConfigException if the value does not convert, or the key is unknown in strict mode
+     */
+    public boolean bind(DataHelper_I<?> target, String key, String value) {
+        Key k = Key.of(key);
+        if (k.count <= prefixWords.length) return false;
+        for (int i = 0; i < prefixWords.length; i++) {
+            if (!k.relaxedWord(i).equals(prefixWords[i])) return false;
+        }
+        if (bind(target, k, prefixWords.length, value)) return true;
+        if (strict) {
+            throw new ConfigException("Unknown configuration key " + key + " for "
+                    + target.dataClass().getSimpleName());
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return "ConfigBinder[prefix=" + prefix + ", strict=" + strict + "]";
+    }
+
+    // ========== Internal Binding Methods ==========
+
+    /** Bind words {@code from..} of the key into {@code target}, trying the shortest field name first. */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private boolean bind(DataHelper_I<?> target, Key key, int from, String value) {
+        StringBuilder name = new StringBuilder();
+        for (int end = from + 1; end <= key.count; end++) {
+            name.append(key.relaxedWord(end - 1));
+            int ordinal = target.relaxedFieldOrdinal(name.toString());
+            if (ordinal < 0) continue;
+            String field = target.fieldNames().get(ordinal);
+
+            if (target.isNestedObjectField(field)) {
+                if (end == key.count) continue;
+                DataHelper_I<?> nested = (DataHelper_I<?>) target.getPropertyByOrdinal(ordinal);
+                boolean created = nested == null;
+                if (created) nested = target.createNestedObject(field);
+                if (bind(nested, key, end, value)) {
+                    if (created) target.setPropertyByOrdinal(ordinal, nested);
+                    return true;
+                }
+            } else if (target.isMapField(field)) {
+                if (end == key.count) continue;
+                Map map = (Map) target.getPropertyByOrdinal(ordinal);
+                Object mapKey;
+                Object mapValue;
+                if (target.isMapValueDataHelper(field)) {
+                    if (end + 1 == key.count) continue;
+                    mapKey = convert(key.word(end), target.getMapKeyType(field), key);
+                    DataHelper_I<?> element = map == null ? null : (DataHelper_I<?>) map.get(mapKey);
+                    if (element == null) element = target.createMapValueElement(field);
+                    if (!bind(element, key, end + 1, value)) continue;
+                    mapValue = element;
+                } else {
+                    mapKey = convert(key.rest(end), target.getMapKeyType(field), key);
+                    mapValue = convert(value, target.getMapValueType(field), key);
+                }
+                putEntry(target, ordinal, field, map, mapKey, mapValue);
+                return true;
+            } else if (end == key.count) {
+                Object converted;
+                if (target.isListField(field)) {
+                    Class<?> elementType = target.getListElementType(field);
+                    List<Object> list = new ArrayList<>();
+                    for (String item : value.split(",")) {
+                        if (!item.isBlank()) list.add(convert(item.strip(), elementType, key));
+                    }
+                    converted = list;
+                } else {
+                    converted = convert(value, target.getPropertyType(field), key);
+                }
+                target.setPropertyByOrdinal(ordinal, converted);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Put an entry into a map field. A map of a known modifiable type is updated in place, so a
+     * map with many keys is built in one pass. Any other map (missing, {@code Map.of},
+     * unmodifiable views, unknown types) is replaced by a copy from {@code createMapInstance},
+     * which is a {@code HashMap} or {@code LinkedHashMap} and so is updated in place afterwards.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static void putEntry(DataHelper_I<?> target, int ordinal, String field, Map map,
+                                 Object mapKey, Object mapValue) {
+        if (isModifiable(map)) {
+            map.put(mapKey, mapValue);
+            return;
+        }
+        Map copy = target.createMapInstance(field);
+        if (map != null) copy.putAll(map);
+        copy.put(mapKey, mapValue);
+        target.setPropertyByOrdinal(ordinal, copy);
+    }
+
+    /** Whether {@code map} is of a JDK type known to support {@code put}. */
+    private static boolean isModifiable(Map<?, ?> map) {
+        return map instanceof HashMap || map instanceof TreeMap || map instanceof ConcurrentMap;
+    }
+
+    /** Convert a text value to {@code type}. */
+    private static Object convert(String value, Class<?> type, Key key) {
+        if (type == null || type == String.class || type == Object.class || type == CharSequence.class) {
+            return value;
+        }
+        String s = value.strip();
+        try {
+            if (type == int.class || type == Integer.class) return Integer.parseInt(s);
+            if (type == long.class || type == Long.class) return Long.parseLong(s);
+            if (type == double.class || type == Double.class) return Double.parseDouble(s);
+            if (type == float.class || type == Float.class) return Float.parseFloat(s);
+            if (type == short.class || type == Short.class) return Short.parseShort(s);
+            if (type == byte.class || type == Byte.class) return Byte.parseByte(s);
+        } catch (NumberFormatException e) {
+            throw new ConfigException("Invalid value for " + key + ": '" + value + "' is not a valid "
+                    + type.getSimpleName(), e);
+        }
+        if (type == boolean.class || type == Boolean.class) {
+            if (s.equalsIgnoreCase("true")) return true;
+            if (s.equalsIgnoreCase("false")) return false;
+        } else if (type == char.class || type == Character.class) {
+            if (value.length() == 1) return value.charAt(0);
+        } else {
+            throw new ConfigException("Cannot bind " + key + ": fields of type " + type.getSimpleName()
+                    + " are not supported");
+        }
+        throw new ConfigException("Invalid value for " + key + ": '" + value + "' is not a valid "
+                + type.getSimpleName());
+    }
+
+    /** A key cut into words at '.', '-' and '_'; empty words are dropped. */
+    private static final class Key {
+        final String text;
+        /** Start and end of each word. */
+        final int[] bounds;
+        final int count;
+
+        private Key(String text, int[] bounds, int count) {
+            this.text = text;
+            this.bounds = bounds;
+            this.count = count;
+        }
+
+        static Key of(String text) {
+            int[] bounds = new int[8];
+            int count = 0;
+            int start = 0;
+            for (int i = 0; i <= text.length(); i++) {
+                if (i == text.length() || isSeparator(text.charAt(i))) {
+                    if (i > start) {
+                        if (2 * count + 2 > bounds.length) bounds = Arrays.copyOf(bounds, bounds.length * 2);
+                        bounds[2 * count] = start;
+                        bounds[2 * count + 1] = i;
+                        count++;
+                    }
+                    start = i + 1;
+                }
+            }
+            return new Key(text, bounds, count);
+        }
+
+        static boolean isSeparator(char c) {
+            return c == '.' || c == '-' || c == '_';
+        }
+
+        String word(int i) {
+            return text.substring(bounds[2 * i], bounds[2 * i + 1]);
+        }
+
+        String relaxedWord(int i) {
+            return DataHelper_IR.relaxedName(text, bounds[2 * i], bounds[2 * i + 1]);
+        }
+
+        /** The text from word {@code i} to the end of the key, separators included. */
+        String rest(int i) {
+            return text.substring(bounds[2 * i]);
+        }
+
+        @Override
+        public String toString() {
+            return text;
+        }
+    }
+
+    /**
+     * Exception thrown when a configuration value does not convert to its field's type, or a key
+     * names no field in strict mode.
+     */
+    public static class ConfigException extends RuntimeException {
+        public ConfigException(String message) {
+            super(message);
+        }
+
+        public ConfigException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package xyz.jphil.datahelper.csv;
+
+import xyz.jphil.datahelper.DataHelper_I;
+import xyz.jphil.datahelper.Field_I;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * CSV (RFC 4180) export and import of DTOs: headers from the generated {@code FIELDS}, values
+ * through the ordinal accessors. Shortcuts for {@link CsvFormat#CSV}; use {@link CsvFormat#TSV}
+ * or {@link CsvFormat#withDelimiter} for other dialects.
+ *
+ * <p>Example:</p>
+ * <pre>
+ * {@code
+ * try (CsvWriter out = Csv.writer(Files.newOutputStream(path), Person_IR.FIELDS)) {
+ *     out.writeAll(people);                    // name,age,address.street,address.city
+ * }
+ * try (Stream<Person> people = Csv.stream(Files.newInputStream(path), Person::new)) {
+ *     people.forEach(repository::save);
+ * }
+ * Csv.parallelRead(path, Person::new, repository::save, true);
+ * }
+ * </pre>
+ *
+ * <p>Writing and sequential reading run in constant memory; a malformed row or a cell that does
+ * not fit its field fails with a {@link CsvReader.CsvFormatException} carrying the row's byte
+ * offset.</p>
+ */
+public final class Csv {
+
+    private Csv() {
+    }
+
+    /**
+     * Open a CSV writer with a column per field, typically a DTO's {@code FIELDS}.
+     *
+     * @see CsvFormat#writer(OutputStream, List)
+     */
+    public static CsvWriter writer(OutputStream out, List<? extends Field_I<?, ?>> fields) throws IOException {
+        return CsvFormat.CSV.writer(out, fields);
+    }
+
+    /**
+     * Open a CSV writer for the given columns.
+     *
+     * @see CsvFormat#writer(OutputStream, CsvColumns)
+     */
+    public static CsvWriter writer(OutputStream out, CsvColumns columns) throws IOException {
+        return CsvFormat.CSV.writer(out, columns);
+    }
+
+    /**
+     * Open a lazy iterator over the rows of a UTF-8 CSV stream.
+     *
+     * @see CsvFormat#reader(InputStream, Supplier)
+     */
+    public static <E extends DataHelper_I<E>> CsvReader<E> reader(InputStream in, Supplier<E> factory) {
+        return CsvFormat.CSV.reader(in, factory);
+    }
+
+    /**
+     * Stream the rows of a UTF-8 CSV stream, parsing lazily.
+     *
+     * @see CsvFormat#stream(InputStream, Supplier)
+     */
+    public static <E extends DataHelper_I<E>> Stream<E> stream(InputStream in, Supplier<E> factory) {
+        return CsvFormat.CSV.stream(in, factory);
+    }
+
+    /**
+     * Parse a CSV file in parallel on the common pool.
+     *
+     * @see CsvFormat#parallelRead(Path, Supplier, Consumer, boolean, java.util.concurrent.ForkJoinPool)
+     */
+    public static <E extends DataHelper_I<E>> void parallelRead(Path file, Supplier<E> factory,
+                                                                Consumer<? super E> action, boolean ordered) throws IOException {
+        CsvFormat.CSV.parallelRead(file, factory, action, ordered);
+    }
+}
@@ -0,0 +1,197 @@
+package xyz.jphil.datahelper.csv;
+
+import xyz.jphil.datahelper.DataHelper_I;
+import xyz.jphil.datahelper.csv.CsvReader.CsvFormatException;
+
+/**
+ * The mapping from the columns of one CSV file to field ordinals, resolved once from the header
+ * against a prototype DTO and then applied to every row.
+ *
+ * <p>Each header cell is a field name or a dotted path through nested DTO fields; a column that
+ * names no field (or a list, map or nested DTO field as a whole) is ignored. Primitive integral
+ * cells are parsed straight from the row's bytes into {@code setLongByOrdinal}, so the common
+ * numeric columns allocate nothing; other cells become a String converted to the field type.</p>
+ *
+ * <p>An empty cell leaves its field unset (null, or the primitive default); an empty
+ * <em>quoted</em> cell sets a String field to {@code ""}. Nested DTOs are created only for a
+ * non-empty cell on their path. A binding is immutable and may be shared by parallel readers.</p>
+ */
+final class CsvBinding {
+
+    private static final byte LONG = 0;
+    private static final byte DOUBLE = 1;
+    private static final byte OTHER = 2;
+
+    /** Per column: null if ignored. */
+    private final Target[] columns;
+
+    private CsvBinding(Target[] columns) {
+        this.columns = columns;
+    }
+
+    /**
+     * Resolve the header row the parser is positioned on.
+     */
+    static CsvBinding of(CsvParser header, DataHelper_I<?> prototype) {
+        Target[] columns = new Target[header.cells()];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = resolve(header.text(i).trim(), prototype);
+        }
+        return new CsvBinding(columns);
+    }
+
+    private static Target resolve(String path, DataHelper_I<?> prototype) {
+        String[] segments = path.split("\\.", -1);
+        int[] hops = new int[segments.length - 1];
+        String[] hopNames = new String[hops.length];
+        DataHelper_I<?> target = prototype;
+        for (int hop = 0; hop < hops.length; hop++) {
+            int ordinal = target.fieldOrdinal(segments[hop]);
+            if (ordinal < 0) {
+                return null;
+            }
+            String name = target.fieldNames().get(ordinal);
+            if (!target.isNestedObjectField(name)) {
+                return null;
+            }
+            hops[hop] = ordinal;
+            hopNames[hop] = name;
+            target = target.createNestedObject(name);
+        }
+        int ordinal = target.fieldOrdinal(segments[segments.length - 1]);
+        if (ordinal < 0) {
+            return null;
+        }
+        String name = target.fieldNames().get(ordinal);
+        if (target.isNestedObjectField(name) || target.isListField(name) || target.isMapField(name)) {
+            return null;
+        }
+        byte kind = target.isPrimitiveIntegralField(ordinal) ? LONG
+                : target.isPrimitiveDoubleField(ordinal) ? DOUBLE : OTHER;
+        return new Target(path, hops, hopNames, ordinal, kind, target.getPropertyType(name));
+    }
+
+    /**
+     * Set the fields of {@code dto} from the parser's current row. Cells beyond the header are
+     * ignored and missing trailing cells leave their fields unset.
+     */
+    void bind(CsvParser row, DataHelper_I<?> dto) {
+        Target[] cols = columns;
+        int cells = Math.min(row.cells(), cols.length);
+        for (int i = 0; i < cells; i++) {
+            Target column = cols[i];
+            if (column == null) {
+                continue;
+            }
+            boolean quoted = row.quoted(i);
+            if (row.start(i) == row.end(i) && !(quoted && column.type == String.class)) {
+                continue;
+            }
+            DataHelper_I<?> target = column.hops.length == 0 ? dto : owner(dto, column);
+            try {
+                switch (column.kind) {
+                    case LONG -> target.setLongByOrdinal(column.ordinal, parseLong(row.buffer(), row.start(i), row.end(i), column.type));
+                    case DOUBLE -> target.setDoubleByOrdinal(column.ordinal, Double.parseDouble(row.text(i)));
+                    default -> target.setPropertyByOrdinal(column.ordinal, convert(row.text(i), column.type));
+                }
+            } catch (NumberFormatException e) {
+                throw new CsvFormatException("Cannot read '" + row.text(i) + "' as " + typeName(column.type)
+                        + " for column '" + column.path + "' in the record at byte offset " + row.recordOffset(), e);
+            }
+        }
+    }
+
+    /** The DTO holding the column's leaf field, creating nested DTOs on the way as needed. */
+    private static DataHelper_I<?> owner(DataHelper_I<?> dto, Target column) {
+        DataHelper_I<?> target = dto;
+        for (int hop = 0; hop < column.hops.length; hop++) {
+            int ordinal = column.hops[hop];
+            Object nested = target.getPropertyByOrdinal(ordinal);
+            if (nested == null) {
+                nested = target.createNestedObject(column.hopNames[hop]);
+                target.setPropertyByOrdinal(ordinal, nested);
+            }
+            target = (DataHelper_I<?>) nested;
+        }
+        return target;
+    }
+
+    private static Object convert(String text, Class<?> type) {
+        if (type == null || type == String.class) {
+            return text;
+        }
+        if (type == Character.class || type == char.class) {
+            if (text.length() != 1) {
+                throw new NumberFormatException();
+            }
+            return text.charAt(0);
+        }
+        if (type == Boolean.class && !text.equalsIgnoreCase("true") && !text.equalsIgnoreCase("false")) {
+            throw new NumberFormatException();  // parseBoolean would read any other text as false
+        }
+        Object value = DataHelper_I.convertType(text, type);
+        if (!type.isInstance(value)) {
+            throw new NumberFormatException();
+        }
+        return value;
+    }
+
+    /** A decimal integer from ASCII bytes, without allocating, checked against the field's range. */
+    private static long parseLong(byte[] b, int start, int end, Class<?> type) {
+        int i = start;
+        boolean negative = false;
+        if (b[i] == '-' || b[i] == '+') {
+            negative = b[i] == '-';
+            i++;
+        }
+        if (i == end || end - i > 19) {
+            throw new NumberFormatException();
+        }
+        long value = 0;
+        for (; i < end; i++) {
+            int digit = b[i] - '0';
+            if (digit < 0 || digit > 9) {
+                throw new NumberFormatException();
+            }
+            value = value * 10 - digit;  // accumulate negatively to reach Long.MIN_VALUE
+            if (value > 0) {
+                throw new NumberFormatException();  // overflowed 19 digits
+            }
+        }
+        if (!negative) {
+            if (value == Long.MIN_VALUE) {
+                throw new NumberFormatException();
+            }
+            value = -value;
+        }
+        if (type == Integer.class ? value != (int) value
+                : type == Short.class ? value != (short) value
+                : type == Byte.class && value != (byte) value) {
+            throw new NumberFormatException();
+        }
+        return value;
+    }
+
+    private static String typeName(Class<?> type) {
+        return type == null ? "value" : type.getSimpleName();
+    }
+
+    /** A bound column: the nested fields leading to its leaf field, and how to set that field. */
+    private static final class Target {
+        final String path;
+        final int[] hops;
+        final String[] hopNames;
+        final int ordinal;
+        final byte kind;
+        final Class<?> type;
+
+        Target(String path, int[] hops, String[] hopNames, int ordinal, byte kind, Class<?> type) {
+            this.path = path;
+            this.hops = hops;
+            this.hopNames = hopNames;
+            this.ordinal = ordinal;
+            this.kind = kind;
+            this.type = type;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package xyz.jphil.datahelper.csv;
+
+import xyz.jphil.datahelper.DataField;
+import xyz.jphil.datahelper.Field_I;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The columns of a CSV export: an ordered list of field paths, each written as one header cell
+ * and one value per row.
+ *
+ * <p>Built from a DTO's generated {@code FIELDS} (or any subset of its field symbols). Nested
+ * DTO fields are flattened into dotted paths over the nested type's own {@code FIELDS}, so an
+ * {@code address} field contributes {@code address.street}, {@code address.city} and so on;
+ * a single nested column can also be picked with a symbol path such as
+ * {@code $address.__($city)}. List and map fields have no flat form and are left out.</p>
+ * <pre>
+ * {@code
+ * CsvColumns all = CsvColumns.of(Person_IR.FIELDS);                  // name, age, address.street, address.city, ...
+ * CsvColumns some = CsvColumns.of(Person.$name, Person.$address.__(Address.$city));
+ * }
+ * </pre>
+ *
+ * <p>Columns are immutable and thread-safe.</p>
+ */
+public final class CsvColumns {
+
+    private final List<String> paths;
+
+    private CsvColumns(List<String> paths) {
+        if (paths.isEmpty()) {
+            throw new IllegalArgumentException("No columns: every field is a list or map");
+        }
+        this.paths = List.copyOf(paths);
+    }
+
+    /**
+     * Columns for the given field symbols, typically a DTO's {@code FIELDS}: nested DTO fields
+     * are flattened into dotted paths, list and map fields are left out.
+     */
+    public static CsvColumns of(List<? extends Field_I<?, ?>> fields) {
+        List<String> paths = new ArrayList<>();
+        flatten(fields, "", new HashSet<>(), paths);
+        return new CsvColumns(paths);
+    }
+
+    /**
+     * Columns for the given field symbols.
+     *
+     * @see #of(List)
+     */
+    public static CsvColumns of(Field_I<?, ?>... fields) {
+        return of(Arrays.asList(fields));
+    }
+
+    /**
+     * Columns for dotted field paths, e.g. {@code "name"}, {@code "address.city"}, taken as they
+     * are.
+     */
+    public static CsvColumns ofPaths(String... paths) {
+        return new CsvColumns(Arrays.asList(paths));
+    }
+
+    /**
+     * The column paths, which are also the header cells, in order.
+     */
+    public List<String> paths() {
+        return paths;
+    }
+
+    private static void flatten(List<? extends Field_I<?, ?>> fields, String prefix, Set<Class<?>> enclosing,
+                                List<String> paths) {
+        for (Field_I<?, ?> field : fields) {
+            if (field instanceof DataField<?, ?> nested) {
+                // A type nested in itself would flatten forever: stop at the first repeat
+                if (enclosing.add(nested.type())) {
+                    flatten(nested.nestedFields(), prefix + field.name() + ".", enclosing, paths);
+                    enclosing.remove(nested.type());
+                }
+            } else if (!Collection.class.isAssignableFrom(field.type()) && !Map.class.isAssignableFrom(field.type())) {
+                paths.add(prefix + field.name());
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "CsvColumns" + paths;
+    }
+}
@@ -0,0 +1,200 @@
+package xyz.jphil.datahelper.csv;
+
+import xyz.jphil.datahelper.DataHelper_I;
+import xyz.jphil.datahelper.Field_I;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A delimited-text dialect — cell delimiter and line separator — and the entry points for writing
+ * and reading it. Quoting always follows RFC 4180: a cell holding a quote, the delimiter or a
+ * line break is enclosed in double quotes, with embedded quotes doubled.
+ *
+ * <p>{@link #CSV} is RFC 4180 (comma, CRLF); {@link #TSV} is tab-separated with LF. Input is
+ * always UTF-8 and either line ending is accepted when reading. Formats are immutable.</p>
+ * <pre>
+ * {@code
+ * try (CsvWriter out = CsvFormat.TSV.writer(Files.newOutputStream(path), Person_IR.FIELDS)) {
+ *     out.writeAll(people);
+ * }
+ * CsvFormat.TSV.parallelRead(path, Person::new, repository::save, true);
+ * }
+ * </pre>
+ */
+public final class CsvFormat {
+
+    /** Comma-separated, CRLF line endings (RFC 4180). */
+    public static final CsvFormat CSV = new CsvFormat(',', "\r\n");
+
+    /** Tab-separated, LF line endings. */
+    public static final CsvFormat TSV = new CsvFormat('\t', "\n");
+
+    private final char delimiter;
+    private final String lineSeparator;
+
+    private CsvFormat(char delimiter, String lineSeparator) {
+        if (delimiter >= 128 || delimiter == '"' || delimiter == '\r' || delimiter == '\n') {
+            throw new IllegalArgumentException("Delimiter must be an ASCII character other than a quote or line break, was '"
+                    + delimiter + "'");
+        }
+        if (!lineSeparator.equals("\n") && !lineSeparator.equals("\r\n")) {
+            throw new IllegalArgumentException("Line separator must be \"\\n\" or \"\\r\\n\"");
+        }
+        this.delimiter = delimiter;
+        this.lineSeparator = lineSeparator;
+    }
+
+    /**
+     * This format with another cell delimiter, e.g. {@code ';'}.
+     */
+    public CsvFormat withDelimiter(char delimiter) {
+        return new CsvFormat(delimiter, lineSeparator);
+    }
+
+    /**
+     * This format with another line separator for writing: {@code "\n"} or {@code "\r\n"}.
+     */
+    public CsvFormat withLineSeparator(String lineSeparator) {
+        return new CsvFormat(delimiter, lineSeparator);
+    }
+
+    public char delimiter() {
+        return delimiter;
+    }
+
+    public String lineSeparator() {
+        return lineSeparator;
+    }
+
+    // ========== Writing ==========
+
+    /**
+     * Open a writer for the given columns with a 64 KiB buffer; the header row is written
+     * immediately.
+     *
+     * @param out receives the UTF-8 bytes; closed when the writer is closed
+     */
+    public CsvWriter writer(OutputStream out, CsvColumns columns) throws IOException {
+        return new CsvWriter(out, this, columns, CsvWriter.DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Open a writer for the given columns with the given buffer size in bytes.
+     */
+    public CsvWriter writer(OutputStream out, CsvColumns columns, int bufferSize) throws IOException {
+        return new CsvWriter(out, this, columns, bufferSize);
+    }
+
+    /**
+     * Open a writer with a column per field, typically a DTO's {@code FIELDS}.
+     *
+     * @see CsvColumns#of(List)
+     */
+    public CsvWriter writer(OutputStream out, List<? extends Field_I<?, ?>> fields) throws IOException {
+        return writer(out, CsvColumns.of(fields));
+    }
+
+    // ========== Reading ==========
+
+    /**
+     * Open a lazy iterator over the rows of a UTF-8 stream whose first row is the header.
+     * Closing the reader closes the stream.
+     */
+    public <E extends DataHelper_I<E>> CsvReader<E> reader(InputStream in, Supplier<E> factory) {
+        return new CsvReader<>(new CsvParser(CsvParser.source(in), delimiter, 0), in, factory);
+    }
+
+    /**
+     * Stream the rows of a UTF-8 stream, parsing lazily.
+     *
+     * <p>The stream is sequential and ordered; only the row currently being bound is held in
+     * memory. Closing the stream (e.g. via try-with-resources) closes the input stream.</p>
+     */
+    public <E extends DataHelper_I<E>> Stream<E> stream(InputStream in, Supplier<E> factory) {
+        CsvReader<E> reader = reader(in, factory);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(reader, Spliterator.ORDERED), false)
+                .onClose(() -> {
+                    try {
+                        reader.close();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
+    // ========== Parallel Reading ==========
+
+    /**
+     * Parse a file in parallel on the common pool.
+     *
+     * @see #parallelRead(Path, Supplier, Consumer, boolean, ForkJoinPool)
+     */
+    public <E extends DataHelper_I<E>> void parallelRead(Path file, Supplier<E> factory,
+                                                         Consumer<? super E> action, boolean ordered) throws IOException {
+        parallelRead(file, factory, action, ordered, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Parse a file in parallel, memory-mapping one record-aligned chunk per task. Records may
+     * contain quoted line breaks; chunk boundaries never split them.
+     *
+     * @param file    UTF-8 file whose first row is the header
+     * @param factory creates a fresh DTO for every row
+     * @param action  receives each bound DTO
+     * @param ordered if true, {@code action} runs on the calling thread in file order; otherwise it
+     *                runs concurrently on worker threads in no particular order
+     * @param pool    the pool parsing the chunks
+     */
+    public <E extends DataHelper_I<E>> void parallelRead(Path file, Supplier<E> factory, Consumer<? super E> action,
+                                                         boolean ordered, ForkJoinPool pool) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            CsvParallelReader.read((start, end) -> channel.map(FileChannel.MapMode.READ_ONLY, start, end - start),
+                    channel.size(), delimiter, factory, action, ordered, pool);
+        }
+    }
+
+    /**
+     * Parse an in-memory region (e.g. a mapped segment) in parallel on the common pool.
+     *
+     * @see #parallelRead(ByteBuffer, Supplier, Consumer, boolean, ForkJoinPool)
+     */
+    public <E extends DataHelper_I<E>> void parallelRead(ByteBuffer region, Supplier<E> factory,
+                                                         Consumer<? super E> action, boolean ordered) {
+        parallelRead(region, factory, action, ordered, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Parse the bytes between the region's position and limit in parallel. The region's position,
+     * limit and contents are not modified.
+     */
+    public <E extends DataHelper_I<E>> void parallelRead(ByteBuffer region, Supplier<E> factory, Consumer<? super E> action,
+                                                         boolean ordered, ForkJoinPool pool) {
+        ByteBuffer source = region.slice();
+        try {
+            CsvParallelReader.read((start, end) -> source.slice((int) start, (int) (end - start)),
+                    source.limit(), delimiter, factory, action, ordered, pool);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);  // not reachable: slicing does no I/O
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "CsvFormat[delimiter=" + (delimiter == '\t' ? "\\t" : String.valueOf(delimiter)) + "]";
+    }
+}
@@ -0,0 +1,202 @@
+package xyz.jphil.datahelper.csv;
+
+import xyz.jphil.datahelper.DataHelper_I;
+import xyz.jphil.datahelper.csv.CsvReader.CsvFormatException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Binds the rows of a CSV file or region in parallel, one record-aligned chunk per task.
+ *
+ * <p>Unlike NDJSON, a line feed does not always end a record: it may sit inside a quoted cell.
+ * Since every {@code '"'} toggles the quoted state (an escaped {@code ""} toggles it twice), the
+ * state at any offset is the parity of the quotes before it. The body is therefore cut into raw
+ * chunks whose quotes are counted in parallel; the prefix parity then gives the state at each
+ * raw boundary, from which the boundary moves forward to just after the next line feed outside
+ * quotes. The header is read first and its binding is shared, read-only, by every chunk.</p>
+ *
+ * <p>At most two chunks per pool thread are in flight: the next chunk is submitted only once the
+ * oldest has been delivered, so memory stays bounded by the window, not the input size.</p>
+ */
+final class CsvParallelReader {
+
+    /** Chunks per pool thread, so uneven chunks still balance across workers. */
+    private static final int CHUNKS_PER_THREAD = 4;
+    /** Chunks submitted but not yet delivered, per pool thread. */
+    private static final int IN_FLIGHT_PER_THREAD = 2;
+    private static final int MIN_CHUNK_SIZE = 64 * 1024;
+    /** Upper bound of the chunk size aimed for, so a window of bound chunks stays small. */
+    private static final int MAX_TARGET_CHUNK_SIZE = 8 * 1024 * 1024;
+    /** Keeps each chunk mappable as a single {@link ByteBuffer}. */
+    private static final int MAX_CHUNK_SIZE = 1 << 30;
+    private static final int PROBE_SIZE = 64 * 1024;
+
+    interface RegionMapper {
+        ByteBuffer map(long start, long end) throws IOException;
+    }
+
+    private CsvParallelReader() {
+    }
+
+    static <E extends DataHelper_I<E>> void read(RegionMapper mapper, long size, char delimiter, Supplier<E> factory,
+                                                 Consumer<? super E> action, boolean ordered,
+                                                 ForkJoinPool pool) throws IOException {
+        CsvParser header = new CsvParser(windows(mapper, size), delimiter, 0);
+        header.skipByteOrderMark();
+        if (!header.next()) {
+            return;  // no header: an empty input
+        }
+        CsvBinding binding = CsvBinding.of(header, factory.get());
+        long[] bounds = chunkBounds(mapper, header.position(), size, pool);
+
+        int chunks = bounds.length - 1;
+        int window = Math.max(1, pool.getParallelism() * IN_FLIGHT_PER_THREAD);
+        ArrayDeque<ForkJoinTask<List<E>>> tasks = new ArrayDeque<>(Math.min(window, chunks));
+        try {
+            int next = 0;
+            while (next < chunks || !tasks.isEmpty()) {
+                for (; next < chunks && tasks.size() < window; next++) {
+                    long start = bounds[next];
+                    ByteBuffer chunk = mapper.map(start, bounds[next + 1]);
+                    tasks.add(pool.submit(() -> parseChunk(chunk, start, delimiter, binding, factory, ordered ? null : action)));
+                }
+                List<E> records = tasks.removeFirst().join();
+                if (ordered) {
+                    records.forEach(action);
+                }
+            }
+        } catch (RuntimeException | Error | IOException e) {
+            for (ForkJoinTask<List<E>> task : tasks) {
+                task.cancel(false);
+            }
+            throw e;
+        }
+    }
+
+    // ========== Chunking ==========
+
+    /**
+     * Split {@code [start, size)} into record-aligned chunks of roughly equal size. Returns the
+     * boundaries (first is {@code start}, last is {@code size}).
+     */
+    private static long[] chunkBounds(RegionMapper mapper, long start, long size, ForkJoinPool pool) throws IOException {
+        long body = size - start;
+        long target = Math.max(MIN_CHUNK_SIZE, body / ((long) Math.max(1, pool.getParallelism()) * CHUNKS_PER_THREAD));
+        target = Math.min(target, MAX_TARGET_CHUNK_SIZE);
+        int raw = (int) Math.max(1, (body + target - 1) / target);
+        if (raw == 1) {
+            return new long[]{start, size};
+        }
+
+        // Quotes per raw chunk, counted in parallel
+        List<ForkJoinTask<Long>> counts = new ArrayList<>(raw - 1);
+        for (int i = 0; i < raw - 1; i++) {
+            ByteBuffer chunk = mapper.map(start + i * target, Math.min(size, start + (i + 1) * target));
+            counts.add(pool.submit(() -> countQuotes(chunk)));
+        }
+        long[] bounds = new long[raw + 1];
+        int n = 0;
+        bounds[n++] = start;
+        long quotes = 0;
+        for (int i = 1; i < raw; i++) {
+            quotes += counts.get(i - 1).join();
+            long from = Math.max(start + i * target, bounds[n - 1]);
+            // Past a previous boundary (a record that ran over this raw one) the state is known: outside
+            boolean inQuotes = from == start + i * target && (quotes & 1) != 0;
+            long next = nextRecordStart(mapper, from, size, inQuotes);
+            if (next > bounds[n - 1] && next < size) {
+                if (next - bounds[n - 1] > MAX_CHUNK_SIZE) {
+                    throw new CsvFormatException("CSV record at byte offset " + bounds[n - 1] + " exceeds " + MAX_CHUNK_SIZE + " bytes");
+                }
+                bounds[n++] = next;
+            }
+        }
+        bounds[n++] = size;
+        long[] result = new long[n];
+        System.arraycopy(bounds, 0, result, 0, n);
+        return result;
+    }
+
+    private static long countQuotes(ByteBuffer chunk) {
+        byte[] window = new byte[PROBE_SIZE];
+        long count = 0;
+        int limit = chunk.limit();
+        for (int pos = 0; pos < limit; pos += PROBE_SIZE) {
+            int n = Math.min(PROBE_SIZE, limit - pos);
+            chunk.get(pos, window, 0, n);  // bulk copy: far cheaper than per-byte reads of a mapped buffer
+            for (int i = 0; i < n; i++) {
+                if (window[i] == '"') count++;
+            }
+        }
+        return count;
+    }
+
+    /** Offset just after the first line feed outside quotes at or after {@code pos}, or {@code size}. */
+    private static long nextRecordStart(RegionMapper mapper, long pos, long size, boolean inQuotes) throws IOException {
+        while (pos < size) {
+            ByteBuffer probe = mapper.map(pos, Math.min(size, pos + PROBE_SIZE));
+            int limit = probe.limit();
+            for (int i = 0; i < limit; i++) {
+                byte b = probe.get(i);
+                if (b == '"') {
+                    inQuotes = !inQuotes;
+                } else if (b == '\n' && !inQuotes) {
+                    return pos + i + 1;
+                }
+            }
+            pos += limit;
+        }
+        return size;
+    }
+
+    /** Sequential reads over the region, one mapped window per call. */
+    private static CsvParser.Source windows(RegionMapper mapper, long size) {
+        long[] pos = {0};
+        return (b, off, len) -> {
+            if (pos[0] >= size) {
+                return -1;
+            }
+            ByteBuffer window = mapper.map(pos[0], Math.min(size, pos[0] + len));
+            int n = window.remaining();
+            window.get(b, off, n);
+            pos[0] += n;
+            return n;
+        };
+    }
+
+    // ========== Parsing ==========
+
+    /**
+     * Bind every record of a chunk. With an {@code action} records are delivered immediately (on
+     * this worker thread) and an empty list is returned; without one they are collected in order.
+     */
+    private static <E extends DataHelper_I<E>> List<E> parseChunk(ByteBuffer chunk, long chunkOffset, char delimiter,
+                                                                  CsvBinding binding, Supplier<E> factory,
+                                                                  Consumer<? super E> action) {
+        List<E> records = action == null ? new ArrayList<>() : List.of();
+        CsvParser parser = new CsvParser(CsvParser.source(chunk), delimiter, chunkOffset);
+        try {
+            while (parser.next()) {
+                E record = factory.get();
+                binding.bind(parser, record);
+                if (action == null) {
+                    records.add(record);
+                } else {
+                    action.accept(record);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);  // not reachable: the chunk is in memory
+        }
+        return records;
+    }
+}
@@ -0,0 +1,240 @@
+package xyz.jphil.datahelper.csv;
+
+import xyz.jphil.datahelper.csv.CsvReader.CsvFormatException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Splits UTF-8 CSV bytes into records and cells (RFC 4180), reading through a byte window that
+ * only grows to hold the longest record.
+ *
+ * <p>A record is first delimited by scanning for a line feed outside quotes, refilling the
+ * window as needed; its cells are then cut in place: unquoted cells are ranges of the window,
+ * quoted cells are unescaped ({@code ""} to {@code "}) within their own range. Nothing is
+ * copied or decoded until a binding asks for a cell's value. A {@code '\r'} before the line
+ * feed is dropped and blank lines are skipped.</p>
+ */
+final class CsvParser {
+
+    /** Supplies input bytes; -1 at the end. */
+    interface Source {
+        int read(byte[] buffer, int offset, int length) throws IOException;
+    }
+
+    private static final int INITIAL_BUFFER_SIZE = 64 * 1024;
+
+    private final Source source;
+    private final byte delimiter;
+    private byte[] buffer;
+    private int pos = 0;
+    private int limit = 0;
+    private boolean eof = false;
+    /** Input offset of {@code buffer[0]}. */
+    private long offset;
+
+    private int cells = 0;
+    private int[] starts = new int[16];
+    private int[] ends = new int[16];
+    private boolean[] quoted = new boolean[16];
+    private long recordOffset;
+
+    CsvParser(Source source, char delimiter, long offset) {
+        this.source = source;
+        this.delimiter = (byte) delimiter;
+        this.buffer = new byte[INITIAL_BUFFER_SIZE];
+        this.offset = offset;
+    }
+
+    static Source source(InputStream in) {
+        return in::read;
+    }
+
+    /** Reads the buffer's remaining bytes, advancing its position. */
+    static Source source(ByteBuffer region) {
+        return (b, off, len) -> {
+            if (!region.hasRemaining()) {
+                return -1;
+            }
+            int n = Math.min(len, region.remaining());
+            region.get(b, off, n);
+            return n;
+        };
+    }
+
+    /** Drop a UTF-8 byte order mark at the current position (as written by spreadsheet exports). */
+    void skipByteOrderMark() throws IOException {
+        while (limit - pos < 3 && !eof) {
+            fill();
+        }
+        if (limit - pos >= 3 && buffer[pos] == (byte) 0xEF && buffer[pos + 1] == (byte) 0xBB && buffer[pos + 2] == (byte) 0xBF) {
+            pos += 3;
+        }
+    }
+
+    /**
+     * Cut the next non-blank record into cells.
+     *
+     * @return false at the end of the input
+     */
+    boolean next() throws IOException {
+        while (true) {
+            int end = findRecordEnd();
+            if (end < 0) {
+                return false;
+            }
+            int next = end < limit ? end + 1 : end;  // past the '\n'
+            if (end > pos && buffer[end - 1] == '\r') {
+                end--;
+            }
+            if (end > pos) {
+                recordOffset = offset + pos;
+                split(end);
+                pos = next;
+                return true;
+            }
+            pos = next;  // blank line
+        }
+    }
+
+    /** Index of the line feed ending the record at {@code pos} (or the input's end); -1 if none is left. */
+    private int findRecordEnd() throws IOException {
+        int i = pos;
+        boolean inQuotes = false;
+        while (true) {
+            byte[] b = buffer;
+            int lim = limit;
+            while (i < lim) {
+                byte c = b[i];
+                if (c == '"') {
+                    inQuotes = !inQuotes;
+                } else if (c == '\n' && !inQuotes) {
+                    return i;
+                }
+                i++;
+            }
+            if (eof) {
+                if (inQuotes) {
+                    throw new CsvFormatException("Unterminated quoted cell in the record at byte offset " + (offset + pos));
+                }
+                return lim > pos ? lim : -1;
+            }
+            int shift = pos;
+            fill();
+            i -= shift;
+        }
+    }
+
+    /** Move the unread bytes to the front, growing the window if they fill it, and read more. */
+    private void fill() throws IOException {
+        if (pos > 0) {
+            System.arraycopy(buffer, pos, buffer, 0, limit - pos);
+            offset += pos;
+            limit -= pos;
+            pos = 0;
+        }
+        if (limit == buffer.length) {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+        int n = source.read(buffer, limit, buffer.length - limit);
+        if (n < 0) {
+            eof = true;
+        } else {
+            limit += n;
+        }
+    }
+
+    private void split(int end) {
+        byte[] b = buffer;
+        byte delim = delimiter;
+        int p = pos;
+        cells = 0;
+        while (true) {
+            if (p < end && b[p] == '"') {
+                int start = ++p;
+                int w = p;
+                while (true) {
+                    if (p >= end) {
+                        throw new CsvFormatException("Unterminated quoted cell " + (cells + 1)
+                                + " in the record at byte offset " + recordOffset);
+                    }
+                    byte c = b[p++];
+                    if (c == '"') {
+                        if (p < end && b[p] == '"') {
+                            p++;  // "" is an escaped quote
+                        } else {
+                            break;
+                        }
+                    }
+                    b[w++] = c;
+                }
+                if (p < end && b[p] != delim) {
+                    throw new CsvFormatException("Unexpected character after the closing quote of cell " + (cells + 1)
+                            + " in the record at byte offset " + recordOffset);
+                }
+                addCell(start, w, true);
+            } else {
+                int start = p;
+                while (p < end && b[p] != delim) {
+                    p++;
+                }
+                addCell(start, p, false);
+            }
+            if (p >= end) {
+                return;
+            }
+            p++;  // the delimiter; a trailing one leaves an empty last cell
+        }
+    }
+
+    private void addCell(int start, int end, boolean isQuoted) {
+        if (cells == starts.length) {
+            starts = Arrays.copyOf(starts, cells * 2);
+            ends = Arrays.copyOf(ends, cells * 2);
+            quoted = Arrays.copyOf(quoted, cells * 2);
+        }
+        starts[cells] = start;
+        ends[cells] = end;
+        quoted[cells] = isQuoted;
+        cells++;
+    }
+
+    // ========== Current Record ==========
+
+    int cells() {
+        return cells;
+    }
+
+    byte[] buffer() {
+        return buffer;
+    }
+
+    int start(int cell) {
+        return starts[cell];
+    }
+
+    int end(int cell) {
+        return ends[cell];
+    }
+
+    boolean quoted(int cell) {
+        return quoted[cell];
+    }
+
+    String text(int cell) {
+        return new String(buffer, starts[cell], ends[cell] - starts[cell], StandardCharsets.UTF_8);
+    }
+
+    /** Input offset of the current record, for error messages. */
+    long recordOffset() {
+        return recordOffset;
+    }
+
+    /** Input offset of the first byte after the current record. */
+    long position() {
+        return offset + pos;
+    }
+}
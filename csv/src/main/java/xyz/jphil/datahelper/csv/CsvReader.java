@@ -0,0 +1,104 @@
+package xyz.jphil.datahelper.csv;
+
+import xyz.jphil.datahelper.DataHelper_I;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Supplier;
+
+/**
+ * Lazy reader over CSV/TSV rows, binding one row at a time into a fresh DTO from the factory.
+ *
+ * <p>The first row is the header; its cells are mapped to field ordinals once (see
+ * {@link CsvBinding}) and every following row is cut into cells in place in a reused byte window
+ * and bound through the ordinal setters. Memory use is bounded by the longest row, so files of
+ * any size can be imported with a flat heap. Quoted cells may span lines, a {@code '\r'} before
+ * a line feed is ignored, blank lines are skipped and a leading UTF-8 byte order mark is dropped.</p>
+ *
+ * <p>{@link #close()} closes the underlying stream. Obtain instances through {@link Csv#reader}
+ * or {@link CsvFormat#reader}.</p>
+ *
+ * @param <E> the row DTO type
+ */
+public final class CsvReader<E extends DataHelper_I<E>> implements Iterator<E>, Closeable {
+
+    private final Closeable source;
+    private final CsvParser parser;
+    private final Supplier<E> factory;
+    private CsvBinding binding;
+    private boolean finished = false;
+    private boolean hasPrepared = false;
+    private E prepared;
+
+    CsvReader(CsvParser parser, Closeable source, Supplier<E> factory) {
+        this.parser = parser;
+        this.source = source;
+        this.factory = factory;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (hasPrepared) return true;
+        if (finished) return false;
+        try {
+            if (binding == null) {
+                parser.skipByteOrderMark();
+                if (!parser.next()) {
+                    finished = true;  // no header: an empty file
+                    return false;
+                }
+                binding = CsvBinding.of(parser, factory.get());
+            }
+            if (!parser.next()) {
+                finished = true;
+                return false;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        E dto = factory.get();
+        binding.bind(parser, dto);
+        prepared = dto;
+        hasPrepared = true;
+        return true;
+    }
+
+    @Override
+    public E next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        E result = prepared;
+        prepared = null;
+        hasPrepared = false;
+        return result;
+    }
+
+    /**
+     * Close the underlying stream.
+     */
+    @Override
+    public void close() throws IOException {
+        finished = true;
+        hasPrepared = false;
+        prepared = null;
+        source.close();
+    }
+
+    /**
+     * Thrown when CSV input is malformed or a cell cannot be read as its field's type. The message
+     * carries the byte offset of the offending record.
+     */
+    public static class CsvFormatException extends RuntimeException {
+        public CsvFormatException(String message) {
+            super(message);
+        }
+
+        public CsvFormatException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+}
@@ -0,0 +1,299 @@
+package xyz.jphil.datahelper.csv;
+
+import xyz.jphil.datahelper.DataHelper_IR;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Writes DTOs as CSV/TSV rows to a UTF-8 output stream: a header row of column paths, then one
+ * row per DTO with its values read through the ordinal accessors.
+ *
+ * <p>Cells are encoded straight into a reused byte buffer, which is handed to the stream only
+ * when full, on {@link #flush()} or on {@link #close()}, so an export of any size runs in
+ * constant memory. Integral values are formatted without allocating; a cell is quoted only when
+ * it contains a quote, the delimiter or a line break (looked up in a per-format table), with
+ * embedded quotes doubled as in RFC 4180. Null values, including a null nested DTO on the path of
+ * a column, are written as empty cells, and empty strings as {@code ""}, so the two read back
+ * apart.</p>
+ *
+ * <p>Dotted column paths are resolved per row class once and cached, so rows of one class (the
+ * usual case) go straight to the leaf ordinal. Not thread-safe. Obtain instances through
+ * {@link Csv#writer} or {@link CsvFormat#writer}.</p>
+ */
+public final class CsvWriter implements Closeable, Flushable {
+
+    static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    /** Largest encoding of one char (3 UTF-8 bytes) or of a formatted long (20), plus slack. */
+    private static final int MAX_ATOM_SIZE = 24;
+
+    private final OutputStream out;
+    private final byte[] buffer;
+    private int count = 0;
+    private final byte delimiter;
+    private final byte[] lineSeparator;
+    /** ASCII characters that force a cell to be quoted. */
+    private final boolean[] special = new boolean[128];
+    private final Column[] columns;
+
+    CsvWriter(OutputStream out, CsvFormat format, CsvColumns columns, int bufferSize) throws IOException {
+        if (bufferSize < 64) {
+            throw new IllegalArgumentException("bufferSize must be at least 64, was " + bufferSize);
+        }
+        this.out = out;
+        this.buffer = new byte[bufferSize];
+        this.delimiter = (byte) format.delimiter();
+        this.lineSeparator = format.lineSeparator().getBytes(StandardCharsets.US_ASCII);
+        special['"'] = true;
+        special['\r'] = true;
+        special['\n'] = true;
+        special[format.delimiter()] = true;
+
+        List<String> paths = columns.paths();
+        this.columns = new Column[paths.size()];
+        for (int i = 0; i < this.columns.length; i++) {
+            if (i > 0) {
+                writeByte(delimiter);
+            }
+            String path = paths.get(i);
+            this.columns[i] = new Column(path);
+            writeText(path);
+        }
+        writeLineSeparator();
+    }
+
+    /**
+     * Append one DTO as a row.
+     *
+     * @return this writer for chaining
+     * @throws IllegalArgumentException if a column path names no field of the DTO
+     */
+    public CsvWriter write(DataHelper_IR<?> dto) throws IOException {
+        Column[] cols = columns;
+        for (int i = 0; i < cols.length; i++) {
+            if (i > 0) {
+                writeByte(delimiter);
+            }
+            writeCell(dto, cols[i]);
+        }
+        writeLineSeparator();
+        return this;
+    }
+
+    /**
+     * Append every DTO of the source as a row, in iteration order.
+     *
+     * @return this writer for chaining
+     */
+    public CsvWriter writeAll(Iterable<? extends DataHelper_IR<?>> dtos) throws IOException {
+        for (DataHelper_IR<?> dto : dtos) {
+            write(dto);
+        }
+        return this;
+    }
+
+    /**
+     * Write buffered bytes to the stream and flush it.
+     */
+    @Override
+    public void flush() throws IOException {
+        drain();
+        out.flush();
+    }
+
+    /**
+     * Flush and close the underlying stream.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            drain();
+        } finally {
+            out.close();
+        }
+    }
+
+    // ========== Cells ==========
+
+    private void writeCell(DataHelper_IR<?> dto, Column column) throws IOException {
+        DataHelper_IR<?> target = dto;
+        int last = column.segments.length - 1;
+        for (int hop = 0; hop < last; hop++) {
+            Object nested = target.getPropertyByOrdinal(column.ordinal(target, hop));
+            if (!(nested instanceof DataHelper_IR<?> next)) {
+                return;  // null on the way: empty cell
+            }
+            target = next;
+        }
+        int ordinal = column.ordinal(target, last);
+        switch (column.leafKind) {
+            case Column.LONG -> writeLong(target.getLongByOrdinal(ordinal));
+            case Column.DOUBLE -> writeAscii(Double.toString(target.getDoubleByOrdinal(ordinal)));
+            default -> {
+                Object value = target.getPropertyByOrdinal(ordinal);
+                if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+                    writeLong(((Number) value).longValue());
+                } else if (value != null) {
+                    writeText(value.toString());
+                }
+            }
+        }
+    }
+
+    /** A cell's text, quoted if it holds a special character. */
+    private void writeText(String s) throws IOException {
+        int length = s.length();
+        boolean quote = length == 0;  // "" keeps an empty string apart from null
+        boolean[] table = special;
+        for (int i = 0; i < length; i++) {
+            char c = s.charAt(i);
+            if (c < 128 && table[c]) {
+                quote = true;
+                break;
+            }
+        }
+        if (quote) {
+            writeByte('"');
+        }
+        byte[] buf = buffer;
+        int pos = count;
+        for (int i = 0; i < length; i++) {
+            if (pos > buf.length - MAX_ATOM_SIZE) {
+                count = pos;
+                drain();
+                pos = 0;
+            }
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                if (c == '"') {
+                    buf[pos++] = '"';  // doubled
+                }
+                buf[pos++] = (byte) c;
+            } else if (c < 0x800) {
+                buf[pos++] = (byte) (0xC0 | (c >> 6));
+                buf[pos++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(s.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, s.charAt(++i));
+                buf[pos++] = (byte) (0xF0 | (cp >> 18));
+                buf[pos++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                buf[pos++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                buf[pos++] = (byte) (0x80 | (cp & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                buf[pos++] = '?';  // unpaired, as String.getBytes(UTF_8) does
+            } else {
+                buf[pos++] = (byte) (0xE0 | (c >> 12));
+                buf[pos++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buf[pos++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        count = pos;
+        if (quote) {
+            writeByte('"');
+        }
+    }
+
+    /** Text known to need no quoting, e.g. a formatted number. */
+    private void writeAscii(String s) throws IOException {
+        int length = s.length();
+        if (count > buffer.length - length) {
+            drain();
+        }
+        for (int i = 0; i < length; i++) {
+            buffer[count++] = (byte) s.charAt(i);
+        }
+    }
+
+    /** Decimal digits of {@code value}, formatted in place. */
+    private void writeLong(long value) throws IOException {
+        if (count > buffer.length - MAX_ATOM_SIZE) {
+            drain();
+        }
+        if (value == Long.MIN_VALUE) {
+            writeAscii("-9223372036854775808");
+            return;
+        }
+        byte[] buf = buffer;
+        if (value < 0) {
+            buf[count++] = '-';
+            value = -value;
+        }
+        int digits = 1;
+        for (long v = value; v >= 10; v /= 10) {
+            digits++;
+        }
+        int pos = count + digits;
+        count = pos;
+        do {
+            buf[--pos] = (byte) ('0' + (int) (value % 10));
+            value /= 10;
+        } while (value != 0);
+    }
+
+    private void writeByte(int b) throws IOException {
+        if (count == buffer.length) {
+            drain();
+        }
+        buffer[count++] = (byte) b;
+    }
+
+    private void writeLineSeparator() throws IOException {
+        for (byte b : lineSeparator) {
+            writeByte(b);
+        }
+    }
+
+    private void drain() throws IOException {
+        if (count > 0) {
+            out.write(buffer, 0, count);
+            count = 0;
+        }
+    }
+
+    /**
+     * One column: its path split into segments, with the ordinal of each segment cached for the
+     * class it was last resolved against.
+     */
+    private static final class Column {
+
+        static final byte LONG = 0;
+        static final byte DOUBLE = 1;
+        static final byte OTHER = 2;
+
+        final String path;
+        final String[] segments;
+        final Class<?>[] classes;
+        final int[] ordinals;
+        byte leafKind;
+
+        Column(String path) {
+            this.path = path;
+            this.segments = path.split("\\.", -1);
+            this.classes = new Class<?>[segments.length];
+            this.ordinals = new int[segments.length];
+        }
+
+        int ordinal(DataHelper_IR<?> target, int segment) {
+            Class<?> type = target.getClass();
+            if (classes[segment] == type) {
+                return ordinals[segment];
+            }
+            int ordinal = target.fieldOrdinal(segments[segment]);
+            if (ordinal < 0) {
+                throw new IllegalArgumentException("Column '" + path + "': no field '" + segments[segment]
+                        + "' in " + type.getName());
+            }
+            if (segment == segments.length - 1) {
+                leafKind = target.isPrimitiveIntegralField(ordinal) ? LONG
+                        : target.isPrimitiveDoubleField(ordinal) ? DOUBLE : OTHER;
+            }
+            classes[segment] = type;
+            ordinals[segment] = ordinal;
+            return ordinal;
+        }
+    }
+}
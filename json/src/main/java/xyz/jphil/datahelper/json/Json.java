@@ -0,0 +1,222 @@
+package xyz.jphil.datahelper.json;
+
+import xyz.jphil.datahelper.json.MinimalJsonParser.JsonParseException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Static entry points for JSON operations that span more than a single DTO.
+ *
+ * <p>Single objects are handled by the {@link Json_I} trait ({@code toJson()} /
+ * {@code fromJson(String)}); this class covers sources that do not fit in one string, such as
+ * large top-level arrays read lazily from a stream or bound in parallel from a mapped file.</p>
+ *
+ * <p>Example:</p>
+ * <pre>
+ * {@code
+ * try (Stream<Person> people = Json.streamArray(Files.newInputStream(path), Person::new)) {
+ *     people.filter(p -> p.getAge() > 30).forEach(repository::save);
+ * }
+ * }
+ * </pre>
+ */
+public final class Json {
+
+    private Json() {
+    }
+
+    /**
+     * Open a lazy iterator over a top-level JSON array of objects in a UTF-8 stream.
+     *
+     * <p>Elements are parsed one at a time as the iterator advances; closing the returned reader
+     * closes the stream.</p>
+     *
+     * @param in      UTF-8 encoded JSON whose top-level value is an array
+     * @param factory creates a fresh DTO for every element
+     */
+    public static <E extends Json_I<E>> JsonArrayReader<E> arrayReader(InputStream in, Supplier<E> factory) {
+        return arrayReader(new InputStreamReader(in, StandardCharsets.UTF_8), factory);
+    }
+
+    /**
+     * Open a lazy iterator over a top-level JSON array of objects read from a character source.
+     *
+     * @see #arrayReader(InputStream, Supplier)
+     */
+    public static <E extends Json_I<E>> JsonArrayReader<E> arrayReader(Reader reader, Supplier<E> factory) {
+        return new JsonArrayReader<>(reader, factory);
+    }
+
+    /**
+     * Stream the objects of a top-level JSON array in a UTF-8 stream, parsing lazily.
+     *
+     * <p>The stream is sequential and ordered; only the element currently being bound is held in
+     * memory. Closing the stream (e.g. via try-with-resources) closes the input stream, including
+     * when a short-circuiting operation stops early.</p>
+     *
+     * @param in      UTF-8 encoded JSON whose top-level value is an array
+     * @param factory creates a fresh DTO for every element
+     */
+    public static <E extends Json_I<E>> Stream<E> streamArray(InputStream in, Supplier<E> factory) {
+        return stream(arrayReader(in, factory));
+    }
+
+    /**
+     * Stream the objects of a top-level JSON array read from a character source.
+     *
+     * @see #streamArray(InputStream, Supplier)
+     */
+    public static <E extends Json_I<E>> Stream<E> streamArray(Reader reader, Supplier<E> factory) {
+        return stream(arrayReader(reader, factory));
+    }
+
+    // ========== Streaming Output ==========
+
+    /**
+     * Open a writer that emits a JSON array incrementally to a UTF-8 stream, through a 64 KiB
+     * buffer.
+     *
+     * @param out receives the UTF-8 bytes; closed when the writer is closed
+     */
+    public static JsonStreamWriter streamWriter(OutputStream out) {
+        return new JsonStreamWriter(out, JsonStreamWriter.DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Open a streaming array writer with the given encode buffer size in bytes.
+     *
+     * @see #streamWriter(OutputStream)
+     */
+    public static JsonStreamWriter streamWriter(OutputStream out, int bufferSize) {
+        return new JsonStreamWriter(out, bufferSize);
+    }
+
+    // ========== Parallel Parsing ==========
+
+    /**
+     * Bind the top-level array of a UTF-8 JSON file in parallel on the common pool.
+     *
+     * <p>The file is memory-mapped (up to 2 GiB), indexed with a {@link JsonStructuralIndex}
+     * (stage 1), and its elements are bound in batches on the pool (stage 2).</p>
+     *
+     * @return the bound elements in document order
+     */
+    public static <E extends Json_I<E>> List<E> parallelParseArray(Path file, Supplier<E> factory) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("File too large for a single mapping: " + size + " bytes");
+            }
+            ByteBuffer json = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            return parallelParseArray(json, null, factory, ForkJoinPool.commonPool());
+        }
+    }
+
+    /**
+     * Bind an array of a UTF-8 JSON document in parallel: either the top-level array, or the
+     * array value of a top-level object's member (e.g. {@code "items"} in
+     * {@code {"meta":{...},"items":[...]}}).
+     *
+     * <p>Elements must be JSON objects or {@code null}; {@code null} elements are returned as
+     * {@code null}. Binding errors carry the element index and byte offset.</p>
+     *
+     * @param utf8    the document, between the buffer's position and limit (not modified)
+     * @param member  name of the top-level member holding the array, or null for a top-level array
+     * @param factory creates a fresh DTO for every element
+     * @param pool    the pool running both stages
+     * @return the bound elements in document order
+     */
+    public static <E extends Json_I<E>> List<E> parallelParseArray(ByteBuffer utf8, String member,
+                                                                   Supplier<E> factory, ForkJoinPool pool) {
+        ByteBuffer json = utf8.slice();
+        JsonStructuralIndex index = JsonStructuralIndex.build(json, pool);
+        int array = index.root();
+        if (array >= 0 && member != null) {
+            if (index.charAt(array) != '{') {
+                throw new JsonParseException("Expected a JSON object holding member '" + member + "'");
+            }
+            array = index.memberValue(array, member);
+            if (array < 0) {
+                throw new JsonParseException("No array member '" + member + "' in top-level object");
+            }
+        }
+        if (array < 0 || index.charAt(array) != '[') {
+            throw new JsonParseException(member == null ? "Expected a top-level JSON array"
+                    : "Member '" + member + "' is not a JSON array");
+        }
+
+        int[] ranges = index.arrayElements(array);
+        int elements = ranges.length / 2;
+        @SuppressWarnings("unchecked")
+        E[] bound = (E[]) new Json_I<?>[elements];
+        int batch = Math.max(1, elements / Math.max(1, pool.getParallelism() * 4));
+        List<ForkJoinTask<?>> tasks = new ArrayList<>();
+        for (int from = 0; from < elements; from += batch) {
+            int start = from;
+            int end = Math.min(elements, from + batch);
+            tasks.add(pool.submit(() -> bindElements(json, ranges, start, end, bound, factory)));
+        }
+        try {
+            tasks.forEach(ForkJoinTask::join);
+        } catch (RuntimeException | Error e) {
+            tasks.forEach(task -> task.cancel(false));
+            throw e;
+        }
+        return Arrays.asList(bound);
+    }
+
+    private static <E extends Json_I<E>> void bindElements(ByteBuffer json, int[] ranges, int from, int to,
+                                                           E[] bound, Supplier<E> factory) {
+        byte[] scratch = new byte[256];
+        for (int i = from; i < to; i++) {
+            int start = ranges[2 * i];
+            int len = ranges[2 * i + 1] - start;
+            if (scratch.length < len) {
+                scratch = new byte[Math.max(len, scratch.length * 2)];
+            }
+            json.get(start, scratch, 0, len);
+            if (len == 4 && scratch[0] == 'n' && scratch[1] == 'u' && scratch[2] == 'l' && scratch[3] == 'l') {
+                continue;
+            }
+            if (len == 0 || scratch[0] != '{') {
+                throw new JsonParseException("Array element " + i + " at byte offset " + start + " is not a JSON object");
+            }
+            try {
+                bound[i] = factory.get().fromJson(new String(scratch, 0, len, StandardCharsets.UTF_8));
+            } catch (JsonParseException e) {
+                throw new JsonParseException("Array element " + i + " at byte offset " + start + ": " + e.getMessage(), e);
+            }
+        }
+    }
+
+    private static <E extends Json_I<E>> Stream<E> stream(JsonArrayReader<E> reader) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(reader, Spliterator.ORDERED), false)
+                .onClose(() -> {
+                    try {
+                        reader.close();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+}
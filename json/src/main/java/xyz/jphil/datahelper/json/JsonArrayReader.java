@@ -0,0 +1,231 @@
+package xyz.jphil.datahelper.json;
+
+import xyz.jphil.datahelper.json.MinimalJsonParser.JsonParseException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Supplier;
+
+/**
+ * Lazy reader over a top-level JSON array of objects, binding one element at a time.
+ *
+ * <p>Reads the source incrementally through a fixed-size buffer, captures the text of a single
+ * array element (tracking bracket depth and string/escape state) into a reused buffer, and binds
+ * it into a fresh DTO from the factory with {@link Json_I#fromJson(String)}. Memory use is bounded
+ * by the largest element, not the array, so multi-GB exports can be imported with a flat heap.</p>
+ *
+ * <p>Errors carry the element index and the character offset of the element in the source, in
+ * addition to the parser's position within the element. {@link #close()} closes the underlying
+ * reader. Obtain instances through {@link Json#arrayReader} / {@link Json#streamArray}.</p>
+ *
+ * <p>JSON {@code null} elements are returned as {@code null}; any other non-object element is
+ * an error.</p>
+ *
+ * @param <E> the element DTO type
+ */
+public final class JsonArrayReader<E extends Json_I<E>> implements Iterator<E>, Closeable {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Reader reader;
+    private final Supplier<E> factory;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int bufferPos = 0;
+    private int bufferLimit = 0;
+    private long offset = 0;            // characters consumed before buffer[0]
+
+    private final StringBuilder element = new StringBuilder();
+    private boolean started = false;
+    private boolean finished = false;
+    private boolean hasPrepared = false;
+    private E prepared;
+    private long index = 0;
+
+    JsonArrayReader(Reader reader, Supplier<E> factory) {
+        this.reader = reader;
+        this.factory = factory;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (hasPrepared) return true;
+        if (finished) return false;
+        try {
+            return prepareNext();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public E next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        E result = prepared;
+        prepared = null;
+        hasPrepared = false;
+        return result;
+    }
+
+    /**
+     * Close the underlying reader (and with it the source stream).
+     */
+    @Override
+    public void close() throws IOException {
+        finished = true;
+        reader.close();
+    }
+
+    // ========== Element Capture ==========
+
+    private boolean prepareNext() throws IOException {
+        if (!started) {
+            started = true;
+            skipWhitespace();
+            int c = read();
+            if (c != '[') {
+                throw new JsonParseException("Expected '[' at offset " + (position() - 1)
+                        + (c < 0 ? " but reached end of input" : ", found '" + (char) c + "'"));
+            }
+            skipWhitespace();
+            if (peek() == ']') {
+                read();
+                return finish();
+            }
+        } else {
+            skipWhitespace();
+            int c = read();
+            if (c == ']') {
+                return finish();
+            } else if (c != ',') {
+                throw new JsonParseException("Expected ',' or ']' after array element " + (index - 1)
+                        + " at offset " + (position() - 1)
+                        + (c < 0 ? " but reached end of input" : ", found '" + (char) c + "'"));
+            }
+            skipWhitespace();
+        }
+
+        long elementOffset = position();
+        captureElement();
+        prepared = bind(elementOffset);
+        hasPrepared = true;
+        index++;
+        return true;
+    }
+
+    private boolean finish() throws IOException {
+        skipWhitespace();
+        if (peek() >= 0) {
+            throw new JsonParseException("Unexpected characters after JSON array at offset " + position());
+        }
+        finished = true;
+        return false;
+    }
+
+    /** Copy the next array element (object, array, string or scalar) into {@link #element}. */
+    private void captureElement() throws IOException {
+        element.setLength(0);
+        int c = peek();
+        if (c < 0) {
+            throw new JsonParseException("Unexpected end of input at offset " + position());
+        }
+
+        if (c == '{' || c == '[') {
+            int depth = 0;
+            boolean inString = false;
+            boolean escaped = false;
+            while (true) {
+                c = read();
+                if (c < 0) {
+                    throw new JsonParseException("Unterminated array element " + index + " at offset " + position());
+                }
+                element.append((char) c);
+                if (inString) {
+                    if (escaped) {
+                        escaped = false;
+                    } else if (c == '\\') {
+                        escaped = true;
+                    } else if (c == '"') {
+                        inString = false;
+                    }
+                } else if (c == '"') {
+                    inString = true;
+                } else if (c == '{' || c == '[') {
+                    depth++;
+                } else if (c == '}' || c == ']') {
+                    if (--depth == 0) return;
+                }
+            }
+        }
+
+        // Scalar element: up to the next delimiter
+        while ((c = peek()) >= 0 && c != ',' && c != ']' && !isWhitespace(c)) {
+            element.append((char) read());
+        }
+        if (element.length() == 0) {
+            throw new JsonParseException("Missing array element " + index + " at offset " + position()
+                    + ", found '" + (char) c + "'");
+        }
+    }
+
+    private E bind(long elementOffset) {
+        if (element.charAt(0) != '{') {
+            if (element.length() == 4 && "null".contentEquals(element)) {
+                return null;
+            }
+            throw new JsonParseException("Array element " + index + " at offset " + elementOffset
+                    + " is not a JSON object");
+        }
+        try {
+            return factory.get().fromJson(element.toString());
+        } catch (JsonParseException e) {
+            throw new JsonParseException("Array element " + index + " at offset " + elementOffset
+                    + ": " + e.getMessage(), e);
+        }
+    }
+
+    // ========== Buffered Input ==========
+
+    private long position() {
+        return offset + bufferPos;
+    }
+
+    private boolean fill() throws IOException {
+        offset += bufferLimit;
+        bufferPos = 0;
+        bufferLimit = 0;
+        int n;
+        do {
+            n = reader.read(buffer, 0, buffer.length);
+        } while (n == 0);
+        if (n < 0) return false;
+        bufferLimit = n;
+        return true;
+    }
+
+    private int peek() throws IOException {
+        if (bufferPos >= bufferLimit && !fill()) return -1;
+        return buffer[bufferPos];
+    }
+
+    private int read() throws IOException {
+        if (bufferPos >= bufferLimit && !fill()) return -1;
+        return buffer[bufferPos++];
+    }
+
+    private void skipWhitespace() throws IOException {
+        int c;
+        while ((c = peek()) >= 0 && isWhitespace(c)) {
+            bufferPos++;
+        }
+    }
+
+    private static boolean isWhitespace(int c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\r';
+    }
+}
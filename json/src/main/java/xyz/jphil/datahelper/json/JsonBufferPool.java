@@ -0,0 +1,111 @@
+package xyz.jphil.datahelper.json;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Reusable {@link StringBuilder}s for JSON text output, sized from what each DTO class has
+ * produced before.
+ *
+ * <p>{@code toJson()} takes a builder from here instead of allocating a default-size one that
+ * grows by repeated doubling: the builder is presized to the running average output length of the
+ * DTO's class (plus headroom), filled, copied out as the result {@code String}, and returned.</p>
+ *
+ * <p>The pool is a fixed array of slots indexed by thread id, not a {@code ThreadLocal}, so it
+ * stays bounded with any number of (virtual) threads: a thread takes the builder in its slot (or
+ * the neighbouring one) with an atomic swap and allocates a fresh one when both are empty.
+ * Builders that grew beyond {@link #MAX_POOLED_CAPACITY} chars are dropped on release, so the
+ * pool retains at most {@code slots * MAX_POOLED_CAPACITY} chars.</p>
+ *
+ * <p>Example:</p>
+ * <pre>
+ * {@code
+ * StringBuilder sb = JsonBufferPool.acquire(JsonBufferPool.expectedLength(Person.class));
+ * try {
+ *     person.toJson(sb);
+ *     send(sb);
+ * } finally {
+ *     JsonBufferPool.release(sb);
+ * }
+ * }
+ * </pre>
+ */
+public final class JsonBufferPool {
+
+    /** Builders with a larger capacity (in chars) are not returned to the pool. */
+    public static final int MAX_POOLED_CAPACITY = 256 * 1024;
+
+    /** Capacity of builders allocated when nothing is known about the expected output. */
+    private static final int DEFAULT_CAPACITY = 256;
+
+    private static final int SLOT_MASK = slotCount() - 1;
+    private static final AtomicReferenceArray<StringBuilder> SLOTS = new AtomicReferenceArray<>(SLOT_MASK + 1);
+
+    private static final ClassValue<SizeEstimate> ESTIMATES = new ClassValue<>() {
+        @Override
+        protected SizeEstimate computeValue(Class<?> type) {
+            return new SizeEstimate();
+        }
+    };
+
+    private JsonBufferPool() {
+    }
+
+    /**
+     * Take an empty builder with capacity for at least {@code expectedLength} chars.
+     * Pass it to {@link #release} when done.
+     */
+    public static StringBuilder acquire(int expectedLength) {
+        int slot = (int) Thread.currentThread().threadId() & SLOT_MASK;
+        StringBuilder sb = SLOTS.getAndSet(slot, null);
+        if (sb == null) {
+            sb = SLOTS.getAndSet((slot + 1) & SLOT_MASK, null);
+        }
+        if (sb == null) {
+            return new StringBuilder(Math.max(DEFAULT_CAPACITY, expectedLength));
+        }
+        sb.ensureCapacity(expectedLength);
+        return sb;
+    }
+
+    /**
+     * Return a builder obtained from {@link #acquire}. It is cleared and kept for reuse unless it
+     * grew beyond {@link #MAX_POOLED_CAPACITY} or the thread's slot is occupied. The caller must
+     * not use it afterwards.
+     */
+    public static void release(StringBuilder sb) {
+        if (sb.capacity() > MAX_POOLED_CAPACITY) {
+            return;
+        }
+        sb.setLength(0);
+        SLOTS.compareAndSet((int) Thread.currentThread().threadId() & SLOT_MASK, null, sb);
+    }
+
+    /**
+     * Presize hint for the JSON text of an instance of {@code type}: the running average length
+     * of its past output plus 1/8 headroom, or 0 before the first {@link #recordLength}.
+     */
+    public static int expectedLength(Class<?> type) {
+        int average = ESTIMATES.get(type).average;
+        return average + (average >> 3);
+    }
+
+    /**
+     * Feed the length of JSON text produced for an instance of {@code type} into its running
+     * average (an exponential moving average weighting the newest length 1/8).
+     */
+    public static void recordLength(Class<?> type, int length) {
+        SizeEstimate estimate = ESTIMATES.get(type);
+        int average = estimate.average;
+        // Racy read-modify-write: a lost update only delays the estimate
+        estimate.average = average == 0 ? length : average + ((length - average) >> 3);
+    }
+
+    private static int slotCount() {
+        int wanted = Math.min(64, 2 * Runtime.getRuntime().availableProcessors());
+        return Integer.highestOneBit(wanted - 1) << 1;
+    }
+
+    private static final class SizeEstimate {
+        volatile int average;
+    }
+}
@@ -0,0 +1,52 @@
+package xyz.jphil.datahelper.json;
+
+import xyz.jphil.datahelper.DataHelper_IR;
+
+/**
+ * A JSON encoder/decoder specialized for one DataHelper type.
+ *
+ * <p>With the processor option {@code -Adatahelper.jsonCodec=true}, every {@code @Data} /
+ * {@code @DataHelper} type gets a generated {@code Foo_JsonCodec} whose {@link #writeTo} and
+ * {@link #readFrom} call the concrete getters and setters in straight-line code, instead of
+ * walking fields by ordinal through boxed {@code getPropertyByOrdinal} /
+ * {@code setPropertyByOrdinal} and per-field type queries. The generated {@code Foo_IR} returns the
+ * codec from {@code codec(JsonCodec.class)}, and {@code toJson} / {@code fromJson} (and every other
+ * entry point of this module) pick it up automatically; output is identical to the generic path.</p>
+ *
+ * @param <R> the readable type written by the codec ({@code Foo_IR<?>})
+ * @param <W> the writable type bound by the codec ({@code Foo_I<?>})
+ */
+public abstract class JsonCodec<R, W> {
+
+    /**
+     * Write {@code value} as a JSON object (deep; null fields are omitted).
+     */
+    public abstract void writeTo(R value, JsonSink out);
+
+    /**
+     * Write {@code value} as a nested member: a {@link JsonMemo_IR} record contributes its
+     * memoized JSON, anything else goes through {@link #writeTo}. Generated codecs call this for
+     * nested DTOs.
+     */
+    public final void write(R value, JsonSink out) {
+        if (MinimalJsonWriter.isMemoized(value)) {
+            out.appendFragment(JsonMemo.of((DataHelper_IR<?>) value));
+        } else {
+            writeTo(value, out);
+        }
+    }
+
+    /**
+     * Bind the JSON object at the current position of {@code in} into {@code target}. Unknown
+     * keys are skipped and JSON {@code null} leaves a field untouched.
+     */
+    public abstract void readFrom(JsonSource in, W target);
+
+    /**
+     * {@link #readFrom} as an expression: binds into {@code target} and returns it.
+     */
+    public final <T extends W> T readInto(JsonSource in, T target) {
+        readFrom(in, target);
+        return target;
+    }
+}
@@ -0,0 +1,148 @@
+package xyz.jphil.datahelper.json;
+
+import xyz.jphil.datahelper.DataHelper_IR;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * The serialized JSON of {@link JsonMemo_IR} records, kept for as long as each record is
+ * reachable.
+ *
+ * <p>A weak identity table: records are matched by reference (never by their value
+ * {@code equals}/{@code hashCode}, which would walk the whole graph) and an entry is dropped once
+ * its record is collected. Lookups take no lock and allocate nothing; inserting the first JSON of
+ * a record locks. A lookup racing a resize can miss and serialize again, which is harmless because
+ * a record's JSON never changes.</p>
+ */
+final class JsonMemo {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private static final ReferenceQueue<Object> QUEUE = new ReferenceQueue<>();
+    private static final Object LOCK = new Object();
+
+    private static volatile AtomicReferenceArray<Entry> table = new AtomicReferenceArray<>(INITIAL_CAPACITY);
+    private static int size = 0;  // guarded by LOCK
+
+    private JsonMemo() {
+    }
+
+    /**
+     * The JSON of {@code record}, serialized (deep) on first use.
+     */
+    static Fragment of(DataHelper_IR<?> record) {
+        int hash = System.identityHashCode(record);
+        Fragment fragment = find(table, record, hash);
+        if (fragment != null) {
+            return fragment;
+        }
+        // Serialize outside the lock; nested records memoize themselves on the way
+        fragment = new Fragment(MinimalJsonWriter.writeUnmemoized(record));
+        synchronized (LOCK) {
+            expungeCollected();
+            AtomicReferenceArray<Entry> tab = table;
+            Fragment raced = find(tab, record, hash);
+            if (raced != null) {
+                return raced;
+            }
+            int i = hash & (tab.length() - 1);
+            tab.set(i, new Entry(record, hash, fragment, tab.get(i)));
+            if (++size > tab.length() - (tab.length() >> 2)) {
+                resize(tab);
+            }
+        }
+        return fragment;
+    }
+
+    private static Fragment find(AtomicReferenceArray<Entry> tab, Object record, int hash) {
+        for (Entry e = tab.get(hash & (tab.length() - 1)); e != null; e = e.next) {
+            if (e.hash == hash && e.refersTo(record)) {
+                return e.fragment;
+            }
+        }
+        return null;
+    }
+
+    /** Unlink entries whose record was collected. Requires {@code LOCK}. */
+    private static void expungeCollected() {
+        AtomicReferenceArray<Entry> tab = table;
+        for (Reference<?> ref; (ref = QUEUE.poll()) != null; ) {
+            Entry dead = (Entry) ref;
+            int i = dead.hash & (tab.length() - 1);
+            Entry prev = null;
+            for (Entry e = tab.get(i); e != null; prev = e, e = e.next) {
+                if (e == dead) {
+                    if (prev == null) {
+                        tab.set(i, e.next);
+                    } else {
+                        prev.next = e.next;
+                    }
+                    size--;
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Double the table, relinking live entries and dropping collected ones. Requires
+     * {@code LOCK}. Concurrent readers of the old table may follow a relinked entry into a chain
+     * of the new one and miss; every chain stays acyclic, so they terminate.
+     */
+    private static void resize(AtomicReferenceArray<Entry> old) {
+        AtomicReferenceArray<Entry> tab = new AtomicReferenceArray<>(old.length() * 2);
+        for (int i = 0; i < old.length(); i++) {
+            for (Entry e = old.get(i); e != null; ) {
+                Entry next = e.next;
+                if (e.refersTo(null)) {
+                    size--;  // no longer linked, so expungeCollected will not find it
+                } else {
+                    int j = e.hash & (tab.length() - 1);
+                    e.next = tab.get(j);
+                    tab.set(j, e);
+                }
+                e = next;
+            }
+        }
+        table = tab;
+    }
+
+    /**
+     * A record's JSON text, and its UTF-8 encoding once a byte sink asks for it.
+     */
+    static final class Fragment {
+        final String json;
+        private volatile byte[] utf8;
+
+        Fragment(String json) {
+            this.json = json;
+        }
+
+        /** The UTF-8 bytes; shared, never to be modified. */
+        byte[] utf8() {
+            byte[] bytes = utf8;
+            if (bytes == null) {
+                bytes = json.getBytes(StandardCharsets.UTF_8);
+                utf8 = bytes;  // benign race: every thread encodes the same bytes
+            }
+            return bytes;
+        }
+    }
+
+    private static final class Entry extends WeakReference<Object> {
+        final int hash;
+        final Fragment fragment;
+        volatile Entry next;
+
+        Entry(Object record, int hash, Fragment fragment, Entry next) {
+            super(record, QUEUE);
+            this.hash = hash;
+            this.fragment = fragment;
+            this.next = next;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package xyz.jphil.datahelper.json;
+
+import xyz.jphil.datahelper.DataHelper_I;
+
+/**
+ * Write side paired with {@link JsonMemo_IR}: {@code fromJson} for the mutable DTO of a type whose
+ * records memoize their JSON. The processor routes it onto {@code Foo_I} when
+ * {@code JsonMemo_IR} is declared in {@code superInterfaces}; it adds nothing to {@link Json_I}.
+ *
+ * @param <E> the implementing type (self-reference for fluent API)
+ */
+public interface JsonMemo_I<E extends DataHelper_I<E>> extends Json_I<E>, JsonMemo_IR<E> {
+}
@@ -0,0 +1,46 @@
+package xyz.jphil.datahelper.json;
+
+import xyz.jphil.datahelper.DataHelper_IR;
+
+/**
+ * Read side of the JSON trait with memoized output for immutable {@code _R} records.
+ *
+ * <p>Declare it instead of {@link Json_IR} to opt in:</p>
+ * <pre>
+ * {@code
+ * @DataHelper(superInterfaces = {JsonMemo_IR.class})
+ * public class Person implements Person_I<Person> { ... }
+ *
+ * Person_R snapshot = person.toRecord();
+ * snapshot.toJson();            // serialized once, then the same String every call
+ * snapshot.toJson(out);         // the cached UTF-8 bytes, copied to the stream
+ * }
+ * </pre>
+ *
+ * <p>A record serializes (deep) on its first {@code toJson}; the text, and its UTF-8 bytes once a
+ * byte sink asks for them, are kept for as long as the record is reachable. Every other
+ * {@code toJson} overload, and any parent DTO or record embedding it (also through lists, maps,
+ * {@link JsonStreamWriter} and generated codecs), copies the cached form instead of walking the
+ * record again. Declare the trait on nested DTOs too so their records reuse their own fragments.</p>
+ *
+ * <p>Only records are memoized; the mutable DTO sharing the {@code _IR} interface serializes
+ * normally. The cache assumes a record is really immutable: lists and maps built by
+ * {@code toRecord()} must not be modified through its accessors afterwards. Shallow
+ * ({@code toJson(false)}) and projected output are not memoized.</p>
+ *
+ * @param <E> the implementing type (self-reference for fluent API)
+ */
+public interface JsonMemo_IR<E extends DataHelper_IR<E>> extends Json_IR<E> {
+
+    /**
+     * Convert this DTO to a JSON string; for a record, deep output is computed once and then
+     * returned as the same {@code String}.
+     */
+    @Override
+    default String toJson(boolean deep) {
+        if (deep && this instanceof Record) {
+            return JsonMemo.of(this).json;
+        }
+        return Json_IR.super.toJson(deep);
+    }
+}
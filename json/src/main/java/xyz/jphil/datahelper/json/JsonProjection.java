@@ -0,0 +1,147 @@
+package xyz.jphil.datahelper.json;
+
+import xyz.jphil.datahelper.DataHelper_IR;
+import xyz.jphil.datahelper.Field_I;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A sparse fieldset: the subset of a DTO's fields (and of its nested DTOs' fields) to write with
+ * {@code toJson} or to bind with {@code fromJson}.
+ *
+ * <p>Built from field symbols, where a nested path selects part of a nested DTO (also applied to
+ * the elements of a list and the values of a map):</p>
+ * <pre>
+ * {@code
+ * var summary = JsonProjection.of(Person.$name, Person.$address.__(Address.$city));
+ * String json = person.toJson(summary);            // {"name":"Ann","address":{"city":"Oslo"}}
+ * new Person().fromJson(payload, summary);         // other members are skipped unparsed
+ * }
+ * </pre>
+ *
+ * <p>Selecting a field without a sub-path selects it whole. Names that match no field of the type
+ * are ignored. Writing touches only the selected fields; binding skips unselected values at the
+ * character level without building them. Projections are immutable and thread-safe; build them
+ * once and reuse them, as each caches its field ordinals for the type it was last applied to.</p>
+ */
+public final class JsonProjection {
+
+    /** Selected member names; a null value selects the member whole. */
+    private final Map<String, JsonProjection> members;
+
+    /** Ordinals resolved for the type this projection was last applied to. */
+    private volatile Selection selection;
+
+    private JsonProjection(Map<String, JsonProjection> members) {
+        this.members = members;
+    }
+
+    /**
+     * Projection onto the given fields; nested paths such as {@code $address.__($city)} select
+     * part of a nested DTO.
+     */
+    public static JsonProjection of(Field_I<?, ?>... fields) {
+        String[] paths = new String[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            paths[i] = fields[i].name();
+        }
+        return ofPaths(paths);
+    }
+
+    /**
+     * Projection onto dotted field paths, e.g. {@code "name"}, {@code "address.city"}.
+     */
+    public static JsonProjection ofPaths(String... paths) {
+        return build(Arrays.asList(paths));
+    }
+
+    private static JsonProjection build(List<String> paths) {
+        Map<String, List<String>> byHead = new LinkedHashMap<>();
+        for (String path : paths) {
+            int dot = path.indexOf('.');
+            String head = dot < 0 ? path : path.substring(0, dot);
+            List<String> rests = byHead.computeIfAbsent(head, k -> new ArrayList<>());
+            if (dot < 0) {
+                rests.add(null);  // whole member
+            } else {
+                rests.add(path.substring(dot + 1));
+            }
+        }
+        Map<String, JsonProjection> members = new LinkedHashMap<>();
+        byHead.forEach((head, rests) ->
+                members.put(head, rests.contains(null) ? null : build(rests)));
+        return new JsonProjection(members);
+    }
+
+    /**
+     * The ordinals selected by this projection in {@code dto}'s type.
+     */
+    Selection select(DataHelper_IR<?> dto) {
+        Selection s = selection;
+        if (s == null || s.type != dto.getClass()) {
+            s = new Selection(dto, members);
+            selection = s;
+        }
+        return s;
+    }
+
+    /**
+     * Returns the selected paths, e.g. {@code {name, address{city}}}.
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        members.forEach((name, sub) -> {
+            if (sb.length() > 1) sb.append(", ");
+            sb.append(name);
+            if (sub != null) sb.append(sub);
+        });
+        return sb.append('}').toString();
+    }
+
+    /**
+     * A projection resolved against one DTO type: selected ordinals in declaration order, and the
+     * sub-projection of each (null when selected whole).
+     */
+    static final class Selection {
+        final Class<?> type;
+        final int[] ordinals;
+        private final boolean[] included;
+        private final JsonProjection[] children;
+
+        private Selection(DataHelper_IR<?> dto, Map<String, JsonProjection> members) {
+            this.type = dto.getClass();
+            int fieldCount = dto.fieldNames().size();
+            this.included = new boolean[fieldCount];
+            this.children = new JsonProjection[fieldCount];
+            members.forEach((name, sub) -> {
+                int ordinal = dto.fieldOrdinal(name);
+                if (ordinal >= 0) {
+                    included[ordinal] = true;
+                    children[ordinal] = sub;
+                }
+            });
+            int count = 0;
+            for (boolean b : included) {
+                if (b) count++;
+            }
+            this.ordinals = new int[count];
+            for (int ordinal = 0, i = 0; ordinal < fieldCount; ordinal++) {
+                if (included[ordinal]) ordinals[i++] = ordinal;
+            }
+        }
+
+        boolean includes(int ordinal) {
+            return ordinal >= 0 && ordinal < included.length && included[ordinal];
+        }
+
+        /** Sub-projection of a selected field; null if the field is selected whole. */
+        JsonProjection child(int ordinal) {
+            return children[ordinal];
+        }
+    }
+}
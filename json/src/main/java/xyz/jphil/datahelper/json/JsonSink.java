@@ -0,0 +1,347 @@
+package xyz.jphil.datahelper.json;
+
+import xyz.jphil.datahelper.FieldNameTokens;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Character output of {@link MinimalJsonWriter}: either a {@link StringBuilder} ({@link Chars}) or
+ * a UTF-8 byte buffer drained in chunks to a stream, channel or buffer ({@link Utf8}).
+ *
+ * <p>The writer emits JSON text once, through this class, so string output and direct byte
+ * output share a single serialization path. Generated {@link JsonCodec}s write through the same
+ * primitives: raw {@code append}s for punctuation, {@link #appendToken} for pre-encoded field
+ * names, and the {@code write*} methods for values. Sinks are created by the JSON module only and
+ * are not thread-safe.</p>
+ */
+public abstract class JsonSink {
+
+    JsonSink() {
+    }
+
+    /** Append a raw character (punctuation); no escaping. */
+    public abstract void append(char c);
+
+    /** Append raw text; no escaping. */
+    public abstract void append(String s);
+
+    /** Append {@code s[start, end)} raw; no escaping. */
+    public abstract void append(CharSequence s, int start, int end);
+
+    /** Append the pre-encoded {@code "name":} token of a field. */
+    public abstract void appendToken(FieldNameTokens tokens, int ordinal);
+
+    /** Append the decimal form of a long, without allocating. */
+    public abstract void appendLong(long value);
+
+    /**
+     * Append the shortest decimal that round-trips to {@code value} (the {@link Double#toString}
+     * form); the value must be finite.
+     */
+    public abstract void appendDouble(double value);
+
+    // ========== Values ==========
+
+    /** Write a quoted, escaped JSON string. */
+    public final void writeString(String value) {
+        MinimalJsonWriter.writeString(this, value);
+    }
+
+    /** Write a double; NaN and infinities become {@code null}. */
+    public final void writeDouble(double value) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            append("null");
+        } else {
+            appendDouble(value);
+        }
+    }
+
+    /** Write a float in its {@link Float#toString} form; NaN and infinities become {@code null}. */
+    public final void writeFloat(float value) {
+        append(Float.isNaN(value) || Float.isInfinite(value) ? "null" : Float.toString(value));
+    }
+
+    /** Write {@code true} or {@code false}. */
+    public final void writeBoolean(boolean value) {
+        append(value ? "true" : "false");
+    }
+
+    /**
+     * Write any supported value the way {@code toJson()} does: null, strings, numbers, booleans,
+     * DataHelper objects (deep, through their codec when they have one), lists and maps.
+     */
+    public final void writeValue(Object value) {
+        MinimalJsonWriter.writeValue(this, value);
+    }
+
+    /** Append memoized JSON text; byte sinks copy its cached UTF-8 form. */
+    void appendFragment(JsonMemo.Fragment fragment) {
+        append(fragment.json);
+    }
+
+    // ========== String Output ==========
+
+    /** Appends to a {@link StringBuilder}. */
+    static final class Chars extends JsonSink {
+        final StringBuilder sb;
+
+        Chars(StringBuilder sb) {
+            this.sb = sb;
+        }
+
+        @Override
+        public void append(char c) {
+            sb.append(c);
+        }
+
+        @Override
+        public void append(String s) {
+            sb.append(s);
+        }
+
+        @Override
+        public void append(CharSequence s, int start, int end) {
+            sb.append(s, start, end);
+        }
+
+        @Override
+        public void appendToken(FieldNameTokens tokens, int ordinal) {
+            sb.append(tokens.chars(ordinal));
+        }
+
+        @Override
+        public void appendLong(long value) {
+            sb.append(value);  // formats in place
+        }
+
+        @Override
+        public void appendDouble(double value) {
+            sb.append(value);  // JDK shortest round-trip (Schubfach), formats in place
+        }
+    }
+
+    // ========== UTF-8 Output ==========
+
+    /** Destination of full UTF-8 chunks. */
+    interface Drain {
+        void write(byte[] bytes, int offset, int length) throws IOException;
+    }
+
+    /**
+     * Encodes to UTF-8 into a fixed byte buffer and hands it to a {@link Drain} whenever it fills,
+     * so output of any size needs only the buffer. I/O errors from the drain surface as
+     * {@link UncheckedIOException}; callers with an {@code IOException} contract unwrap them.
+     */
+    static final class Utf8 extends JsonSink {
+        /** ASCII digits of 00..99, two bytes per value. */
+        private static final byte[] DIGIT_PAIRS = new byte[200];
+
+        static {
+            for (int i = 0; i < 100; i++) {
+                DIGIT_PAIRS[2 * i] = (byte) ('0' + i / 10);
+                DIGIT_PAIRS[2 * i + 1] = (byte) ('0' + i % 10);
+            }
+        }
+
+        private final byte[] buffer;
+        private final Drain drain;
+        private int count = 0;
+        private long drained = 0;
+        private char pendingHighSurrogate = 0;
+        private final StringBuilder doubleScratch = new StringBuilder(32);
+
+        Utf8(byte[] buffer, Drain drain) {
+            this.buffer = buffer;
+            this.drain = drain;
+        }
+
+        byte[] buffer() {
+            return buffer;
+        }
+
+        /** Total bytes encoded so far, drained or still buffered. */
+        long bytesWritten() {
+            return drained + count;
+        }
+
+        @Override
+        public void append(char c) {
+            if (count > buffer.length - 4) {
+                drain();
+            }
+            encode(c);
+        }
+
+        @Override
+        public void append(String s) {
+            append(s, 0, s.length());
+        }
+
+        @Override
+        public void append(CharSequence s, int start, int end) {
+            byte[] buf = buffer;
+            int limit = buf.length - 4;
+            for (int i = start; i < end; i++) {
+                char c = s.charAt(i);
+                if (count > limit) {
+                    drain();
+                }
+                if (c < 0x80 && pendingHighSurrogate == 0) {
+                    buf[count++] = (byte) c;
+                } else {
+                    encode(c);
+                }
+            }
+        }
+
+        @Override
+        public void appendToken(FieldNameTokens tokens, int ordinal) {
+            // Tokens follow a ',' or '{', so no surrogate can be pending here
+            byte[] token = tokens.utf8(ordinal);
+            if (count + token.length > buffer.length) {
+                drain();
+                if (token.length > buffer.length) {
+                    append(new String(tokens.chars(ordinal)));
+                    return;
+                }
+            }
+            System.arraycopy(token, 0, buffer, count, token.length);
+            count += token.length;
+        }
+
+        @Override
+        void appendFragment(JsonMemo.Fragment fragment) {
+            // Fragments follow structural characters, so no surrogate can be pending here
+            byte[] bytes = fragment.utf8();
+            if (count + bytes.length > buffer.length) {
+                drain();
+                if (bytes.length > buffer.length) {
+                    try {
+                        drain.write(bytes, 0, bytes.length);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    drained += bytes.length;
+                    return;
+                }
+            }
+            System.arraycopy(bytes, 0, buffer, count, bytes.length);
+            count += bytes.length;
+        }
+
+        @Override
+        public void appendLong(long value) {
+            if (count > buffer.length - 20) {
+                drain();
+            }
+            if (value < 0) {
+                if (value == Long.MIN_VALUE) {
+                    append("-9223372036854775808");
+                    return;
+                }
+                buffer[count++] = '-';
+                value = -value;
+            }
+            int length = digitCount(value);
+            int pos = count + length;
+            while (value >= 100) {
+                int pair = (int) (value % 100) << 1;
+                value /= 100;
+                buffer[--pos] = DIGIT_PAIRS[pair + 1];
+                buffer[--pos] = DIGIT_PAIRS[pair];
+            }
+            if (value >= 10) {
+                int pair = (int) value << 1;
+                buffer[--pos] = DIGIT_PAIRS[pair + 1];
+                buffer[--pos] = DIGIT_PAIRS[pair];
+            } else {
+                buffer[--pos] = (byte) ('0' + value);
+            }
+            count += length;
+        }
+
+        @Override
+        public void appendDouble(double value) {
+            // The JDK formats doubles with Schubfach; reuse it through a scratch builder,
+            // whose output is pure ASCII and at most 24 characters
+            StringBuilder scratch = doubleScratch;
+            scratch.setLength(0);
+            scratch.append(value);
+            if (count > buffer.length - scratch.length()) {
+                drain();
+            }
+            for (int i = 0, n = scratch.length(); i < n; i++) {
+                buffer[count++] = (byte) scratch.charAt(i);
+            }
+        }
+
+        private static int digitCount(long value) {
+            int digits = 1;
+            for (long bound = 10; digits < 19 && value >= bound; bound *= 10) {
+                digits++;
+            }
+            return digits;
+        }
+
+        /** Hand the buffered bytes to the drain. */
+        void drain() {
+            if (count > 0) {
+                try {
+                    drain.write(buffer, 0, count);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                drained += count;
+                count = 0;
+            }
+        }
+
+        /**
+         * Drain the remaining bytes, encoding a dangling high surrogate as {@code '?'} (as
+         * {@code String.getBytes(UTF_8)} does).
+         */
+        void finish() {
+            if (pendingHighSurrogate != 0) {
+                pendingHighSurrogate = 0;
+                buffer[count++] = '?';
+            }
+            drain();
+        }
+
+        /** Encode one char; requires 4 free bytes. */
+        private void encode(char c) {
+            byte[] buf = buffer;
+            if (pendingHighSurrogate != 0) {
+                char high = pendingHighSurrogate;
+                pendingHighSurrogate = 0;
+                if (Character.isLowSurrogate(c)) {
+                    int cp = Character.toCodePoint(high, c);
+                    buf[count++] = (byte) (0xF0 | (cp >> 18));
+                    buf[count++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                    buf[count++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                    buf[count++] = (byte) (0x80 | (cp & 0x3F));
+                    return;
+                }
+                buf[count++] = '?';
+                if (count > buf.length - 4) {
+                    drain();
+                }
+            }
+            if (c < 0x80) {
+                buf[count++] = (byte) c;
+            } else if (c < 0x800) {
+                buf[count++] = (byte) (0xC0 | (c >> 6));
+                buf[count++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c)) {
+                pendingHighSurrogate = c;
+            } else if (Character.isLowSurrogate(c)) {
+                buf[count++] = '?';
+            } else {
+                buf[count++] = (byte) (0xE0 | (c >> 12));
+                buf[count++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buf[count++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+    }
+}
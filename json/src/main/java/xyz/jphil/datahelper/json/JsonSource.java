@@ -0,0 +1,118 @@
+package xyz.jphil.datahelper.json;
+
+import xyz.jphil.datahelper.DataHelper_I;
+import xyz.jphil.datahelper.DataHelper_IR;
+
+/**
+ * Pull-style view of the JSON text being bound by {@link MinimalJsonParser}, used by generated
+ * {@link JsonCodec}s to read values straight into typed setters.
+ *
+ * <p>Objects and arrays are walked with a begin/next loop; whitespace is skipped by every method:</p>
+ * <pre>
+ * {@code
+ * for (boolean more = in.beginObject(); more; more = in.nextMember()) {
+ *     int ordinal = in.readKey(target);
+ *     if (in.readNull()) continue;
+ *     switch (ordinal) { ... default -> in.skipValue(); }
+ * }
+ * }
+ * </pre>
+ *
+ * <p>Scalar readers accept the same inputs as the generic binding path (e.g. a quoted number for
+ * a numeric field) and throw {@link MinimalJsonParser.JsonParseException} for values that cannot
+ * be converted. Instances are created by the parser only and are not thread-safe.</p>
+ */
+public final class JsonSource {
+
+    private final MinimalJsonParser parser;
+
+    JsonSource(MinimalJsonParser parser) {
+        this.parser = parser;
+    }
+
+    /** Consume {@code '{'}; returns false if the object is empty (its {@code '}'} is consumed too). */
+    public boolean beginObject() {
+        return parser.beginContainer('{', '}');
+    }
+
+    /** Consume the separator after a member; returns false at the closing {@code '}'}. */
+    public boolean nextMember() {
+        return parser.nextInContainer('}');
+    }
+
+    /** Consume {@code '['}; returns false if the array is empty (its {@code ']'} is consumed too). */
+    public boolean beginArray() {
+        return parser.beginContainer('[', ']');
+    }
+
+    /** Consume the separator after an element; returns false at the closing {@code ']'}. */
+    public boolean nextElement() {
+        return parser.nextInContainer(']');
+    }
+
+    /**
+     * Read a member key and its {@code ':'}, resolved to a field ordinal of {@code target}
+     * ({@code -1} if unknown) without creating a {@code String} for unescaped keys.
+     */
+    public int readKey(DataHelper_IR<?> target) {
+        return parser.readMemberKey(target);
+    }
+
+    /** Read a member key and its {@code ':'} as a string (for map members). */
+    public String readKeyString() {
+        return parser.readMemberKeyString();
+    }
+
+    /** Consume a JSON {@code null} if one is next; returns whether it did. */
+    public boolean readNull() {
+        return parser.readNullIfPresent();
+    }
+
+    /** Read a string value. */
+    public String readString() {
+        return parser.readStringValue();
+    }
+
+    /** Read an integral value; a fraction, or a value beyond the long range, is rejected. */
+    public long readLong() {
+        return parser.readLongValue();
+    }
+
+    /** Read an integral value that must fit an {@code int}. */
+    public int readInt() {
+        return (int) parser.readLongValue(Integer.MIN_VALUE, Integer.MAX_VALUE, "int");
+    }
+
+    /** Read an integral value that must fit a {@code short}. */
+    public short readShort() {
+        return (short) parser.readLongValue(Short.MIN_VALUE, Short.MAX_VALUE, "short");
+    }
+
+    /** Read an integral value that must fit a {@code byte}. */
+    public byte readByte() {
+        return (byte) parser.readLongValue(Byte.MIN_VALUE, Byte.MAX_VALUE, "byte");
+    }
+
+    /** Read a numeric value. */
+    public double readDouble() {
+        return parser.readDoubleValue();
+    }
+
+    /** Read a boolean value. */
+    public boolean readBoolean() {
+        return parser.readBooleanValue();
+    }
+
+    /** Skip the next value (a structural scan; nothing is built). */
+    public void skipValue() {
+        parser.skipValue();
+    }
+
+    /**
+     * Bind the next value into field {@code ordinal} of {@code target} through the generic path
+     * (for field types the codec does not specialize).
+     */
+    public void readField(DataHelper_I<?> target, int ordinal) {
+        parser.readField(target, ordinal);
+    }
+}
@@ -0,0 +1,222 @@
+package xyz.jphil.datahelper.json;
+
+import xyz.jphil.datahelper.DataHelper_IR;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes a JSON array of DTOs (or nested arrays of them) incrementally to a UTF-8 output stream.
+ *
+ * <p>Elements are encoded straight into a reused byte buffer that is handed to the stream when it
+ * fills, so memory stays constant however many elements are written. With
+ * {@link #flushEvery(long)} the stream is also flushed every time that many bytes have been
+ * written since the last flush; on a socket, a slow client then blocks the writing thread in
+ * {@code write}/{@code flush} (back-pressure) instead of the response piling up in memory.</p>
+ *
+ * <p>Example:</p>
+ * <pre>
+ * {@code
+ * try (var out = Json.streamWriter(response.getOutputStream()).flushEvery(64 * 1024)) {
+ *     out.writeArray(repository.streamAll());   // [ {...}, {...}, ... ]
+ * }
+ * }
+ * </pre>
+ *
+ * <p>Exactly one top-level value (an array, or a single DTO) may be written. {@link #close()}
+ * does not close arrays left open, so an aborted response stays recognizably incomplete. Not
+ * thread-safe. Obtain instances through {@link Json#streamWriter}.</p>
+ */
+public final class JsonStreamWriter implements Closeable, Flushable {
+
+    static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    private final OutputStream out;
+    private final JsonSink.Utf8 sink;
+
+    /** Per open array: whether an element has been written; index 0 is the top level. */
+    private boolean[] written = new boolean[8];
+    private int depth = 0;
+    private long flushInterval = 0;
+    private long flushedAt = 0;
+
+    JsonStreamWriter(OutputStream out, int bufferSize) {
+        if (bufferSize < 16) {
+            throw new IllegalArgumentException("bufferSize must be at least 16, was " + bufferSize);
+        }
+        this.out = out;
+        this.sink = new JsonSink.Utf8(new byte[bufferSize], out::write);
+    }
+
+    /**
+     * Flush the stream whenever at least {@code bytes} bytes have been written since the last
+     * flush (checked after each element and array end); 0 disables periodic flushing.
+     *
+     * @return this writer for chaining
+     */
+    public JsonStreamWriter flushEvery(long bytes) {
+        if (bytes < 0) {
+            throw new IllegalArgumentException("bytes must not be negative, was " + bytes);
+        }
+        this.flushInterval = bytes;
+        return this;
+    }
+
+    /**
+     * Open an array, at the top level or as an element of the enclosing array.
+     *
+     * @return this writer for chaining
+     */
+    public JsonStreamWriter beginArray() throws IOException {
+        beginValue();
+        if (++depth == written.length) {
+            written = Arrays.copyOf(written, depth * 2);
+        }
+        written[depth] = false;
+        return append('[');
+    }
+
+    /**
+     * Close the innermost open array.
+     *
+     * @return this writer for chaining
+     * @throws IllegalStateException if no array is open
+     */
+    public JsonStreamWriter endArray() throws IOException {
+        if (depth == 0) {
+            throw new IllegalStateException("No open array");
+        }
+        depth--;
+        append(']');
+        maybeFlush();
+        return this;
+    }
+
+    /**
+     * Write one DTO (deep serialization) as the next array element or as the top-level value;
+     * {@code null} is written as JSON {@code null}.
+     *
+     * @return this writer for chaining
+     */
+    public JsonStreamWriter write(DataHelper_IR<?> dto) throws IOException {
+        beginValue();
+        try {
+            if (dto == null) {
+                sink.append("null");
+            } else {
+                MinimalJsonWriter.writeTo(sink, dto, true);
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        maybeFlush();
+        return this;
+    }
+
+    /**
+     * Write every DTO of the source as elements of the current array, pulling one at a time.
+     *
+     * @return this writer for chaining
+     */
+    public JsonStreamWriter writeAll(Iterator<? extends DataHelper_IR<?>> dtos) throws IOException {
+        while (dtos.hasNext()) {
+            write(dtos.next());
+        }
+        return this;
+    }
+
+    /**
+     * Write every DTO of the source as elements of the current array, in encounter order. The
+     * stream is consumed lazily through its iterator, so a cursor-backed stream is never
+     * materialized; it is not closed.
+     *
+     * @return this writer for chaining
+     */
+    public JsonStreamWriter writeAll(Stream<? extends DataHelper_IR<?>> dtos) throws IOException {
+        return writeAll(dtos.iterator());
+    }
+
+    /**
+     * Write the source as a complete array: {@link #beginArray()}, {@link #writeAll(Iterator)},
+     * {@link #endArray()}.
+     *
+     * @return this writer for chaining
+     */
+    public JsonStreamWriter writeArray(Iterator<? extends DataHelper_IR<?>> dtos) throws IOException {
+        beginArray();
+        writeAll(dtos);
+        return endArray();
+    }
+
+    /**
+     * Write the source as a complete array, consumed lazily.
+     *
+     * @see #writeArray(Iterator)
+     * @return this writer for chaining
+     */
+    public JsonStreamWriter writeArray(Stream<? extends DataHelper_IR<?>> dtos) throws IOException {
+        return writeArray(dtos.iterator());
+    }
+
+    /**
+     * Write buffered bytes to the stream and flush it.
+     */
+    @Override
+    public void flush() throws IOException {
+        drain();
+        out.flush();
+        flushedAt = sink.bytesWritten();
+    }
+
+    /**
+     * Write buffered bytes and close the underlying stream.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            drain();
+        } finally {
+            out.close();
+        }
+    }
+
+    /** Emit the separator before a value, enforcing a single top-level value. */
+    private void beginValue() throws IOException {
+        if (written[depth]) {
+            if (depth == 0) {
+                throw new IllegalStateException("The top-level value has already been written");
+            }
+            append(',');
+        }
+        written[depth] = true;
+    }
+
+    private JsonStreamWriter append(char c) throws IOException {
+        try {
+            sink.append(c);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return this;
+    }
+
+    private void maybeFlush() throws IOException {
+        if (flushInterval > 0 && sink.bytesWritten() - flushedAt >= flushInterval) {
+            flush();
+        }
+    }
+
+    private void drain() throws IOException {
+        try {
+            sink.finish();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+}
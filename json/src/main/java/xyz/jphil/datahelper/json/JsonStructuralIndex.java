@@ -0,0 +1,318 @@
+package xyz.jphil.datahelper.json;
+
+import xyz.jphil.datahelper.json.MinimalJsonParser.JsonParseException;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Structural index of a UTF-8 JSON document: the byte positions of every {@code { } [ ] : ,}
+ * outside strings and of every unescaped {@code "}, in document order.
+ *
+ * <p>Built in parallel (stage 1 of a two-stage parse). The document is cut into fixed chunks
+ * which are scanned independently: each chunk decides locally whether its first byte is escaped
+ * (by counting the backslash run before it) and records candidate structurals tagged with the
+ * parity of unescaped quotes seen so far in the chunk. Whether a chunk <em>starts</em> inside a
+ * string is the XOR of the quote parities of all preceding chunks — a cheap sequential prefix over
+ * one bit per chunk. A second parallel pass drops the candidates that turn out to be inside
+ * strings and concatenates the chunks.</p>
+ *
+ * <p>Stage 2 uses the index to locate value boundaries without parsing:
+ * {@link #arrayElements(int)} yields the byte ranges of an array's elements and
+ * {@link #memberValue(int, String)} finds an object member, so large arrays can be bound in
+ * parallel (see {@link Json#parallelParseArray}). The index does not validate the document;
+ * malformed input surfaces when the elements are bound, or as a {@link JsonParseException} from
+ * the navigation methods when brackets are unbalanced.</p>
+ *
+ * <p>Documents are addressed by {@code int}, so one index covers up to 2 GiB; the index itself
+ * costs 4 bytes per structural character.</p>
+ */
+public final class JsonStructuralIndex {
+
+    private static final int MIN_CHUNK_SIZE = 1 << 20;
+    private static final int PARITY_BIT = 1 << 31;
+
+    private final ByteBuffer json;
+    private final int[] positions;
+
+    private JsonStructuralIndex(ByteBuffer json, int[] positions) {
+        this.json = json;
+        this.positions = positions;
+    }
+
+    /**
+     * Index the bytes between the buffer's position and limit on the common pool.
+     */
+    public static JsonStructuralIndex build(ByteBuffer utf8) {
+        return build(utf8, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Index the bytes between the buffer's position and limit, scanning chunks on the given pool.
+     * Positions reported by the index are relative to the buffer's position; the buffer itself is
+     * not modified.
+     */
+    public static JsonStructuralIndex build(ByteBuffer utf8, ForkJoinPool pool) {
+        ByteBuffer json = utf8.slice();
+        int size = json.limit();
+        int chunkSize = Math.max(MIN_CHUNK_SIZE, size / Math.max(1, pool.getParallelism() * 4) + 1);
+        int chunks = Math.max(1, (int) ((size + (long) chunkSize - 1) / chunkSize));
+
+        // Stage 1a: candidate structurals per chunk, assuming the chunk starts outside a string
+        List<ForkJoinTask<Chunk>> scans = new ArrayList<>(chunks);
+        for (int c = 0; c < chunks; c++) {
+            int start = (int) Math.min((long) c * chunkSize, size);
+            int end = (int) Math.min((long) start + chunkSize, size);
+            scans.add(pool.submit(() -> scan(json, start, end)));
+        }
+        Chunk[] scanned = new Chunk[chunks];
+        for (int c = 0; c < chunks; c++) {
+            scanned[c] = scans.get(c).join();
+        }
+
+        // Stage 1b: reconcile string state across chunk boundaries
+        int inString = 0;
+        for (Chunk chunk : scanned) {
+            chunk.startsInString = inString;
+            inString ^= chunk.quoteParity;
+        }
+
+        // Stage 1c: drop in-string candidates, then concatenate
+        List<ForkJoinTask<?>> filters = new ArrayList<>(chunks);
+        for (Chunk chunk : scanned) {
+            filters.add(pool.submit(() -> chunk.filter(json)));
+        }
+        filters.forEach(ForkJoinTask::join);
+        long total = 0;
+        for (Chunk chunk : scanned) {
+            total += chunk.count;
+        }
+        if (total > Integer.MAX_VALUE - 8) {
+            throw new JsonParseException("Too many structural characters to index: " + total);
+        }
+        int[] positions = new int[(int) total];
+        List<ForkJoinTask<?>> copies = new ArrayList<>(chunks);
+        int offset = 0;
+        for (Chunk chunk : scanned) {
+            int at = offset;
+            copies.add(pool.submit(() -> System.arraycopy(chunk.candidates, 0, positions, at, chunk.count)));
+            offset += chunk.count;
+        }
+        copies.forEach(ForkJoinTask::join);
+        return new JsonStructuralIndex(json, positions);
+    }
+
+    /**
+     * Number of indexed structural characters.
+     */
+    public int size() {
+        return positions.length;
+    }
+
+    /**
+     * Byte position of the i-th structural character.
+     */
+    public int position(int i) {
+        return positions[i];
+    }
+
+    /**
+     * The i-th structural character itself ({@code { } [ ] : ,} or {@code "}).
+     */
+    public char charAt(int i) {
+        return (char) json.get(positions[i]);
+    }
+
+    /**
+     * Index of the first structural character of the document's top-level value, or -1 when the
+     * top-level value is a number or literal.
+     */
+    public int root() {
+        return positions.length > 0 && isValueStart(0, positions[0]) ? 0 : -1;
+    }
+
+    /**
+     * Byte ranges of the elements of the array opened at structural {@code open}, as a packed
+     * {@code [start0, end0, start1, end1, ...]} array (end exclusive, surrounding whitespace
+     * trimmed).
+     */
+    public int[] arrayElements(int open) {
+        if (charAt(open) != '[') {
+            throw new JsonParseException("Structural " + open + " at byte " + positions[open] + " is not '['");
+        }
+        int[] ranges = new int[16];
+        int count = 0;
+        int depth = 0;
+        int elementStart = positions[open] + 1;
+        for (int i = open; i < positions.length; i++) {
+            char c = charAt(i);
+            if (c == '{' || c == '[') {
+                depth++;
+            } else if (c == '}' || c == ']') {
+                if (--depth == 0) {
+                    int end = trimEnd(elementStart, positions[i]);
+                    int start = trimStart(elementStart, end);
+                    if (count > 0 || start < end) {  // "[]" has no elements; "[1,]" keeps the empty one
+                        ranges = addRange(ranges, count, start, end);
+                        count += 2;
+                    }
+                    return Arrays.copyOf(ranges, count);
+                }
+            } else if (c == ',' && depth == 1) {
+                int end = trimEnd(elementStart, positions[i]);
+                ranges = addRange(ranges, count, trimStart(elementStart, end), end);
+                count += 2;
+                elementStart = positions[i] + 1;
+            }
+        }
+        throw new JsonParseException("Unterminated array at byte " + positions[open]);
+    }
+
+    /**
+     * Find a member of the object opened at structural {@code open}.
+     *
+     * @return the structural index of the member value's opening {@code { [ "}, or -1 when the
+     *         member is absent or its value is a number or literal. Keys are compared byte-wise
+     *         as written, so keys containing escape sequences do not match.
+     */
+    public int memberValue(int open, String name) {
+        if (charAt(open) != '{') {
+            throw new JsonParseException("Structural " + open + " at byte " + positions[open] + " is not '{'");
+        }
+        byte[] key = name.getBytes(StandardCharsets.UTF_8);
+        int depth = 0;
+        boolean expectKey = true;
+        for (int i = open; i < positions.length; i++) {
+            char c = charAt(i);
+            if (c == '"') {
+                if (depth == 1 && expectKey && i + 2 < positions.length) {
+                    boolean match = keyEquals(positions[i] + 1, positions[i + 1], key);
+                    i += 2;  // closing quote, then ':'
+                    if (match) {
+                        int value = i + 1;
+                        if (value < positions.length) {
+                            char v = charAt(value);
+                            if ((v == '{' || v == '[' || v == '"') && isValueStart(positions[i] + 1, positions[value])) {
+                                return value;
+                            }
+                        }
+                        return -1;
+                    }
+                    expectKey = false;
+                } else {
+                    i++;  // skip closing quote of a value string
+                }
+            } else if (c == '{' || c == '[') {
+                depth++;
+            } else if (c == '}' || c == ']') {
+                if (--depth == 0) return -1;
+            } else if (c == ',' && depth == 1) {
+                expectKey = true;
+            }
+        }
+        throw new JsonParseException("Unterminated object at byte " + positions[open]);
+    }
+
+    // ========== Stage 1 ==========
+
+    private static final class Chunk {
+        /** Byte positions, with the quote parity before the byte in the sign bit. */
+        int[] candidates;
+        int count;
+        int quoteParity;
+        int startsInString;
+
+        /**
+         * Keep quotes and the structurals that lie outside strings once the chunk's starting
+         * string state is known, clearing the parity bit.
+         */
+        void filter(ByteBuffer json) {
+            int kept = 0;
+            int[] c = candidates;
+            for (int i = 0; i < count; i++) {
+                int pos = c[i] & ~PARITY_BIT;
+                if ((((c[i] >>> 31) ^ startsInString) == 0) || json.get(pos) == '"') {
+                    c[kept++] = pos;
+                }
+            }
+            count = kept;
+        }
+    }
+
+    private static Chunk scan(ByteBuffer json, int start, int end) {
+        Chunk chunk = new Chunk();
+        int[] out = new int[Math.max(64, (end - start) >>> 3)];
+        int n = 0;
+        int parity = 0;
+        boolean escaped = backslashRunBefore(json, start) % 2 == 1;
+        for (int i = start; i < end; i++) {
+            byte b = json.get(i);
+            if (escaped) {
+                escaped = false;
+                continue;
+            }
+            switch (b) {
+                case '\\' -> escaped = true;
+                case '"', '{', '}', '[', ']', ':', ',' -> {
+                    if (n == out.length) out = Arrays.copyOf(out, out.length * 2);
+                    out[n++] = i | (parity << 31);
+                    if (b == '"') parity ^= 1;
+                }
+                default -> { }
+            }
+        }
+        chunk.candidates = out;
+        chunk.count = n;
+        chunk.quoteParity = parity;
+        return chunk;
+    }
+
+    private static int backslashRunBefore(ByteBuffer json, int pos) {
+        int run = 0;
+        while (pos - run - 1 >= 0 && json.get(pos - run - 1) == '\\') run++;
+        return run;
+    }
+
+    // ========== Stage 2 Helpers ==========
+
+    private int trimStart(int start, int end) {
+        while (start < end && isWhitespace(json.get(start))) start++;
+        return start;
+    }
+
+    private int trimEnd(int start, int end) {
+        while (end > start && isWhitespace(json.get(end - 1))) end--;
+        return end;
+    }
+
+    private boolean isValueStart(int from, int to) {
+        for (int p = from; p < to; p++) {
+            if (!isWhitespace(json.get(p))) return false;
+        }
+        return true;
+    }
+
+    private static int[] addRange(int[] ranges, int count, int start, int end) {
+        if (count + 2 > ranges.length) ranges = Arrays.copyOf(ranges, ranges.length * 2);
+        ranges[count] = start;
+        ranges[count + 1] = end;
+        return ranges;
+    }
+
+    private boolean keyEquals(int from, int to, byte[] key) {
+        if (to - from != key.length) return false;
+        for (int k = 0; k < key.length; k++) {
+            if (json.get(from + k) != key[k]) return false;
+        }
+        return true;
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\t' || b == '\n' || b == '\r';
+    }
+}
@@ -1,6 +1,12 @@
 package xyz.jphil.datahelper.json;
 
 import xyz.jphil.datahelper.DataHelper_IR;
+import xyz.jphil.datahelper.Field_I;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
 
 /**
  * Read side of the JSON trait: serialization ({@code toJson}).
@@ -35,4 +41,81 @@ public interface Json_IR<E extends DataHelper_IR<E>> extends DataHelper_IR<E> {
     default String toJson() {
         return toJson(true);
     }
+
+    /**
+     * Convert only the projected fields of this DTO to a JSON string (deep serialization).
+     * Unselected fields are not read.
+     *
+     * @param projection the fields to write, e.g. {@code JsonProjection.of($name, $address.__($city))}
+     * @return JSON string representation of the selected fields
+     */
+    default String toJson(JsonProjection projection) {
+        return MinimalJsonWriter.write(this, projection);
+    }
+
+    /**
+     * Convert only the given fields of this DTO to a JSON string (deep serialization); nested
+     * paths such as {@code $address.__($city)} select part of a nested DTO.
+     *
+     * <p>Builds a {@link JsonProjection} per call; reuse one via {@link #toJson(JsonProjection)}
+     * on hot paths.</p>
+     *
+     * @param fields the fields to write
+     * @return JSON string representation of the selected fields
+     */
+    default String toJson(Field_I<?, ?>... fields) {
+        return toJson(JsonProjection.of(fields));
+    }
+
+    /**
+     * Append this DTO's JSON to a builder (deep serialization). The builder is grown once to the
+     * typical output size of this class, so appending does not repeatedly copy it.
+     *
+     * @param target the builder to append to
+     * @return the same builder
+     */
+    default StringBuilder toJson(StringBuilder target) {
+        return MinimalJsonWriter.write(this, true, target);
+    }
+
+    /**
+     * Append this DTO's JSON to any {@link Appendable}, such as a {@code Writer} (deep
+     * serialization), without building a {@code String}.
+     *
+     * @param target receives the JSON text
+     */
+    default void toJson(Appendable target) throws IOException {
+        MinimalJsonWriter.write(this, true, target);
+    }
+
+    /**
+     * Write this DTO as UTF-8 JSON to a stream (deep serialization), without building a
+     * {@code String}. The stream is neither flushed nor closed.
+     *
+     * @param out receives the UTF-8 bytes, in buffer-sized chunks
+     */
+    default void toJson(OutputStream out) throws IOException {
+        MinimalJsonWriter.write(this, true, out);
+    }
+
+    /**
+     * Write this DTO as UTF-8 JSON to a channel (deep serialization), without building a
+     * {@code String}.
+     *
+     * @param channel receives the UTF-8 bytes, in buffer-sized chunks
+     */
+    default void toJson(WritableByteChannel channel) throws IOException {
+        MinimalJsonWriter.write(this, true, channel);
+    }
+
+    /**
+     * Write this DTO as UTF-8 JSON into a buffer at its position (deep serialization).
+     *
+     * @param target the destination buffer
+     * @return the same buffer, positioned after the JSON
+     * @throws java.nio.BufferOverflowException if the JSON does not fit
+     */
+    default ByteBuffer toJson(ByteBuffer target) {
+        return MinimalJsonWriter.write(this, true, target);
+    }
 }
@@ -1,5 +1,8 @@
 package xyz.jphil.datahelper.json;
 
+import xyz.jphil.datahelper.DataHelper_I;
+import xyz.jphil.datahelper.DataHelper_IR;
+
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -10,14 +13,15 @@ import java.util.Map;
  * Used by DataHelper_Json_Trait for deserialization.
  *
  * <p>This is a simple, focused JSON parser that handles the most common JSON structures.
- * It parses JSON into standard Java collections (Map, List) and primitives.</p>
+ * It parses JSON into standard Java collections (Map, List) and primitives, or binds a JSON
+ * object directly into a DataHelper instance ({@link #parseInto(String, DataHelper_I)}).</p>
  *
  * <p><strong>Supported JSON types:</strong></p>
  * <ul>
  *   <li>Objects → Map&lt;String, Object&gt;</li>
  *   <li>Arrays → List&lt;Object&gt;</li>
  *   <li>Strings</li>
- *   <li>Numbers (parsed as Double or Long)</li>
+ *   <li>Numbers (parsed as Long, or as Double when fractional, exponential or beyond long range)</li>
  *   <li>Booleans</li>
  *   <li>null</li>
  * </ul>
@@ -32,8 +36,24 @@ import java.util.Map;
  */
 public class MinimalJsonParser {
 
+    /** Significand digits accumulated inline; 18 decimal digits always fit a {@code long}. */
+    private static final int MAX_SIGNIFICANT_DIGITS = 18;
+    /** Largest significand a double represents exactly (2^53). */
+    private static final long MAX_EXACT_SIGNIFICAND = 1L << 53;
+    /** Powers of ten that are exact doubles. */
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+        1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
     private final String json;
     private int pos = 0;
+    private JsonSource source;
+
+    // Result of the last scanNumber(); read immediately by the caller.
+    private boolean numberIntegral;
+    private long numberLong;
+    private double numberDouble;
 
     private MinimalJsonParser(String json) {
         this.json = json;
@@ -96,6 +116,453 @@ public class MinimalJsonParser {
         return list;
     }
 
+    /**
+     * Parse a JSON object string directly into a DataHelper instance.
+     *
+     * <p>Unlike {@link #parseObject(String)}, no intermediate {@code Map} is built: each key is
+     * resolved to a field ordinal straight from the input text via
+     * {@link DataHelper_IR#fieldOrdinal(CharSequence, int, int)} (no {@code String} per key unless
+     * the key contains escapes), and nested objects, lists and maps of DataHelper types are bound
+     * recursively into instances created by the target's {@code create*} factories. Values of
+     * unknown keys are skipped by a structural scan that allocates nothing, so the cost follows
+     * the fields actually bound; JSON {@code null} leaves the field untouched.</p>
+     *
+     * @param json the JSON object string (must start with '{')
+     * @param target the instance to populate
+     * @throws JsonParseException if JSON is malformed
+     */
+    public static void parseInto(String json, DataHelper_I<?> target) {
+        parseInto(json, target, null);
+    }
+
+    /**
+     * Parse a JSON object string into a DataHelper instance, binding only the projected fields.
+     *
+     * <p>Members outside the projection (and, within a nested projection, the unselected members of
+     * nested objects, list elements and map values) are skipped by scanning brackets and string
+     * boundaries, without building values for them.</p>
+     *
+     * @param json the JSON object string (must start with '{')
+     * @param target the instance to populate
+     * @param projection the fields to bind, or null for all
+     * @throws JsonParseException if JSON is malformed
+     */
+    public static void parseInto(String json, DataHelper_I<?> target, JsonProjection projection) {
+        if (json == null || json.trim().isEmpty()) {
+            throw new JsonParseException("JSON string is null or empty");
+        }
+
+        MinimalJsonParser parser = new MinimalJsonParser(json.trim());
+        parser.skipWhitespace();
+        if (parser.peek() != '{') {
+            throw new JsonParseException("JSON does not represent an object");
+        }
+        parser.readObjectInto(target, projection);
+
+        parser.skipWhitespace();
+        if (parser.pos < parser.json.length()) {
+            throw new JsonParseException("Unexpected characters after JSON value at position " + parser.pos);
+        }
+    }
+
+    // ========== Internal Binding Methods ==========
+
+    /**
+     * @param projection the fields to bind, or null for all
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private void readObjectInto(DataHelper_I<?> target, JsonProjection projection) {
+        JsonCodec codec = projection == null ? target.codec(JsonCodec.class) : null;
+        if (codec != null) {
+            if (source == null) {
+                source = new JsonSource(this);
+            }
+            codec.readFrom(source, target);
+            return;
+        }
+
+        JsonProjection.Selection selection = projection == null ? null : projection.select(target);
+
+        expect('{');
+        skipWhitespace();
+
+        // Empty object
+        if (peek() == '}') {
+            pos++;
+            return;
+        }
+
+        while (true) {
+            skipWhitespace();
+
+            if (peek() != '"') {
+                throw new JsonParseException("Expected string key at position " + pos);
+            }
+            int ordinal = readKeyOrdinal(target);
+
+            skipWhitespace();
+            expect(':');
+            skipWhitespace();
+
+            if (ordinal < 0) {
+                skipSubtree(); // unknown field: skip without building
+            } else if (selection == null) {
+                readFieldInto(target, ordinal, null);
+            } else if (selection.includes(ordinal)) {
+                readFieldInto(target, ordinal, selection.child(ordinal));
+            } else {
+                skipSubtree(); // not projected: skip without building
+            }
+
+            skipWhitespace();
+            char next = peek();
+
+            if (next == '}') {
+                pos++;
+                break;
+            } else if (next == ',') {
+                pos++;
+            } else {
+                throw new JsonParseException("Expected ',' or '}' at position " + pos + ", found '" + next + "'");
+            }
+        }
+    }
+
+    /**
+     * Resolve the key at {@code pos} (an opening quote) to a field ordinal of {@code target}.
+     * Keys without escapes are matched in place; escaped keys are decoded first.
+     */
+    private int readKeyOrdinal(DataHelper_IR<?> target) {
+        int start = pos + 1;
+        int end = start;
+        while (end < json.length()) {
+            char c = json.charAt(end);
+            if (c == '"') {
+                pos = end + 1;
+                return target.fieldOrdinal(json, start, end);
+            }
+            if (c == '\\') {
+                return target.fieldOrdinal(parseString());
+            }
+            end++;
+        }
+        throw new JsonParseException("Unterminated string at position " + end);
+    }
+
+    /**
+     * @param projection applied to a nested DTO and to DTO list elements / map values, or null
+     */
+    @SuppressWarnings("unchecked")
+    private void readFieldInto(DataHelper_I<?> target, int ordinal, JsonProjection projection) {
+        String fieldName = target.fieldNames().get(ordinal);
+        char c = peek();
+
+        if (c == 'n') {
+            parseNull(); // null leaves the field untouched
+            return;
+        }
+
+        if (c == '{' && target.isNestedObjectField(fieldName)) {
+            // Nested DataHelper object
+            DataHelper_I<?> nested = target.createNestedObject(fieldName);
+            if (nested != null) {
+                readObjectInto(nested, projection);
+                target.setPropertyByOrdinal(ordinal, nested);
+                return;
+            }
+        } else if (c == '[' && target.isListField(fieldName)) {
+            target.setPropertyByOrdinal(ordinal, readListInto(target, fieldName, projection));
+            return;
+        } else if (c == '{' && target.isMapField(fieldName)) {
+            Map<Object, Object> targetMap = (Map<Object, Object>) target.createMapInstance(fieldName);
+            readMapInto(target, fieldName, targetMap, projection);
+            target.setPropertyByOrdinal(ordinal, targetMap);
+            return;
+        }
+
+        if ((c == '-' || isDigit(c)) && isNumericType(target.getPropertyType(fieldName))) {
+            // Numeric field: deliver the scanned primitive without boxing
+            int start = pos;
+            scanNumber();
+            try {
+                if (numberIntegral) {
+                    target.setLongByOrdinal(ordinal, numberLong);
+                } else {
+                    target.setDoubleByOrdinal(ordinal, numberDouble);
+                }
+            } catch (ArithmeticException e) {
+                throw new JsonParseException("Number at position " + start + " does not fit field '"
+                        + fieldName + "': " + e.getMessage(), e);
+            }
+            return;
+        }
+
+        // Simple field - may need type conversion
+        int start = pos;
+        Object value = parseValue();
+        Class<?> type = target.getPropertyType(fieldName);
+        try {
+            target.setPropertyByOrdinal(ordinal, DataHelper_I.convertType(value, type));
+        } catch (ClassCastException e) {
+            throw new JsonParseException("Expected " + expected(type) + " for field '" + fieldName
+                    + "' at position " + start + ", found " + describe(value), e);
+        }
+    }
+
+    private List<Object> readListInto(DataHelper_I<?> owner, String fieldName, JsonProjection projection) {
+        Class<?> elementType = owner.getListElementType(fieldName);
+        List<Object> list = new ArrayList<>();
+
+        expect('[');
+        skipWhitespace();
+
+        // Empty array
+        if (peek() == ']') {
+            pos++;
+            return list;
+        }
+
+        while (true) {
+            skipWhitespace();
+
+            if (peek() == '{') {
+                // List element is a DataHelper object (when the field declares one)
+                DataHelper_I<?> element = owner.createListElement(fieldName);
+                if (element != null) {
+                    readObjectInto(element, projection);
+                    list.add(element);
+                } else {
+                    list.add(parseValue());
+                }
+            } else {
+                // Simple type, converted to the declared element type
+                int start = pos;
+                Object value = parseValue();
+                Object converted = DataHelper_I.convertType(value, elementType);
+                if (converted != null && elementType != null && !elementType.isInstance(converted)) {
+                    throw new JsonParseException("Expected " + expected(elementType) + " for element of field '"
+                            + fieldName + "' at position " + start + ", found " + describe(value));
+                }
+                list.add(converted);
+            }
+
+            skipWhitespace();
+            char next = peek();
+
+            if (next == ']') {
+                pos++;
+                break;
+            } else if (next == ',') {
+                pos++;
+            } else {
+                throw new JsonParseException("Expected ',' or ']' at position " + pos + ", found '" + next + "'");
+            }
+        }
+
+        return list;
+    }
+
+    private void readMapInto(DataHelper_I<?> owner, String fieldName, Map<Object, Object> targetMap,
+                             JsonProjection projection) {
+        Class<?> keyType = owner.getMapKeyType(fieldName);
+        Class<?> valueType = owner.getMapValueType(fieldName);
+        boolean isValueDataHelper = owner.isMapValueDataHelper(fieldName);
+
+        expect('{');
+        skipWhitespace();
+
+        // Empty object
+        if (peek() == '}') {
+            pos++;
+            return;
+        }
+
+        while (true) {
+            skipWhitespace();
+
+            if (peek() != '"') {
+                throw new JsonParseException("Expected string key at position " + pos);
+            }
+            Object convertedKey = DataHelper_I.convertType(parseString(), keyType);
+
+            skipWhitespace();
+            expect(':');
+            skipWhitespace();
+
+            if (isValueDataHelper && peek() == '{') {
+                // Map value is a DataHelper object
+                DataHelper_I<?> element = owner.createMapValueElement(fieldName);
+                if (element == null) {
+                    throw new JsonParseException("Cannot create map value for field '" + fieldName
+                            + "' at position " + pos);
+                }
+                readObjectInto(element, projection);
+                targetMap.put(convertedKey, element);
+            } else {
+                // Simple type
+                targetMap.put(convertedKey, DataHelper_I.convertType(parseValue(), valueType));
+            }
+
+            skipWhitespace();
+            char next = peek();
+
+            if (next == '}') {
+                pos++;
+                break;
+            } else if (next == ',') {
+                pos++;
+            } else {
+                throw new JsonParseException("Expected ',' or '}' at position " + pos + ", found '" + next + "'");
+            }
+        }
+    }
+
+    // ========== Codec Cursor (see JsonSource) ==========
+
+    boolean beginContainer(char open, char close) {
+        skipWhitespace();
+        expect(open);
+        skipWhitespace();
+        if (peek() == close) {
+            pos++;
+            return false;
+        }
+        return true;
+    }
+
+    boolean nextInContainer(char close) {
+        skipWhitespace();
+        char next = peek();
+        if (next == close) {
+            pos++;
+            return false;
+        } else if (next == ',') {
+            pos++;
+            skipWhitespace();
+            return true;
+        }
+        throw new JsonParseException("Expected ',' or '" + close + "' at position " + pos + ", found '" + next + "'");
+    }
+
+    int readMemberKey(DataHelper_IR<?> target) {
+        if (peek() != '"') {
+            throw new JsonParseException("Expected string key at position " + pos);
+        }
+        int ordinal = readKeyOrdinal(target);
+        skipWhitespace();
+        expect(':');
+        skipWhitespace();
+        return ordinal;
+    }
+
+    String readMemberKeyString() {
+        if (peek() != '"') {
+            throw new JsonParseException("Expected string key at position " + pos);
+        }
+        String key = parseString();
+        skipWhitespace();
+        expect(':');
+        skipWhitespace();
+        return key;
+    }
+
+    boolean readNullIfPresent() {
+        skipWhitespace();
+        if (peek() == 'n') {
+            parseNull();
+            return true;
+        }
+        return false;
+    }
+
+    String readStringValue() {
+        if (peek() == '"') {
+            return parseString();
+        }
+        int start = pos;
+        throw new JsonParseException("Expected string at position " + start + ", found " + describe(parseValue()));
+    }
+
+    long readLongValue() {
+        int start = pos;
+        char c = peek();
+        if (c == '-' || isDigit(c)) {
+            scanNumber();
+            if (numberIntegral) {
+                return numberLong;
+            }
+            try {
+                return DataHelper_I.toLongExact(numberDouble);
+            } catch (ArithmeticException e) {
+                throw new JsonParseException("Expected an integer at position " + start + ", found " + numberDouble, e);
+            }
+        }
+        return convertedNumber(Long.class).longValue();
+    }
+
+    /** An integral value within {@code [min, max]}; {@code type} names the range in errors. */
+    long readLongValue(long min, long max, String type) {
+        int start = pos;
+        long value = readLongValue();
+        if (value < min || value > max) {
+            throw new JsonParseException("Number " + value + " at position " + start + " does not fit " + type);
+        }
+        return value;
+    }
+
+    double readDoubleValue() {
+        char c = peek();
+        if (c == '-' || isDigit(c)) {
+            scanNumber();
+            return numberIntegral ? numberLong : numberDouble;
+        }
+        return convertedNumber(Double.class).doubleValue();
+    }
+
+    boolean readBooleanValue() {
+        char c = peek();
+        if (c == 't' || c == 'f') {
+            return parseBoolean();
+        }
+        int start = pos;
+        Object value = DataHelper_I.convertType(parseValue(), Boolean.class);
+        if (value instanceof Boolean b) {
+            return b;
+        }
+        throw new JsonParseException("Expected boolean at position " + start + ", found " + describe(value));
+    }
+
+    void skipValue() {
+        skipSubtree();
+    }
+
+    void readField(DataHelper_I<?> target, int ordinal) {
+        readFieldInto(target, ordinal, null);
+    }
+
+    private Number convertedNumber(Class<?> type) {
+        int start = pos;
+        Object value = DataHelper_I.convertType(parseValue(), type);
+        if (value instanceof Number n) {
+            return n;
+        }
+        throw new JsonParseException("Expected number at position " + start + ", found " + describe(value));
+    }
+
+    private static String expected(Class<?> type) {
+        if (isNumericType(type) || (type != null && type.isPrimitive() && type != boolean.class && type != char.class)) {
+            return "number";
+        }
+        if (type == Boolean.class || type == boolean.class) return "boolean";
+        if (type == String.class) return "string";
+        return type == null ? "value" : type.getSimpleName();
+    }
+
+    private static String describe(Object value) {
+        return value instanceof String ? "string" : value instanceof Map ? "object"
+                : value instanceof List ? "array" : String.valueOf(value);
+    }
+
     // ========== Internal Parsing Methods ==========
 
     private Object parseValue() {
@@ -218,6 +685,92 @@ public class MinimalJsonParser {
         return list;
     }
 
+    /**
+     * Skip the value at {@code pos} without building it, so unknown or unprojected members cost
+     * a scan, not an allocation: strings jump from quote to quote with {@link String#indexOf},
+     * objects and arrays are tracked by bracket depth outside strings, literals and numbers are
+     * matched by their characters.
+     *
+     * <p>Brackets must nest and match (checked for the first 64 levels, which a {@code long}
+     * records); the contents of skipped strings and numbers are not validated.</p>
+     */
+    private void skipSubtree() {
+        char c = peek();
+        if (c == '"') {
+            skipString();
+        } else if (c == '{' || c == '[') {
+            skipContainer();
+        } else if (c == 't' || c == 'f') {
+            parseBoolean();
+        } else if (c == 'n') {
+            parseNull();
+        } else {
+            int start = pos;
+            while (pos < json.length() && isNumberChar(json.charAt(pos))) {
+                pos++;
+            }
+            if (pos == start) {
+                throw new JsonParseException("Unexpected character '" + c + "' at position " + pos);
+            }
+        }
+    }
+
+    /** Skip the object or array at {@code pos}. */
+    private void skipContainer() {
+        int start = pos;
+        int len = json.length();
+        int depth = 0;
+        long objects = 0;  // bit d set: the container opened at depth d is an object
+        do {
+            if (pos >= len) {
+                throw new JsonParseException("Unterminated " + (json.charAt(start) == '{' ? "object" : "array")
+                        + " starting at position " + start);
+            }
+            char ch = json.charAt(pos);
+            if (ch == '"') {
+                skipString();
+                continue;
+            }
+            if (ch == '{' || ch == '[') {
+                if (depth < 64) {
+                    objects = ch == '{' ? objects | (1L << depth) : objects & ~(1L << depth);
+                }
+                depth++;
+            } else if (ch == '}' || ch == ']') {
+                depth--;
+                if (depth < 64 && ((objects >>> depth) & 1) != (ch == '}' ? 1 : 0)) {
+                    throw new JsonParseException("Mismatched '" + ch + "' at position " + pos);
+                }
+            }
+            pos++;
+        } while (depth > 0);
+    }
+
+    /** Skip the string at {@code pos} (an opening quote), including escapes. */
+    private void skipString() {
+        int from = pos + 1;
+        while (true) {
+            int quote = json.indexOf('"', from);
+            if (quote < 0) {
+                throw new JsonParseException("Unterminated string at position " + pos);
+            }
+            // The quote is escaped if an odd number of backslashes precede it
+            int backslash = quote - 1;
+            while (backslash > pos && json.charAt(backslash) == '\\') {
+                backslash--;
+            }
+            if (((quote - 1 - backslash) & 1) == 0) {
+                pos = quote + 1;
+                return;
+            }
+            from = quote + 1;
+        }
+    }
+
+    private static boolean isNumberChar(char c) {
+        return (c >= '0' && c <= '9') || c == '-' || c == '+' || c == '.' || c == 'e' || c == 'E';
+    }
+
     private String parseString() {
         expect('"');
 
@@ -287,10 +840,31 @@ public class MinimalJsonParser {
     }
 
     private Number parseNumber() {
+        scanNumber();
+        if (numberIntegral) {
+            return numberLong;
+        }
+        return numberDouble;
+    }
+
+    /**
+     * Scan the number at {@code pos} into {@link #numberLong} (integral tokens that fit a
+     * {@code long}) or {@link #numberDouble}, without creating a substring.
+     *
+     * <p>Digits are accumulated inline (up to 18 significant digits, so the accumulator cannot
+     * overflow). Decimals whose significand is at most 2^53 and whose decimal exponent is small
+     * are computed exactly with one multiply/divide by an exact power of ten (Clinger's fast path);
+     * anything else falls back to {@link Double#parseDouble}, which is always correctly rounded.
+     * Integral tokens too large for a {@code long} are returned as a double.</p>
+     */
+    private void scanNumber() {
         int start = pos;
+        int len = json.length();
 
         // Optional minus
+        boolean negative = false;
         if (peek() == '-') {
+            negative = true;
             pos++;
         }
 
@@ -299,10 +873,22 @@ public class MinimalJsonParser {
             throw new JsonParseException("Expected digit at position " + pos);
         }
 
+        long significand = 0;
+        int significantDigits = 0;
+        int exponent = 0;
+        boolean truncated = false;
+
         if (peek() == '0') {
             pos++;
         } else {
-            while (pos < json.length() && isDigit(json.charAt(pos))) {
+            while (pos < len && isDigit(json.charAt(pos))) {
+                if (significantDigits < MAX_SIGNIFICANT_DIGITS) {
+                    significand = significand * 10 + (json.charAt(pos) - '0');
+                    significantDigits++;
+                } else {
+                    exponent++;
+                    truncated = true;
+                }
                 pos++;
             }
         }
@@ -311,7 +897,7 @@ public class MinimalJsonParser {
         boolean isDouble = false;
 
         // Decimal part
-        if (pos < json.length() && peek() == '.') {
+        if (pos < len && json.charAt(pos) == '.') {
             isDouble = true;
             pos++;
 
@@ -319,17 +905,26 @@ public class MinimalJsonParser {
                 throw new JsonParseException("Expected digit after '.' at position " + pos);
             }
 
-            while (pos < json.length() && isDigit(json.charAt(pos))) {
+            while (pos < len && isDigit(json.charAt(pos))) {
+                if (significantDigits < MAX_SIGNIFICANT_DIGITS) {
+                    significand = significand * 10 + (json.charAt(pos) - '0');
+                    exponent--;
+                    if (significand != 0) significantDigits++;
+                } else {
+                    truncated = true;
+                }
                 pos++;
             }
         }
 
         // Exponent part
-        if (pos < json.length() && (peek() == 'e' || peek() == 'E')) {
+        if (pos < len && (json.charAt(pos) == 'e' || json.charAt(pos) == 'E')) {
             isDouble = true;
             pos++;
 
-            if (pos < json.length() && (peek() == '+' || peek() == '-')) {
+            boolean negativeExponent = false;
+            if (pos < len && (json.charAt(pos) == '+' || json.charAt(pos) == '-')) {
+                negativeExponent = json.charAt(pos) == '-';
                 pos++;
             }
 
@@ -337,20 +932,58 @@ public class MinimalJsonParser {
                 throw new JsonParseException("Expected digit in exponent at position " + pos);
             }
 
-            while (pos < json.length() && isDigit(json.charAt(pos))) {
+            int exp = 0;
+            while (pos < len && isDigit(json.charAt(pos))) {
+                if (exp < 100_000) {
+                    exp = exp * 10 + (json.charAt(pos) - '0');
+                }
                 pos++;
             }
+            exponent += negativeExponent ? -exp : exp;
         }
 
-        String numberStr = json.substring(start, pos);
+        if (!isDouble) {
+            if (!truncated) {
+                numberIntegral = true;
+                numberLong = negative ? -significand : significand;
+                return;
+            }
+            // 19+ digits: exact only if it still fits a long
+            String numberStr = json.substring(start, pos);
+            try {
+                numberLong = Long.parseLong(numberStr);
+                numberIntegral = true;
+                return;
+            } catch (NumberFormatException e) {
+                // Beyond long range: fall through to double
+            }
+        }
 
-        try {
-            if (isDouble) {
-                return Double.parseDouble(numberStr);
-            } else {
-                // Try Long first (handles large integers)
-                return Long.parseLong(numberStr);
+        numberIntegral = false;
+        if (!truncated && significand <= MAX_EXACT_SIGNIFICAND) {
+            double value = Double.NaN;
+            if (exponent == 0) {
+                value = significand;
+            } else if (exponent > 0 && exponent <= 22) {
+                value = significand * POWERS_OF_TEN[exponent];
+            } else if (exponent < 0 && exponent >= -22) {
+                value = significand / POWERS_OF_TEN[-exponent];
+            } else if (exponent > 22 && exponent <= 22 + 15) {
+                // Shift part of the exponent into the significand while it stays exact
+                double shifted = significand * POWERS_OF_TEN[exponent - 22];
+                if (shifted <= MAX_EXACT_SIGNIFICAND) {
+                    value = shifted * POWERS_OF_TEN[22];
+                }
+            }
+            if (!Double.isNaN(value)) {
+                numberDouble = negative ? -value : value;
+                return;
             }
+        }
+
+        String numberStr = json.substring(start, pos);
+        try {
+            numberDouble = Double.parseDouble(numberStr);
         } catch (NumberFormatException e) {
             throw new JsonParseException("Invalid number '" + numberStr + "' at position " + start);
         }
@@ -414,6 +1047,11 @@ public class MinimalJsonParser {
         return c >= '0' && c <= '9';
     }
 
+    private static boolean isNumericType(Class<?> type) {
+        return type == Integer.class || type == Long.class || type == Double.class
+            || type == Float.class || type == Short.class || type == Byte.class;
+    }
+
     // ========== Exception ==========
 
     /**
@@ -1,7 +1,15 @@
 package xyz.jphil.datahelper.json;
 
+import xyz.jphil.datahelper.ByteArrayPool;
 import xyz.jphil.datahelper.DataHelper_IR;
+import xyz.jphil.datahelper.FieldNameTokens;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
 import java.util.List;
 import java.util.Map;
 
@@ -10,7 +18,9 @@ import java.util.Map;
  * Uses DataHelper_I property accessors for serialization.
  *
  * <p>This is a simple, focused JSON writer optimized for DataHelper DTOs.
- * It handles the most common JSON types and structures.</p>
+ * It handles the most common JSON types and structures. Output goes either to a
+ * {@code String} or, encoded directly as UTF-8, to an {@code OutputStream},
+ * {@code WritableByteChannel} or {@code ByteBuffer}.</p>
  *
  * <p><strong>Supported types:</strong></p>
  * <ul>
@@ -37,9 +47,18 @@ public class MinimalJsonWriter {
      * @return JSON string representation
      */
     public static String write(Object value) {
-        StringBuilder sb = new StringBuilder();
-        writeValue(sb, value);
-        return sb.toString();
+        if (value == null) {
+            return "null";
+        }
+        Class<?> type = value.getClass();
+        StringBuilder sb = JsonBufferPool.acquire(JsonBufferPool.expectedLength(type));
+        try {
+            writeValue(new JsonSink.Chars(sb), value);
+            JsonBufferPool.recordLength(type, sb.length());
+            return sb.toString();
+        } finally {
+            JsonBufferPool.release(sb);
+        }
     }
 
     /**
@@ -53,161 +72,415 @@ public class MinimalJsonWriter {
      * @return JSON string representation
      */
     public static String write(DataHelper_IR<?> dataHelper, boolean deep) {
-        StringBuilder sb = new StringBuilder();
-        writeDataHelper(sb, dataHelper, deep);
-        return sb.toString();
+        StringBuilder sb = JsonBufferPool.acquire(JsonBufferPool.expectedLength(dataHelper.getClass()));
+        try {
+            writeDataHelper(new JsonSink.Chars(sb), dataHelper, deep);
+            JsonBufferPool.recordLength(dataHelper.getClass(), sb.length());
+            return sb.toString();
+        } finally {
+            JsonBufferPool.release(sb);
+        }
+    }
+
+    /**
+     * Write only the projected fields of a DataHelper object (deep) to a JSON string.
+     *
+     * @param projection the fields to write; nested projections apply to nested DTOs and to the
+     *                   DTO elements of lists and values of maps
+     */
+    public static String write(DataHelper_IR<?> dataHelper, JsonProjection projection) {
+        StringBuilder sb = JsonBufferPool.acquire(0);
+        try {
+            writeDataHelper(new JsonSink.Chars(sb), dataHelper, true, projection);
+            return sb.toString();
+        } finally {
+            JsonBufferPool.release(sb);
+        }
+    }
+
+    /**
+     * Append a DataHelper object's JSON to a {@link StringBuilder}, first growing it to fit the
+     * class's typical output.
+     *
+     * @return the same builder
+     */
+    public static StringBuilder write(DataHelper_IR<?> dataHelper, boolean deep, StringBuilder target) {
+        int start = target.length();
+        target.ensureCapacity(start + JsonBufferPool.expectedLength(dataHelper.getClass()));
+        writeDataHelper(new JsonSink.Chars(target), dataHelper, deep);
+        JsonBufferPool.recordLength(dataHelper.getClass(), target.length() - start);
+        return target;
+    }
+
+    /**
+     * Append a DataHelper object's JSON to any {@link Appendable} (e.g. a {@code Writer}).
+     *
+     * <p>{@code StringBuilder}s are written in place; other targets receive the text from a pooled
+     * buffer, a {@code Writer} in fixed-size chunks so no {@code String} of the document is made.</p>
+     */
+    public static void write(DataHelper_IR<?> dataHelper, boolean deep, Appendable target) throws IOException {
+        if (target instanceof StringBuilder sb) {
+            write(dataHelper, deep, sb);
+            return;
+        }
+        StringBuilder sb = JsonBufferPool.acquire(JsonBufferPool.expectedLength(dataHelper.getClass()));
+        try {
+            writeDataHelper(new JsonSink.Chars(sb), dataHelper, deep);
+            JsonBufferPool.recordLength(dataHelper.getClass(), sb.length());
+            if (target instanceof Writer writer) {
+                char[] chunk = new char[Math.min(sb.length(), WRITER_CHUNK_SIZE)];
+                for (int from = 0; from < sb.length(); from += chunk.length) {
+                    int to = Math.min(sb.length(), from + chunk.length);
+                    sb.getChars(from, to, chunk, 0);
+                    writer.write(chunk, 0, to - from);
+                }
+            } else {
+                target.append(sb);
+            }
+        } finally {
+            JsonBufferPool.release(sb);
+        }
+    }
+
+    /**
+     * Write a DataHelper object as UTF-8 JSON to a stream.
+     *
+     * <p>Characters are encoded straight into a pooled byte buffer ({@link ByteArrayPool}) that is
+     * written to the stream each time it fills, so the document never exists as a {@code String}.
+     * The stream is neither flushed nor closed.</p>
+     *
+     * @param dataHelper the DataHelper object
+     * @param deep if true, recursively serialize nested objects
+     * @param out receives the UTF-8 bytes
+     */
+    public static void write(DataHelper_IR<?> dataHelper, boolean deep, OutputStream out) throws IOException {
+        writeUtf8(dataHelper, deep, out::write);
+    }
+
+    /**
+     * Write a DataHelper object as UTF-8 JSON to a channel, in buffer-sized chunks.
+     *
+     * @see #write(DataHelper_IR, boolean, OutputStream)
+     */
+    public static void write(DataHelper_IR<?> dataHelper, boolean deep, WritableByteChannel channel) throws IOException {
+        writeUtf8(dataHelper, deep, (bytes, offset, length) -> {
+            ByteBuffer chunk = ByteBuffer.wrap(bytes, offset, length);
+            while (chunk.hasRemaining()) {
+                channel.write(chunk);
+            }
+        });
+    }
+
+    /**
+     * Write a DataHelper object as UTF-8 JSON into a buffer, starting at its position.
+     *
+     * @return the same buffer, positioned after the JSON
+     * @throws java.nio.BufferOverflowException if the JSON does not fit (the buffer then holds a
+     *         truncated prefix)
+     */
+    public static ByteBuffer write(DataHelper_IR<?> dataHelper, boolean deep, ByteBuffer target) {
+        try {
+            writeUtf8(dataHelper, deep, target::put);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);  // not reachable: ByteBuffer.put does no I/O
+        }
+        return target;
+    }
+
+    /**
+     * Append a DataHelper object's JSON to a sink (no intermediate string).
+     */
+    static void writeTo(JsonSink out, DataHelper_IR<?> dataHelper, boolean deep) {
+        writeDataHelper(out, dataHelper, deep);
+    }
+
+    /**
+     * Serialize a {@link JsonMemo_IR} record (deep) for its memo: the record itself is written
+     * field by field, records nested in it contribute their own memoized fragments.
+     */
+    static String writeUnmemoized(DataHelper_IR<?> record) {
+        StringBuilder sb = JsonBufferPool.acquire(JsonBufferPool.expectedLength(record.getClass()));
+        try {
+            writeObject(new JsonSink.Chars(sb), record, true, null);
+            JsonBufferPool.recordLength(record.getClass(), sb.length());
+            return sb.toString();
+        } finally {
+            JsonBufferPool.release(sb);
+        }
+    }
+
+    /** Whether {@code dataHelper}'s deep JSON comes from {@link JsonMemo}. */
+    static boolean isMemoized(Object dataHelper) {
+        return dataHelper instanceof JsonMemo_IR && dataHelper instanceof Record;
+    }
+
+    // ========== UTF-8 Output ==========
+
+    private static final int UTF8_BUFFER_SIZE = 8192;
+    private static final int WRITER_CHUNK_SIZE = 8192;
+
+    private static void writeUtf8(DataHelper_IR<?> dataHelper, boolean deep, JsonSink.Drain drain) throws IOException {
+        byte[] buffer = ByteArrayPool.acquire(UTF8_BUFFER_SIZE);
+        try {
+            JsonSink.Utf8 out = new JsonSink.Utf8(buffer, drain);
+            writeDataHelper(out, dataHelper, deep);
+            out.finish();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            ByteArrayPool.release(buffer);
+        }
     }
 
     // ========== Internal Writing Methods ==========
 
-    private static void writeValue(StringBuilder sb, Object value) {
+    static void writeValue(JsonSink out, Object value) {
         if (value == null) {
-            sb.append("null");
+            out.append("null");
         } else if (value instanceof String) {
-            writeString(sb, (String) value);
+            writeString(out, (String) value);
         } else if (value instanceof Number) {
-            writeNumber(sb, (Number) value);
+            writeNumber(out, (Number) value);
         } else if (value instanceof Boolean) {
-            sb.append(value);
+            out.append((Boolean) value ? "true" : "false");
         } else if (value instanceof DataHelper_IR) {
-            writeDataHelper(sb, (DataHelper_IR<?>) value, true);
+            writeDataHelper(out, (DataHelper_IR<?>) value, true);
         } else if (value instanceof List) {
-            writeList(sb, (List<?>) value);
+            writeList(out, (List<?>) value);
         } else if (value instanceof Map) {
-            writeMap(sb, (Map<?, ?>) value);
+            writeMap(out, (Map<?, ?>) value);
         } else {
             // Fallback: toString() and escape
-            writeString(sb, value.toString());
+            writeString(out, value.toString());
+        }
+    }
+
+    private static void writeDataHelper(JsonSink out, DataHelper_IR<?> dataHelper, boolean deep) {
+        writeDataHelper(out, dataHelper, deep, null);
+    }
+
+    /**
+     * @param projection the fields to write, or null for all
+     */
+    private static void writeDataHelper(JsonSink out, DataHelper_IR<?> dataHelper, boolean deep,
+                                        JsonProjection projection) {
+        if (deep && projection == null && isMemoized(dataHelper)) {
+            out.appendFragment(JsonMemo.of(dataHelper));
+            return;
         }
+        writeObject(out, dataHelper, deep, projection);
     }
 
-    private static void writeDataHelper(StringBuilder sb, DataHelper_IR<?> dataHelper, boolean deep) {
-        sb.append('{');
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static void writeObject(JsonSink out, DataHelper_IR<?> dataHelper, boolean deep,
+                                    JsonProjection projection) {
+        if (deep && projection == null) {
+            JsonCodec codec = dataHelper.codec(JsonCodec.class);
+            if (codec != null) {
+                codec.writeTo(dataHelper, out);
+                return;
+            }
+        }
+
+        out.append('{');
         boolean first = true;
+        List<String> fieldNames = dataHelper.fieldNames();
+        FieldNameTokens tokens = dataHelper.fieldNameTokens();
+        JsonProjection.Selection selection = projection == null ? null : projection.select(dataHelper);
+        int count = selection == null ? fieldNames.size() : selection.ordinals.length;
+
+        for (int i = 0; i < count; i++) {
+            int ordinal = selection == null ? i : selection.ordinals[i];
 
-        for (String fieldName : dataHelper.fieldNames()) {
-            Object value = dataHelper.getPropertyByName(fieldName);
+            // Primitive numbers: read and format without boxing
+            if (dataHelper.isPrimitiveIntegralField(ordinal)) {
+                if (!first) out.append(',');
+                first = false;
+                writeFieldName(out, tokens, fieldNames, ordinal);
+                out.appendLong(dataHelper.getLongByOrdinal(ordinal));
+                continue;
+            }
+            if (dataHelper.isPrimitiveDoubleField(ordinal)) {
+                if (!first) out.append(',');
+                first = false;
+                writeFieldName(out, tokens, fieldNames, ordinal);
+                writeDouble(out, dataHelper.getDoubleByOrdinal(ordinal));
+                continue;
+            }
+
+            Object value = dataHelper.getPropertyByOrdinal(ordinal);
 
             // Skip null values to reduce JSON size
             if (value == null) continue;
 
             if (!first) {
-                sb.append(',');
+                out.append(',');
             }
             first = false;
 
-            // Write field name
-            writeString(sb, fieldName);
-            sb.append(':');
+            String fieldName = fieldNames.get(ordinal);
+            writeFieldName(out, tokens, fieldNames, ordinal);
+            JsonProjection sub = selection == null ? null : selection.child(ordinal);
 
             // Write field value
             if (deep && value instanceof DataHelper_IR) {
-                writeDataHelper(sb, (DataHelper_IR<?>) value, true);
+                writeDataHelper(out, (DataHelper_IR<?>) value, true, sub);
             } else if (deep && value instanceof List && dataHelper.isListField(fieldName)) {
-                writeList(sb, (List<?>) value);
+                writeList(out, (List<?>) value, sub);
             } else if (deep && value instanceof Map && dataHelper.isMapField(fieldName)) {
-                writeMap(sb, (Map<?, ?>) value);
+                writeMap(out, (Map<?, ?>) value, sub);
             } else {
-                writeValue(sb, value);
+                writeValue(out, value);
             }
         }
 
-        sb.append('}');
+        out.append('}');
+    }
+
+    private static void writeFieldName(JsonSink out, FieldNameTokens tokens, List<String> fieldNames, int ordinal) {
+        if (tokens != null) {
+            out.appendToken(tokens, ordinal);
+        } else {
+            writeString(out, fieldNames.get(ordinal));
+            out.append(':');
+        }
+    }
+
+    private static void writeList(JsonSink out, List<?> list) {
+        writeList(out, list, null);
     }
 
-    private static void writeList(StringBuilder sb, List<?> list) {
-        sb.append('[');
+    /**
+     * @param projection applied to DataHelper elements, or null for all fields
+     */
+    private static void writeList(JsonSink out, List<?> list, JsonProjection projection) {
+        out.append('[');
         boolean first = true;
 
         for (Object item : list) {
             if (!first) {
-                sb.append(',');
+                out.append(',');
             }
             first = false;
-            writeValue(sb, item);
+            writeElement(out, item, projection);
         }
 
-        sb.append(']');
+        out.append(']');
+    }
+
+    private static void writeMap(JsonSink out, Map<?, ?> map) {
+        writeMap(out, map, null);
     }
 
-    private static void writeMap(StringBuilder sb, Map<?, ?> map) {
-        sb.append('{');
+    /**
+     * @param projection applied to DataHelper values, or null for all fields
+     */
+    private static void writeMap(JsonSink out, Map<?, ?> map, JsonProjection projection) {
+        out.append('{');
         boolean first = true;
 
         for (Map.Entry<?, ?> entry : map.entrySet()) {
             if (!first) {
-                sb.append(',');
+                out.append(',');
             }
             first = false;
 
             // Write key (convert to string)
-            writeString(sb, String.valueOf(entry.getKey()));
-            sb.append(':');
+            writeString(out, String.valueOf(entry.getKey()));
+            out.append(':');
 
             // Write value
-            writeValue(sb, entry.getValue());
+            writeElement(out, entry.getValue(), projection);
+        }
+
+        out.append('}');
+    }
+
+    private static void writeElement(JsonSink out, Object value, JsonProjection projection) {
+        if (projection != null && value instanceof DataHelper_IR) {
+            writeDataHelper(out, (DataHelper_IR<?>) value, true, projection);
+        } else {
+            writeValue(out, value);
+        }
+    }
+
+    /**
+     * Escape sequence of each ASCII character that needs one (null otherwise): the short forms
+     * for quote, backslash and {@code \b \f \n \r \t}, {@code \\u00XX} for the remaining
+     * control characters and DEL. Built once from {@link #HEX_DIGITS}.
+     */
+    private static final String[] ESCAPES = new String[128];
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    static {
+        for (int c = 0; c < 0x20; c++) {
+            ESCAPES[c] = unicodeEscape(c);
         }
+        ESCAPES[0x7F] = unicodeEscape(0x7F);
+        ESCAPES['"'] = "\\\"";
+        ESCAPES['\\'] = "\\\\";
+        ESCAPES['\b'] = "\\b";
+        ESCAPES['\f'] = "\\f";
+        ESCAPES['\n'] = "\\n";
+        ESCAPES['\r'] = "\\r";
+        ESCAPES['\t'] = "\\t";
+    }
 
-        sb.append('}');
+    private static String unicodeEscape(int c) {
+        return new String(new char[]{'\\', 'u', '0', '0', HEX_DIGITS[c >> 4], HEX_DIGITS[c & 0xF]});
     }
 
-    private static void writeString(StringBuilder sb, String str) {
-        sb.append('"');
+    /**
+     * Write a quoted, escaped string. Runs of characters that need no escaping are appended with
+     * one bulk copy; only the characters found in {@link #ESCAPES} are replaced.
+     */
+    static void writeString(JsonSink out, String str) {
+        out.append('"');
 
-        for (int i = 0; i < str.length(); i++) {
+        int len = str.length();
+        int runStart = 0;
+        for (int i = 0; i < len; i++) {
             char c = str.charAt(i);
-            switch (c) {
-                case '"':
-                    sb.append("\\\"");
-                    break;
-                case '\\':
-                    sb.append("\\\\");
-                    break;
-                case '\b':
-                    sb.append("\\b");
-                    break;
-                case '\f':
-                    sb.append("\\f");
-                    break;
-                case '\n':
-                    sb.append("\\n");
-                    break;
-                case '\r':
-                    sb.append("\\r");
-                    break;
-                case '\t':
-                    sb.append("\\t");
-                    break;
-                default:
-                    if (c < 0x20 || c == 0x7F) {
-                        // Control characters - encode as unicode
-                        sb.append(String.format("\\u%04x", (int) c));
-                    } else {
-                        sb.append(c);
-                    }
+            String escape;
+            if (c < 128 && (escape = ESCAPES[c]) != null) {
+                if (i > runStart) {
+                    out.append(str, runStart, i);
+                }
+                out.append(escape);
+                runStart = i + 1;
             }
         }
+        if (runStart == 0) {
+            out.append(str);
+        } else if (runStart < len) {
+            out.append(str, runStart, len);
+        }
 
-        sb.append('"');
+        out.append('"');
     }
 
-    private static void writeNumber(StringBuilder sb, Number number) {
-        // Handle NaN and Infinity (not valid JSON, but handle gracefully)
-        if (number instanceof Double) {
-            double d = number.doubleValue();
-            if (Double.isNaN(d) || Double.isInfinite(d)) {
-                sb.append("null");
-                return;
-            }
+    private static void writeNumber(JsonSink out, Number number) {
+        if (number instanceof Integer || number instanceof Long
+                || number instanceof Short || number instanceof Byte) {
+            out.appendLong(number.longValue());
+        } else if (number instanceof Double) {
+            writeDouble(out, number.doubleValue());
         } else if (number instanceof Float) {
+            // Handle NaN and Infinity (not valid JSON, but handle gracefully)
             float f = number.floatValue();
-            if (Float.isNaN(f) || Float.isInfinite(f)) {
-                sb.append("null");
-                return;
-            }
+            out.append(Float.isNaN(f) || Float.isInfinite(f) ? "null" : number.toString());
+        } else {
+            // Write number as-is
+            out.append(number.toString());
         }
+    }
 
-        // Write number as-is
-        sb.append(number.toString());
+    private static void writeDouble(JsonSink out, double d) {
+        // Handle NaN and Infinity (not valid JSON, but handle gracefully)
+        if (Double.isNaN(d) || Double.isInfinite(d)) {
+            out.append("null");
+        } else {
+            out.appendDouble(d);
+        }
     }
 }
@@ -0,0 +1,270 @@
+package xyz.jphil.datahelper.json;
+
+import xyz.jphil.datahelper.json.MinimalJsonParser.JsonParseException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Newline-delimited JSON (JSON Lines): one JSON object per line.
+ *
+ * <p>{@link #writer} appends DTOs to a stream through a reused buffer. The {@code parallelRead}
+ * methods split a file (memory-mapped per chunk) or an in-memory region into line-aligned chunks
+ * and bind them on a {@link ForkJoinPool}, one task per chunk, so throughput scales with the
+ * number of cores. At most two chunks per pool thread are in flight:
+ * the next chunk is submitted only once the oldest has been delivered, so memory stays bounded
+ * by the window, not the input size.</p>
+ *
+ * <p>Delivery is either <em>ordered</em> — the action runs on the calling thread, in file order,
+ * while later chunks are still being parsed — or <em>unordered</em> — the action runs on the pool's
+ * worker threads as soon as each record is bound and must therefore be thread-safe.</p>
+ *
+ * <p>Example:</p>
+ * <pre>
+ * {@code
+ * try (var out = Ndjson.writer(Files.newOutputStream(path))) {
+ *     out.writeAll(people);
+ * }
+ * Ndjson.parallelRead(path, Person::new, repository::save, true);
+ * }
+ * </pre>
+ *
+ * <p>Blank lines are skipped and a trailing {@code '\r'} is ignored. A malformed line fails the
+ * whole read with a {@link JsonParseException} carrying the line's byte offset.</p>
+ */
+public final class Ndjson {
+
+    /** Chunks per pool thread, so uneven chunks still balance across workers. */
+    private static final int CHUNKS_PER_THREAD = 4;
+    /** Chunks submitted but not yet delivered, per pool thread. */
+    private static final int IN_FLIGHT_PER_THREAD = 2;
+    private static final int MIN_CHUNK_SIZE = 64 * 1024;
+    /** Upper bound of the chunk size aimed for, so a window of bound chunks stays small. */
+    private static final int MAX_TARGET_CHUNK_SIZE = 8 * 1024 * 1024;
+    /** Keeps each chunk mappable as a single {@link ByteBuffer}. */
+    private static final int MAX_CHUNK_SIZE = 1 << 30;
+
+    private Ndjson() {
+    }
+
+    // ========== Writing ==========
+
+    /**
+     * Open a writer appending JSON lines to a UTF-8 stream with a 64 KiB buffer.
+     */
+    public static NdjsonWriter writer(OutputStream out) {
+        return new NdjsonWriter(out, NdjsonWriter.DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Open a writer appending JSON lines to a UTF-8 stream with the given buffer size in bytes.
+     */
+    public static NdjsonWriter writer(OutputStream out, int bufferSize) {
+        return new NdjsonWriter(out, bufferSize);
+    }
+
+    // ========== Parallel Reading ==========
+
+    /**
+     * Parse an NDJSON file in parallel on the common pool.
+     *
+     * @see #parallelRead(Path, Supplier, Consumer, boolean, ForkJoinPool)
+     */
+    public static <E extends Json_I<E>> void parallelRead(Path file, Supplier<E> factory,
+                                                          Consumer<? super E> action, boolean ordered) throws IOException {
+        parallelRead(file, factory, action, ordered, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Parse an NDJSON file in parallel, memory-mapping one line-aligned chunk per task.
+     *
+     * @param file    UTF-8 NDJSON file
+     * @param factory creates a fresh DTO for every line
+     * @param action  receives each bound DTO
+     * @param ordered if true, {@code action} runs on the calling thread in file order; otherwise it
+     *                runs concurrently on worker threads in no particular order
+     * @param pool    the pool parsing the chunks
+     */
+    public static <E extends Json_I<E>> void parallelRead(Path file, Supplier<E> factory, Consumer<? super E> action,
+                                                          boolean ordered, ForkJoinPool pool) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long[] bounds;
+            try {
+                bounds = chunkBounds(size, pool.getParallelism(), pos -> nextLineStart(channel, pos, size));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            run(bounds, (start, end) -> channel.map(FileChannel.MapMode.READ_ONLY, start, end - start),
+                    factory, action, ordered, pool);
+        }
+    }
+
+    /**
+     * Parse an in-memory NDJSON region (e.g. a mapped segment) in parallel on the common pool.
+     *
+     * @see #parallelRead(ByteBuffer, Supplier, Consumer, boolean, ForkJoinPool)
+     */
+    public static <E extends Json_I<E>> void parallelRead(ByteBuffer region, Supplier<E> factory,
+                                                          Consumer<? super E> action, boolean ordered) {
+        parallelRead(region, factory, action, ordered, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Parse the bytes between the region's position and limit as UTF-8 NDJSON in parallel.
+     * The region's position, limit and contents are not modified.
+     */
+    public static <E extends Json_I<E>> void parallelRead(ByteBuffer region, Supplier<E> factory, Consumer<? super E> action,
+                                                          boolean ordered, ForkJoinPool pool) {
+        ByteBuffer source = region.slice();
+        int size = source.limit();
+        long[] bounds = chunkBounds(size, pool.getParallelism(), pos -> {
+            int p = (int) pos;
+            while (p < size && source.get(p) != '\n') p++;
+            return Math.min(p + 1L, size);
+        });
+        try {
+            run(bounds, (start, end) -> source.slice((int) start, (int) (end - start)), factory, action, ordered, pool);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);  // not reachable: slicing does no I/O
+        }
+    }
+
+    // ========== Chunking ==========
+
+    private interface LineAligner {
+        long nextLineStart(long pos);
+    }
+
+    private interface RegionMapper {
+        ByteBuffer map(long start, long end) throws IOException;
+    }
+
+    /**
+     * Split {@code [0, size)} into chunks of roughly equal size, each boundary moved forward to
+     * the start of the next line. Returns the boundaries (first is 0, last is size).
+     */
+    private static long[] chunkBounds(long size, int parallelism, LineAligner aligner) {
+        long target = Math.max(MIN_CHUNK_SIZE, size / ((long) Math.max(1, parallelism) * CHUNKS_PER_THREAD));
+        target = Math.min(target, MAX_TARGET_CHUNK_SIZE);
+        List<Long> bounds = new ArrayList<>();
+        bounds.add(0L);
+        long pos = 0;
+        while (pos < size) {
+            long next = pos + target >= size ? size : aligner.nextLineStart(pos + target);
+            if (next - pos > MAX_CHUNK_SIZE) {
+                throw new JsonParseException("NDJSON line at byte offset " + pos + " exceeds " + MAX_CHUNK_SIZE + " bytes");
+            }
+            bounds.add(next);
+            pos = next;
+        }
+        long[] result = new long[bounds.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = bounds.get(i);
+        }
+        return result;
+    }
+
+    /** Position just after the first {@code '\n'} at or after {@code pos}, or {@code size}. */
+    private static long nextLineStart(FileChannel channel, long pos, long size) {
+        ByteBuffer probe = ByteBuffer.allocate(4096);
+        try {
+            while (pos < size) {
+                probe.clear();
+                int n = channel.read(probe, pos);
+                if (n <= 0) break;
+                for (int i = 0; i < n; i++) {
+                    if (probe.get(i) == '\n') return pos + i + 1;
+                }
+                pos += n;
+            }
+            return size;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // ========== Parsing ==========
+
+    private static <E extends Json_I<E>> void run(long[] bounds, RegionMapper mapper, Supplier<E> factory,
+                                                  Consumer<? super E> action, boolean ordered,
+                                                  ForkJoinPool pool) throws IOException {
+        int chunks = bounds.length - 1;
+        int window = Math.max(1, pool.getParallelism() * IN_FLIGHT_PER_THREAD);
+        ArrayDeque<ForkJoinTask<List<E>>> tasks = new ArrayDeque<>(Math.min(window, chunks));
+        try {
+            int next = 0;
+            while (next < chunks || !tasks.isEmpty()) {
+                for (; next < chunks && tasks.size() < window; next++) {
+                    long start = bounds[next];
+                    ByteBuffer chunk = mapper.map(start, bounds[next + 1]);
+                    tasks.add(pool.submit(() -> parseChunk(chunk, start, factory, ordered ? null : action)));
+                }
+                List<E> records = tasks.removeFirst().join();
+                if (ordered) {
+                    records.forEach(action);
+                }
+            }
+        } catch (RuntimeException | Error | IOException e) {
+            for (ForkJoinTask<List<E>> task : tasks) {
+                task.cancel(false);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Bind every line of a chunk. With an {@code action} records are delivered immediately (on
+     * this worker thread) and an empty list is returned; without one they are collected in order.
+     */
+    private static <E extends Json_I<E>> List<E> parseChunk(ByteBuffer chunk, long chunkOffset, Supplier<E> factory,
+                                                            Consumer<? super E> action) {
+        List<E> records = action == null ? new ArrayList<>() : List.of();
+        byte[] line = new byte[256];
+        int limit = chunk.limit();
+        int pos = 0;
+        while (pos < limit) {
+            int end = pos;
+            boolean blank = true;
+            byte b;
+            while (end < limit && (b = chunk.get(end)) != '\n') {
+                if (b != ' ' && b != '\t' && b != '\r') blank = false;
+                end++;
+            }
+            if (!blank) {
+                int len = end - pos;
+                if (line.length < len) {
+                    line = new byte[Math.max(len, line.length * 2)];
+                }
+                chunk.get(pos, line, 0, len);
+                E record;
+                try {
+                    record = factory.get().fromJson(new String(line, 0, len, StandardCharsets.UTF_8));
+                } catch (JsonParseException e) {
+                    throw new JsonParseException("NDJSON line at byte offset " + (chunkOffset + pos)
+                            + ": " + e.getMessage(), e);
+                }
+                if (action == null) {
+                    records.add(record);
+                } else {
+                    action.accept(record);
+                }
+            }
+            pos = end + 1;
+        }
+        return records;
+    }
+}
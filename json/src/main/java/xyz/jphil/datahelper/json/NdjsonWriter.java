@@ -0,0 +1,88 @@
+package xyz.jphil.datahelper.json;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Writes DTOs as newline-delimited JSON (one {@code toJson} object per line) to a UTF-8
+ * output stream.
+ *
+ * <p>Each record is encoded straight into a reused UTF-8 byte buffer, which is handed to the
+ * stream only when full, on {@link #flush()} or on {@link #close()}; steady-state writing
+ * allocates nothing per record beyond what the DTO's values require. Not thread-safe. Obtain
+ * instances through {@link Ndjson#writer}.</p>
+ */
+public final class NdjsonWriter implements Closeable, Flushable {
+
+    static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    private final OutputStream out;
+    private final JsonSink.Utf8 sink;
+
+    NdjsonWriter(OutputStream out, int bufferSize) {
+        if (bufferSize < 16) {
+            throw new IllegalArgumentException("bufferSize must be at least 16, was " + bufferSize);
+        }
+        this.out = out;
+        this.sink = new JsonSink.Utf8(new byte[bufferSize], out::write);
+    }
+
+    /**
+     * Append one DTO as a JSON line (deep serialization, terminated by {@code '\n'}).
+     *
+     * @return this writer for chaining
+     */
+    public NdjsonWriter write(Json_IR<?> dto) throws IOException {
+        try {
+            MinimalJsonWriter.writeTo(sink, dto, true);
+            sink.append('\n');
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return this;
+    }
+
+    /**
+     * Append every DTO of the source as a JSON line, in iteration order.
+     *
+     * @return this writer for chaining
+     */
+    public NdjsonWriter writeAll(Iterable<? extends Json_IR<?>> dtos) throws IOException {
+        for (Json_IR<?> dto : dtos) {
+            write(dto);
+        }
+        return this;
+    }
+
+    /**
+     * Write buffered bytes to the stream and flush it.
+     */
+    @Override
+    public void flush() throws IOException {
+        drain();
+        out.flush();
+    }
+
+    /**
+     * Flush and close the underlying stream.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            drain();
+        } finally {
+            out.close();
+        }
+    }
+
+    private void drain() throws IOException {
+        try {
+            sink.finish();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package xyz.jphil.datahelper.msgpack;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Reusable heap {@link ByteBuffer}s for MessagePack messages, so a queue producer or consumer
+ * does not allocate a buffer per message.
+ *
+ * <p>{@link MsgPackWriter} encodes through buffers from here, and callers can use them for their
+ * own send and receive paths: encode into an acquired buffer with {@code toMsgPack(ByteBuffer)},
+ * or fill one from the transport and decode it with {@code fromMsgPack(ByteBuffer)}, then
+ * release it. Decoded DTOs never reference the buffer (strings and byte arrays are copied out of
+ * it), so it can be released as soon as {@code fromMsgPack} returns.</p>
+ *
+ * <p>Like {@code JsonBufferPool}, the pool is a fixed array of slots indexed by thread id, not a
+ * {@code ThreadLocal}, so it stays bounded with any number of (virtual) threads. Buffers larger
+ * than {@link #MAX_POOLED_CAPACITY} bytes and direct buffers are not retained.</p>
+ *
+ * <p>Example:</p>
+ * <pre>
+ * {@code
+ * ByteBuffer buffer = MsgPackBufferPool.acquire(4096);
+ * try {
+ *     channel.read(buffer);
+ *     buffer.flip();
+ *     Order order = new Order().fromMsgPack(buffer);
+ * } finally {
+ *     MsgPackBufferPool.release(buffer);
+ * }
+ * }
+ * </pre>
+ */
+public final class MsgPackBufferPool {
+
+    /** Buffers with a larger capacity (in bytes) are not returned to the pool. */
+    public static final int MAX_POOLED_CAPACITY = 1 << 20;
+
+    private static final int SLOT_MASK = slotCount() - 1;
+    private static final AtomicReferenceArray<ByteBuffer> SLOTS = new AtomicReferenceArray<>(SLOT_MASK + 1);
+
+    private MsgPackBufferPool() {
+    }
+
+    /**
+     * Take a cleared heap buffer with at least {@code capacity} bytes.
+     * Pass it to {@link #release} when done.
+     */
+    public static ByteBuffer acquire(int capacity) {
+        int slot = (int) Thread.currentThread().threadId() & SLOT_MASK;
+        ByteBuffer buffer = SLOTS.getAndSet(slot, null);
+        if (buffer == null) {
+            buffer = SLOTS.getAndSet((slot + 1) & SLOT_MASK, null);
+        }
+        if (buffer == null || buffer.capacity() < capacity) {
+            return ByteBuffer.allocate(capacity);  // a smaller pooled buffer is dropped
+        }
+        return buffer;
+    }
+
+    /**
+     * Return a buffer obtained from {@link #acquire} (or any heap buffer the caller owns). It is
+     * cleared and kept for reuse unless it is direct, a slice, larger than {@link #MAX_POOLED_CAPACITY}, or
+     * the thread's slot is occupied. The caller must not use it afterwards.
+     */
+    public static void release(ByteBuffer buffer) {
+        if (!buffer.hasArray() || buffer.arrayOffset() != 0 || buffer.capacity() > MAX_POOLED_CAPACITY) {
+            return;
+        }
+        buffer.clear();
+        SLOTS.compareAndSet((int) Thread.currentThread().threadId() & SLOT_MASK, null, buffer);
+    }
+
+    private static int slotCount() {
+        int wanted = Math.min(64, 2 * Runtime.getRuntime().availableProcessors());
+        return Integer.highestOneBit(wanted - 1) << 1;
+    }
+}
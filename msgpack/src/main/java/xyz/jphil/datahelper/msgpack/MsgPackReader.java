@@ -0,0 +1,576 @@
+package xyz.jphil.datahelper.msgpack;
+
+import xyz.jphil.datahelper.DataHelper_I;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static xyz.jphil.datahelper.FieldSchema.*;
+import static xyz.jphil.datahelper.msgpack.MsgPackSink.*;
+
+/**
+ * Decodes MessagePack maps straight into DataHelper objects, reading the input buffer in place.
+ *
+ * <p>Heap and direct {@link ByteBuffer}s are read where they are, never copied as a whole: map
+ * keys are matched to field ordinals with the generated {@code fieldOrdinal(CharSequence, int,
+ * int)} over the buffer, so ASCII keys cost no {@code String}; values of unknown keys are skipped
+ * by their length prefixes without being decoded; str and bin payloads go from the buffer
+ * straight into the resulting {@code String} or {@code byte[]} (for direct buffers, strings pass
+ * through a small reusable scratch array). Decoded objects never reference the input, so pooled
+ * buffers (see {@link MsgPackBufferPool}) can be reused right after a read.</p>
+ *
+ * <p>Integers and floats reach numeric fields through {@code setLongByOrdinal} /
+ * {@code setDoubleByOrdinal} without boxing; nested objects, lists and maps are created with the
+ * target's {@code create*} factories, as the JSON parser does; nil leaves a field untouched.
+ * Untyped values come back as {@code Long} (or {@code BigInteger} above {@code Long.MAX_VALUE}),
+ * {@code Double}, {@code String}, {@code byte[]} (bin, and the payload of extension values),
+ * {@code Boolean}, {@code ArrayList} and {@code LinkedHashMap}.</p>
+ */
+public final class MsgPackReader {
+
+    private final ByteBuffer in;
+    /** The backing array of a heap buffer (read directly), or null. */
+    private final byte[] array;
+    private final int arrayOffset;
+    private final int start;
+    private final int limit;
+    private int pos;
+    private byte[] scratch;
+    private final KeyView key = new KeyView();
+
+    private MsgPackReader(ByteBuffer in) {
+        this.in = in;
+        this.array = in.hasArray() ? in.array() : null;
+        this.arrayOffset = array == null ? 0 : in.arrayOffset();
+        this.start = in.position();
+        this.limit = in.limit();
+        this.pos = start;
+    }
+
+    /**
+     * Decode the MessagePack map in {@code bytes} into {@code target}.
+     *
+     * @return the target
+     * @throws MsgPackFormatException if the input is malformed or not a map
+     */
+    public static <T extends DataHelper_I<?>> T read(byte[] bytes, T target) {
+        return read(bytes, 0, bytes.length, target);
+    }
+
+    /**
+     * Decode the MessagePack map of {@code length} bytes at {@code offset} into {@code target}.
+     * Bytes after the map are ignored.
+     *
+     * @return the target
+     * @throws MsgPackFormatException if the input is malformed or not a map
+     */
+    public static <T extends DataHelper_I<?>> T read(byte[] bytes, int offset, int length, T target) {
+        new MsgPackReader(ByteBuffer.wrap(bytes, offset, length)).readObjectInto(target);
+        return target;
+    }
+
+    /**
+     * Decode the MessagePack map at the buffer's position into {@code target}, advancing the
+     * position past it (so consecutive messages can be read from one buffer). Heap and direct
+     * buffers are both read in place; the buffer's byte order is irrelevant.
+     *
+     * @return the target
+     * @throws MsgPackFormatException if the input is malformed or not a map
+     */
+    public static <T extends DataHelper_I<?>> T read(ByteBuffer buffer, T target) {
+        MsgPackReader reader = new MsgPackReader(buffer);
+        reader.readObjectInto(target);
+        buffer.position(reader.pos);
+        return target;
+    }
+
+    // ========== Binding ==========
+
+    private void readObjectInto(DataHelper_I<?> target) {
+        int format = peekUnsignedByte();
+        int size = mapSize(format);
+        if (size < 0) {
+            throw new MsgPackFormatException("Expected a map at offset " + (pos - start) + ", found " + describe(format));
+        }
+        pos += headerSize(format);
+        MsgPackSchema schema = MsgPackSchema.of(target);
+        for (int i = 0; i < size; i++) {
+            int ordinal = readKeyOrdinal(target);
+            if (ordinal < 0) {
+                skipValue();  // unknown key: skip without decoding
+            } else {
+                int at = pos;
+                try {
+                    readFieldInto(target, schema, ordinal);
+                } catch (ArithmeticException e) {
+                    throw new MsgPackFormatException("Number at offset " + (at - start) + " does not fit field '"
+                            + schema.names[ordinal] + "': " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /** Read a map key; the ordinal of the field it names, or -1. */
+    private int readKeyOrdinal(DataHelper_I<?> target) {
+        int format = peekUnsignedByte();
+        int length = strLength(format);
+        if (length < 0) {
+            Object other = readValue(null, null, false);
+            return other instanceof String s ? target.fieldOrdinal(s) : -1;
+        }
+        pos += headerSize(format);
+        require(length);
+        byte[] bytes;
+        int offset;
+        if (array != null) {
+            bytes = array;
+            offset = arrayOffset + pos;
+        } else {
+            bytes = scratch(length);
+            offset = 0;
+            in.get(pos, bytes, 0, length);
+        }
+        pos += length;
+        for (int i = offset, end = offset + length; i < end; i++) {
+            if (bytes[i] < 0) {
+                return target.fieldOrdinal(new String(bytes, offset, length, StandardCharsets.UTF_8));
+            }
+        }
+        key.bytes = bytes;
+        key.offset = offset;
+        key.length = length;
+        return target.fieldOrdinal(key, 0, length);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void readFieldInto(DataHelper_I<?> target, MsgPackSchema schema, int ordinal) {
+        int format = peekUnsignedByte();
+        if (format == NIL) {
+            pos++;  // nil leaves the field untouched
+            return;
+        }
+        String name = schema.names[ordinal];
+        byte kind = schema.kinds[ordinal];
+
+        if (isInteger(format) && schema.fields.isNumeric(ordinal)) {
+            int at = pos;
+            long value = readLong();
+            if (value < 0 && format == UINT64) {
+                throw new MsgPackFormatException("Integer at offset " + (at - start) + " does not fit field '" + name + "'");
+            }
+            target.setLongByOrdinal(ordinal, value);
+        } else if ((format == FLOAT32 || format == FLOAT64) && schema.fields.isNumeric(ordinal)) {
+            target.setDoubleByOrdinal(ordinal, readFloat());
+        } else if (isMap(format) && kind == OBJECT) {
+            DataHelper_I<?> nested = target.createNestedObject(name);
+            if (nested == null) {
+                throw new MsgPackFormatException("No DataHelper type to decode field '" + name + "' into");
+            }
+            readObjectInto(nested);
+            target.setPropertyByOrdinal(ordinal, nested);
+        } else if (isMap(format) && kind == MAP) {
+            Map<Object, Object> map = (Map<Object, Object>) target.createMapInstance(name);
+            readMapInto(target, name, map);
+            target.setPropertyByOrdinal(ordinal, map);
+        } else if (isArray(format) && kind == LIST) {
+            target.setPropertyByOrdinal(ordinal, readList(target, name));
+        } else {
+            int at = pos;
+            Class<?> type = schema.types[ordinal];
+            Object value = DataHelper_I.convertType(readValue(null, null, false), type);
+            if (value != null && type != null && !type.isInstance(value)) {
+                throw new MsgPackFormatException("Expected " + type.getSimpleName() + " for field '" + name
+                        + "' at offset " + (at - start) + ", found " + describe(format));
+            }
+            target.setPropertyByOrdinal(ordinal, value);
+        }
+    }
+
+    private List<Object> readList(DataHelper_I<?> owner, String fieldName) {
+        Class<?> elementType = owner.getListElementType(fieldName);
+        int format = peekUnsignedByte();
+        int size = arraySize(format);
+        pos += headerSize(format);
+        List<Object> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(DataHelper_I.convertType(readValue(owner, fieldName, false), elementType));
+        }
+        return list;
+    }
+
+    private void readMapInto(DataHelper_I<?> owner, String fieldName, Map<Object, Object> map) {
+        Class<?> keyType = owner.getMapKeyType(fieldName);
+        Class<?> valueType = owner.getMapValueType(fieldName);
+        int format = peekUnsignedByte();
+        int size = mapSize(format);
+        pos += headerSize(format);
+        for (int i = 0; i < size; i++) {
+            Object key = DataHelper_I.convertType(readValue(null, null, false), keyType);
+            map.put(key, DataHelper_I.convertType(readValue(owner, fieldName, true), valueType));
+        }
+    }
+
+    /**
+     * Decode any value. A map is bound into a DataHelper when {@code owner} has a list-element
+     * (or map-value) factory for {@code fieldName}, otherwise it becomes a {@code LinkedHashMap}.
+     */
+    private Object readValue(DataHelper_I<?> owner, String fieldName, boolean mapValue) {
+        int format = peekUnsignedByte();
+        if (isInteger(format)) {
+            return readInteger();
+        }
+        int length = strLength(format);
+        if (length >= 0) {
+            pos += headerSize(format);
+            require(length);
+            String value = decodeString(pos, length);
+            pos += length;
+            return value;
+        }
+        int size = mapSize(format);
+        if (size >= 0) {
+            DataHelper_I<?> element = owner == null ? null
+                    : mapValue ? (owner.isMapValueDataHelper(fieldName) ? owner.createMapValueElement(fieldName) : null)
+                    : owner.createListElement(fieldName);
+            if (element != null) {
+                readObjectInto(element);
+                return element;
+            }
+            pos += headerSize(format);
+            Map<Object, Object> map = new LinkedHashMap<>();
+            for (int i = 0; i < size; i++) {
+                map.put(readValue(null, null, false), readValue(null, null, false));
+            }
+            return map;
+        }
+        size = arraySize(format);
+        if (size >= 0) {
+            pos += headerSize(format);
+            List<Object> list = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                list.add(readValue(null, null, false));
+            }
+            return list;
+        }
+        switch (format) {
+            case NIL -> { pos++; return null; }
+            case FALSE -> { pos++; return Boolean.FALSE; }
+            case TRUE -> { pos++; return Boolean.TRUE; }
+            case FLOAT32, FLOAT64 -> { return readFloat(); }
+            case BIN8, BIN16, BIN32 -> {
+                pos++;
+                length = (int) readLength(format == BIN8 ? 1 : format == BIN16 ? 2 : 4);
+                return readBytes(length);
+            }
+            case FIXEXT1, FIXEXT2, FIXEXT4, FIXEXT8, FIXEXT16, EXT8, EXT16, EXT32 -> {
+                return readExtension();
+            }
+            default -> throw new MsgPackFormatException("Unsupported " + describe(format) + " at offset " + (pos - start));
+        }
+    }
+
+    private Object readExtension() {
+        int format = readUnsignedByte();
+        int length = switch (format) {
+            case FIXEXT1 -> 1;
+            case FIXEXT2 -> 2;
+            case FIXEXT4 -> 4;
+            case FIXEXT8 -> 8;
+            case FIXEXT16 -> 16;
+            default -> (int) readLength(format == EXT8 ? 1 : format == EXT16 ? 2 : 4);
+        };
+        skip(1);  // extension type: no extension maps to a field type, keep the payload
+        return readBytes(length);
+    }
+
+    // ========== Skipping ==========
+
+    /** Skip one value of any kind, allocating nothing. */
+    private void skipValue() {
+        int format = peekUnsignedByte();
+        int length = strLength(format);
+        if (length >= 0) {
+            pos += headerSize(format);
+            skip(length);
+            return;
+        }
+        int size = mapSize(format);
+        if (size >= 0) {
+            pos += headerSize(format);
+            for (int i = 0; i < size; i++) {
+                skipValue();
+                skipValue();
+            }
+            return;
+        }
+        size = arraySize(format);
+        if (size >= 0) {
+            pos += headerSize(format);
+            for (int i = 0; i < size; i++) {
+                skipValue();
+            }
+            return;
+        }
+        pos++;
+        switch (format) {
+            case BIN8, EXT8 -> skip(readLength(1) + (format == EXT8 ? 1 : 0));
+            case BIN16, EXT16 -> skip(readLength(2) + (format == EXT16 ? 1 : 0));
+            case BIN32, EXT32 -> skip(readLength(4) + (format == EXT32 ? 1 : 0));
+            case FIXEXT1 -> skip(2);
+            case FIXEXT2 -> skip(3);
+            case FIXEXT4 -> skip(5);
+            case FIXEXT8 -> skip(9);
+            case FIXEXT16 -> skip(17);
+            case UINT8, INT8 -> skip(1);
+            case UINT16, INT16 -> skip(2);
+            case UINT32, INT32, FLOAT32 -> skip(4);
+            case UINT64, INT64, FLOAT64 -> skip(8);
+            case NIL, FALSE, TRUE -> { }
+            default -> {
+                if (!isInteger(format)) {
+                    throw new MsgPackFormatException("Unsupported " + describe(format) + " at offset " + (pos - 1 - start));
+                }
+            }
+        }
+    }
+
+    // ========== Formats ==========
+
+    private static boolean isInteger(int format) {
+        return format < 0x80 || format >= 0xE0 || (format >= UINT8 && format <= INT64);
+    }
+
+    private static boolean isMap(int format) {
+        return (format & 0xF0) == 0x80 || format == MAP16 || format == MAP32;
+    }
+
+    private static boolean isArray(int format) {
+        return (format & 0xF0) == 0x90 || format == ARRAY16 || format == ARRAY32;
+    }
+
+    /** Payload length of a str from its format byte (reading the header), or -1 if not a str. */
+    private int strLength(int format) {
+        if ((format & 0xE0) == 0xA0) {
+            return format & 0x1F;
+        }
+        return switch (format) {
+            case STR8 -> (int) peekLength(1);
+            case STR16 -> (int) peekLength(2);
+            case STR32 -> (int) peekLength(4);
+            default -> -1;
+        };
+    }
+
+    /** Entry count of a map from its format byte (reading the header), or -1 if not a map. */
+    private int mapSize(int format) {
+        if ((format & 0xF0) == 0x80) {
+            return format & 0x0F;
+        }
+        return switch (format) {
+            case MAP16 -> bounded(peekLength(2), 2);
+            case MAP32 -> bounded(peekLength(4), 2);
+            default -> -1;
+        };
+    }
+
+    /** Element count of an array from its format byte (reading the header), or -1 if not an array. */
+    private int arraySize(int format) {
+        if ((format & 0xF0) == 0x90) {
+            return format & 0x0F;
+        }
+        return switch (format) {
+            case ARRAY16 -> bounded(peekLength(2), 1);
+            case ARRAY32 -> bounded(peekLength(4), 1);
+            default -> -1;
+        };
+    }
+
+    /** Bytes taken by the format byte and length field of a str, map or array header. */
+    private static int headerSize(int format) {
+        return switch (format) {
+            case STR8 -> 2;
+            case STR16, MAP16, ARRAY16 -> 3;
+            case STR32, MAP32, ARRAY32 -> 5;
+            default -> 1;
+        };
+    }
+
+    /**
+     * A count whose every entry takes at least {@code minBytesPerEntry} bytes, bounded by the
+     * remaining input so corrupt counts fail before anything is allocated for them.
+     */
+    private int bounded(long count, int minBytesPerEntry) {
+        if (count > (limit - pos) / minBytesPerEntry) {
+            throw new MsgPackFormatException("Count " + count + " at offset " + (pos - start)
+                    + " exceeds the " + (limit - pos) + " bytes left");
+        }
+        return (int) count;
+    }
+
+    // ========== Primitive Decoding ==========
+
+    private byte byteAt(int index) {
+        return array != null ? array[arrayOffset + index] : in.get(index);
+    }
+
+    private void require(long n) {
+        if (n > limit - pos) {
+            throw new MsgPackFormatException("Truncated input: " + n + " bytes needed at offset "
+                    + (pos - start) + ", " + (limit - pos) + " left");
+        }
+    }
+
+    private void skip(long n) {
+        require(n);
+        pos += (int) n;
+    }
+
+    private int readUnsignedByte() {
+        require(1);
+        return byteAt(pos++) & 0xFF;
+    }
+
+    private int peekUnsignedByte() {
+        require(1);
+        return byteAt(pos) & 0xFF;
+    }
+
+    /** A big-endian unsigned value of {@code bytes} bytes (8-byte values may come out negative). */
+    private long readBigEndian(int bytes) {
+        require(bytes);
+        long value = 0;
+        for (int i = 0; i < bytes; i++) {
+            value = (value << 8) | (byteAt(pos++) & 0xFF);
+        }
+        return value;
+    }
+
+    /** A length field of {@code bytes} bytes, bounded by the remaining input. */
+    private long readLength(int bytes) {
+        long length = readBigEndian(bytes);
+        if (length > limit - pos) {
+            throw new MsgPackFormatException("Length " + length + " at offset " + (pos - start)
+                    + " exceeds the " + (limit - pos) + " bytes left");
+        }
+        return length;
+    }
+
+    /** The length field of {@code bytes} bytes after the format byte at {@code pos}, not consumed. */
+    private long peekLength(int bytes) {
+        int at = pos;
+        pos++;
+        try {
+            return readLength(bytes);
+        } finally {
+            pos = at;
+        }
+    }
+
+    /** An integer as a {@code Long}, or a {@code BigInteger} for uint 64 above {@code Long.MAX_VALUE}. */
+    private Object readInteger() {
+        boolean uint64 = peekUnsignedByte() == UINT64;
+        long value = readLong();
+        return uint64 && value < 0 ? new BigInteger(Long.toUnsignedString(value)) : (Object) value;
+    }
+
+    /** An integer as a {@code long}; uint 64 values above {@code Long.MAX_VALUE} come out negative. */
+    private long readLong() {
+        int format = readUnsignedByte();
+        if (format < 0x80) {
+            return format;
+        }
+        if (format >= 0xE0) {
+            return (byte) format;
+        }
+        return switch (format) {
+            case UINT8 -> readBigEndian(1);
+            case UINT16 -> readBigEndian(2);
+            case UINT32 -> readBigEndian(4);
+            case INT8 -> (byte) readBigEndian(1);
+            case INT16 -> (short) readBigEndian(2);
+            case INT32 -> (int) readBigEndian(4);
+            default -> readBigEndian(8);  // UINT64, INT64
+        };
+    }
+
+    private double readFloat() {
+        int format = readUnsignedByte();
+        return format == FLOAT32
+                ? Float.intBitsToFloat((int) readBigEndian(4))
+                : Double.longBitsToDouble(readBigEndian(8));
+    }
+
+    private String decodeString(int from, int length) {
+        if (array != null) {
+            return new String(array, arrayOffset + from, length, StandardCharsets.UTF_8);
+        }
+        byte[] bytes = scratch(length);
+        in.get(from, bytes, 0, length);
+        return new String(bytes, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /** A reusable array of at least {@code length} bytes for copying out of a direct buffer. */
+    private byte[] scratch(int length) {
+        if (scratch == null || scratch.length < length) {
+            scratch = new byte[Math.max(64, length)];
+        }
+        return scratch;
+    }
+
+    private byte[] readBytes(int length) {
+        require(length);
+        byte[] value = new byte[length];
+        if (array != null) {
+            System.arraycopy(array, arrayOffset + pos, value, 0, length);
+        } else {
+            in.get(pos, value, 0, length);
+        }
+        pos += length;
+        return value;
+    }
+
+    private static String describe(int format) {
+        return "format byte 0x" + Integer.toHexString(format);
+    }
+
+    /** ASCII key bytes as chars, for {@code fieldOrdinal}. */
+    private static final class KeyView implements CharSequence {
+        byte[] bytes;
+        int offset;
+        int length;
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(int index) {
+            return (char) bytes[offset + index];
+        }
+
+        @Override
+        public CharSequence subSequence(int from, int to) {
+            return new String(bytes, offset + from, to - from, StandardCharsets.ISO_8859_1);
+        }
+
+        @Override
+        public String toString() {
+            return new String(bytes, offset, length, StandardCharsets.ISO_8859_1);
+        }
+    }
+
+    /**
+     * Exception thrown when MessagePack input is malformed or does not have the expected shape.
+     */
+    public static class MsgPackFormatException extends RuntimeException {
+        public MsgPackFormatException(String message) {
+            super(message);
+        }
+    }
+}
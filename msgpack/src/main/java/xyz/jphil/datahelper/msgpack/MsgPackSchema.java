@@ -0,0 +1,48 @@
+package xyz.jphil.datahelper.msgpack;
+
+import xyz.jphil.datahelper.DataHelper_IR;
+import xyz.jphil.datahelper.FieldSchema;
+
+import java.util.Arrays;
+
+/**
+ * Per-class facts the MessagePack writer and reader need, resolved once from the type's own
+ * metadata: the field kinds of {@link FieldSchema} and each field name pre-encoded as a
+ * MessagePack str.
+ */
+final class MsgPackSchema {
+
+    private static final FieldSchema.Cache<MsgPackSchema> SCHEMAS = new FieldSchema.Cache<>(MsgPackSchema::new);
+
+    final FieldSchema fields;
+    final byte[] kinds;
+    final String[] names;
+    final Class<?>[] types;
+    /** Field names as complete MessagePack strs (header and UTF-8 bytes). */
+    final byte[][] keys;
+
+    private MsgPackSchema(DataHelper_IR<?> dto) {
+        this.fields = FieldSchema.of(dto);
+        this.kinds = fields.kinds();
+        this.names = fields.names();
+        this.types = fields.types();
+        int count = kinds.length;
+        this.keys = new byte[count][];
+        for (int ordinal = 0; ordinal < count; ordinal++) {
+            keys[ordinal] = encodeKey(names[ordinal]);
+        }
+    }
+
+    /**
+     * The schema of {@code dto}'s class.
+     */
+    static MsgPackSchema of(DataHelper_IR<?> dto) {
+        return SCHEMAS.get(dto);
+    }
+
+    private static byte[] encodeKey(String name) {
+        MsgPackSink sink = new MsgPackSink(name.length() * 3 + 5);
+        sink.writeString(name);
+        return Arrays.copyOf(sink.buffer, sink.count);
+    }
+}
@@ -0,0 +1,272 @@
+package xyz.jphil.datahelper.msgpack;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * MessagePack values into a byte buffer that either grows (in-memory output) or is drained to an
+ * {@link OutputStream} whenever it fills (streaming output, constant memory).
+ *
+ * <p>Integers, strings, arrays and maps always use their smallest format, as the reference
+ * implementations do. I/O errors surface as {@link UncheckedIOException}; callers with an
+ * {@code IOException} contract unwrap them.</p>
+ */
+final class MsgPackSink {
+
+    static final int NIL = 0xC0;
+    static final int FALSE = 0xC2;
+    static final int TRUE = 0xC3;
+    static final int BIN8 = 0xC4;
+    static final int BIN16 = 0xC5;
+    static final int BIN32 = 0xC6;
+    static final int EXT8 = 0xC7;
+    static final int EXT16 = 0xC8;
+    static final int EXT32 = 0xC9;
+    static final int FLOAT32 = 0xCA;
+    static final int FLOAT64 = 0xCB;
+    static final int UINT8 = 0xCC;
+    static final int UINT16 = 0xCD;
+    static final int UINT32 = 0xCE;
+    static final int UINT64 = 0xCF;
+    static final int INT8 = 0xD0;
+    static final int INT16 = 0xD1;
+    static final int INT32 = 0xD2;
+    static final int INT64 = 0xD3;
+    static final int FIXEXT1 = 0xD4;
+    static final int FIXEXT2 = 0xD5;
+    static final int FIXEXT4 = 0xD6;
+    static final int FIXEXT8 = 0xD7;
+    static final int FIXEXT16 = 0xD8;
+    static final int STR8 = 0xD9;
+    static final int STR16 = 0xDA;
+    static final int STR32 = 0xDB;
+    static final int ARRAY16 = 0xDC;
+    static final int ARRAY32 = 0xDD;
+    static final int MAP16 = 0xDE;
+    static final int MAP32 = 0xDF;
+
+    byte[] buffer;
+    int count = 0;
+    private final OutputStream out;
+
+    /** A growing in-memory sink. */
+    MsgPackSink(int capacity) {
+        this(new byte[capacity], null);
+    }
+
+    /** A sink over {@code buffer}: growing if {@code out} is null, else drained to {@code out}. */
+    MsgPackSink(byte[] buffer, OutputStream out) {
+        this.buffer = buffer;
+        this.out = out;
+    }
+
+    /** Make room for {@code n} more bytes ({@code n} at most the buffer size when streaming). */
+    private void ensure(int n) {
+        if (count + n > buffer.length) {
+            if (out != null) {
+                flush();
+            } else {
+                buffer = Arrays.copyOf(buffer, Math.max(count + n, buffer.length * 2));
+            }
+        }
+    }
+
+    /** Hand the buffered bytes to the stream (streaming sinks only). */
+    void flush() {
+        if (count > 0 && out != null) {
+            try {
+                out.write(buffer, 0, count);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            count = 0;
+        }
+    }
+
+    void writeByte(int b) {
+        ensure(1);
+        buffer[count++] = (byte) b;
+    }
+
+    /** A format byte followed by a big-endian value of {@code bytes} bytes. */
+    private void writeTyped(int format, long value, int bytes) {
+        ensure(1 + bytes);
+        byte[] buf = buffer;
+        buf[count++] = (byte) format;
+        for (int shift = (bytes - 1) * 8; shift >= 0; shift -= 8) {
+            buf[count++] = (byte) (value >> shift);
+        }
+    }
+
+    /** An integer in its smallest format (fixint, then uint for positives, int for negatives). */
+    void writeLong(long value) {
+        if (value >= -32 && value < 128) {
+            writeByte((int) value);  // positive / negative fixint
+        } else if (value >= 0) {
+            if (value <= 0xFF) {
+                writeTyped(UINT8, value, 1);
+            } else if (value <= 0xFFFF) {
+                writeTyped(UINT16, value, 2);
+            } else if (value <= 0xFFFFFFFFL) {
+                writeTyped(UINT32, value, 4);
+            } else {
+                writeTyped(UINT64, value, 8);
+            }
+        } else if (value >= Byte.MIN_VALUE) {
+            writeTyped(INT8, value, 1);
+        } else if (value >= Short.MIN_VALUE) {
+            writeTyped(INT16, value, 2);
+        } else if (value >= Integer.MIN_VALUE) {
+            writeTyped(INT32, value, 4);
+        } else {
+            writeTyped(INT64, value, 8);
+        }
+    }
+
+    /** An unsigned 64-bit integer ({@code value} read as unsigned). */
+    void writeUnsignedLong(long value) {
+        if (value >= 0) {
+            writeLong(value);
+        } else {
+            writeTyped(UINT64, value, 8);
+        }
+    }
+
+    void writeDouble(double value) {
+        writeTyped(FLOAT64, Double.doubleToRawLongBits(value), 8);
+    }
+
+    void writeFloat(float value) {
+        writeTyped(FLOAT32, Float.floatToRawIntBits(value), 4);
+    }
+
+    void writeArrayHeader(int size) {
+        if (size < 16) {
+            writeByte(0x90 | size);
+        } else if (size <= 0xFFFF) {
+            writeTyped(ARRAY16, size, 2);
+        } else {
+            writeTyped(ARRAY32, size, 4);
+        }
+    }
+
+    void writeMapHeader(int size) {
+        if (size < 16) {
+            writeByte(0x80 | size);
+        } else if (size <= 0xFFFF) {
+            writeTyped(MAP16, size, 2);
+        } else {
+            writeTyped(MAP32, size, 4);
+        }
+    }
+
+    private void writeStringHeader(int length) {
+        if (length < 32) {
+            writeByte(0xA0 | length);
+        } else if (length <= 0xFF) {
+            writeTyped(STR8, length, 1);
+        } else if (length <= 0xFFFF) {
+            writeTyped(STR16, length, 2);
+        } else {
+            writeTyped(STR32, length, 4);
+        }
+    }
+
+    /** Raw bytes (already encoded values, or the payload of a str/bin). */
+    void writeRaw(byte[] bytes, int offset, int length) {
+        if (out != null && length > buffer.length - count) {
+            flush();
+            if (length > buffer.length) {
+                try {
+                    out.write(bytes, offset, length);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return;
+            }
+        }
+        ensure(length);
+        System.arraycopy(bytes, offset, buffer, count, length);
+        count += length;
+    }
+
+    void writeBinary(byte[] bytes) {
+        int length = bytes.length;
+        if (length <= 0xFF) {
+            writeTyped(BIN8, length, 1);
+        } else if (length <= 0xFFFF) {
+            writeTyped(BIN16, length, 2);
+        } else {
+            writeTyped(BIN32, length, 4);
+        }
+        writeRaw(bytes, 0, length);
+    }
+
+    /**
+     * A str. An unpaired surrogate is encoded as {@code '?'}, as
+     * {@code String.getBytes(UTF_8)} does.
+     */
+    void writeString(String s) {
+        int length = s.length();
+        int utf8Length = utf8Length(s, length);
+        writeStringHeader(utf8Length);
+        if (out != null && utf8Length > buffer.length) {
+            byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            writeRaw(bytes, 0, bytes.length);
+            return;
+        }
+        ensure(utf8Length);
+        byte[] buf = buffer;
+        int pos = count;
+        if (utf8Length == length) {
+            for (int i = 0; i < length; i++) {
+                buf[pos++] = (byte) s.charAt(i);
+            }
+            count = pos;
+            return;
+        }
+        for (int i = 0; i < length; i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                buf[pos++] = (byte) c;
+            } else if (c < 0x800) {
+                buf[pos++] = (byte) (0xC0 | (c >> 6));
+                buf[pos++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(s.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, s.charAt(++i));
+                buf[pos++] = (byte) (0xF0 | (cp >> 18));
+                buf[pos++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                buf[pos++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                buf[pos++] = (byte) (0x80 | (cp & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                buf[pos++] = '?';
+            } else {
+                buf[pos++] = (byte) (0xE0 | (c >> 12));
+                buf[pos++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buf[pos++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        count = pos;
+    }
+
+    private static int utf8Length(String s, int length) {
+        int bytes = length;
+        for (int i = 0; i < length; i++) {
+            char c = s.charAt(i);
+            if (c >= 0x80) {
+                if (c < 0x800) {
+                    bytes += 1;
+                } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(s.charAt(i + 1))) {
+                    bytes += 2;  // 4 bytes for the pair
+                    i++;
+                } else if (!Character.isSurrogate(c)) {
+                    bytes += 2;
+                }
+            }
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,169 @@
+package xyz.jphil.datahelper.msgpack;
+
+import xyz.jphil.datahelper.DataHelper_IR;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static xyz.jphil.datahelper.FieldSchema.*;
+import static xyz.jphil.datahelper.msgpack.MsgPackSink.*;
+
+/**
+ * MessagePack writer for DataHelper objects, straight from the ordinal accessors with no
+ * intermediate tree.
+ *
+ * <p>A DataHelper is a map from field name (str) to value, with null fields omitted, like
+ * {@code toJson()}, so any MessagePack implementation can read it; field names are encoded once
+ * per class and copied. Values map to MessagePack as:</p>
+ * <ul>
+ *   <li>integers: the smallest int / uint format; {@code BigInteger}: uint 64 when it fits</li>
+ *   <li>{@code double} / {@code Double}: float 64; {@code Float}: float 32</li>
+ *   <li>String: str; {@code byte[]}: bin; Boolean / null: bool / nil</li>
+ *   <li>nested DataHelpers: maps, recursively; List: array; Map: map with its keys as values</li>
+ *   <li>anything else: str of {@code toString()}, as the JSON writer does</li>
+ * </ul>
+ *
+ * <p>Encode buffers come from {@link MsgPackBufferPool}.</p>
+ *
+ * <p><strong>Not supported:</strong> circular references (will cause StackOverflowError).</p>
+ */
+public final class MsgPackWriter {
+
+    private static final int INITIAL_CAPACITY = 256;
+    private static final int STREAM_BUFFER_SIZE = 8192;
+
+    private MsgPackWriter() {
+    }
+
+    /**
+     * Encode a DataHelper object (deep).
+     */
+    public static byte[] write(DataHelper_IR<?> dataHelper) {
+        MsgPackSink out = pooledSink(INITIAL_CAPACITY, null);
+        try {
+            writeObject(out, dataHelper);
+            return Arrays.copyOf(out.buffer, out.count);
+        } finally {
+            MsgPackBufferPool.release(ByteBuffer.wrap(out.buffer));
+        }
+    }
+
+    /**
+     * Encode a DataHelper object (deep) to a stream through a fixed-size buffer, so output of any
+     * size needs constant memory. The stream is neither flushed nor closed.
+     */
+    public static void write(DataHelper_IR<?> dataHelper, OutputStream target) throws IOException {
+        MsgPackSink out = pooledSink(STREAM_BUFFER_SIZE, target);
+        try {
+            writeObject(out, dataHelper);
+            out.flush();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            MsgPackBufferPool.release(ByteBuffer.wrap(out.buffer));
+        }
+    }
+
+    /**
+     * Encode a DataHelper object (deep) into a buffer, starting at its position.
+     *
+     * @return the same buffer, positioned after the encoded message
+     * @throws java.nio.BufferOverflowException if the message does not fit (nothing is written then)
+     */
+    public static ByteBuffer write(DataHelper_IR<?> dataHelper, ByteBuffer target) {
+        MsgPackSink out = pooledSink(INITIAL_CAPACITY, null);
+        try {
+            writeObject(out, dataHelper);
+            return target.put(out.buffer, 0, out.count);
+        } finally {
+            MsgPackBufferPool.release(ByteBuffer.wrap(out.buffer));
+        }
+    }
+
+    private static MsgPackSink pooledSink(int capacity, OutputStream target) {
+        return new MsgPackSink(MsgPackBufferPool.acquire(capacity).array(), target);
+    }
+
+    // ========== Internal Writing Methods ==========
+
+    private static void writeObject(MsgPackSink out, DataHelper_IR<?> dataHelper) {
+        MsgPackSchema schema = MsgPackSchema.of(dataHelper);
+        byte[] kinds = schema.kinds;
+        int count = kinds.length;
+
+        // Maps carry their size up front: count the members first
+        int present = 0;
+        for (int ordinal = 0; ordinal < count; ordinal++) {
+            byte kind = kinds[ordinal];
+            if (kind == PRIMITIVE_LONG || kind == PRIMITIVE_DOUBLE || dataHelper.getPropertyByOrdinal(ordinal) != null) {
+                present++;
+            }
+        }
+        out.writeMapHeader(present);
+
+        for (int ordinal = 0; ordinal < count; ordinal++) {
+            byte[] key = schema.keys[ordinal];
+            switch (kinds[ordinal]) {
+                case PRIMITIVE_LONG -> {
+                    out.writeRaw(key, 0, key.length);
+                    out.writeLong(dataHelper.getLongByOrdinal(ordinal));
+                }
+                case PRIMITIVE_DOUBLE -> {
+                    out.writeRaw(key, 0, key.length);
+                    out.writeDouble(dataHelper.getDoubleByOrdinal(ordinal));
+                }
+                default -> {
+                    Object value = dataHelper.getPropertyByOrdinal(ordinal);
+                    if (value != null) {
+                        out.writeRaw(key, 0, key.length);
+                        writeValue(out, value);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void writeValue(MsgPackSink out, Object value) {
+        if (value == null) {
+            out.writeByte(NIL);
+        } else if (value instanceof String s) {
+            out.writeString(s);
+        } else if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            out.writeLong(((Number) value).longValue());
+        } else if (value instanceof Double d) {
+            out.writeDouble(d);
+        } else if (value instanceof Float f) {
+            out.writeFloat(f);
+        } else if (value instanceof Boolean b) {
+            out.writeByte(b ? TRUE : FALSE);
+        } else if (value instanceof DataHelper_IR<?> nested) {
+            writeObject(out, nested);
+        } else if (value instanceof List<?> list) {
+            out.writeArrayHeader(list.size());
+            for (Object item : list) {
+                writeValue(out, item);
+            }
+        } else if (value instanceof Map<?, ?> map) {
+            out.writeMapHeader(map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                writeValue(out, entry.getKey());
+                writeValue(out, entry.getValue());
+            }
+        } else if (value instanceof byte[] bytes) {
+            out.writeBinary(bytes);
+        } else if (value instanceof BigInteger big && big.signum() >= 0 && big.bitLength() <= 64) {
+            out.writeUnsignedLong(big.longValue());
+        } else if (value instanceof BigInteger big && big.bitLength() < 64) {
+            out.writeLong(big.longValue());
+        } else {
+            // Fallback: toString(), like the JSON writer (also BigIntegers beyond 64 bits)
+            out.writeString(value.toString());
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package xyz.jphil.datahelper.msgpack;
+
+import xyz.jphil.datahelper.DataHelper_I;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Write side of the MessagePack trait: decoding ({@code fromMsgPack}).
+ *
+ * <p>Extends {@link MsgPack_IR} (which carries {@code toMsgPack}) and {@link DataHelper_I}, the
+ * same way {@code Json_I} pairs with {@code Json_IR}. Records are not decoded into directly:
+ * decode into the mutable form, then call {@code toRecord()}.</p>
+ *
+ * <p><strong>Usage:</strong></p>
+ * <pre>{@code
+ * @Data
+ * public final class Person extends Person_A implements MsgPack_I<Person> {
+ *     String name;
+ *     int age;
+ * }
+ *
+ * byte[] bytes = person.toMsgPack();
+ * Person copy = new Person().fromMsgPack(bytes);
+ * }</pre>
+ *
+ * @param <E> the implementing type (self-reference for fluent API)
+ */
+public interface MsgPack_I<E extends DataHelper_I<E>> extends MsgPack_IR<E>, DataHelper_I<E> {
+
+    /**
+     * Populate this DTO from a MessagePack map. Unknown keys are skipped.
+     *
+     * @param bytes the encoded map
+     * @return this instance for chaining
+     * @throws MsgPackReader.MsgPackFormatException if the bytes are malformed or not a map
+     */
+    @SuppressWarnings("unchecked")
+    default E fromMsgPack(byte[] bytes) {
+        MsgPackReader.read(bytes, this);
+        return (E) this;
+    }
+
+    /**
+     * Populate this DTO from the MessagePack map at {@code offset}.
+     *
+     * @param bytes holds the encoded map
+     * @param offset start of the map
+     * @param length bytes available from {@code offset}
+     * @return this instance for chaining
+     * @throws MsgPackReader.MsgPackFormatException if the bytes are malformed or not a map
+     */
+    @SuppressWarnings("unchecked")
+    default E fromMsgPack(byte[] bytes, int offset, int length) {
+        MsgPackReader.read(bytes, offset, length, this);
+        return (E) this;
+    }
+
+    /**
+     * Populate this DTO from the MessagePack map at the buffer's position, advancing the
+     * position past it. Heap and direct buffers are read in place, and the DTO keeps no
+     * reference to the buffer, so a pooled buffer can be released right after.
+     *
+     * @param buffer holds the encoded map
+     * @return this instance for chaining
+     * @throws MsgPackReader.MsgPackFormatException if the bytes are malformed or not a map
+     */
+    @SuppressWarnings("unchecked")
+    default E fromMsgPack(ByteBuffer buffer) {
+        MsgPackReader.read(buffer, this);
+        return (E) this;
+    }
+}
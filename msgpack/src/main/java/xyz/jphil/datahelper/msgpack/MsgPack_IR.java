@@ -0,0 +1,52 @@
+package xyz.jphil.datahelper.msgpack;
+
+import xyz.jphil.datahelper.DataHelper_IR;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Read side of the MessagePack trait: encoding ({@code toMsgPack}).
+ *
+ * <p>MessagePack maps keyed by field name, like {@code toJson()}, so the output is readable by
+ * any standard MessagePack implementation and tolerates added or removed fields. Like
+ * {@code Json_IR} it can be mixed into the readable {@code _IR} interface via
+ * {@code superInterfaces}, so immutable {@code _R} records encode as well; the processor routes
+ * the {@link MsgPack_I} write half onto the mutable type.</p>
+ *
+ * @param <E> the implementing type (self-reference for fluent API)
+ */
+public interface MsgPack_IR<E extends DataHelper_IR<E>> extends DataHelper_IR<E> {
+
+    /**
+     * Encode this DTO (deep).
+     *
+     * @return the encoded bytes
+     */
+    default byte[] toMsgPack() {
+        return MsgPackWriter.write(this);
+    }
+
+    /**
+     * Encode this DTO (deep) to a stream in constant memory. The stream is neither flushed nor
+     * closed.
+     *
+     * @param out receives the encoded bytes
+     */
+    default void toMsgPack(OutputStream out) throws IOException {
+        MsgPackWriter.write(this, out);
+    }
+
+    /**
+     * Encode this DTO (deep) into a buffer at its position, e.g. one taken from
+     * {@link MsgPackBufferPool}.
+     *
+     * @param target the destination buffer
+     * @return the same buffer, positioned after the encoded bytes
+     * @throws java.nio.BufferOverflowException if the encoding does not fit
+     */
+    default ByteBuffer toMsgPack(ByteBuffer target) {
+        return MsgPackWriter.write(this, target);
+    }
+}
@@ -2,15 +2,21 @@ package xyz.jphil.datahelper;
 
 import com.google.auto.service.AutoService;
 import com.palantir.javapoet.*;
+import xyz.jphil.datahelper.processor.util.ExternalizableGenerator;
 import xyz.jphil.datahelper.processor.util.FieldAnalyzer;
+import xyz.jphil.datahelper.processor.util.FieldIdLock;
 import xyz.jphil.datahelper.processor.util.FieldInfo;
+import xyz.jphil.datahelper.processor.util.JsonCodecGenerator;
 import xyz.jphil.datahelper.processor.util.ProcessorUtils;
 import xyz.jphil.datahelper.processor.util.ProjectionGenerator;
+import xyz.jphil.datahelper.processor.util.ProtoCodecGenerator;
 
 import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.ProcessingEnvironment;
 import javax.annotation.processing.Processor;
 import javax.annotation.processing.RoundEnvironment;
 import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
 import javax.annotation.processing.SupportedSourceVersion;
 import javax.lang.model.SourceVersion;
 import javax.lang.model.element.Element;
@@ -43,47 +49,80 @@ import java.util.Set;
  */
 @AutoService(Processor.class)
 @SupportedAnnotationTypes("xyz.jphil.datahelper.DataHelper")
+@SupportedOptions({JsonCodecGenerator.OPTION, ProtoCodecGenerator.OPTION, FieldIdLock.OPTION,
+        ExternalizableGenerator.OPTION})
 @SupportedSourceVersion(SourceVersion.RELEASE_21)
 public class DataHelperProcessor extends AbstractProcessor {
 
+    /** Whether {@code Foo_JsonCodec}s are generated ({@code -Adatahelper.jsonCodec=true}). */
+    private boolean jsonCodec;
+    /** Whether {@code Foo_ProtoCodec}s and {@code Foo.proto}s are generated (protobuf module present). */
+    private boolean protoCodec;
+    /** Whether {@code Foo_I} extends {@code Externalizable} ({@code -Adatahelper.externalizable=true}). */
+    private boolean externalizable;
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        jsonCodec = JsonCodecGenerator.isEnabled(processingEnv);
+        protoCodec = ProtoCodecGenerator.isEnabled(processingEnv);
+        externalizable = ExternalizableGenerator.isEnabled(processingEnv);
+    }
+
     @Override
     public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        Set<String> codecTypes = jsonCodec ? JsonCodecGenerator.codecTypes(processingEnv, roundEnv) : Set.of();
+        FieldIdLock lock = FieldIdLock.load(processingEnv);
         for (TypeElement annotation : annotations) {
             for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
                 if (element.getKind() == ElementKind.CLASS) {
                     processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
                             "Processing @DataHelper on " + element);
-                    generateProjection((TypeElement) element);
+                    generateProjection((TypeElement) element, codecTypes, lock);
                 }
             }
         }
+        if (lock != null) {
+            lock.save(processingEnv);
+        }
         return true;
     }
 
-    private void generateProjection(TypeElement element) {
+    private void generateProjection(TypeElement element, Set<String> codecTypes, FieldIdLock lock) {
         String packageName = processingEnv.getElementUtils().getPackageOf(element).toString();
         String className = element.getSimpleName().toString();
 
         ProcessorUtils utils = new ProcessorUtils(processingEnv);
-        FieldAnalyzer analyzer = new FieldAnalyzer(processingEnv, utils);
+        FieldAnalyzer analyzer = new FieldAnalyzer(processingEnv, utils, lock);
 
         List<FieldInfo> fields = analyzer.analyzeFields(element);
         if (fields == null) {
             return; // Validation errors found
         }
+        if (externalizable && !ExternalizableGenerator.requireNoArgConstructor(processingEnv, element)) {
+            return;
+        }
 
         // Split declared superInterfaces (traits) across the read/write interfaces by convention.
         List<TypeName> irSupers = new ArrayList<>();
         List<TypeName> iSupers = new ArrayList<>();
         wireSuperInterfaces(element, irSupers, iSupers);
 
-        TypeSpec ir = ProjectionGenerator.buildReadableInterface(packageName, className, fields, utils, irSupers);
-        TypeSpec i  = ProjectionGenerator.buildWritableInterface(packageName, className, fields, utils, iSupers);
+        TypeSpec ir = ProjectionGenerator.buildReadableInterface(packageName, className, fields, utils, irSupers, jsonCodec, protoCodec);
+        TypeSpec i  = ProjectionGenerator.buildWritableInterface(packageName, className, fields, utils, iSupers, externalizable);
         TypeSpec r  = ProjectionGenerator.buildRecord(packageName, className, fields);
 
         writeType(packageName, ir, className + "_IR");
         writeType(packageName, i,  className + "_I");
         writeType(packageName, r,  className + "_R");
+        if (jsonCodec) {
+            writeType(packageName, JsonCodecGenerator.buildCodec(packageName, className, fields, codecTypes),
+                    className + "_JsonCodec");
+        }
+        if (protoCodec) {
+            writeType(packageName, ProtoCodecGenerator.buildCodec(packageName, className, fields), className + "_ProtoCodec");
+            ProtoCodecGenerator.writeProto(processingEnv, element, packageName, className, fields);
+        }
     }
 
     /**
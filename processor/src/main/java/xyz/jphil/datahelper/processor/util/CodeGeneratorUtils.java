@@ -8,8 +8,13 @@ import xyz.jphil.datahelper.ListDataField;
 import xyz.jphil.datahelper.MapDataField;
 
 import javax.lang.model.element.Modifier;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 
 /**
  * Utility class for generating common JavaPoet code patterns.
@@ -191,6 +196,77 @@ public class CodeGeneratorUtils {
         builder.addField(fieldsListField);
     }
 
+    /**
+     * Generate immutable FIELD_NAMES list: List<String>, in FIELDS order.
+     *
+     * <p>Backs {@code fieldNames()} so it returns a shared constant instead of re-deriving the
+     * list from FIELDS on every call; the index of a name is the field's ordinal.</p>
+     */
+    public static void addFieldNamesList(TypeSpec.Builder builder, List<FieldInfo> fields) {
+        CodeBlock.Builder init = CodeBlock.builder().add("$T.of(", List.class);
+        for (int i = 0; i < fields.size(); i++) {
+            if (i > 0) {
+                init.add(", ");
+            }
+            init.add("$S", fields.get(i).name);
+        }
+        init.add(")");
+
+        builder.addField(FieldSpec.builder(
+                        ParameterizedTypeName.get(ClassName.get(List.class), ClassName.get(String.class)),
+                        "FIELD_NAMES", Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+                .initializer(init.build())
+                .build());
+    }
+
+    /**
+     * Add the FIELD_NAME_TOKENS constant: the {@code "name":} token of every field in ordinal
+     * order, quoted and escaped here so writers only bulk-copy it.
+     */
+    public static void addFieldNameTokens(TypeSpec.Builder builder, List<FieldInfo> fields) {
+        CodeBlock.Builder init = CodeBlock.builder().add("new $T(", ClassName.get("xyz.jphil.datahelper", "FieldNameTokens"));
+        for (int i = 0; i < fields.size(); i++) {
+            if (i > 0) {
+                init.add(", ");
+            }
+            init.add("$S", jsonQuote(fields.get(i).name) + ":");
+        }
+        init.add(")");
+
+        builder.addField(FieldSpec.builder(ClassName.get("xyz.jphil.datahelper", "FieldNameTokens"),
+                        "FIELD_NAME_TOKENS", Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+                .initializer(init.build())
+                .build());
+    }
+
+    /**
+     * Generate fieldNameTokens() method (returns the FIELD_NAME_TOKENS constant).
+     */
+    public static MethodSpec createFieldNameTokensMethod(boolean isInterface) {
+        return MethodSpec.methodBuilder("fieldNameTokens")
+                .addModifiers(implModifiers(isInterface))
+                .addAnnotation(Override.class)
+                .returns(ClassName.get("xyz.jphil.datahelper", "FieldNameTokens"))
+                .addStatement("return FIELD_NAME_TOKENS")
+                .build();
+    }
+
+    /** JSON string literal of a name (quotes, backslashes and control characters escaped). */
+    private static String jsonQuote(String name) {
+        StringBuilder sb = new StringBuilder(name.length() + 2).append('"');
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c == '"' || c == '\\') {
+                sb.append('\\').append(c);
+            } else if (c < 0x20) {
+                sb.append(String.format("\\u%04x", (int) c));
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.append('"').toString();
+    }
+
     /**
      * Generate getPropertyByName(String) method using switch expression.
      */
@@ -239,23 +315,359 @@ public class CodeGeneratorUtils {
         if (!fields.isEmpty()) {
             builder.beginControlFlow("switch (propertyName)");
             for (FieldInfo field : fields) {
-                String setterName = "set" + ProcessorUtils.capitalize(field.name);
-                // Use convertType for primitives and wrapper types
-                if (field.type.isPrimitive() || ProcessorUtils.isWrapperType(field.type)) {
-                    TypeName wrapperType = field.type.isPrimitive() ? field.type.box() : field.type;
-                    builder.addStatement("case $S -> $N(($T) $T.convertType(value, $T.class))",
-                            field.name, setterName, field.type,
-                            ClassName.get("xyz.jphil.datahelper", "DataHelper_I"), wrapperType);
-                } else {
-                    builder.addStatement("case $S -> $N(($T) value)", field.name, setterName, field.type);
-                }
+                builder.addStatement("case $S -> $L", field.name, setterCall(field));
+            }
+            builder.endControlFlow();
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Setter invocation for a {@code value} of type Object.
+     * Uses convertType for primitives and wrapper types.
+     */
+    private static CodeBlock setterCall(FieldInfo field) {
+        String setterName = "set" + ProcessorUtils.capitalize(field.name);
+        if (field.type.isPrimitive() || ProcessorUtils.isWrapperType(field.type)) {
+            TypeName wrapperType = field.type.isPrimitive() ? field.type.box() : field.type;
+            return CodeBlock.of("$N(($T) $T.convertType(value, $T.class))",
+                    setterName, field.type,
+                    ClassName.get("xyz.jphil.datahelper", "DataHelper_I"), wrapperType);
+        }
+        return CodeBlock.of("$N(($T) value)", setterName, field.type);
+    }
+
+    /**
+     * Generate getPropertyByOrdinal(int) method using switch expression.
+     */
+    public static MethodSpec createGetPropertyByOrdinalMethod(List<FieldInfo> fields, boolean isInterface) {
+        MethodSpec.Builder builder = MethodSpec.methodBuilder("getPropertyByOrdinal")
+                .addModifiers(implModifiers(isInterface))
+                .addAnnotation(Override.class)
+                .addParameter(int.class, "ordinal")
+                .returns(Object.class);
+
+        if (fields.isEmpty()) {
+            builder.addStatement("return null");
+        } else {
+            CodeBlock.Builder switchBlock = CodeBlock.builder();
+            switchBlock.add("return switch (ordinal) {\n");
+            switchBlock.indent();
+            for (int i = 0; i < fields.size(); i++) {
+                FieldInfo field = fields.get(i);
+                String prefix = ProcessorUtils.isBooleanType(field.type) ? "is" : "get";
+                switchBlock.add("case $L -> $N();\n", i, prefix + ProcessorUtils.capitalize(field.name));
+            }
+            switchBlock.add("default -> null;\n");
+            switchBlock.unindent();
+            switchBlock.add("};");
+            builder.addCode(switchBlock.build());
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Generate setPropertyByOrdinal(int, Object) method using switch statement.
+     */
+    public static MethodSpec createSetPropertyByOrdinalMethod(List<FieldInfo> fields, boolean isInterface) {
+        MethodSpec.Builder builder = MethodSpec.methodBuilder("setPropertyByOrdinal")
+                .addModifiers(implModifiers(isInterface))
+                .addAnnotation(Override.class)
+                .addAnnotation(AnnotationSpec.builder(SuppressWarnings.class)
+                        .addMember("value", "$S", "unchecked")
+                        .build())
+                .addParameter(int.class, "ordinal")
+                .addParameter(Object.class, "value");
+
+        if (!fields.isEmpty()) {
+            builder.beginControlFlow("switch (ordinal)");
+            for (int i = 0; i < fields.size(); i++) {
+                builder.addStatement("case $L -> $L", i, setterCall(fields.get(i)));
+            }
+            builder.endControlFlow();
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Generate setLongByOrdinal(int, long) or setDoubleByOrdinal(int, double).
+     *
+     * <p>Numeric fields (primitive or wrapper) are assigned directly, so a parser that scanned
+     * the number into a {@code long}/{@code double} reaches a primitive setter without boxing.
+     * Narrowing goes through the {@code DataHelper_I.to*Exact} helpers, which throw
+     * {@code ArithmeticException} for a value that does not fit (or, from a {@code double} into
+     * an integral field, has a fraction). Other ordinals fall back to {@code setPropertyByOrdinal}
+     * with the boxed value.</p>
+     *
+     * @param floating true for the {@code double} variant, false for the {@code long} variant
+     */
+    public static MethodSpec createSetNumberByOrdinalMethod(List<FieldInfo> fields, boolean floating, boolean isInterface) {
+        TypeName valueType = floating ? TypeName.DOUBLE : TypeName.LONG;
+        MethodSpec.Builder builder = MethodSpec.methodBuilder(floating ? "setDoubleByOrdinal" : "setLongByOrdinal")
+                .addModifiers(implModifiers(isInterface))
+                .addAnnotation(Override.class)
+                .addParameter(int.class, "ordinal")
+                .addParameter(valueType, "value");
+
+        builder.beginControlFlow("switch (ordinal)");
+        for (int i = 0; i < fields.size(); i++) {
+            FieldInfo field = fields.get(i);
+            if (!ProcessorUtils.isNumericType(field.type)) continue;
+            TypeName primitive = field.type.isBoxedPrimitive() ? field.type.unbox() : field.type;
+            String setterName = "set" + ProcessorUtils.capitalize(field.name);
+            builder.addStatement("case $L -> $N($L)", i, setterName, narrow(primitive, floating));
+        }
+        builder.addStatement("default -> setPropertyByOrdinal(ordinal, value)");
+        builder.endControlFlow();
+
+        return builder.build();
+    }
+
+    /** The expression converting {@code value} (a long, or a double if {@code floating}) to {@code primitive}. */
+    private static CodeBlock narrow(TypeName primitive, boolean floating) {
+        ClassName helper = ClassName.get("xyz.jphil.datahelper", "DataHelper_I");
+        if (primitive.equals(TypeName.DOUBLE)) return CodeBlock.of(floating ? "value" : "(double) value");
+        if (primitive.equals(TypeName.FLOAT)) return CodeBlock.of("(float) value");
+        CodeBlock integral = floating ? CodeBlock.of("$T.toLongExact(value)", helper) : CodeBlock.of("value");
+        if (primitive.equals(TypeName.LONG)) return integral;
+        String method = primitive.equals(TypeName.INT) ? "toIntExact"
+                : primitive.equals(TypeName.SHORT) ? "toShortExact" : "toByteExact";
+        return CodeBlock.of("$T.$L($L)", helper, method, integral);
+    }
+
+    /**
+     * Generate getLongByOrdinal(int) / getDoubleByOrdinal(int) method.
+     *
+     * <p>One case per primitive field of the variant's kind (int/long/short/byte for
+     * {@code long}; double/float for {@code double}) returning the getter's value without
+     * boxing. Other ordinals unbox the value of {@code getPropertyByOrdinal}.</p>
+     *
+     * @param floating true for the {@code double} variant, false for the {@code long} variant
+     */
+    public static MethodSpec createGetNumberByOrdinalMethod(List<FieldInfo> fields, boolean floating, boolean isInterface) {
+        TypeName valueType = floating ? TypeName.DOUBLE : TypeName.LONG;
+        MethodSpec.Builder builder = MethodSpec.methodBuilder(floating ? "getDoubleByOrdinal" : "getLongByOrdinal")
+                .addModifiers(implModifiers(isInterface))
+                .addAnnotation(Override.class)
+                .addParameter(int.class, "ordinal")
+                .returns(valueType);
+
+        CodeBlock.Builder switchBlock = CodeBlock.builder();
+        switchBlock.add("return switch (ordinal) {\n");
+        switchBlock.indent();
+        for (int i = 0; i < fields.size(); i++) {
+            FieldInfo field = fields.get(i);
+            if (isPrimitiveNumber(field, floating)) {
+                switchBlock.add("case $L -> get$L();\n", i, ProcessorUtils.capitalize(field.name));
+            }
+        }
+        switchBlock.add("default -> (($T) getPropertyByOrdinal(ordinal)).$L();\n",
+                Number.class, floating ? "doubleValue" : "longValue");
+        switchBlock.unindent();
+        switchBlock.add("};");
+        builder.addCode(switchBlock.build());
+
+        return builder.build();
+    }
+
+    /**
+     * Generate isPrimitiveIntegralField(int) / isPrimitiveDoubleField(int) method: true for the
+     * ordinals of primitive int/long/short/byte fields, respectively primitive double fields.
+     *
+     * @param floating true for the {@code double} variant, false for the integral variant
+     */
+    public static MethodSpec createIsPrimitiveNumberFieldMethod(List<FieldInfo> fields, boolean floating, boolean isInterface) {
+        MethodSpec.Builder builder = MethodSpec.methodBuilder(floating ? "isPrimitiveDoubleField" : "isPrimitiveIntegralField")
+                .addModifiers(implModifiers(isInterface))
+                .addAnnotation(Override.class)
+                .addParameter(int.class, "ordinal")
+                .returns(boolean.class);
+
+        List<String> ordinals = new ArrayList<>();
+        for (int i = 0; i < fields.size(); i++) {
+            FieldInfo field = fields.get(i);
+            // float stays on the boxed path so it keeps Float.toString formatting
+            if (isPrimitiveNumber(field, floating) && !field.type.equals(TypeName.FLOAT)) {
+                ordinals.add(String.valueOf(i));
+            }
+        }
+        if (ordinals.isEmpty()) {
+            builder.addStatement("return false");
+        } else {
+            builder.addStatement("return switch (ordinal) { case $L -> true; default -> false; }", String.join(", ", ordinals));
+        }
+
+        return builder.build();
+    }
+
+    private static boolean isPrimitiveNumber(FieldInfo field, boolean floating) {
+        if (!field.type.isPrimitive() || !ProcessorUtils.isNumericType(field.type)) return false;
+        boolean isFloating = field.type.equals(TypeName.DOUBLE) || field.type.equals(TypeName.FLOAT);
+        return isFloating == floating;
+    }
+
+    /**
+     * Generate fieldId(int) method: the stable ID of each ordinal (see {@link FieldInfo#fieldId}).
+     */
+    public static MethodSpec createFieldIdMethod(List<FieldInfo> fields, boolean isInterface) {
+        MethodSpec.Builder builder = MethodSpec.methodBuilder("fieldId")
+                .addModifiers(implModifiers(isInterface))
+                .addAnnotation(Override.class)
+                .addParameter(int.class, "ordinal")
+                .returns(int.class);
+
+        if (fields.isEmpty()) {
+            builder.addStatement("return -1");
+        } else {
+            CodeBlock.Builder cases = CodeBlock.builder();
+            for (int i = 0; i < fields.size(); i++) {
+                cases.add("case $L -> $L; ", i, fields.get(i).fieldId);
+            }
+            builder.addStatement("return switch (ordinal) { $Ldefault -> -1; }", cases.build());
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Generate relaxedFieldOrdinal(String) method: a string switch over the names and aliases in
+     * relaxed form (lower case, without '-' and '_'), the first declared winning a clash (which
+     * {@link FieldAnalyzer} warns about).
+     */
+    public static MethodSpec createRelaxedFieldOrdinalMethod(List<FieldInfo> fields, boolean isInterface) {
+        MethodSpec.Builder builder = MethodSpec.methodBuilder("relaxedFieldOrdinal")
+                .addModifiers(implModifiers(isInterface))
+                .addAnnotation(Override.class)
+                .addParameter(String.class, "key")
+                .returns(int.class);
+
+        Map<String, Integer> keys = new LinkedHashMap<>();
+        for (int i = 0; i < fields.size(); i++) {
+            keys.putIfAbsent(relaxedName(fields.get(i).name), i);
+        }
+        for (int i = 0; i < fields.size(); i++) {
+            for (String alias : fields.get(i).aliases) {
+                keys.putIfAbsent(relaxedName(alias), i);
+            }
+        }
+        if (keys.isEmpty()) {
+            builder.addStatement("return -1");
+        } else {
+            CodeBlock.Builder switchBlock = CodeBlock.builder();
+            switchBlock.add("return switch (key) {\n");
+            switchBlock.indent();
+            for (Map.Entry<String, Integer> e : keys.entrySet()) {
+                switchBlock.add("case $S -> $L;\n", e.getKey(), e.getValue());
+            }
+            switchBlock.add("default -> -1;\n");
+            switchBlock.unindent();
+            switchBlock.add("};");
+            builder.addCode(switchBlock.build());
+        }
+
+        return builder.build();
+    }
+
+    /** Same as {@code DataHelper_IR.relaxedName}, at compile time. */
+    static String relaxedName(String name) {
+        StringBuilder sb = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c != '-' && c != '_') sb.append(Character.toLowerCase(c));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Generate fieldOrdinal(CharSequence, int, int) method.
+     *
+     * <p>Names (and {@code @Alias} names) are bucketed by length; within a bucket the lookup
+     * switches on the character position that best separates the candidates, then confirms the
+     * single remaining candidate (or the few sharing that character) with one region compare.
+     * A key is therefore resolved straight from the parser's input without allocating a String,
+     * with at most a couple of comparisons even for very wide DTOs.</p>
+     */
+    public static MethodSpec createFieldOrdinalMethod(List<FieldInfo> fields, boolean isInterface) {
+        MethodSpec.Builder builder = MethodSpec.methodBuilder("fieldOrdinal")
+                .addModifiers(implModifiers(isInterface))
+                .addAnnotation(Override.class)
+                .addParameter(CharSequence.class, "src")
+                .addParameter(int.class, "start")
+                .addParameter(int.class, "end")
+                .returns(int.class);
+
+        // length -> (name -> ordinal), in declaration order
+        Map<Integer, Map<String, Integer>> byLength = new TreeMap<>();
+        for (int i = 0; i < fields.size(); i++) {
+            FieldInfo field = fields.get(i);
+            byLength.computeIfAbsent(field.name.length(), k -> new LinkedHashMap<>()).put(field.name, i);
+            for (String alias : field.aliases) {
+                byLength.computeIfAbsent(alias.length(), k -> new LinkedHashMap<>()).put(alias, i);
+            }
+        }
+
+        if (!byLength.isEmpty()) {
+            builder.beginControlFlow("switch (end - start)");
+            for (Map.Entry<Integer, Map<String, Integer>> bucket : byLength.entrySet()) {
+                builder.addCode("case $L:\n$>", bucket.getKey());
+                addOrdinalBucket(builder, bucket.getValue());
+                builder.addStatement("break$<");
             }
             builder.endControlFlow();
         }
+        builder.addStatement("return -1");
 
         return builder.build();
     }
 
+    private static void addOrdinalBucket(MethodSpec.Builder builder, Map<String, Integer> candidates) {
+        ClassName dhr = ClassName.get("xyz.jphil.datahelper", "DataHelper_IR");
+        if (candidates.size() == 1) {
+            Map.Entry<String, Integer> only = candidates.entrySet().iterator().next();
+            builder.addStatement("if ($T.regionMatches(src, start, $S)) return $L", dhr, only.getKey(), only.getValue());
+            return;
+        }
+
+        // Pick the character position with the most distinct values across the candidates.
+        int length = candidates.keySet().iterator().next().length();
+        int bestPos = 0;
+        int bestDistinct = 0;
+        for (int pos = 0; pos < length; pos++) {
+            Set<Character> seen = new HashSet<>();
+            for (String name : candidates.keySet()) {
+                seen.add(name.charAt(pos));
+            }
+            if (seen.size() > bestDistinct) {
+                bestDistinct = seen.size();
+                bestPos = pos;
+            }
+        }
+
+        Map<Character, List<Map.Entry<String, Integer>>> byChar = new LinkedHashMap<>();
+        for (Map.Entry<String, Integer> e : candidates.entrySet()) {
+            byChar.computeIfAbsent(e.getKey().charAt(bestPos), k -> new ArrayList<>()).add(e);
+        }
+
+        builder.beginControlFlow("switch (src.charAt(start + $L))", bestPos);
+        for (Map.Entry<Character, List<Map.Entry<String, Integer>>> group : byChar.entrySet()) {
+            builder.addCode("case $L:\n$>", charLiteral(group.getKey()));
+            for (Map.Entry<String, Integer> e : group.getValue()) {
+                builder.addStatement("if ($T.regionMatches(src, start, $S)) return $L", dhr, e.getKey(), e.getValue());
+            }
+            builder.addStatement("break$<");
+        }
+        builder.endControlFlow();
+    }
+
+    private static String charLiteral(char c) {
+        if (c == '\'' || c == '\\') return "'\\" + c + "'";
+        if (c >= 0x20 && c < 0x7F) return "'" + c + "'";
+        return String.format("'\\u%04x'", (int) c);
+    }
+
     /**
      * Generate getPropertyType(String) method.
      */
@@ -288,15 +700,14 @@ public class CodeGeneratorUtils {
     }
 
     /**
-     * Generate fieldNames() method.
+     * Generate fieldNames() method (returns the FIELD_NAMES constant).
      */
     public static MethodSpec createFieldNamesMethod(boolean isInterface) {
         return MethodSpec.methodBuilder("fieldNames")
                 .addModifiers(implModifiers(isInterface))
                 .addAnnotation(Override.class)
                 .returns(ParameterizedTypeName.get(ClassName.get(List.class), ClassName.get(String.class)))
-                .addStatement("return FIELDS.stream().map($T::name).toList()",
-                    ClassName.get(Field_I.class))
+                .addStatement("return FIELD_NAMES")
                 .build();
     }
 
@@ -405,6 +816,37 @@ public class CodeGeneratorUtils {
         return builder.build();
     }
 
+    /**
+     * Generate getListElementType(String) method.
+     */
+    public static MethodSpec createGetListElementTypeMethod(List<FieldInfo> fields, boolean isInterface) {
+        MethodSpec.Builder builder = MethodSpec.methodBuilder("getListElementType")
+                .addModifiers(implModifiers(isInterface))
+                .addAnnotation(Override.class)
+                .addParameter(String.class, "propertyName")
+                .returns(ParameterizedTypeName.get(ClassName.get(Class.class), WildcardTypeName.subtypeOf(Object.class)));
+
+        List<FieldInfo> listFields = fields.stream().filter(f -> f.isListField).toList();
+        if (listFields.isEmpty()) {
+            builder.addStatement("return null");
+        } else {
+            CodeBlock.Builder switchBlock = CodeBlock.builder();
+            switchBlock.add("return switch (propertyName) {\n");
+            switchBlock.indent();
+            for (FieldInfo field : listFields) {
+                TypeName element = field.listElementType;
+                boolean known = element instanceof ClassName || element instanceof ParameterizedTypeName;  // not raw or a wildcard
+                switchBlock.add("case $S -> $T.class;\n", field.name, known ? getRawType(element) : ClassName.OBJECT);
+            }
+            switchBlock.add("default -> null;\n");
+            switchBlock.unindent();
+            switchBlock.add("};");
+            builder.addCode(switchBlock.build());
+        }
+
+        return builder.build();
+    }
+
     /**
      * Generate isNestedObjectField(String) method.
      */
@@ -0,0 +1,217 @@
+package xyz.jphil.datahelper.processor.util;
+
+import com.palantir.javapoet.ClassName;
+import com.palantir.javapoet.CodeBlock;
+import com.palantir.javapoet.MethodSpec;
+import com.palantir.javapoet.TypeName;
+import com.palantir.javapoet.TypeSpec;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.List;
+
+/**
+ * Makes {@code Foo_I} extend {@link Externalizable}, with default {@code writeExternal} /
+ * {@code readExternal} methods that stream the fields in ordinal order through the getters and
+ * setters (processor option {@code -Adatahelper.externalizable=true}).
+ *
+ * <p>Java serialization then writes one class descriptor without fields per type and hands the
+ * stream to these methods, instead of reflecting over every field. Primitives use the matching
+ * {@code DataOutput} write; wrappers a presence flag and the primitive; Strings
+ * {@code writeObject} (no length limit, shared strings written once); lists and maps their size
+ * ({@code -1} for null) and their elements the same way. Nested DTOs generated in this
+ * compilation are written inline by their own {@code writeExternal}, so a DTO tree costs no
+ * further descriptors; other nested types go through {@code writeObject} and must be
+ * {@code Serializable} themselves. Since nested DTOs are inlined, shared references and cycles
+ * among them are not preserved.</p>
+ *
+ * <p>Java serialization requires a public no-argument constructor: public {@code @Data} classes
+ * without constructors have one; {@code @DataHelper} classes must declare one. Classes without
+ * it are rejected at compile time ({@link #requireNoArgConstructor}).</p>
+ */
+public final class ExternalizableGenerator {
+
+    /** Processor option enabling the {@code Externalizable} methods. */
+    public static final String OPTION = "datahelper.externalizable";
+
+    private ExternalizableGenerator() {}
+
+    public static boolean isEnabled(ProcessingEnvironment env) {
+        return Boolean.parseBoolean(env.getOptions().get(OPTION));
+    }
+
+    /**
+     * Report an error on {@code element} unless it has a public no-argument constructor (declared,
+     * or the implicit one of a public class). Returns true if the constructor is there.
+     */
+    public static boolean requireNoArgConstructor(ProcessingEnvironment env, TypeElement element) {
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(element.getEnclosedElements())) {
+            if (constructor.getParameters().isEmpty() && constructor.getModifiers().contains(Modifier.PUBLIC)) {
+                return true;
+            }
+        }
+        env.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                String.format("%s needs a public no-argument constructor for Java serialization (-A%s=true)."
+                        + " Declare one, or make the class public without constructors.",
+                        element.getSimpleName(), OPTION),
+                element);
+        return false;
+    }
+
+    /** Add {@code Externalizable} and its two methods to the {@code Foo_I} builder. */
+    public static void addTo(TypeSpec.Builder b, List<FieldInfo> fields) {
+        b.addSuperinterface(Externalizable.class);
+        b.addMethod(buildWriteExternal(fields));
+        b.addMethod(buildReadExternal(fields));
+    }
+
+    private static MethodSpec buildWriteExternal(List<FieldInfo> fields) {
+        MethodSpec.Builder m = MethodSpec.methodBuilder("writeExternal")
+                .addModifiers(Modifier.PUBLIC, Modifier.DEFAULT)
+                .addAnnotation(Override.class)
+                .addJavadoc("Java serialization: the fields in ordinal order, without reflection.\n")
+                .addParameter(ObjectOutput.class, "out")
+                .addException(IOException.class);
+        for (int i = 0; i < fields.size(); i++) {
+            FieldInfo f = fields.get(i);
+            String getter = (ProcessorUtils.isBooleanType(f.type) ? "is" : "get") + ProcessorUtils.capitalize(f.name);
+            if (f.type.isPrimitive()) {
+                m.addStatement("out.$L($L())", primitiveWrite(f.type), getter);
+                continue;
+            }
+            String v = "v" + i;
+            m.addStatement("var $L = $L()", v, getter);
+            if (f.isListField) {
+                m.addStatement("out.writeInt($L == null ? -1 : $L.size())", v, v);
+                m.beginControlFlow("if ($L != null)", v)
+                        .beginControlFlow("for (var e : $L)", v)
+                        .addCode(write(listElementType(f), f.isListElementGenerated, "e"))
+                        .endControlFlow()
+                        .endControlFlow();
+            } else if (f.isMapField) {
+                m.addStatement("out.writeInt($L == null ? -1 : $L.size())", v, v);
+                m.beginControlFlow("if ($L != null)", v)
+                        .beginControlFlow("for (var e : $L.entrySet())", v)
+                        .addStatement("var k = e.getKey()")
+                        .addCode(write(f.mapKeyType, false, "k"))
+                        .addStatement("var x = e.getValue()")
+                        .addCode(write(f.mapValueType, f.isMapValueGenerated, "x"))
+                        .endControlFlow()
+                        .endControlFlow();
+            } else {
+                m.addCode(write(f.type, f.isNestedGenerated, v));
+            }
+        }
+        return m.build();
+    }
+
+    private static MethodSpec buildReadExternal(List<FieldInfo> fields) {
+        MethodSpec.Builder m = MethodSpec.methodBuilder("readExternal")
+                .addModifiers(Modifier.PUBLIC, Modifier.DEFAULT)
+                .addAnnotation(Override.class)
+                .addJavadoc("Java serialization: reads what {@link #writeExternal} wrote.\n")
+                .addParameter(ObjectInput.class, "in")
+                .addException(IOException.class)
+                .addException(ClassNotFoundException.class);
+        for (int i = 0; i < fields.size(); i++) {
+            FieldInfo f = fields.get(i);
+            String setter = "set" + ProcessorUtils.capitalize(f.name);
+            if (f.type.isPrimitive()) {
+                m.addStatement("$L(in.$L())", setter, primitiveRead(f.type));
+                continue;
+            }
+            String v = "v" + i;
+            if (f.isListField) {
+                String impl = f.listImplClass != null ? f.listImplClass : "java.util.ArrayList";
+                String n = "n" + i;
+                m.addStatement("int $L = in.readInt()", n)
+                        .addStatement("$T $L = $L < 0 ? null : new $T<>()", f.type, v, n, ClassName.bestGuess(impl))
+                        .beginControlFlow("for (int j = 0; j < $L; j++)", n)
+                        .addCode(read(listElementType(f), f.isListElementGenerated, "e"))
+                        .addStatement("$L.add(e)", v)
+                        .endControlFlow()
+                        .addStatement("$L($L)", setter, v);
+            } else if (f.isMapField) {
+                String impl = f.mapImplClass != null ? f.mapImplClass : "java.util.LinkedHashMap";
+                String n = "n" + i;
+                m.addStatement("int $L = in.readInt()", n)
+                        .addStatement("$T $L = $L < 0 ? null : new $T<>()", f.type, v, n, ClassName.bestGuess(impl))
+                        .beginControlFlow("for (int j = 0; j < $L; j++)", n)
+                        .addCode(read(f.mapKeyType, false, "k"))
+                        .addCode(read(f.mapValueType, f.isMapValueGenerated, "x"))
+                        .addStatement("$L.put(k, x)", v)
+                        .endControlFlow()
+                        .addStatement("$L($L)", setter, v);
+            } else {
+                m.addCode(read(f.type, f.isNestedGenerated, v));
+                m.addStatement("$L($L)", setter, v);
+            }
+        }
+        return m.build();
+    }
+
+    /** Statements writing the non-primitive value {@code v} of {@code type}. */
+    private static CodeBlock write(TypeName type, boolean generated, String v) {
+        CodeBlock.Builder b = CodeBlock.builder();
+        if (type.isBoxedPrimitive()) {
+            b.addStatement("out.writeBoolean($L != null)", v);
+            b.addStatement("if ($L != null) out.$L($L)", v, primitiveWrite(type.unbox()), v);
+        } else if (generated) {
+            b.addStatement("out.writeBoolean($L != null)", v);
+            b.addStatement("if ($L != null) $L.writeExternal(out)", v, v);
+        } else {
+            b.addStatement("out.writeObject($L)", v);
+        }
+        return b.build();
+    }
+
+    /** Statements declaring {@code v} of {@code type} and reading it. */
+    private static CodeBlock read(TypeName type, boolean generated, String v) {
+        CodeBlock.Builder b = CodeBlock.builder();
+        if (type.isBoxedPrimitive()) {
+            b.addStatement("$T $L = in.readBoolean() ? in.$L() : null", type, v, primitiveRead(type.unbox()));
+        } else if (generated) {
+            b.addStatement("$T $L = null", type, v);
+            b.beginControlFlow("if (in.readBoolean())")
+                    .addStatement("$L = new $T()", v, type)
+                    .addStatement("$L.readExternal(in)", v)
+                    .endControlFlow();
+        } else {
+            b.addStatement("$T $L = ($T) in.readObject()", type, v, type);
+        }
+        return b.build();
+    }
+
+    /** The element type of a list field; Object for a raw list. */
+    private static TypeName listElementType(FieldInfo f) {
+        return f.listElementType != null ? f.listElementType : ClassName.OBJECT;
+    }
+
+    private static String primitiveWrite(TypeName type) {
+        return "write" + primitiveSuffix(type);
+    }
+
+    private static String primitiveRead(TypeName type) {
+        return "read" + primitiveSuffix(type);
+    }
+
+    /** The {@code DataOutput} / {@code DataInput} method suffix of a primitive type. */
+    private static String primitiveSuffix(TypeName type) {
+        if (type.equals(TypeName.INT)) return "Int";
+        if (type.equals(TypeName.LONG)) return "Long";
+        if (type.equals(TypeName.DOUBLE)) return "Double";
+        if (type.equals(TypeName.FLOAT)) return "Float";
+        if (type.equals(TypeName.BOOLEAN)) return "Boolean";
+        if (type.equals(TypeName.SHORT)) return "Short";
+        if (type.equals(TypeName.BYTE)) return "Byte";
+        return "Char";
+    }
+}
@@ -1,6 +1,9 @@
 package xyz.jphil.datahelper.processor.util;
 
 import com.palantir.javapoet.TypeName;
+import xyz.jphil.datahelper.Alias;
+import xyz.jphil.datahelper.FieldId;
+import xyz.jphil.datahelper.ProtoField;
 
 import javax.annotation.processing.ProcessingEnvironment;
 import javax.lang.model.element.Element;
@@ -13,7 +16,9 @@ import javax.lang.model.type.TypeKind;
 import javax.lang.model.type.TypeMirror;
 import javax.tools.Diagnostic;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -24,10 +29,17 @@ public class FieldAnalyzer {
 
     private final ProcessingEnvironment processingEnv;
     private final ProcessorUtils utils;
+    /** The round's ID lock file, or null when there is none. */
+    private final FieldIdLock lock;
 
-    public FieldAnalyzer(ProcessingEnvironment processingEnv, ProcessorUtils utils) {
+    /**
+     * @param lock the ID lock file loaded for this round ({@link FieldIdLock#load}), or null;
+     *             the caller saves it at the end of the round
+     */
+    public FieldAnalyzer(ProcessingEnvironment processingEnv, ProcessorUtils utils, FieldIdLock lock) {
         this.processingEnv = processingEnv;
         this.utils = utils;
+        this.lock = lock;
     }
 
     /**
@@ -39,6 +51,10 @@ public class FieldAnalyzer {
         boolean hasErrors = false;
         String enclosingPackage = processingEnv.getElementUtils()
                 .getPackageOf(element).getQualifiedName().toString();
+        Map<String, Integer> fieldIds = assignFieldIds(element);
+        if (fieldIds == null) {
+            return null;  // @FieldId conflicts with the lock file, reported
+        }
 
         for (Element enclosedElement : element.getEnclosedElements()) {
             if (enclosedElement.getKind() == ElementKind.FIELD) {
@@ -134,18 +150,201 @@ public class FieldAnalyzer {
                         hasErrors = true;
                     }
 
+                    Alias alias = field.getAnnotation(Alias.class);
+                    List<String> aliases = alias == null ? List.of() : List.of(alias.value());
+                    ProtoField proto = field.getAnnotation(ProtoField.class);
+
                     fields.add(new FieldInfo(fieldName, fieldType, isListField, isNestedDataHelper,
                                              isListOfDataHelper, listElementType, isMapField,
                                              mapKeyType, mapValueType, isMapOfDataHelper,
                                              listImplClass, mapImplClass,
-                                             isNestedGenerated, isListElementGenerated, isMapValueGenerated));
+                                             isNestedGenerated, isListElementGenerated, isMapValueGenerated,
+                                             aliases, fieldIds.get(fieldName),
+                                             proto != null ? proto.value() : fieldIds.get(fieldName),
+                                             proto != null ? proto.encoding() : ProtoField.Encoding.DEFAULT));
                 }
             }
         }
 
+        if (rejectAliasCollisions(element, fields)) {
+            hasErrors = true;
+        } else {
+            warnRelaxedNameClashes(element, fields);
+        }
+        hasErrors |= rejectInvalidFieldIds(element, fields);
+        hasErrors |= rejectInvalidProtoNumbers(element, fields);
+
         return hasErrors ? null : fields;
     }
 
+    /**
+     * The stable ID of each instance field, by name: its {@code @FieldId}, else its entry in the
+     * ID lock file (assigned and recorded if new) when there is one, else its declaration
+     * position. Returns null if an explicit ID conflicts with the lock file (reported).
+     */
+    private Map<String, Integer> assignFieldIds(TypeElement element) {
+        List<String> names = new ArrayList<>();
+        List<Integer> explicit = new ArrayList<>();
+        for (Element enclosedElement : element.getEnclosedElements()) {
+            Set<Modifier> modifiers = enclosedElement.getModifiers();
+            if (enclosedElement.getKind() == ElementKind.FIELD
+                    && !modifiers.contains(Modifier.STATIC) && !modifiers.contains(Modifier.FINAL)) {
+                FieldId id = enclosedElement.getAnnotation(FieldId.class);
+                names.add(enclosedElement.getSimpleName().toString());
+                explicit.add(id != null ? id.value() : 0);
+            }
+        }
+
+        int[] ids = new int[names.size()];
+        if (lock != null) {
+            ids = lock.resolve(processingEnv, element, names, explicit.stream().mapToInt(Integer::intValue).toArray());
+            if (ids == null) {
+                return null;
+            }
+        } else {
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = explicit.get(i) != 0 ? explicit.get(i) : i + 1;
+            }
+        }
+
+        Map<String, Integer> byName = new HashMap<>();
+        for (int i = 0; i < ids.length; i++) {
+            byName.put(names.get(i), ids[i]);
+        }
+        return byName;
+    }
+
+    /**
+     * Reject field IDs that are out of range or used by two fields (an explicit {@code @FieldId}
+     * may collide with the declaration-order ID of another field). Returns true if an error was
+     * reported.
+     */
+    private boolean rejectInvalidFieldIds(TypeElement element, List<FieldInfo> fields) {
+        Map<Integer, String> owners = new HashMap<>();
+        boolean hasErrors = false;
+        for (FieldInfo f : fields) {
+            String problem = null;
+            if (f.fieldId < 1 || f.fieldId > 268_435_455) {
+                problem = "is outside 1..268435455";
+            } else {
+                String owner = owners.putIfAbsent(f.fieldId, f.name);
+                if (owner != null) {
+                    problem = "is also the ID of field '" + owner + "' (fields without @FieldId are numbered by "
+                            + (processingEnv.getOptions().containsKey(FieldIdLock.OPTION) ? "the ID lock file" : "declaration order") + ")";
+                }
+            }
+            if (problem != null) {
+                processingEnv.getMessager().printMessage(
+                    Diagnostic.Kind.ERROR,
+                    String.format("Field ID %d of field '%s' %s. Set a unique ID with @FieldId.",
+                        f.fieldId, f.name, problem),
+                    element
+                );
+                hasErrors = true;
+            }
+        }
+        return hasErrors;
+    }
+
+    /**
+     * Reject protobuf field numbers that are out of range, in protobuf's reserved range or used by
+     * two fields (an explicit {@code @ProtoField} number may collide with the field ID of another
+     * field). Returns true if an error was reported.
+     */
+    private boolean rejectInvalidProtoNumbers(TypeElement element, List<FieldInfo> fields) {
+        Map<Integer, String> owners = new HashMap<>();
+        boolean hasErrors = false;
+        for (FieldInfo f : fields) {
+            String problem = null;
+            if (f.protoNumber < 1 || f.protoNumber > 536_870_911) {
+                problem = "is outside 1..536870911";
+            } else if (f.protoNumber >= 19_000 && f.protoNumber <= 19_999) {
+                problem = "is in the range 19000-19999 reserved by protobuf";
+            } else {
+                String owner = owners.putIfAbsent(f.protoNumber, f.name);
+                if (owner != null) {
+                    problem = "is also the number of field '" + owner + "' (fields without @ProtoField use their field ID)";
+                }
+            }
+            if (problem != null) {
+                processingEnv.getMessager().printMessage(
+                    Diagnostic.Kind.ERROR,
+                    String.format("Protobuf field number %d of field '%s' %s. Set a unique number with @ProtoField.",
+                        f.protoNumber, f.name, problem),
+                    element
+                );
+                hasErrors = true;
+            }
+        }
+        return hasErrors;
+    }
+
+    /**
+     * Reject {@code @Alias} names that collide with another field's name or alias (or repeat the
+     * field's own name), since the generated {@code fieldOrdinal} lookup must resolve every name
+     * to exactly one field. Returns true if an error was reported.
+     */
+    private boolean rejectAliasCollisions(TypeElement element, List<FieldInfo> fields) {
+        Map<String, String> owners = new HashMap<>();
+        for (FieldInfo f : fields) {
+            owners.put(f.name, f.name);
+        }
+        boolean hasErrors = false;
+        for (FieldInfo f : fields) {
+            for (String alias : f.aliases) {
+                String owner = owners.putIfAbsent(alias, f.name);
+                if (owner != null) {
+                    processingEnv.getMessager().printMessage(
+                        Diagnostic.Kind.ERROR,
+                        String.format(
+                            "@Alias \"%s\" on field '%s' collides with %s. " +
+                            "Each field name and alias must resolve to exactly one field.",
+                            alias, f.name,
+                            owner.equals(alias) ? "the field '" + owner + "'" : "an alias of field '" + owner + "'"
+                        ),
+                        element
+                    );
+                    hasErrors = true;
+                }
+            }
+        }
+        return hasErrors;
+    }
+
+    /**
+     * Warn about names and aliases of different fields that are equal in relaxed form (lower
+     * case, without '-' and '_'), such as {@code maxSize} and {@code max_size}: the generated
+     * {@code relaxedFieldOrdinal}, used by the config binder, resolves them to the first declared
+     * field only. Names are considered before aliases, as in the generated switch.
+     */
+    private void warnRelaxedNameClashes(TypeElement element, List<FieldInfo> fields) {
+        Map<String, String> owners = new HashMap<>();
+        List<String[]> candidates = new ArrayList<>();
+        for (FieldInfo f : fields) {
+            candidates.add(new String[] {f.name, f.name});
+        }
+        for (FieldInfo f : fields) {
+            for (String alias : f.aliases) {
+                candidates.add(new String[] {alias, f.name});
+            }
+        }
+        for (String[] candidate : candidates) {
+            String relaxed = CodeGeneratorUtils.relaxedName(candidate[0]);
+            String owner = owners.putIfAbsent(relaxed, candidate[1]);
+            if (owner != null && !owner.equals(candidate[1])) {
+                processingEnv.getMessager().printMessage(
+                    Diagnostic.Kind.WARNING,
+                    String.format(
+                        "\"%s\" of field '%s' matches field '%s' when compared without case and separators ('%s'). " +
+                        "Relaxed lookups (relaxedFieldOrdinal, ConfigBinder) resolve it to '%s'; rename the field or alias.",
+                        candidate[0], candidate[1], owner, relaxed, owner
+                    ),
+                    element
+                );
+            }
+        }
+    }
+
     /** Generated sibling suffixes a nested DataHelper field must NOT be declared as. */
     private static final String[] GENERATED_SUFFIXES = {"_IR", "_R", "_A", "_I"};
 
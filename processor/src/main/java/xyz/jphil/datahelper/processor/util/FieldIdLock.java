@@ -0,0 +1,162 @@
+package xyz.jphil.datahelper.processor.util;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The ID lock file ({@code -Adatahelper.fieldIdLock=path}): the stable ID of every field the
+ * processor has seen, one {@code package.Class.field=id} line each, by class and ID.
+ *
+ * <p>The processor reads the file once per round, gives fields it does not list the next ID
+ * above every ID their class has ever used, and writes it back at the end of the round when
+ * something changed. An explicit {@code @FieldId} must agree with the listed ID. Lines of
+ * removed fields are kept, so their IDs are never handed out again. The file is meant to be
+ * committed next to the sources; Maven users point the option at
+ * {@code ${project.basedir}/datahelper-ids.lock}.</p>
+ */
+public final class FieldIdLock {
+
+    /** Processor option naming the lock file; no lock file without it. */
+    public static final String OPTION = "datahelper.fieldIdLock";
+
+    private static final String HEADER = """
+            # DataHelper field ID lock file, maintained by the annotation processor.
+            # Commit this file. Never change an ID that has been used in stored or shared data;
+            # lines of removed fields are kept so that their IDs are not reused.
+            """;
+
+    private final Path path;
+    /** {@code package.Class.field} to ID. */
+    private final Map<String, Integer> ids = new TreeMap<>();
+    private boolean changed;
+
+    private FieldIdLock(Path path) {
+        this.path = path;
+    }
+
+    /**
+     * Load the lock file named by the processor option, or return null when the option is not
+     * set. A missing file counts as empty; an unreadable or malformed one is reported as an error
+     * and also returns null.
+     */
+    public static FieldIdLock load(ProcessingEnvironment env) {
+        String option = env.getOptions().get(OPTION);
+        if (option == null || option.isBlank()) {
+            return null;
+        }
+        FieldIdLock lock = new FieldIdLock(Path.of(option));
+        try {
+            if (Files.exists(lock.path)) {
+                List<String> lines = Files.readAllLines(lock.path, StandardCharsets.UTF_8);
+                for (int i = 0; i < lines.size(); i++) {
+                    String line = lines.get(i).strip();
+                    if (line.isEmpty() || line.startsWith("#")) continue;
+                    int eq = line.indexOf('=');
+                    Integer id = eq <= 0 ? null : parseId(line.substring(eq + 1).strip());
+                    if (id == null) {
+                        env.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                                "Malformed line " + (i + 1) + " in field ID lock file " + lock.path + ": " + line);
+                        return null;
+                    }
+                    lock.ids.put(line.substring(0, eq).strip(), id);
+                }
+            }
+        } catch (IOException | UncheckedIOException e) {
+            env.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Cannot read field ID lock file " + lock.path + ": " + e.getMessage());
+            return null;
+        }
+        return lock;
+    }
+
+    private static Integer parseId(String text) {
+        try {
+            int id = Integer.parseInt(text);
+            return id > 0 ? id : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * The IDs of the given fields of {@code owner}, in the same order: the explicit ID where one
+     * is given (non-zero), else the locked one, else a new ID above all IDs the class has used.
+     * New IDs are recorded, and so are explicit IDs of fields the file does not list yet. An
+     * explicit ID that differs from the locked one is reported as an error on {@code owner}, and
+     * null is returned.
+     */
+    public int[] resolve(ProcessingEnvironment env, TypeElement owner, List<String> fieldNames, int[] explicitIds) {
+        String prefix = owner.getQualifiedName() + ".";
+        int max = 0;
+        for (Map.Entry<String, Integer> e : ids.entrySet()) {
+            String key = e.getKey();
+            if (key.startsWith(prefix) && key.indexOf('.', prefix.length()) < 0) {
+                max = Math.max(max, e.getValue());
+            }
+        }
+        for (int id : explicitIds) {
+            max = Math.max(max, id);
+        }
+
+        int[] resolved = new int[fieldNames.size()];
+        boolean conflict = false;
+        for (int i = 0; i < resolved.length; i++) {
+            String key = prefix + fieldNames.get(i);
+            Integer locked = ids.get(key);
+            if (explicitIds[i] != 0 && locked != null && locked != explicitIds[i]) {
+                env.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                        String.format("@FieldId(%d) of field '%s' differs from its ID %d in the field ID lock file %s."
+                                + " Changing the ID breaks data written with the old one; restore @FieldId(%d),"
+                                + " or edit the lock file if no such data exists.",
+                                explicitIds[i], fieldNames.get(i), locked, path, locked),
+                        owner);
+                conflict = true;
+                continue;
+            }
+            int id = explicitIds[i] != 0 ? explicitIds[i] : locked != null ? locked : ++max;
+            if (locked == null) {
+                ids.put(key, id);
+                changed = true;
+            }
+            resolved[i] = id;
+        }
+        return conflict ? null : resolved;
+    }
+
+    /**
+     * Write the file back if {@link #resolve} changed it. Failures are reported as errors.
+     */
+    public void save(ProcessingEnvironment env) {
+        if (!changed) {
+            return;
+        }
+        // By class, then by ID
+        List<String> lines = new ArrayList<>();
+        ids.entrySet().stream()
+                .sorted(Comparator.comparing((Map.Entry<String, Integer> e) -> e.getKey().substring(0, e.getKey().lastIndexOf('.') + 1))
+                        .thenComparing(Map.Entry::getValue))
+                .forEach(e -> lines.add(e.getKey() + "=" + e.getValue()));
+        try {
+            Path parent = path.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Files.writeString(path, HEADER + String.join("\n", lines) + "\n", StandardCharsets.UTF_8);
+            changed = false;
+        } catch (IOException e) {
+            env.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Cannot write field ID lock file " + path + ": " + e.getMessage());
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package xyz.jphil.datahelper.processor.util;
 
 import com.palantir.javapoet.TypeName;
+import xyz.jphil.datahelper.ProtoField;
+
+import java.util.List;
 
 /**
  * Information about a field discovered during annotation processing.
@@ -33,12 +36,42 @@ public class FieldInfo {
     public final boolean isListElementGenerated;
     /** True if the Map value DataHelper type is annotation-generated. */
     public final boolean isMapValueGenerated;
+    /** Alternative input names declared with {@code @Alias} (empty if none). */
+    public final List<String> aliases;
+    /** Stable field ID: from {@code @FieldId}, else the ID lock file, else declaration order (0 if unknown). */
+    public final int fieldId;
+    /** Protobuf field number: from {@code @ProtoField}, else the field ID (0 if unknown). */
+    public final int protoNumber;
+    /** Protobuf integer encoding from {@code @ProtoField}. */
+    public final ProtoField.Encoding protoEncoding;
 
     public FieldInfo(String name, TypeName type, boolean isListField, boolean isNestedDataHelper,
                      boolean isListOfDataHelper, TypeName listElementType, boolean isMapField,
                      TypeName mapKeyType, TypeName mapValueType, boolean isMapOfDataHelper,
                      String listImplClass, String mapImplClass,
                      boolean isNestedGenerated, boolean isListElementGenerated, boolean isMapValueGenerated) {
+        this(name, type, isListField, isNestedDataHelper, isListOfDataHelper, listElementType, isMapField,
+             mapKeyType, mapValueType, isMapOfDataHelper, listImplClass, mapImplClass,
+             isNestedGenerated, isListElementGenerated, isMapValueGenerated, List.of());
+    }
+
+    public FieldInfo(String name, TypeName type, boolean isListField, boolean isNestedDataHelper,
+                     boolean isListOfDataHelper, TypeName listElementType, boolean isMapField,
+                     TypeName mapKeyType, TypeName mapValueType, boolean isMapOfDataHelper,
+                     String listImplClass, String mapImplClass,
+                     boolean isNestedGenerated, boolean isListElementGenerated, boolean isMapValueGenerated,
+                     List<String> aliases) {
+        this(name, type, isListField, isNestedDataHelper, isListOfDataHelper, listElementType, isMapField,
+             mapKeyType, mapValueType, isMapOfDataHelper, listImplClass, mapImplClass,
+             isNestedGenerated, isListElementGenerated, isMapValueGenerated, aliases, 0, 0, ProtoField.Encoding.DEFAULT);
+    }
+
+    public FieldInfo(String name, TypeName type, boolean isListField, boolean isNestedDataHelper,
+                     boolean isListOfDataHelper, TypeName listElementType, boolean isMapField,
+                     TypeName mapKeyType, TypeName mapValueType, boolean isMapOfDataHelper,
+                     String listImplClass, String mapImplClass,
+                     boolean isNestedGenerated, boolean isListElementGenerated, boolean isMapValueGenerated,
+                     List<String> aliases, int fieldId, int protoNumber, ProtoField.Encoding protoEncoding) {
         this.name = name;
         this.type = type;
         this.isListField = isListField;
@@ -54,5 +87,9 @@ public class FieldInfo {
         this.isNestedGenerated = isNestedGenerated;
         this.isListElementGenerated = isListElementGenerated;
         this.isMapValueGenerated = isMapValueGenerated;
+        this.aliases = List.copyOf(aliases);
+        this.fieldId = fieldId;
+        this.protoNumber = protoNumber;
+        this.protoEncoding = protoEncoding;
     }
 }
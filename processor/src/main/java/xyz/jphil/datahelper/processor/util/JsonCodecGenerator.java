@@ -0,0 +1,337 @@
+package xyz.jphil.datahelper.processor.util;
+
+import com.palantir.javapoet.ClassName;
+import com.palantir.javapoet.CodeBlock;
+import com.palantir.javapoet.FieldSpec;
+import com.palantir.javapoet.MethodSpec;
+import com.palantir.javapoet.ParameterizedTypeName;
+import com.palantir.javapoet.TypeName;
+import com.palantir.javapoet.TypeSpec;
+import com.palantir.javapoet.WildcardTypeName;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Builds the opt-in {@code Foo_JsonCodec} (processor option {@code -Adatahelper.jsonCodec=true}):
+ * a {@code JsonCodec<Foo_IR<?>, Foo_I<?>>} singleton whose {@code writeTo}/{@code readFrom} call the
+ * concrete getters and setters in straight-line code, plus the {@code codec(Class)} override on
+ * {@code Foo_IR} that hands it to the JSON module.
+ *
+ * <p>Scalars (String, primitives and their wrappers) are written and read without boxing through
+ * the {@code JsonSink}/{@code JsonSource} primitives. Nested DTOs, and lists / String-keyed maps of
+ * them, call the nested type's codec directly when that codec is generated in the same round
+ * ({@link #codecTypes}); anything else (hand-written DataHelpers, types from other compilations,
+ * other key/element types) is delegated to the generic path, which still dispatches to a nested
+ * codec at runtime if the nested type has one.</p>
+ */
+public final class JsonCodecGenerator {
+
+    /** Processor option enabling codec generation. */
+    public static final String OPTION = "datahelper.jsonCodec";
+
+    private static final String JSON = "xyz.jphil.datahelper.json";
+    public static final ClassName JSON_CODEC = ClassName.get(JSON, "JsonCodec");
+    private static final ClassName JSON_SINK = ClassName.get(JSON, "JsonSink");
+    private static final ClassName JSON_SOURCE = ClassName.get(JSON, "JsonSource");
+    private static final TypeName STRING = ClassName.get(String.class);
+
+    private JsonCodecGenerator() {}
+
+    /**
+     * True when the option is set and the JSON module is on the compile classpath; warns when the
+     * option is set without it.
+     */
+    public static boolean isEnabled(ProcessingEnvironment env) {
+        if (!Boolean.parseBoolean(env.getOptions().get(OPTION))) {
+            return false;
+        }
+        if (env.getElementUtils().getTypeElement(JSON_CODEC.canonicalName()) == null) {
+            env.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                    "-A" + OPTION + "=true ignored: " + JSON_CODEC.canonicalName() + " is not on the classpath");
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Canonical names of the DataHelper types annotated in this round, i.e. those whose codecs are
+     * generated alongside and may be referenced directly.
+     */
+    public static Set<String> codecTypes(ProcessingEnvironment env, RoundEnvironment roundEnv) {
+        Set<String> names = new HashSet<>();
+        for (String annotationName : ProcessorUtils.BASE_DATA_HELPER_ANNOTATIONS) {
+            TypeElement annotation = env.getElementUtils().getTypeElement(annotationName);
+            if (annotation == null) continue;
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() == ElementKind.CLASS) {
+                    names.add(((TypeElement) element).getQualifiedName().toString());
+                }
+            }
+        }
+        return names;
+    }
+
+    /** The {@code Foo_JsonCodec} class. */
+    public static TypeSpec buildCodec(String pkg, String className, List<FieldInfo> fields, Set<String> codecTypes) {
+        ClassName codecCn = ClassName.get(pkg, className + "_JsonCodec");
+        TypeName readable = ParameterizedTypeName.get(ClassName.get(pkg, className + "_IR"), WildcardTypeName.subtypeOf(Object.class));
+        TypeName writable = ParameterizedTypeName.get(ClassName.get(pkg, className + "_I"), WildcardTypeName.subtypeOf(Object.class));
+
+        return TypeSpec.classBuilder(codecCn)
+                .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
+                .superclass(ParameterizedTypeName.get(JSON_CODEC, readable, writable))
+                .addJavadoc("JSON codec of {@link $L}: straight-line field access, no per-field boxing or type lookups.\n", className)
+                .addField(FieldSpec.builder(codecCn, "INSTANCE", Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+                        .initializer("new $T()", codecCn)
+                        .build())
+                .addMethod(MethodSpec.constructorBuilder().addModifiers(Modifier.PRIVATE).build())
+                .addMethod(buildWriteTo(pkg, className, fields, codecTypes, readable))
+                .addMethod(buildReadFrom(fields, codecTypes, writable))
+                .build();
+    }
+
+    // ====================================================================== writeTo
+
+    /** Whether a field has been written before the current one, as far as is known statically. */
+    private enum Written { NONE, MAYBE, SOME }
+
+    private static MethodSpec buildWriteTo(String pkg, String className, List<FieldInfo> fields,
+                                           Set<String> codecTypes, TypeName readable) {
+        MethodSpec.Builder m = MethodSpec.methodBuilder("writeTo")
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(Override.class)
+                .addParameter(readable, "value")
+                .addParameter(JSON_SINK, "out");
+        ClassName ir = ClassName.get(pkg, className + "_IR");
+
+        // Primitive fields are always written and null fields skipped, so whether a ',' is due is
+        // mostly known here; a runtime flag is kept only while it depends on earlier null checks.
+        Written[] entry = new Written[fields.size()];
+        Written state = Written.NONE;
+        for (int i = 0; i < fields.size(); i++) {
+            entry[i] = state;
+            if (fields.get(i).type.isPrimitive()) {
+                state = Written.SOME;
+            } else if (state == Written.NONE) {
+                state = Written.MAYBE;
+            }
+        }
+        int lastFlagRead = -1;
+        for (int i = 0; i < fields.size(); i++) {
+            if (entry[i] == Written.MAYBE) lastFlagRead = i;
+        }
+        if (lastFlagRead >= 0) {
+            m.addStatement("boolean first = true");
+        }
+
+        m.addStatement("out.append('{')");
+        for (int i = 0; i < fields.size(); i++) {
+            FieldInfo f = fields.get(i);
+            String getter = (ProcessorUtils.isBooleanType(f.type) ? "is" : "get") + ProcessorUtils.capitalize(f.name);
+            String local = "v" + i;
+            boolean nullable = !f.type.isPrimitive();
+            if (nullable) {
+                m.addStatement("var $L = value.$L()", local, getter);
+                m.beginControlFlow("if ($L != null)", local);
+            }
+            switch (entry[i]) {
+                case SOME -> m.addStatement("out.append(',')");
+                case MAYBE -> m.addStatement("if (!first) out.append(',')");
+                case NONE -> { }
+            }
+            if (nullable && entry[i] != Written.SOME && lastFlagRead > i) {
+                m.addStatement("first = false");
+            }
+            m.addStatement("out.appendToken($T.FIELD_NAME_TOKENS, $L)", ir, i);
+            m.addCode(writeField(f, nullable ? CodeBlock.of("$L", local) : CodeBlock.of("value.$L()", getter), codecTypes));
+            if (nullable) {
+                m.endControlFlow();
+            }
+        }
+        m.addStatement("out.append('}')");
+        return m.build();
+    }
+
+    private static CodeBlock writeField(FieldInfo f, CodeBlock value, Set<String> codecTypes) {
+        if (f.isNestedDataHelper && f.isNestedGenerated && hasCodec(f.type, codecTypes)) {
+            return CodeBlock.builder().addStatement("$T.INSTANCE.write($L, out)", codecOf(f.type), value).build();
+        }
+        if (f.isListField && f.listElementType != null && writeScalar(f.listElementType, CodeBlock.of("e"), codecTypes) != null) {
+            return CodeBlock.builder()
+                    .addStatement("out.append('[')")
+                    .addStatement("boolean sep = false")
+                    .beginControlFlow("for (var e : $L)", value)
+                    .addStatement("if (sep) out.append(',')")
+                    .addStatement("sep = true")
+                    .add(writeElement(f.listElementType, codecTypes))
+                    .endControlFlow()
+                    .addStatement("out.append(']')")
+                    .build();
+        }
+        if (f.isMapField && STRING.equals(f.mapKeyType) && f.mapValueType != null
+                && writeScalar(f.mapValueType, CodeBlock.of("e"), codecTypes) != null) {
+            return CodeBlock.builder()
+                    .addStatement("out.append('{')")
+                    .addStatement("boolean sep = false")
+                    .beginControlFlow("for (var entry : $L.entrySet())", value)
+                    .addStatement("if (sep) out.append(',')")
+                    .addStatement("sep = true")
+                    .addStatement("out.writeString($T.valueOf(entry.getKey()))", String.class)
+                    .addStatement("out.append(':')")
+                    .addStatement("var e = entry.getValue()")
+                    .add(writeElement(f.mapValueType, codecTypes))
+                    .endControlFlow()
+                    .addStatement("out.append('}')")
+                    .build();
+        }
+        CodeBlock scalar = f.isListField || f.isMapField ? null : writeScalar(f.type, value, codecTypes);
+        return CodeBlock.builder()
+                .addStatement(scalar != null ? scalar : CodeBlock.of("out.writeValue($L)", value))
+                .build();
+    }
+
+    /** Write list element / map value {@code e}, which may be null. */
+    private static CodeBlock writeElement(TypeName type, Set<String> codecTypes) {
+        return CodeBlock.builder()
+                .beginControlFlow("if (e == null)")
+                .addStatement("out.append($S)", "null")
+                .nextControlFlow("else")
+                .addStatement(writeScalar(type, CodeBlock.of("e"), codecTypes))
+                .endControlFlow()
+                .build();
+    }
+
+    /**
+     * Statement writing a non-null scalar or in-round DTO, or null if the type is not specialized.
+     */
+    private static CodeBlock writeScalar(TypeName type, CodeBlock value, Set<String> codecTypes) {
+        if (STRING.equals(type)) {
+            return CodeBlock.of("out.writeString($L)", value);
+        }
+        if (hasCodec(type, codecTypes)) {
+            return CodeBlock.of("$T.INSTANCE.write($L, out)", codecOf(type), value);
+        }
+        TypeName t = type.isBoxedPrimitive() ? type.unbox() : type;
+        if (t.equals(TypeName.INT) || t.equals(TypeName.LONG) || t.equals(TypeName.SHORT) || t.equals(TypeName.BYTE)) {
+            return CodeBlock.of("out.appendLong($L)", value);
+        }
+        if (t.equals(TypeName.DOUBLE)) {
+            return CodeBlock.of("out.writeDouble($L)", value);
+        }
+        if (t.equals(TypeName.FLOAT)) {
+            return CodeBlock.of("out.writeFloat($L)", value);
+        }
+        if (t.equals(TypeName.BOOLEAN)) {
+            return CodeBlock.of("out.writeBoolean($L)", value);
+        }
+        return null;
+    }
+
+    // ====================================================================== readFrom
+
+    private static MethodSpec buildReadFrom(List<FieldInfo> fields, Set<String> codecTypes, TypeName writable) {
+        MethodSpec.Builder m = MethodSpec.methodBuilder("readFrom")
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(Override.class)
+                .addParameter(JSON_SOURCE, "in")
+                .addParameter(writable, "target");
+
+        m.beginControlFlow("for (boolean more = in.beginObject(); more; more = in.nextMember())");
+        m.addStatement("int ordinal = in.readKey(target)");
+        m.addStatement("if (in.readNull()) continue");
+        m.beginControlFlow("switch (ordinal)");
+        for (int i = 0; i < fields.size(); i++) {
+            m.addCode(readField(fields.get(i), i, codecTypes));
+        }
+        m.addStatement("default -> in.skipValue()");
+        m.endControlFlow();
+        m.endControlFlow();
+        return m.build();
+    }
+
+    private static CodeBlock readField(FieldInfo f, int ordinal, Set<String> codecTypes) {
+        String setter = "set" + ProcessorUtils.capitalize(f.name);
+        if (f.isListField && f.listElementType != null && readScalar(f.listElementType, codecTypes) != null) {
+            return CodeBlock.builder()
+                    .beginControlFlow("case $L ->", ordinal)
+                    .addStatement("$T list = new $T<>()", f.type, ClassName.bestGuess(f.listImplClass != null ? f.listImplClass : "java.util.ArrayList"))
+                    .beginControlFlow("for (boolean element = in.beginArray(); element; element = in.nextElement())")
+                    .addStatement("list.add(in.readNull() ? null : $L)", readScalar(f.listElementType, codecTypes))
+                    .endControlFlow()
+                    .addStatement("target.$L(list)", setter)
+                    .endControlFlow()
+                    .build();
+        }
+        if (f.isMapField && STRING.equals(f.mapKeyType) && f.mapValueType != null
+                && readScalar(f.mapValueType, codecTypes) != null) {
+            return CodeBlock.builder()
+                    .beginControlFlow("case $L ->", ordinal)
+                    .addStatement("$T map = new $T<>()", f.type, ClassName.bestGuess(f.mapImplClass != null ? f.mapImplClass : "java.util.LinkedHashMap"))
+                    .beginControlFlow("for (boolean member = in.beginObject(); member; member = in.nextMember())")
+                    .addStatement("map.put(in.readKeyString(), in.readNull() ? null : $L)", readScalar(f.mapValueType, codecTypes))
+                    .endControlFlow()
+                    .addStatement("target.$L(map)", setter)
+                    .endControlFlow()
+                    .build();
+        }
+        boolean nested = f.isNestedDataHelper && f.isNestedGenerated && hasCodec(f.type, codecTypes);
+        CodeBlock scalar = f.isListField || f.isMapField || (f.isNestedDataHelper && !nested)
+                ? null : readScalar(f.type, codecTypes);
+        if (scalar == null) {
+            return CodeBlock.builder().addStatement("case $L -> in.readField(target, ordinal)", ordinal).build();
+        }
+        return CodeBlock.builder().addStatement("case $L -> target.$L($L)", ordinal, setter, scalar).build();
+    }
+
+    /** Expression reading a non-null scalar or in-round DTO, or null if the type is not specialized. */
+    private static CodeBlock readScalar(TypeName type, Set<String> codecTypes) {
+        if (STRING.equals(type)) {
+            return CodeBlock.of("in.readString()");
+        }
+        if (hasCodec(type, codecTypes)) {
+            return CodeBlock.of("$T.INSTANCE.readInto(in, new $T())", codecOf(type), type);
+        }
+        TypeName t = type.isBoxedPrimitive() ? type.unbox() : type;
+        if (t.equals(TypeName.LONG)) {
+            return CodeBlock.of("in.readLong()");
+        }
+        if (t.equals(TypeName.INT)) {
+            return CodeBlock.of("in.readInt()");
+        }
+        if (t.equals(TypeName.SHORT)) {
+            return CodeBlock.of("in.readShort()");
+        }
+        if (t.equals(TypeName.BYTE)) {
+            return CodeBlock.of("in.readByte()");
+        }
+        if (t.equals(TypeName.DOUBLE)) {
+            return CodeBlock.of("in.readDouble()");
+        }
+        if (t.equals(TypeName.FLOAT)) {
+            return CodeBlock.of("(float) in.readDouble()");
+        }
+        if (t.equals(TypeName.BOOLEAN)) {
+            return CodeBlock.of("in.readBoolean()");
+        }
+        return null;
+    }
+
+    // ====================================================================== helpers
+
+    private static boolean hasCodec(TypeName type, Set<String> codecTypes) {
+        return type instanceof ClassName cn && codecTypes.contains(cn.canonicalName());
+    }
+
+    private static ClassName codecOf(TypeName type) {
+        return ProjectionGenerator.sibling(type, "_JsonCodec");
+    }
+}
@@ -84,6 +84,17 @@ public class ProcessorUtils {
                type.equals(TypeName.get(Character.class));
     }
 
+    /**
+     * Check if type is a numeric primitive or its wrapper (int/long/short/byte/double/float).
+     * Such fields can be assigned from a primitive {@code long}/{@code double} with a cast.
+     */
+    public static boolean isNumericType(TypeName type) {
+        TypeName t = type.isBoxedPrimitive() ? type.unbox() : type;
+        return t.equals(TypeName.INT) || t.equals(TypeName.LONG)
+            || t.equals(TypeName.SHORT) || t.equals(TypeName.BYTE)
+            || t.equals(TypeName.DOUBLE) || t.equals(TypeName.FLOAT);
+    }
+
     /**
      * Check if type is List<T> or a supported List implementation
      */
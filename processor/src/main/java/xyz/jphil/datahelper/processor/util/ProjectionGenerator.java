@@ -22,7 +22,7 @@ import java.util.stream.Collectors;
  * common to both annotation paths:
  *
  * <ul>
- *   <li>{@code Foo_IR} — readable interface: {@code $symbols}, {@code FIELDS}, typed getters
+ *   <li>{@code Foo_IR} — readable interface: {@code $symbols}, {@code FIELDS}/{@code FIELD_NAMES}, typed getters
  *       (widened to the readable interface for generated DataHelper components), read-side
  *       property accessors, and the abstract {@code toRecord()}.</li>
  *   <li>{@code Foo_I extends Foo_IR, DataHelper_I} — writable interface: setters, write-side
@@ -116,10 +116,47 @@ public final class ProjectionGenerator {
         return ParameterizedTypeName.get(ClassName.get(Class.class), WildcardTypeName.subtypeOf(Object.class));
     }
 
+    /**
+     * {@code codec(Class)} override for {@code Foo_IR}, returning the generated codec of the
+     * requested kind.
+     */
+    private static MethodSpec createCodecMethod(String pkg, String className, boolean jsonCodec, boolean protoCodec) {
+        TypeVariableName c = TypeVariableName.get("C");
+        CodeBlock.Builder dispatch = CodeBlock.builder().add("return ");
+        if (jsonCodec) {
+            dispatch.add("kind == $T.class ? ($T) $T.INSTANCE : ",
+                    JsonCodecGenerator.JSON_CODEC, c, ClassName.get(pkg, className + "_JsonCodec"));
+        }
+        if (protoCodec) {
+            dispatch.add("kind == $T.class ? ($T) $T.INSTANCE : ",
+                    ProtoCodecGenerator.PROTO_CODEC, c, ClassName.get(pkg, className + "_ProtoCodec"));
+        }
+        return MethodSpec.methodBuilder("codec")
+                .addModifiers(Modifier.PUBLIC, Modifier.DEFAULT)
+                .addAnnotation(Override.class)
+                .addAnnotation(AnnotationSpec.builder(SuppressWarnings.class).addMember("value", "$S", "unchecked").build())
+                .addTypeVariable(c)
+                .addParameter(ParameterizedTypeName.get(ClassName.get(Class.class), c), "kind")
+                .returns(c)
+                .addStatement(dispatch.add("null").build())
+                .build();
+    }
+
     // ====================================================================== _IR (readable)
 
     public static TypeSpec buildReadableInterface(String pkg, String className, List<FieldInfo> fields,
                                                   ProcessorUtils utils, List<TypeName> extraSupers) {
+        return buildReadableInterface(pkg, className, fields, utils, extraSupers, false, false);
+    }
+
+    /**
+     * @param jsonCodec  also override {@code codec(Class)} to return the generated
+     *                   {@code Foo_JsonCodec} (see {@link JsonCodecGenerator})
+     * @param protoCodec likewise for {@code Foo_ProtoCodec} (see {@link ProtoCodecGenerator})
+     */
+    public static TypeSpec buildReadableInterface(String pkg, String className, List<FieldInfo> fields,
+                                                  ProcessorUtils utils, List<TypeName> extraSupers,
+                                                  boolean jsonCodec, boolean protoCodec) {
         ClassName irCn = ClassName.get(pkg, className + "_IR");
         TypeSpec.Builder b = TypeSpec.interfaceBuilder(className + "_IR")
                 .addModifiers(Modifier.PUBLIC)
@@ -131,17 +168,32 @@ public final class ProjectionGenerator {
 
         CodeGeneratorUtils.addFieldSymbols(b, fields, pkg, className, "_IR");
         CodeGeneratorUtils.addFieldsList(b, fields, pkg, className);
+        CodeGeneratorUtils.addFieldNamesList(b, fields);
+        CodeGeneratorUtils.addFieldNameTokens(b, fields);
 
         addReadableGetters(b, fields);
         addReadableFluentGetters(b, fields);
 
         b.addMethod(CodeGeneratorUtils.createDataClassMethod(pkg, className, true));
         b.addMethod(CodeGeneratorUtils.createFieldNamesMethod(true));
+        b.addMethod(CodeGeneratorUtils.createFieldNameTokensMethod(true));
         b.addMethod(CodeGeneratorUtils.createGetPropertyByNameMethod(fields, utils, true));
+        b.addMethod(CodeGeneratorUtils.createGetPropertyByOrdinalMethod(fields, true));
+        b.addMethod(CodeGeneratorUtils.createGetNumberByOrdinalMethod(fields, false, true));
+        b.addMethod(CodeGeneratorUtils.createGetNumberByOrdinalMethod(fields, true, true));
+        b.addMethod(CodeGeneratorUtils.createIsPrimitiveNumberFieldMethod(fields, false, true));
+        b.addMethod(CodeGeneratorUtils.createIsPrimitiveNumberFieldMethod(fields, true, true));
+        b.addMethod(CodeGeneratorUtils.createFieldOrdinalMethod(fields, true));
+        b.addMethod(CodeGeneratorUtils.createFieldIdMethod(fields, true));
+        b.addMethod(CodeGeneratorUtils.createRelaxedFieldOrdinalMethod(fields, true));
         b.addMethod(CodeGeneratorUtils.createGetPropertyTypeMethod(fields, true));
         b.addMethod(CodeGeneratorUtils.createIsListFieldMethod(fields, true));
+        b.addMethod(CodeGeneratorUtils.createGetListElementTypeMethod(fields, true));
         b.addMethod(CodeGeneratorUtils.createIsNestedObjectFieldMethod(fields, true));
         CodeGeneratorUtils.addMapReadMethods(b, fields, true);
+        if (jsonCodec || protoCodec) {
+            b.addMethod(createCodecMethod(pkg, className, jsonCodec, protoCodec));
+        }
 
         b.addMethod(MethodSpec.methodBuilder("toRecord")
                 .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
@@ -183,6 +235,16 @@ public final class ProjectionGenerator {
 
     public static TypeSpec buildWritableInterface(String pkg, String className, List<FieldInfo> fields,
                                                   ProcessorUtils utils, List<TypeName> extraSupers) {
+        return buildWritableInterface(pkg, className, fields, utils, extraSupers, false);
+    }
+
+    /**
+     * @param externalizable also extend {@code Externalizable} with generated
+     *                       {@code writeExternal}/{@code readExternal} (see {@link ExternalizableGenerator})
+     */
+    public static TypeSpec buildWritableInterface(String pkg, String className, List<FieldInfo> fields,
+                                                  ProcessorUtils utils, List<TypeName> extraSupers,
+                                                  boolean externalizable) {
         ClassName iCn = ClassName.get(pkg, className + "_I");
         TypeSpec.Builder b = TypeSpec.interfaceBuilder(className + "_I")
                 .addModifiers(Modifier.PUBLIC)
@@ -197,9 +259,15 @@ public final class ProjectionGenerator {
         addWritableSetters(b, fields);
 
         b.addMethod(CodeGeneratorUtils.createSetPropertyByNameMethod(fields, utils, true));
+        b.addMethod(CodeGeneratorUtils.createSetPropertyByOrdinalMethod(fields, true));
+        b.addMethod(CodeGeneratorUtils.createSetNumberByOrdinalMethod(fields, false, true));
+        b.addMethod(CodeGeneratorUtils.createSetNumberByOrdinalMethod(fields, true, true));
         b.addMethod(CodeGeneratorUtils.createNestedObjectMethod(fields, true));
         b.addMethod(CodeGeneratorUtils.createListElementMethod(fields, true));
         CodeGeneratorUtils.addMapWriteMethods(b, fields, true);
+        if (externalizable) {
+            ExternalizableGenerator.addTo(b, fields);
+        }
 
         b.addMethod(buildToRecordDefault(pkg, className, fields));
         return b.build();
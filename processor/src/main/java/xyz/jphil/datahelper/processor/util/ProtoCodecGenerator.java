@@ -0,0 +1,465 @@
+package xyz.jphil.datahelper.processor.util;
+
+import com.palantir.javapoet.ClassName;
+import com.palantir.javapoet.CodeBlock;
+import com.palantir.javapoet.FieldSpec;
+import com.palantir.javapoet.MethodSpec;
+import com.palantir.javapoet.ParameterizedTypeName;
+import com.palantir.javapoet.TypeName;
+import com.palantir.javapoet.TypeSpec;
+import com.palantir.javapoet.WildcardTypeName;
+import xyz.jphil.datahelper.ProtoField;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Builds {@code Foo_ProtoCodec} and the matching {@code Foo.proto} when the protobuf module is on
+ * the compile classpath (processor option {@code -Adatahelper.protobuf=false} turns it off).
+ *
+ * <p>Field numbers come from {@code @ProtoField}, else the declaration order; see
+ * {@link FieldAnalyzer} for their validation. Fields map to proto3 as:</p>
+ * <ul>
+ *   <li>{@code int}/{@code short}/{@code byte}/{@code char} and wrappers: {@code int32}, or
+ *       {@code sint32}/{@code sfixed32} by {@code @ProtoField(encoding)}; {@code long}:
+ *       {@code int64}/{@code sint64}/{@code sfixed64}; {@code double}, {@code float},
+ *       {@code boolean}: {@code double}, {@code float}, {@code bool}; String: {@code string}</li>
+ *   <li>primitives have implicit presence (the default value is not written); wrappers and
+ *       String are {@code optional}, so null and the default value stay distinct</li>
+ *   <li>nested generated DTOs: messages; lists: {@code repeated}, packed for numbers and
+ *       booleans (null elements are dropped, and an empty list reads back as null); maps with
+ *       integral, boolean or String keys: {@code map<K, V>}</li>
+ * </ul>
+ *
+ * <p>Other fields (hand-written nested DTOs, maps with floating-point keys) are left out with a
+ * warning and their numbers {@code reserved} in the {@code .proto}. Nested DTOs use their own
+ * generated codecs directly, so they must be compiled with the protobuf module as well.</p>
+ */
+public final class ProtoCodecGenerator {
+
+    /** Processor option; generation is on by default when the protobuf module is present. */
+    public static final String OPTION = "datahelper.protobuf";
+
+    private static final String PROTOBUF = "xyz.jphil.datahelper.protobuf";
+    public static final ClassName PROTO_CODEC = ClassName.get(PROTOBUF, "ProtoCodec");
+    private static final ClassName PROTO_SINK = ClassName.get(PROTOBUF, "ProtoSink");
+    private static final ClassName PROTO_SOURCE = ClassName.get(PROTOBUF, "ProtoSource");
+    private static final TypeName STRING = ClassName.get(String.class);
+
+    private static final int WIRE_VARINT = 0;
+    private static final int WIRE_I64 = 1;
+    private static final int WIRE_LEN = 2;
+    private static final int WIRE_I32 = 5;
+
+    private ProtoCodecGenerator() {}
+
+    /**
+     * True when the protobuf module is on the compile classpath, unless the option turns
+     * generation off.
+     */
+    public static boolean isEnabled(ProcessingEnvironment env) {
+        String option = env.getOptions().get(OPTION);
+        if (option != null && !Boolean.parseBoolean(option)) {
+            return false;
+        }
+        if (env.getElementUtils().getTypeElement(PROTO_CODEC.canonicalName()) == null) {
+            if (option != null) {
+                env.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                        "-A" + OPTION + "=true ignored: " + PROTO_CODEC.canonicalName() + " is not on the classpath");
+            }
+            return false;
+        }
+        return true;
+    }
+
+    /** The {@code Foo_ProtoCodec} class. */
+    public static TypeSpec buildCodec(String pkg, String className, List<FieldInfo> fields) {
+        ClassName codecCn = ClassName.get(pkg, className + "_ProtoCodec");
+        TypeName readable = ParameterizedTypeName.get(ClassName.get(pkg, className + "_IR"), WildcardTypeName.subtypeOf(Object.class));
+        TypeName writable = ParameterizedTypeName.get(ClassName.get(pkg, className + "_I"), WildcardTypeName.subtypeOf(Object.class));
+        List<Mapping> mappings = mappings(fields);
+
+        return TypeSpec.classBuilder(codecCn)
+                .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
+                .superclass(ParameterizedTypeName.get(PROTO_CODEC, readable, writable))
+                .addJavadoc("Protobuf codec of {@link $L}, the wire format of {@code $L.proto}: straight-line field access, no reflection.\n",
+                        className, className)
+                .addField(FieldSpec.builder(codecCn, "INSTANCE", Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+                        .initializer("new $T()", codecCn)
+                        .build())
+                .addMethod(MethodSpec.constructorBuilder().addModifiers(Modifier.PRIVATE).build())
+                .addMethod(buildWriteTo(mappings, readable))
+                .addMethod(buildReadFrom(mappings, writable))
+                .build();
+    }
+
+    /**
+     * Write {@code Foo.proto} next to the classes, warning about the fields left out.
+     */
+    public static void writeProto(ProcessingEnvironment env, TypeElement element, String pkg, String className,
+                                  List<FieldInfo> fields) {
+        List<Mapping> mappings = mappings(fields);
+        Set<String> imports = new TreeSet<>();
+        StringBuilder body = new StringBuilder();
+        body.append("message ").append(className).append(" {\n");
+        for (Mapping m : mappings) {
+            if (m.unsupported != null) {
+                env.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                        "Field '" + m.field.name + "' is left out of " + className + "_ProtoCodec: " + m.unsupported, element);
+                body.append("  reserved ").append(m.number).append(";  // ").append(m.field.name).append(": ")
+                        .append(m.unsupported).append('\n');
+                continue;
+            }
+            String type = switch (m.kind) {
+                case SCALAR -> (m.field.type.isPrimitive() ? "" : "optional ") + m.value.protoType;
+                case MESSAGE -> messageName(m.message, pkg, className, imports);
+                case LIST -> "repeated " + (m.message != null ? messageName(m.message, pkg, className, imports) : m.value.protoType);
+                case MAP -> "map<" + m.key.protoType + ", "
+                        + (m.message != null ? messageName(m.message, pkg, className, imports) : m.value.protoType) + ">";
+            };
+            body.append("  ").append(type).append(' ').append(m.field.name).append(" = ").append(m.number).append(";\n");
+        }
+        body.append("}\n");
+
+        StringBuilder proto = new StringBuilder();
+        proto.append("// Generated by the DataHelper processor from ").append(element.getQualifiedName()).append('\n');
+        proto.append("syntax = \"proto3\";\n\n");
+        if (!pkg.isEmpty()) {
+            proto.append("package ").append(pkg).append(";\n\n");
+        }
+        for (String path : imports) {
+            proto.append("import \"").append(path).append("\";\n");
+        }
+        if (!imports.isEmpty()) {
+            proto.append('\n');
+        }
+        proto.append(body);
+
+        try {
+            FileObject file = env.getFiler().createResource(StandardLocation.CLASS_OUTPUT, pkg, className + ".proto", element);
+            try (Writer writer = file.openWriter()) {
+                writer.write(proto.toString());
+            }
+            env.getMessager().printMessage(Diagnostic.Kind.NOTE, "Generated: " + className + ".proto");
+        } catch (IOException e) {
+            env.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Failed to generate " + className + ".proto: " + e.getMessage());
+        }
+    }
+
+    /** The name of a message type as seen from {@code pkg}, recording its import. */
+    private static String messageName(ClassName type, String pkg, String className, Set<String> imports) {
+        String simple = type.simpleName();
+        if (!(type.packageName().equals(pkg) && simple.equals(className))) {
+            String dir = type.packageName().isEmpty() ? "" : type.packageName().replace('.', '/') + "/";
+            imports.add(dir + simple + ".proto");
+        }
+        return type.packageName().equals(pkg) ? simple : type.packageName() + "." + simple;
+    }
+
+    // ====================================================================== writeTo
+
+    private static MethodSpec buildWriteTo(List<Mapping> mappings, TypeName readable) {
+        MethodSpec.Builder m = MethodSpec.methodBuilder("writeTo")
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(Override.class)
+                .addParameter(readable, "value")
+                .addParameter(PROTO_SINK, "out");
+        for (int i = 0; i < mappings.size(); i++) {
+            Mapping f = mappings.get(i);
+            if (f.unsupported != null) continue;
+            String getter = (ProcessorUtils.isBooleanType(f.field.type) ? "is" : "get") + ProcessorUtils.capitalize(f.field.name);
+            String local = "v" + i;
+            m.addStatement("var $L = value.$L()", local, getter);
+            switch (f.kind) {
+                case SCALAR -> {
+                    if (f.field.type.isPrimitive()) {
+                        m.beginControlFlow("if ($L)", isNonDefault(f.value, local));
+                    } else {
+                        m.beginControlFlow("if ($L != null)", local);
+                    }
+                    m.addStatement("out.write$L($L, $L)", f.value.method, f.number, local);
+                    m.endControlFlow();
+                }
+                case MESSAGE -> m.addStatement("if ($L != null) $T.INSTANCE.writeMessage($L, $L, out)",
+                        local, codecOf(f.message), f.number, local);
+                case LIST -> {
+                    if (f.value != null && f.value.packable) {
+                        m.beginControlFlow("if ($L != null && !$L.isEmpty())", local, local)
+                                .addStatement("int mark = out.beginLengthDelimited($L)", f.number)
+                                .addStatement("for (var e : $L) if (e != null) out.write$LNoTag(e)", local, f.value.method)
+                                .addStatement("out.endLengthDelimited(mark)")
+                                .endControlFlow();
+                    } else {
+                        m.beginControlFlow("if ($L != null)", local)
+                                .beginControlFlow("for (var e : $L)", local)
+                                .addStatement("if (e != null) $L", writeValue(f, CodeBlock.of("$L", f.number)))
+                                .endControlFlow()
+                                .endControlFlow();
+                    }
+                }
+                case MAP -> m.beginControlFlow("if ($L != null)", local)
+                        .beginControlFlow("for (var entry : $L.entrySet())", local)
+                        .addStatement("var k = entry.getKey()")
+                        .addStatement("if (k == null) continue")
+                        .addStatement("int mark = out.beginLengthDelimited($L)", f.number)
+                        .addStatement("out.write$L(1, k)", f.key.method)
+                        .addStatement("var e = entry.getValue()")
+                        .addStatement("if (e != null) $L", writeValue(f, CodeBlock.of("2")))
+                        .addStatement("out.endLengthDelimited(mark)")
+                        .endControlFlow()
+                        .endControlFlow();
+            }
+        }
+        return m.build();
+    }
+
+    /** Write list element / map value {@code e} (non-null) as field {@code number}. */
+    private static CodeBlock writeValue(Mapping f, CodeBlock number) {
+        return f.message != null
+                ? CodeBlock.of("$T.INSTANCE.writeMessage($L, e, out)", codecOf(f.message), number)
+                : CodeBlock.of("out.write$L($L, e)", f.value.method, number);
+    }
+
+    private static CodeBlock isNonDefault(Wire wire, String local) {
+        return switch (wire.protoType) {
+            case "double" -> CodeBlock.of("$T.doubleToRawLongBits($L) != 0L", Double.class, local);
+            case "float" -> CodeBlock.of("$T.floatToRawIntBits($L) != 0", Float.class, local);
+            case "bool" -> CodeBlock.of("$L", local);
+            default -> CodeBlock.of("$L != 0", local);
+        };
+    }
+
+    // ====================================================================== readFrom
+
+    private static MethodSpec buildReadFrom(List<Mapping> mappings, TypeName writable) {
+        MethodSpec.Builder m = MethodSpec.methodBuilder("readFrom")
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(Override.class)
+                .addParameter(PROTO_SOURCE, "in")
+                .addParameter(writable, "target");
+
+        // Repeated fields may arrive in several records: collect, then set once at the end
+        for (int i = 0; i < mappings.size(); i++) {
+            Mapping f = mappings.get(i);
+            if (f.unsupported == null && (f.kind == Kind.LIST || f.kind == Kind.MAP)) {
+                m.addStatement("$T c$L = null", f.field.type, i);
+            }
+        }
+        m.beginControlFlow("for (int tag; (tag = in.readTag()) != 0; )");
+        m.beginControlFlow("switch (tag)");
+        for (int i = 0; i < mappings.size(); i++) {
+            Mapping f = mappings.get(i);
+            if (f.unsupported == null) {
+                m.addCode(readField(f, i));
+            }
+        }
+        m.addStatement("default -> in.skipField(tag)");
+        m.endControlFlow();
+        m.endControlFlow();
+        for (int i = 0; i < mappings.size(); i++) {
+            Mapping f = mappings.get(i);
+            if (f.unsupported == null && (f.kind == Kind.LIST || f.kind == Kind.MAP)) {
+                m.addStatement("if (c$L != null) target.set$L(c$L)", i, ProcessorUtils.capitalize(f.field.name), i);
+            }
+        }
+        return m.build();
+    }
+
+    private static CodeBlock readField(Mapping f, int index) {
+        String setter = "set" + ProcessorUtils.capitalize(f.field.name);
+        String collection = "c" + index;
+        CodeBlock.Builder b = CodeBlock.builder();
+        switch (f.kind) {
+            case SCALAR -> b.addStatement("case $L -> target.$L($L)", tag(f.number, f.value.wireType), setter, readValue(f));
+            case MESSAGE -> b.addStatement("case $L -> target.$L($L)", tag(f.number, WIRE_LEN), setter, readValue(f));
+            case LIST -> {
+                String impl = f.field.listImplClass != null ? f.field.listImplClass : "java.util.ArrayList";
+                if (f.value != null && f.value.packable) {
+                    // Parsers must accept both the packed and the unpacked form
+                    b.beginControlFlow("case $L ->", tag(f.number, WIRE_LEN))
+                            .addStatement("if ($L == null) $L = new $T<>()", collection, collection, ClassName.bestGuess(impl))
+                            .addStatement("int enclosing = in.beginLengthDelimited()")
+                            .addStatement("while (!in.atLimit()) $L.add($L)", collection, readValue(f))
+                            .addStatement("in.endLengthDelimited(enclosing)")
+                            .endControlFlow();
+                }
+                b.beginControlFlow("case $L ->", tag(f.number, f.message != null ? WIRE_LEN : f.value.wireType))
+                        .addStatement("if ($L == null) $L = new $T<>()", collection, collection, ClassName.bestGuess(impl))
+                        .addStatement("$L.add($L)", collection, readValue(f))
+                        .endControlFlow();
+            }
+            case MAP -> {
+                String impl = f.field.mapImplClass != null ? f.field.mapImplClass : "java.util.LinkedHashMap";
+                b.beginControlFlow("case $L ->", tag(f.number, WIRE_LEN))
+                        .addStatement("if ($L == null) $L = new $T<>()", collection, collection, ClassName.bestGuess(impl))
+                        .addStatement("int enclosing = in.beginLengthDelimited()")
+                        .addStatement("$T k = $L", f.field.mapKeyType, f.key.defaultValue)
+                        .addStatement("$T e = null", f.field.mapValueType)
+                        .beginControlFlow("for (int t; (t = in.readTag()) != 0; )")
+                        .beginControlFlow("switch (t)")
+                        .addStatement("case $L -> k = $L", tag(1, f.key.wireType), read(f.key))
+                        .addStatement("case $L -> e = $L", tag(2, f.message != null ? WIRE_LEN : f.value.wireType), readValue(f))
+                        .addStatement("default -> in.skipField(t)")
+                        .endControlFlow()
+                        .endControlFlow()
+                        .addStatement("in.endLengthDelimited(enclosing)")
+                        .addStatement("$L.put(k, e)", collection)
+                        .endControlFlow();
+            }
+        }
+        return b.build();
+    }
+
+    /** Expression reading the field / list element / map value. */
+    private static CodeBlock readValue(Mapping f) {
+        return f.message != null
+                ? CodeBlock.of("$T.INSTANCE.readMessage(in, new $T())", codecOf(f.message), f.message)
+                : read(f.value);
+    }
+
+    private static CodeBlock read(Wire wire) {
+        CodeBlock value = CodeBlock.of("in.read$L()", wire.method);
+        return wire.narrowing == null ? value : CodeBlock.of("in.$L($L)", wire.narrowing, value);
+    }
+
+    private static int tag(int number, int wireType) {
+        return number << 3 | wireType;
+    }
+
+    private static ClassName codecOf(ClassName type) {
+        return ProjectionGenerator.sibling(type, "_ProtoCodec");
+    }
+
+    // ====================================================================== type mapping
+
+    private enum Kind { SCALAR, MESSAGE, LIST, MAP }
+
+    /** How one field maps to protobuf; {@code unsupported} says why it is left out. */
+    private static final class Mapping {
+        final FieldInfo field;
+        final int number;
+        Kind kind;
+        Wire value;          // scalar field, list element or map value (null for messages)
+        ClassName message;   // nested DTO, list element or map value type
+        Wire key;            // map key
+        String unsupported;
+
+        Mapping(FieldInfo field, int number) {
+            this.field = field;
+            this.number = number;
+        }
+    }
+
+    /** The wire form of a scalar type. */
+    private static final class Wire {
+        final String protoType;
+        final String method;      // ProtoSink.write<method> / ProtoSource.read<method>
+        final int wireType;
+        final boolean packable;
+        final String narrowing;   // ProtoSource method narrowing an int32, or null
+        final String defaultValue;
+
+        Wire(String protoType, String method, int wireType, String narrowing, String defaultValue) {
+            this.protoType = protoType;
+            this.method = method;
+            this.wireType = wireType;
+            this.packable = wireType != WIRE_LEN;
+            this.narrowing = narrowing;
+            this.defaultValue = defaultValue;
+        }
+    }
+
+    private static List<Mapping> mappings(List<FieldInfo> fields) {
+        List<Mapping> mappings = new ArrayList<>(fields.size());
+        for (int i = 0; i < fields.size(); i++) {
+            FieldInfo f = fields.get(i);
+            Mapping m = new Mapping(f, f.protoNumber > 0 ? f.protoNumber : i + 1);
+            if (f.isListField) {
+                m.kind = Kind.LIST;
+                if (f.isListOfDataHelper) {
+                    m.message = generatedMessage(f.listElementType, f.isListElementGenerated, m);
+                } else {
+                    m.value = wire(f.listElementType, f.protoEncoding);
+                }
+            } else if (f.isMapField) {
+                m.kind = Kind.MAP;
+                m.key = wire(f.mapKeyType, ProtoField.Encoding.DEFAULT);
+                if (m.key == null || m.key.protoType.equals("double") || m.key.protoType.equals("float")) {
+                    m.unsupported = "protobuf map keys must be integral, bool or string, not " + f.mapKeyType;
+                } else if (f.isMapOfDataHelper) {
+                    m.message = generatedMessage(f.mapValueType, f.isMapValueGenerated, m);
+                } else {
+                    m.value = wire(f.mapValueType, f.protoEncoding);
+                }
+            } else if (f.isNestedDataHelper) {
+                m.kind = Kind.MESSAGE;
+                m.message = generatedMessage(f.type, f.isNestedGenerated, m);
+            } else {
+                m.kind = Kind.SCALAR;
+                m.value = wire(f.type, f.protoEncoding);
+            }
+            if (m.unsupported == null && m.message == null && m.value == null) {
+                m.unsupported = "no protobuf type for " + f.type;
+            }
+            mappings.add(m);
+        }
+        return mappings;
+    }
+
+    private static ClassName generatedMessage(TypeName type, boolean generated, Mapping m) {
+        if (!generated || !(type instanceof ClassName cn)) {
+            m.unsupported = type + " is not a generated DataHelper type and has no protobuf codec";
+            return null;
+        }
+        return cn;
+    }
+
+    /** The wire form of a scalar type in the given encoding, or null for other types. */
+    private static Wire wire(TypeName type, ProtoField.Encoding encoding) {
+        if (type == null) {
+            return null;
+        }
+        if (STRING.equals(type)) {
+            return new Wire("string", "String", WIRE_LEN, null, "\"\"");
+        }
+        TypeName t = type.isBoxedPrimitive() ? type.unbox() : type;
+        if (t.equals(TypeName.INT) || t.equals(TypeName.SHORT) || t.equals(TypeName.BYTE) || t.equals(TypeName.CHAR)) {
+            String narrowing = t.equals(TypeName.SHORT) ? "toShort" : t.equals(TypeName.BYTE) ? "toByte"
+                    : t.equals(TypeName.CHAR) ? "toChar" : null;
+            String defaultValue = t.equals(TypeName.CHAR) ? "'\\0'" : "0";
+            return switch (encoding) {
+                case ZIGZAG -> new Wire("sint32", "SInt32", WIRE_VARINT, narrowing, defaultValue);
+                case FIXED -> new Wire("sfixed32", "SFixed32", WIRE_I32, narrowing, defaultValue);
+                default -> new Wire("int32", "Int32", WIRE_VARINT, narrowing, defaultValue);
+            };
+        }
+        if (t.equals(TypeName.LONG)) {
+            return switch (encoding) {
+                case ZIGZAG -> new Wire("sint64", "SInt64", WIRE_VARINT, null, "0L");
+                case FIXED -> new Wire("sfixed64", "SFixed64", WIRE_I64, null, "0L");
+                default -> new Wire("int64", "Int64", WIRE_VARINT, null, "0L");
+            };
+        }
+        if (t.equals(TypeName.DOUBLE)) {
+            return new Wire("double", "Double", WIRE_I64, null, "0.0");
+        }
+        if (t.equals(TypeName.FLOAT)) {
+            return new Wire("float", "Float", WIRE_I32, null, "0f");
+        }
+        if (t.equals(TypeName.BOOLEAN)) {
+            return new Wire("bool", "Bool", WIRE_VARINT, null, "false");
+        }
+        return null;
+    }
+}
@@ -0,0 +1,66 @@
+package xyz.jphil.datahelper.protobuf;
+
+import xyz.jphil.datahelper.DataHelper_IR;
+
+/**
+ * A protobuf encoder/decoder generated for one DataHelper type.
+ *
+ * <p>Whenever this module is on the compile classpath, the processor generates a
+ * {@code Foo_ProtoCodec} for every {@code @Data} / {@code @DataHelper} type, together with a
+ * matching {@code Foo.proto} resource in the same package. The codec writes and reads the
+ * fields in straight-line code through the concrete getters and setters; the field numbers
+ * come from {@link xyz.jphil.datahelper.ProtoField @ProtoField} or the declaration order. The
+ * generated {@code Foo_IR} returns the codec from {@code codec(ProtoCodec.class)}, where the
+ * {@link Protobuf_IR} / {@link Protobuf_I} traits find it. Set the processor option
+ * {@code -Adatahelper.protobuf=false} to turn generation off.</p>
+ *
+ * @param <R> the readable type written by the codec ({@code Foo_IR<?>})
+ * @param <W> the writable type bound by the codec ({@code Foo_I<?>})
+ */
+public abstract class ProtoCodec<R, W> {
+
+    /**
+     * Write the fields of {@code value} (deep).
+     */
+    public abstract void writeTo(R value, ProtoSink out);
+
+    /**
+     * Bind the fields up to the end of the current message of {@code in} into {@code target}.
+     * Unknown fields are skipped; a repeated field or map replaces the target's.
+     */
+    public abstract void readFrom(ProtoSource in, W target);
+
+    /**
+     * Write {@code value} as the nested message field {@code field}.
+     */
+    public final void writeMessage(int field, R value, ProtoSink out) {
+        int mark = out.beginLengthDelimited(field);
+        writeTo(value, out);
+        out.endLengthDelimited(mark);
+    }
+
+    /**
+     * Bind the nested message whose tag was just read into {@code target}, and return it.
+     */
+    public final <T extends W> T readMessage(ProtoSource in, T target) {
+        int enclosing = in.beginLengthDelimited();
+        readFrom(in, target);
+        in.endLengthDelimited(enclosing);
+        return target;
+    }
+
+    /**
+     * The codec generated for the type of {@code dto}.
+     *
+     * @throws IllegalStateException if the type has none
+     */
+    @SuppressWarnings("unchecked")
+    static ProtoCodec<Object, Object> of(DataHelper_IR<?> dto) {
+        ProtoCodec<Object, Object> codec = dto.codec(ProtoCodec.class);
+        if (codec == null) {
+            throw new IllegalStateException("No protobuf codec generated for " + dto.dataClass().getName()
+                    + ": compile it with xyz-jphil-datahelper-protobuf on the classpath");
+        }
+        return codec;
+    }
+}
@@ -0,0 +1,287 @@
+package xyz.jphil.datahelper.protobuf;
+
+import java.util.Arrays;
+
+/**
+ * Protobuf wire-format output into a growing byte buffer, called by the generated
+ * {@code Foo_ProtoCodec}s.
+ *
+ * <p>The {@code write*(field, value)} methods write one field: its tag, then the value in the
+ * named protobuf encoding. The {@code *NoTag} methods write a bare value, for the elements of a
+ * packed repeated field. Length-delimited records whose length is not known up front (nested
+ * messages, packed fields, map entries) are written between {@link #beginLengthDelimited} and
+ * {@link #endLengthDelimited}: one byte is reserved for the length and the content is moved up
+ * in the rare case the length needs more, so no size pre-pass is needed.</p>
+ */
+public final class ProtoSink {
+
+    static final int WIRE_VARINT = 0;
+    static final int WIRE_I64 = 1;
+    static final int WIRE_LEN = 2;
+    static final int WIRE_I32 = 5;
+
+    byte[] buffer;
+    int count = 0;
+
+    public ProtoSink() {
+        this(256);
+    }
+
+    public ProtoSink(int capacity) {
+        this.buffer = new byte[capacity];
+    }
+
+    ProtoSink(byte[] buffer) {
+        this.buffer = buffer;
+    }
+
+    /** The number of bytes written. */
+    public int size() {
+        return count;
+    }
+
+    /** A copy of the bytes written. */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, count);
+    }
+
+    private void ensure(int n) {
+        if (count + n > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(count + n, buffer.length * 2));
+        }
+    }
+
+    // ========== Fields ==========
+
+    /** {@code int32}: a varint, negative values sign-extended to 10 bytes. */
+    public void writeInt32(int field, int value) {
+        writeTag(field, WIRE_VARINT);
+        writeVarint(value);
+    }
+
+    /** {@code int64}: a varint. */
+    public void writeInt64(int field, long value) {
+        writeTag(field, WIRE_VARINT);
+        writeVarint(value);
+    }
+
+    /** {@code sint32}: a zigzag varint. */
+    public void writeSInt32(int field, int value) {
+        writeTag(field, WIRE_VARINT);
+        writeVarint(Integer.toUnsignedLong((value << 1) ^ (value >> 31)));
+    }
+
+    /** {@code sint64}: a zigzag varint. */
+    public void writeSInt64(int field, long value) {
+        writeTag(field, WIRE_VARINT);
+        writeVarint((value << 1) ^ (value >> 63));
+    }
+
+    /** {@code sfixed32}: 4 bytes little-endian. */
+    public void writeSFixed32(int field, int value) {
+        writeTag(field, WIRE_I32);
+        writeFixed32(value);
+    }
+
+    /** {@code sfixed64}: 8 bytes little-endian. */
+    public void writeSFixed64(int field, long value) {
+        writeTag(field, WIRE_I64);
+        writeFixed64(value);
+    }
+
+    public void writeDouble(int field, double value) {
+        writeTag(field, WIRE_I64);
+        writeFixed64(Double.doubleToRawLongBits(value));
+    }
+
+    public void writeFloat(int field, float value) {
+        writeTag(field, WIRE_I32);
+        writeFixed32(Float.floatToRawIntBits(value));
+    }
+
+    public void writeBool(int field, boolean value) {
+        writeTag(field, WIRE_VARINT);
+        ensure(1);
+        buffer[count++] = (byte) (value ? 1 : 0);
+    }
+
+    /**
+     * {@code string}: the UTF-8 length, then the bytes. An unpaired surrogate is encoded as
+     * {@code '?'}, as {@code String.getBytes(UTF_8)} does.
+     */
+    public void writeString(int field, String value) {
+        writeTag(field, WIRE_LEN);
+        int length = value.length();
+        int utf8Length = utf8Length(value, length);
+        writeVarint(utf8Length);
+        ensure(utf8Length);
+        byte[] buf = buffer;
+        int pos = count;
+        if (utf8Length == length) {
+            for (int i = 0; i < length; i++) {
+                buf[pos++] = (byte) value.charAt(i);
+            }
+            count = pos;
+            return;
+        }
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                buf[pos++] = (byte) c;
+            } else if (c < 0x800) {
+                buf[pos++] = (byte) (0xC0 | (c >> 6));
+                buf[pos++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, value.charAt(++i));
+                buf[pos++] = (byte) (0xF0 | (cp >> 18));
+                buf[pos++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                buf[pos++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                buf[pos++] = (byte) (0x80 | (cp & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                buf[pos++] = '?';
+            } else {
+                buf[pos++] = (byte) (0xE0 | (c >> 12));
+                buf[pos++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buf[pos++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        count = pos;
+    }
+
+    /**
+     * Start a length-delimited record (nested message, packed field or map entry): writes the
+     * tag and reserves the length.
+     *
+     * @return the mark to pass to {@link #endLengthDelimited}
+     */
+    public int beginLengthDelimited(int field) {
+        writeTag(field, WIRE_LEN);
+        ensure(1);
+        return count++;
+    }
+
+    /**
+     * Finish the record started at {@code mark}, filling in its length.
+     */
+    public void endLengthDelimited(int mark) {
+        int length = count - mark - 1;
+        int extra = varintSize(length) - 1;
+        if (extra > 0) {
+            ensure(extra);
+            System.arraycopy(buffer, mark + 1, buffer, mark + 1 + extra, length);
+            count += extra;
+        }
+        int pos = mark;
+        int value = length;
+        while ((value & ~0x7F) != 0) {
+            buffer[pos++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[pos] = (byte) value;
+    }
+
+    // ========== Packed Elements ==========
+
+    public void writeInt32NoTag(int value) {
+        writeVarint(value);
+    }
+
+    public void writeInt64NoTag(long value) {
+        writeVarint(value);
+    }
+
+    public void writeSInt32NoTag(int value) {
+        writeVarint(Integer.toUnsignedLong((value << 1) ^ (value >> 31)));
+    }
+
+    public void writeSInt64NoTag(long value) {
+        writeVarint((value << 1) ^ (value >> 63));
+    }
+
+    public void writeSFixed32NoTag(int value) {
+        writeFixed32(value);
+    }
+
+    public void writeSFixed64NoTag(long value) {
+        writeFixed64(value);
+    }
+
+    public void writeDoubleNoTag(double value) {
+        writeFixed64(Double.doubleToRawLongBits(value));
+    }
+
+    public void writeFloatNoTag(float value) {
+        writeFixed32(Float.floatToRawIntBits(value));
+    }
+
+    public void writeBoolNoTag(boolean value) {
+        ensure(1);
+        buffer[count++] = (byte) (value ? 1 : 0);
+    }
+
+    // ========== Encoding ==========
+
+    private void writeTag(int field, int wireType) {
+        int tag = field << 3 | wireType;
+        if (tag < 0x80) {
+            ensure(1);
+            buffer[count++] = (byte) tag;
+        } else {
+            writeVarint(Integer.toUnsignedLong(tag));
+        }
+    }
+
+    /** A base-128 varint of the unsigned 64-bit value (an int argument is sign-extended). */
+    private void writeVarint(long value) {
+        ensure(10);
+        byte[] buf = buffer;
+        int pos = count;
+        while ((value & ~0x7FL) != 0) {
+            buf[pos++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buf[pos++] = (byte) value;
+        count = pos;
+    }
+
+    private void writeFixed32(int value) {
+        ensure(4);
+        byte[] buf = buffer;
+        buf[count] = (byte) value;
+        buf[count + 1] = (byte) (value >> 8);
+        buf[count + 2] = (byte) (value >> 16);
+        buf[count + 3] = (byte) (value >> 24);
+        count += 4;
+    }
+
+    private void writeFixed64(long value) {
+        ensure(8);
+        byte[] buf = buffer;
+        for (int i = 0; i < 8; i++) {
+            buf[count + i] = (byte) (value >> (8 * i));
+        }
+        count += 8;
+    }
+
+    private static int varintSize(int value) {
+        return value < 0x80 ? 1 : value < 0x4000 ? 2 : value < 0x200000 ? 3 : value < 0x10000000 ? 4 : 5;
+    }
+
+    private static int utf8Length(String s, int length) {
+        int bytes = length;
+        for (int i = 0; i < length; i++) {
+            char c = s.charAt(i);
+            if (c >= 0x80) {
+                if (c < 0x800) {
+                    bytes += 1;
+                } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(s.charAt(i + 1))) {
+                    bytes += 2;  // 4 bytes for the pair
+                    i++;
+                } else if (!Character.isSurrogate(c)) {
+                    bytes += 2;
+                }
+            }
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,221 @@
+package xyz.jphil.datahelper.protobuf;
+
+import xyz.jphil.datahelper.protobuf.ProtobufReader.ProtobufFormatException;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Protobuf wire-format input from a byte array, called by the generated
+ * {@code Foo_ProtoCodec}s.
+ *
+ * <p>A codec reads tags with {@link #readTag()} until it returns 0, dispatches on the whole tag
+ * (field number and wire type) and passes anything it does not know to {@link #skipField}, so
+ * unknown fields and fields with an unexpected wire type are skipped as protobuf requires.
+ * Length-delimited records are read between {@link #beginLengthDelimited} and
+ * {@link #endLengthDelimited}, which narrow the readable range to the record. Malformed input
+ * fails with a {@link ProtobufFormatException} carrying the byte offset.</p>
+ */
+public final class ProtoSource {
+
+    private final byte[] buffer;
+    private final int start;
+    private int pos;
+    private int limit;
+
+    public ProtoSource(byte[] bytes) {
+        this(bytes, 0, bytes.length);
+    }
+
+    public ProtoSource(byte[] bytes, int offset, int length) {
+        if (offset < 0 || length < 0 || offset + length > bytes.length) {
+            throw new IndexOutOfBoundsException("Range [" + offset + ", " + offset + " + " + length + ") out of bounds for length " + bytes.length);
+        }
+        this.buffer = bytes;
+        this.start = offset;
+        this.pos = offset;
+        this.limit = offset + length;
+    }
+
+    /** Bytes read so far. */
+    public int position() {
+        return pos - start;
+    }
+
+    /**
+     * The next tag, or 0 at the end of the current message.
+     */
+    public int readTag() {
+        if (pos == limit) {
+            return 0;
+        }
+        int tag = (int) readVarint();
+        if (tag >>> 3 == 0) {
+            throw error("Invalid field number 0");
+        }
+        return tag;
+    }
+
+    /**
+     * Skip the value of a field whose tag was just read.
+     */
+    public void skipField(int tag) {
+        switch (tag & 7) {
+            case ProtoSink.WIRE_VARINT -> readVarint();
+            case ProtoSink.WIRE_I64 -> advance(8);
+            case ProtoSink.WIRE_LEN -> advance(readLength());
+            case ProtoSink.WIRE_I32 -> advance(4);
+            default -> throw error("Unsupported wire type " + (tag & 7) + " of field " + (tag >>> 3));
+        }
+    }
+
+    /**
+     * Enter a length-delimited record: reads its length and limits reading to it.
+     *
+     * @return the enclosing limit, to pass to {@link #endLengthDelimited}
+     */
+    public int beginLengthDelimited() {
+        int length = readLength();
+        int enclosing = limit;
+        limit = pos + length;
+        return enclosing;
+    }
+
+    /**
+     * Leave the record entered by {@link #beginLengthDelimited}, which must have been read to
+     * its end.
+     */
+    public void endLengthDelimited(int enclosing) {
+        if (pos != limit) {
+            throw error("Record not read to its end");
+        }
+        limit = enclosing;
+    }
+
+    /** True at the end of the current record (the elements of a packed field). */
+    public boolean atLimit() {
+        return pos == limit;
+    }
+
+    // ========== Values ==========
+
+    /** {@code int32}: the low 32 bits of a varint. */
+    public int readInt32() {
+        return (int) readVarint();
+    }
+
+    public long readInt64() {
+        return readVarint();
+    }
+
+    public int readSInt32() {
+        int value = (int) readVarint();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    public long readSInt64() {
+        long value = readVarint();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    public int readSFixed32() {
+        int p = advance(4);
+        byte[] b = buffer;
+        return (b[p] & 0xFF) | (b[p + 1] & 0xFF) << 8 | (b[p + 2] & 0xFF) << 16 | (b[p + 3] & 0xFF) << 24;
+    }
+
+    public long readSFixed64() {
+        int p = advance(8);
+        long value = 0;
+        for (int i = 7; i >= 0; i--) {
+            value = value << 8 | (buffer[p + i] & 0xFF);
+        }
+        return value;
+    }
+
+    public double readDouble() {
+        return Double.longBitsToDouble(readSFixed64());
+    }
+
+    public float readFloat() {
+        return Float.intBitsToFloat(readSFixed32());
+    }
+
+    public boolean readBool() {
+        return readVarint() != 0;
+    }
+
+    /** {@code string}: invalid UTF-8 is replaced with U+FFFD. */
+    public String readString() {
+        int length = readLength();
+        int p = advance(length);
+        return new String(buffer, p, length, StandardCharsets.UTF_8);
+    }
+
+    // ========== Narrowing ==========
+
+    /** A decoded {@code int32} as a {@code short} field, which must hold it. */
+    public short toShort(int value) {
+        if (value != (short) value) {
+            throw error("Value " + value + " out of range for a short field");
+        }
+        return (short) value;
+    }
+
+    /** A decoded {@code int32} as a {@code byte} field, which must hold it. */
+    public byte toByte(int value) {
+        if (value != (byte) value) {
+            throw error("Value " + value + " out of range for a byte field");
+        }
+        return (byte) value;
+    }
+
+    /** A decoded {@code int32} as a {@code char} field, which must hold it. */
+    public char toChar(int value) {
+        if (value != (char) value) {
+            throw error("Value " + value + " out of range for a char field");
+        }
+        return (char) value;
+    }
+
+    // ========== Decoding ==========
+
+    private long readVarint() {
+        byte[] b = buffer;
+        int p = pos;
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            if (p == limit) {
+                throw error("Truncated varint");
+            }
+            byte next = b[p++];
+            value |= (long) (next & 0x7F) << shift;
+            if (next >= 0) {
+                pos = p;
+                return value;
+            }
+        }
+        throw error("Varint longer than 10 bytes");
+    }
+
+    private int readLength() {
+        long length = readVarint();
+        if (length < 0 || length > limit - pos) {
+            throw error("Length " + length + " exceeds the remaining " + (limit - pos) + " bytes");
+        }
+        return (int) length;
+    }
+
+    /** Step over {@code n} bytes, returning where they start. */
+    private int advance(int n) {
+        if (n > limit - pos) {
+            throw error("Truncated value");
+        }
+        int p = pos;
+        pos += n;
+        return p;
+    }
+
+    private ProtobufFormatException error(String message) {
+        return new ProtobufFormatException(message + " at byte offset " + (pos - start));
+    }
+}
@@ -0,0 +1,77 @@
+package xyz.jphil.datahelper.protobuf;
+
+import xyz.jphil.datahelper.DataHelper_I;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Decodes protobuf messages into DataHelper objects through their generated
+ * {@link ProtoCodec}.
+ *
+ * <p>Fields are matched by number and wire type; unknown fields are skipped, so messages from
+ * newer or older versions of the {@code .proto} decode as protobuf specifies. Fields absent
+ * from the message keep their current value.</p>
+ */
+public final class ProtobufReader {
+
+    private ProtobufReader() {
+    }
+
+    /**
+     * Decode the message in {@code bytes[offset, offset + length)} into {@code target}.
+     *
+     * @throws ProtobufFormatException if the bytes are malformed
+     */
+    public static void read(byte[] bytes, int offset, int length, DataHelper_I<?> target) {
+        ProtoSource in = new ProtoSource(bytes, offset, length);
+        ProtoCodec.of(target).readFrom(in, target);
+    }
+
+    /**
+     * Decode the next length-prefixed message of a stream (as written by protobuf's
+     * {@code writeDelimitedTo}) into {@code target}.
+     *
+     * @return false, leaving the target untouched, if the stream is at its end
+     * @throws ProtobufFormatException if the bytes are malformed
+     */
+    public static boolean readDelimited(InputStream in, DataHelper_I<?> target) throws IOException {
+        int length = 0;
+        for (int shift = 0; ; shift += 7) {
+            int b = in.read();
+            if (b < 0) {
+                if (shift == 0) {
+                    return false;
+                }
+                throw new EOFException("Truncated message length");
+            }
+            if (shift == 28 && (b & 0xF8) != 0) {
+                throw new ProtobufFormatException("Message length exceeds 2 GiB");
+            }
+            length |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                break;
+            }
+        }
+        byte[] bytes = in.readNBytes(length);
+        if (bytes.length < length) {
+            throw new EOFException("Truncated message: " + bytes.length + " of " + length + " bytes");
+        }
+        read(bytes, 0, length, target);
+        return true;
+    }
+
+    /**
+     * Thrown when protobuf input is malformed.
+     */
+    public static class ProtobufFormatException extends RuntimeException {
+        public ProtobufFormatException(String message) {
+            super(message);
+        }
+
+        public ProtobufFormatException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+}
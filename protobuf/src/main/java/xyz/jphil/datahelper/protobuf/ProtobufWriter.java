@@ -0,0 +1,68 @@
+package xyz.jphil.datahelper.protobuf;
+
+import xyz.jphil.datahelper.ByteArrayPool;
+import xyz.jphil.datahelper.DataHelper_IR;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Encodes DataHelper objects as protobuf messages through their generated {@link ProtoCodec}.
+ *
+ * <p>The output is the standard wire format of the generated {@code Foo.proto}, readable by any
+ * protobuf implementation. Encoding goes into a buffer from the shared
+ * {@link ByteArrayPool}.</p>
+ */
+public final class ProtobufWriter {
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    private ProtobufWriter() {
+    }
+
+    /**
+     * Encode a DataHelper object (deep) as a protobuf message.
+     */
+    public static byte[] write(DataHelper_IR<?> dataHelper) {
+        ProtoSink out = encode(dataHelper);
+        try {
+            return Arrays.copyOf(out.buffer, out.count);
+        } finally {
+            ByteArrayPool.release(out.buffer);
+        }
+    }
+
+    /**
+     * Encode a DataHelper object (deep) to a stream. The stream is neither flushed nor closed.
+     *
+     * @param delimited prefix the message with its varint length, as protobuf's
+     *                  {@code writeDelimitedTo} does for a stream of messages
+     */
+    public static void write(DataHelper_IR<?> dataHelper, boolean delimited, OutputStream target) throws IOException {
+        ProtoSink out = encode(dataHelper);
+        try {
+            if (delimited) {
+                byte[] prefix = new byte[5];
+                int n = 0;
+                for (int length = out.count; ; length >>>= 7) {
+                    if ((length & ~0x7F) == 0) {
+                        prefix[n++] = (byte) length;
+                        break;
+                    }
+                    prefix[n++] = (byte) ((length & 0x7F) | 0x80);
+                }
+                target.write(prefix, 0, n);
+            }
+            target.write(out.buffer, 0, out.count);
+        } finally {
+            ByteArrayPool.release(out.buffer);
+        }
+    }
+
+    private static ProtoSink encode(DataHelper_IR<?> dataHelper) {
+        ProtoSink out = new ProtoSink(ByteArrayPool.acquire(INITIAL_CAPACITY));
+        ProtoCodec.of(dataHelper).writeTo(dataHelper, out);
+        return out;
+    }
+}
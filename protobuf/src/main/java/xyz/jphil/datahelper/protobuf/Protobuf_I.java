@@ -0,0 +1,66 @@
+package xyz.jphil.datahelper.protobuf;
+
+import xyz.jphil.datahelper.DataHelper_I;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Write side of the protobuf trait: decoding ({@code fromProtobuf}).
+ *
+ * <p>Extends {@link Protobuf_IR} (which carries {@code toProtobuf}) and {@link DataHelper_I},
+ * the same way {@code Json_I} pairs with {@code Json_IR}. Records are not decoded into directly:
+ * decode into the mutable form, then call {@code toRecord()}.</p>
+ *
+ * <p><strong>Usage:</strong></p>
+ * <pre>{@code
+ * @Data
+ * public final class Person extends Person_A implements Protobuf_I<Person> {
+ *     @ProtoField(1) String name;
+ *     @ProtoField(2) int age;
+ * }
+ *
+ * byte[] bytes = person.toProtobuf();
+ * Person copy = new Person().fromProtobuf(bytes);
+ * }</pre>
+ *
+ * @param <E> the implementing type (self-reference for fluent API)
+ */
+public interface Protobuf_I<E extends DataHelper_I<E>> extends Protobuf_IR<E>, DataHelper_I<E> {
+
+    /**
+     * Populate this DTO from a protobuf message. Unknown fields are skipped.
+     *
+     * @param bytes the encoded message
+     * @return this instance for chaining
+     * @throws ProtobufReader.ProtobufFormatException if the bytes are malformed
+     */
+    @SuppressWarnings("unchecked")
+    default E fromProtobuf(byte[] bytes) {
+        ProtobufReader.read(bytes, 0, bytes.length, this);
+        return (E) this;
+    }
+
+    /**
+     * Populate this DTO from the protobuf message in {@code bytes[offset, offset + length)}.
+     *
+     * @return this instance for chaining
+     * @throws ProtobufReader.ProtobufFormatException if the bytes are malformed
+     */
+    @SuppressWarnings("unchecked")
+    default E fromProtobuf(byte[] bytes, int offset, int length) {
+        ProtobufReader.read(bytes, offset, length, this);
+        return (E) this;
+    }
+
+    /**
+     * Populate this DTO from the next length-prefixed message of a stream, as written by
+     * {@link #toProtobufDelimited} or protobuf's {@code writeDelimitedTo}.
+     *
+     * @return false if the stream was at its end
+     * @throws ProtobufReader.ProtobufFormatException if the bytes are malformed
+     */
+    default boolean fromProtobufDelimited(InputStream in) throws IOException {
+        return ProtobufReader.readDelimited(in, this);
+    }
+}
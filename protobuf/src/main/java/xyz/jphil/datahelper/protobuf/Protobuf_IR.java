@@ -0,0 +1,49 @@
+package xyz.jphil.datahelper.protobuf;
+
+import xyz.jphil.datahelper.DataHelper_IR;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Read side of the protobuf trait: encoding ({@code toProtobuf}).
+ *
+ * <p>Encodes in the protobuf wire format of the {@code Foo.proto} generated next to the class,
+ * so gRPC-era services read the DTO without a second, protoc-generated class. Like
+ * {@code Json_IR} it can be mixed into the readable {@code _IR} interface via
+ * {@code superInterfaces}, so immutable {@code _R} records encode as well; the processor routes
+ * the {@link Protobuf_I} write half onto the mutable type.</p>
+ *
+ * @param <E> the implementing type (self-reference for fluent API)
+ * @see ProtoCodec
+ */
+public interface Protobuf_IR<E extends DataHelper_IR<E>> extends DataHelper_IR<E> {
+
+    /**
+     * Encode this DTO (deep) as a protobuf message.
+     *
+     * @return the encoded bytes
+     */
+    default byte[] toProtobuf() {
+        return ProtobufWriter.write(this);
+    }
+
+    /**
+     * Encode this DTO (deep) to a stream. The stream is neither flushed nor closed.
+     *
+     * @param out receives the encoded bytes
+     */
+    default void toProtobuf(OutputStream out) throws IOException {
+        ProtobufWriter.write(this, false, out);
+    }
+
+    /**
+     * Encode this DTO (deep) to a stream, prefixed with its length like protobuf's
+     * {@code writeDelimitedTo}, so several messages can follow each other.
+     *
+     * @param out receives the length and the encoded bytes
+     */
+    default void toProtobufDelimited(OutputStream out) throws IOException {
+        ProtobufWriter.write(this, true, out);
+    }
+}
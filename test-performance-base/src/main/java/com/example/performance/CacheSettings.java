@@ -0,0 +1,19 @@
+package com.example.performance;
+
+import lombok.Getter;
+import lombok.Setter;
+import xyz.jphil.datahelper.DataHelper;
+
+/**
+ * Cache section of {@link ServiceSettings}, for the config binding benchmark.
+ */
+@DataHelper
+@Getter
+@Setter
+public class CacheSettings implements CacheSettings_I<CacheSettings> {
+    String provider;
+    long maxEntries;
+    int ttlSeconds;
+    int refreshSeconds;
+    long statsIntervalMs;
+}
@@ -0,0 +1,22 @@
+package com.example.performance;
+
+import lombok.Getter;
+import lombok.Setter;
+import xyz.jphil.datahelper.DataHelper;
+
+/**
+ * Database section of {@link ServiceSettings}, for the config binding benchmark.
+ */
+@DataHelper
+@Getter
+@Setter
+public class DatabaseSettings implements DatabaseSettings_I<DatabaseSettings> {
+    String url;
+    String user;
+    String password;
+    String schema;
+    long connectTimeoutMs;
+    long queryTimeoutMs;
+    int fetchSize;
+    PoolSettings pool;
+}
@@ -0,0 +1,26 @@
+package com.example.performance;
+
+import lombok.Getter;
+import lombok.Setter;
+import xyz.jphil.datahelper.DataHelper;
+
+import java.util.List;
+
+/**
+ * HTTP server section of {@link ServiceSettings}, for the config binding benchmark.
+ */
+@DataHelper
+@Getter
+@Setter
+public class HttpSettings implements HttpSettings_I<HttpSettings> {
+    String host;
+    int port;
+    String contextPath;
+    int maxHeaderBytes;
+    long maxBodyBytes;
+    long readTimeoutMs;
+    long writeTimeoutMs;
+    int ioThreads;
+    int compressionLevel;
+    List<String> allowedOrigins;
+}
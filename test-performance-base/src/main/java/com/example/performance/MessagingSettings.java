@@ -0,0 +1,25 @@
+package com.example.performance;
+
+import lombok.Getter;
+import lombok.Setter;
+import xyz.jphil.datahelper.DataHelper;
+
+import java.util.List;
+
+/**
+ * Messaging section of {@link ServiceSettings}, for the config binding benchmark.
+ */
+@DataHelper
+@Getter
+@Setter
+public class MessagingSettings implements MessagingSettings_I<MessagingSettings> {
+    List<String> brokers;
+    String topic;
+    String groupId;
+    String clientId;
+    int batchSize;
+    long lingerMs;
+    int retries;
+    String acks;
+    int maxInFlight;
+}
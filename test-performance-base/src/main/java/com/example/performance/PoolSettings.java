@@ -0,0 +1,20 @@
+package com.example.performance;
+
+import lombok.Getter;
+import lombok.Setter;
+import xyz.jphil.datahelper.DataHelper;
+
+/**
+ * Connection pool section of {@link ServiceSettings}, for the config binding benchmark.
+ */
+@DataHelper
+@Getter
+@Setter
+public class PoolSettings implements PoolSettings_I<PoolSettings> {
+    int minIdle;
+    int maxSize;
+    long maxLifetimeMs;
+    long idleTimeoutMs;
+    long leakDetectionMs;
+    String validationQuery;
+}
@@ -0,0 +1,29 @@
+package com.example.performance;
+
+import lombok.Getter;
+import lombok.Setter;
+import xyz.jphil.datahelper.DataHelper;
+
+import java.util.Map;
+
+/**
+ * Settings tree of a typical service: scalar keys, nested sections ({@code db.pool.max-size}),
+ * lists and a label map. Used by the config binding benchmark.
+ */
+@DataHelper
+@Getter
+@Setter
+public class ServiceSettings implements ServiceSettings_I<ServiceSettings> {
+    String name;
+    String environment;
+    String region;
+    String instanceId;
+    int workerThreads;
+    long shutdownGraceMs;
+    double loadFactor;
+    DatabaseSettings db;
+    HttpSettings http;
+    CacheSettings cache;
+    MessagingSettings messaging;
+    Map<String, String> labels;
+}
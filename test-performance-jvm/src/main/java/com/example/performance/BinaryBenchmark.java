@@ -0,0 +1,147 @@
+package com.example.performance;
+
+import xyz.jphil.datahelper.DataHelper_I;
+import xyz.jphil.datahelper.DataHelper_IR;
+import xyz.jphil.datahelper.binary.BinaryReader;
+import xyz.jphil.datahelper.binary.BinaryWriter;
+import xyz.jphil.datahelper.binary.IndexedBinaryReader;
+import xyz.jphil.datahelper.binary.IndexedBinaryWriter;
+import xyz.jphil.datahelper.json.MinimalJsonParser;
+import xyz.jphil.datahelper.json.MinimalJsonWriter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.Supplier;
+
+/**
+ * Binary trait vs JSON trait: encode, decode and size for the Simple and Complex DTOs, then the
+ * indexed format vs the compact one, including a one-field partial read.
+ *
+ * Both sides go straight between the DTO and the wire format, as in {@link CborBenchmark}, whose
+ * sample DTOs this reuses. The DTOs are used through the static writers and readers, so they
+ * need not implement the traits; their field IDs follow the declaration order.
+ *
+ * Run: cd xyz-jphil-datahelper-test-performance-jvm && mvn clean compile exec:java -Dexec.mainClass="com.example.performance.BinaryBenchmark"
+ */
+public class BinaryBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 20000;
+    private static final int TEST_ITERATIONS = 20000;
+
+    public static void main(String[] args) {
+        System.out.println("=== Binary vs JSON (DataHelper traits) ===\n");
+
+        SimpleDTO simple = CborBenchmark.createSimpleDTO();
+        run("Simple DTO (5 fields)", simple, SimpleDTO::new);
+
+        ComplexDTO complex = CborBenchmark.createComplexDTO(simple);
+        run("Complex DTO (nested objects, lists, maps)", complex, ComplexDTO::new);
+
+        System.out.println("=== Indexed vs compact binary ===\n");
+        runIndexed("Complex DTO (nested objects, lists, maps)", complex, ComplexDTO::new, "name");
+    }
+
+    private static <T extends DataHelper_I<?>> void run(String title, DataHelper_IR<?> sample, Supplier<T> factory) {
+        System.out.println("--- " + title + " ---");
+        String json = MinimalJsonWriter.write(sample, true);
+        byte[] binary = BinaryWriter.write(sample);
+
+        // Warmup both formats equally
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            MinimalJsonWriter.write(sample, true);
+            BinaryWriter.write(sample);
+            MinimalJsonParser.parseInto(json, factory.get());
+            BinaryReader.read(binary, factory.get());
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < TEST_ITERATIONS; i++) {
+            MinimalJsonWriter.write(sample, true);
+        }
+        long jsonEncode = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < TEST_ITERATIONS; i++) {
+            BinaryWriter.write(sample);
+        }
+        long binaryEncode = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < TEST_ITERATIONS; i++) {
+            MinimalJsonParser.parseInto(json, factory.get());
+        }
+        long jsonDecode = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < TEST_ITERATIONS; i++) {
+            BinaryReader.read(binary, factory.get());
+        }
+        long binaryDecode = System.nanoTime() - start;
+
+        printResults("Encode (Object → bytes)", "JSON", jsonEncode, "Binary", binaryEncode);
+        printResults("Decode (bytes → Object)", "JSON", jsonDecode, "Binary", binaryDecode);
+        int jsonSize = json.getBytes(StandardCharsets.UTF_8).length;
+        System.out.printf("  %-24s: JSON=%5d B, Binary=%5d B (%.1fx smaller)\n\n", "Size",
+                jsonSize, binary.length, (double) jsonSize / binary.length);
+    }
+
+    private static <T extends DataHelper_I<?>> void runIndexed(String title, DataHelper_IR<?> sample,
+                                                              Supplier<T> factory, String field) {
+        System.out.println("--- " + title + " ---");
+        byte[] compact = BinaryWriter.write(sample);
+        byte[] indexed = IndexedBinaryWriter.write(sample);
+
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            BinaryWriter.write(sample);
+            IndexedBinaryWriter.write(sample);
+            BinaryReader.read(compact, factory.get());
+            IndexedBinaryReader.read(indexed, factory.get());
+            IndexedBinaryReader.read(indexed, factory.get(), field);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < TEST_ITERATIONS; i++) {
+            BinaryWriter.write(sample);
+        }
+        long compactEncode = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < TEST_ITERATIONS; i++) {
+            IndexedBinaryWriter.write(sample);
+        }
+        long indexedEncode = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < TEST_ITERATIONS; i++) {
+            BinaryReader.read(compact, factory.get());
+        }
+        long compactDecode = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < TEST_ITERATIONS; i++) {
+            IndexedBinaryReader.read(indexed, factory.get());
+        }
+        long indexedDecode = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < TEST_ITERATIONS; i++) {
+            IndexedBinaryReader.read(indexed, factory.get(), field);
+        }
+        long partialDecode = System.nanoTime() - start;
+
+        printResults("Encode (Object → bytes)", "Compact", compactEncode, "Indexed", indexedEncode);
+        printResults("Decode (bytes → Object)", "Compact", compactDecode, "Indexed", indexedDecode);
+        printResults("Decode '" + field + "' only", "Full", indexedDecode, "Partial", partialDecode);
+        System.out.printf("  %-24s: Compact=%5d B, Indexed=%5d B (%.0f%% larger)\n\n", "Size",
+                compact.length, indexed.length, 100.0 * (indexed.length - compact.length) / compact.length);
+    }
+
+    static void printResults(String testName, String baseline, long baselineNanos, String format, long formatNanos) {
+        double baselineMs = baselineNanos / 1_000_000.0;
+        double formatMs = formatNanos / 1_000_000.0;
+        double speedup = (double) baselineNanos / formatNanos;
+
+        System.out.printf("  %-24s: %s=%7.2f ms, %s=%7.2f ms (%.1fx %s)\n",
+                testName, baseline, baselineMs, format, formatMs, speedup >= 1.0 ? speedup : 1 / speedup,
+                speedup >= 1.0 ? "FASTER" : "SLOWER");
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.performance;
+
+import xyz.jphil.datahelper.DataHelper_I;
+import xyz.jphil.datahelper.DataHelper_IR;
+import xyz.jphil.datahelper.cbor.CborReader;
+import xyz.jphil.datahelper.cbor.CborWriter;
+import xyz.jphil.datahelper.json.MinimalJsonParser;
+import xyz.jphil.datahelper.json.MinimalJsonWriter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * CBOR trait vs JSON trait: encode, decode and size for the Simple and Complex DTOs.
+ *
+ * Both sides go straight between the DTO and the wire format (no Map in between), so this
+ * compares the formats themselves. The DTOs are used through the static writers and readers,
+ * so they need not implement the traits.
+ *
+ * Run: cd xyz-jphil-datahelper-test-performance-jvm && mvn clean compile exec:java -Dexec.mainClass="com.example.performance.CborBenchmark"
+ */
+public class CborBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 10000;
+    private static final int TEST_ITERATIONS = 10000;
+
+    public static void main(String[] args) {
+        System.out.println("=== CBOR vs JSON (DataHelper traits) ===\n");
+
+        SimpleDTO simple = createSimpleDTO();
+        run("Simple DTO (5 fields)", simple, SimpleDTO::new);
+
+        run("Complex DTO (nested objects, lists, maps)", createComplexDTO(simple), ComplexDTO::new);
+    }
+
+    private static <T extends DataHelper_I<?>> void run(String title, DataHelper_IR<?> sample, Supplier<T> factory) {
+        System.out.println("--- " + title + " ---");
+        String json = MinimalJsonWriter.write(sample, true);
+        byte[] cbor = CborWriter.write(sample);
+
+        // Warmup both formats equally
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            MinimalJsonWriter.write(sample, true);
+            CborWriter.write(sample);
+            MinimalJsonParser.parseInto(json, factory.get());
+            CborReader.read(cbor, factory.get());
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < TEST_ITERATIONS; i++) {
+            MinimalJsonWriter.write(sample, true);
+        }
+        long jsonEncode = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < TEST_ITERATIONS; i++) {
+            CborWriter.write(sample);
+        }
+        long cborEncode = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < TEST_ITERATIONS; i++) {
+            MinimalJsonParser.parseInto(json, factory.get());
+        }
+        long jsonDecode = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < TEST_ITERATIONS; i++) {
+            CborReader.read(cbor, factory.get());
+        }
+        long cborDecode = System.nanoTime() - start;
+
+        printResults("Encode (Object → bytes)", jsonEncode, cborEncode);
+        printResults("Decode (bytes → Object)", jsonDecode, cborDecode);
+        System.out.printf("  %-24s: JSON=%5d B, CBOR=%5d B (%.0f%%)\n\n", "Size",
+                json.getBytes(StandardCharsets.UTF_8).length, cbor.length,
+                100.0 * cbor.length / json.getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    static SimpleDTO createSimpleDTO() {
+        SimpleDTO simple = new SimpleDTO();
+        simple.setName("Test User");
+        simple.setAge(30);
+        simple.setEmail("test@example.com");
+        simple.setSalary(80000.0);
+        simple.setStatus(1);
+        return simple;
+    }
+
+    static ComplexDTO createComplexDTO(SimpleDTO metadata) {
+        ComplexDTO dto = new ComplexDTO();
+        dto.setId("complex-001");
+        dto.setName("Complex Test");
+        dto.setVersion(1);
+        dto.setStatus(1);
+        dto.setMetadata(metadata);
+        dto.setTags(Arrays.asList("tag1", "tag2", "tag3", "tag4", "tag5"));
+
+        List<SimpleDTO> relatedItems = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            SimpleDTO item = new SimpleDTO();
+            item.setName("Related " + i);
+            item.setAge(20 + i);
+            item.setEmail("related" + i + "@example.com");
+            item.setSalary(50000.0 + i * 1000);
+            item.setStatus(1);
+            relatedItems.add(item);
+        }
+        dto.setRelatedItems(relatedItems);
+
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("key1", "value1");
+        properties.put("key2", "value2");
+        properties.put("key3", "value3");
+        dto.setProperties(properties);
+
+        Map<String, Integer> scores = new LinkedHashMap<>();
+        scores.put("math", 95);
+        scores.put("science", 87);
+        scores.put("english", 92);
+        dto.setScores(scores);
+        return dto;
+    }
+
+    private static void printResults(String testName, long jsonNanos, long cborNanos) {
+        double jsonMs = jsonNanos / 1_000_000.0;
+        double cborMs = cborNanos / 1_000_000.0;
+        double ratio = (double) cborNanos / jsonNanos;
+        String performance = ratio < 1.0 ? "FASTER" : "SLOWER";
+
+        System.out.printf("  %-24s: JSON=%7.2f ms, CBOR=%7.2f ms (%.2fx %s)\n",
+                testName, jsonMs, cborMs, Math.abs(ratio), performance);
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.performance;
+
+import xyz.jphil.datahelper.config.ConfigBinder;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Startup cost of config binding: DataHelper's ConfigBinder vs a reflection-based binder.
+ *
+ * Services bind their settings once, at startup, in a JVM that has not loaded or compiled any of
+ * the binding code yet, so the number that matters is the first bind in a fresh JVM. Each side
+ * is therefore measured in its own child JVMs (the first bind, DTO creation included), and
+ * the steady state is shown for reference. The source has about 200 keys in mixed styles:
+ * {@code svc.db.pool.max-size}, {@code SVC_HTTP_PORT}, {@code svc.http.readTimeoutMs}.
+ *
+ * Run: cd xyz-jphil-datahelper-test-performance-jvm && mvn clean compile exec:java -Dexec.mainClass="com.example.performance.ConfigBinderBenchmark"
+ */
+public class ConfigBinderBenchmark {
+
+    private static final int COLD_RUNS = 15;
+    private static final int WARMUP_ITERATIONS = 20000;
+    private static final int TEST_ITERATIONS = 20000;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 2 && args[0].equals("cold")) {
+            Map<String, String> source = source(args[1]);
+            long start = System.nanoTime();
+            ServiceSettings settings = bind(args[1], source);
+            long elapsed = System.nanoTime() - start;
+            if (settings.getDb().getPool().getMaxSize() != 32) throw new AssertionError("not bound");
+            System.out.println(elapsed);
+            return;
+        }
+
+        System.out.println("=== Config binding: ConfigBinder vs reflection (" + source("datahelper").size() + " keys) ===\n");
+
+        System.out.println("--- First bind in a fresh JVM (median of " + COLD_RUNS + " JVMs) ---");
+        long dataHelperCold = coldMedian("datahelper");
+        long reflectionCold = coldMedian("reflection");
+        printResults(dataHelperCold, reflectionCold);
+
+        System.out.println("--- Steady state (per bind) ---");
+        Map<String, String> prefixed = source("datahelper");
+        Map<String, String> stripped = source("reflection");
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            bind("datahelper", prefixed);
+            bind("reflection", stripped);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < TEST_ITERATIONS; i++) bind("datahelper", prefixed);
+        long dataHelperWarm = (System.nanoTime() - start) / TEST_ITERATIONS;
+        start = System.nanoTime();
+        for (int i = 0; i < TEST_ITERATIONS; i++) bind("reflection", stripped);
+        long reflectionWarm = (System.nanoTime() - start) / TEST_ITERATIONS;
+        printResults(dataHelperWarm, reflectionWarm);
+    }
+
+    private static ServiceSettings bind(String binder, Map<String, String> source) {
+        return binder.equals("datahelper")
+                ? ConfigBinder.DEFAULT.withPrefix("svc").bind(new ServiceSettings(), source)
+                : ReflectionConfigBinder.bind(new ServiceSettings(), source);
+    }
+
+    /** Run the cold bind in fresh JVMs and return the median time. */
+    private static long coldMedian(String binder) throws Exception {
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        long[] times = new long[COLD_RUNS];
+        for (int i = 0; i < COLD_RUNS; i++) {
+            Process p = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                    ConfigBinderBenchmark.class.getName(), "cold", binder)
+                    .redirectErrorStream(true).start();
+            try (BufferedReader out = new BufferedReader(new InputStreamReader(p.getInputStream()))) {
+                String line = out.readLine();
+                if (p.waitFor() != 0 || line == null) throw new IllegalStateException("Child JVM failed: " + line);
+                times[i] = Long.parseLong(line.strip());
+            }
+        }
+        Arrays.sort(times);
+        return times[COLD_RUNS / 2];
+    }
+
+    /**
+     * The source for a binder. The reflection binder has no prefix support, so it gets the keys
+     * with the {@code svc} word already dropped (outside the timed section).
+     */
+    private static Map<String, String> source(String binder) {
+        Map<String, String> source = source();
+        if (binder.equals("datahelper")) return source;
+        Map<String, String> stripped = new LinkedHashMap<>();
+        source.forEach((k, v) -> stripped.put(k.substring(4), v));
+        return stripped;
+    }
+
+    /** About 200 keys in the styles of property files, environment variables and -D flags. */
+    private static Map<String, String> source() {
+        Map<String, String> s = new LinkedHashMap<>();
+        s.put("svc.name", "orders");
+        s.put("SVC_ENVIRONMENT", "production");
+        s.put("svc.region", "eu-west-1");
+        s.put("svc.instance-id", "orders-7f9c");
+        s.put("svc.worker-threads", "16");
+        s.put("SVC_SHUTDOWN_GRACE_MS", "30000");
+        s.put("svc.load-factor", "0.75");
+        s.put("svc.db.url", "jdbc:postgresql://db:5432/orders");
+        s.put("svc.db.user", "orders");
+        s.put("SVC_DB_PASSWORD", "secret");
+        s.put("svc.db.schema", "public");
+        s.put("svc.db.connect-timeout-ms", "5000");
+        s.put("svc.db.queryTimeoutMs", "15000");
+        s.put("svc.db.fetch-size", "500");
+        s.put("svc.db.pool.min-idle", "4");
+        s.put("SVC_DB_POOL_MAX_SIZE", "32");
+        s.put("svc.db.pool.max-lifetime-ms", "1800000");
+        s.put("svc.db.pool.idle-timeout-ms", "600000");
+        s.put("svc.db.pool.leak-detection-ms", "0");
+        s.put("svc.db.pool.validation-query", "select 1");
+        s.put("svc.http.host", "0.0.0.0");
+        s.put("SVC_HTTP_PORT", "8080");
+        s.put("svc.http.context-path", "/api");
+        s.put("svc.http.max-header-bytes", "16384");
+        s.put("svc.http.max-body-bytes", "10485760");
+        s.put("svc.http.readTimeoutMs", "30000");
+        s.put("svc.http.write-timeout-ms", "30000");
+        s.put("svc.http.io-threads", "8");
+        s.put("svc.http.compression-level", "6");
+        s.put("svc.http.allowed-origins", "https://a.example.com,https://b.example.com");
+        s.put("svc.cache.provider", "caffeine");
+        s.put("svc.cache.max-entries", "100000");
+        s.put("SVC_CACHE_TTL_SECONDS", "300");
+        s.put("svc.cache.refresh-seconds", "60");
+        s.put("svc.cache.stats-interval-ms", "10000");
+        s.put("svc.messaging.brokers", "kafka-1:9092,kafka-2:9092,kafka-3:9092");
+        s.put("svc.messaging.topic", "orders");
+        s.put("svc.messaging.group-id", "orders-service");
+        s.put("svc.messaging.client-id", "orders-7f9c");
+        s.put("svc.messaging.batch-size", "16384");
+        s.put("SVC_MESSAGING_LINGER_MS", "5");
+        s.put("svc.messaging.retries", "3");
+        s.put("svc.messaging.acks", "all");
+        s.put("svc.messaging.max-in-flight", "5");
+        for (int i = 0; i < 160; i++) {
+            s.put("svc.labels.label" + i, "value" + i);
+        }
+        return s;
+    }
+
+    private static void printResults(long dataHelperNanos, long reflectionNanos) {
+        System.out.printf("  ConfigBinder: %,10d ns%n", dataHelperNanos);
+        System.out.printf("  Reflection:   %,10d ns%n", reflectionNanos);
+        System.out.printf("  Speedup:      %.2fx%n%n", (double) reflectionNanos / dataHelperNanos);
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.performance;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Generated Externalizable methods vs plain Serializable: round trip (write + read) and stream size.
+ *
+ * The Externalizable side is the JVM-only Complex DTO, compiled with -Adatahelper.externalizable=true.
+ * The Serializable side is a class with the same fields and no serialization code, as a cache or
+ * session store would receive it. Both carry the sample data of {@link CborBenchmark}.
+ *
+ * Run: cd xyz-jphil-datahelper-test-performance-jvm && mvn clean compile exec:java -Dexec.mainClass="com.example.performance.JavaSerializationBenchmark"
+ */
+public class JavaSerializationBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 20000;
+    private static final int TEST_ITERATIONS = 20000;
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== Externalizable vs Serializable (java.io object streams) ===\n");
+
+        ComplexDTO sample = CborBenchmark.createComplexDTO(CborBenchmark.createSimpleDTO());
+        JvmComplexDTO externalizable = ProtobufBenchmark.copy(sample, new JvmComplexDTO());
+        PlainComplex serializable = PlainComplex.of(sample);
+
+        System.out.println("--- Complex DTO (nested objects, lists, maps) ---");
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            roundTrip(serializable);
+            roundTrip(externalizable);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < TEST_ITERATIONS; i++) {
+            roundTrip(serializable);
+        }
+        long serializableNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < TEST_ITERATIONS; i++) {
+            roundTrip(externalizable);
+        }
+        long externalizableNanos = System.nanoTime() - start;
+
+        BinaryBenchmark.printResults("Round trip", "Serializable", serializableNanos,
+                "Externalizable", externalizableNanos);
+        int serializableSize = write(serializable).length;
+        int externalizableSize = write(externalizable).length;
+        System.out.printf("  %-24s: Serializable=%5d B, Externalizable=%5d B (%.1fx smaller)\n\n", "Size",
+                serializableSize, externalizableSize, (double) serializableSize / externalizableSize);
+    }
+
+    private static Object roundTrip(Object value) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(write(value)))) {
+            return in.readObject();
+        }
+    }
+
+    private static byte[] write(Object value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(value);
+        }
+        return bytes.toByteArray();
+    }
+
+    static class PlainSimple implements Serializable {
+        String name;
+        int age;
+        String email;
+        double salary;
+        int status;
+
+        static PlainSimple of(SimpleDTO dto) {
+            PlainSimple plain = new PlainSimple();
+            plain.name = dto.getName();
+            plain.age = dto.getAge();
+            plain.email = dto.getEmail();
+            plain.salary = dto.getSalary();
+            plain.status = dto.getStatus();
+            return plain;
+        }
+    }
+
+    static class PlainComplex implements Serializable {
+        String id;
+        String name;
+        int version;
+        int status;
+        PlainSimple metadata;
+        List<String> tags;
+        List<PlainSimple> relatedItems;
+        Map<String, String> properties;
+        Map<String, Integer> scores;
+
+        static PlainComplex of(ComplexDTO dto) {
+            PlainComplex plain = new PlainComplex();
+            plain.id = dto.getId();
+            plain.name = dto.getName();
+            plain.version = dto.getVersion();
+            plain.status = dto.getStatus();
+            plain.metadata = PlainSimple.of(dto.getMetadata());
+            plain.tags = new ArrayList<>(dto.getTags());
+            plain.relatedItems = new ArrayList<>();
+            for (SimpleDTO item : dto.getRelatedItems()) {
+                plain.relatedItems.add(PlainSimple.of(item));
+            }
+            plain.properties = new LinkedHashMap<>(dto.getProperties());
+            plain.scores = new LinkedHashMap<>(dto.getScores());
+            return plain;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.performance;
+
+import lombok.Getter;
+import lombok.Setter;
+import xyz.jphil.datahelper.DataHelper;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JVM-only copy of {@link ComplexDTO}; see {@link JvmSimpleDTO}.
+ */
+@DataHelper
+@Getter
+@Setter
+public class JvmComplexDTO implements JvmComplexDTO_I<JvmComplexDTO> {
+    String id;
+    String name;
+    int version;
+    int status;
+    JvmSimpleDTO metadata;
+    List<String> tags;
+    List<JvmSimpleDTO> relatedItems;
+    Map<String, String> properties;
+    Map<String, Integer> scores;
+}
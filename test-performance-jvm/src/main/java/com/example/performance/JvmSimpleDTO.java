@@ -0,0 +1,20 @@
+package com.example.performance;
+
+import lombok.Getter;
+import lombok.Setter;
+import xyz.jphil.datahelper.DataHelper;
+
+/**
+ * JVM-only copy of {@link SimpleDTO}, compiled in this module so that it gets the codecs TeaVM
+ * cannot use (protobuf, Externalizable).
+ */
+@DataHelper
+@Getter
+@Setter
+public class JvmSimpleDTO implements JvmSimpleDTO_I<JvmSimpleDTO> {
+    String name;
+    int age;
+    String email;
+    double salary;
+    int status;
+}
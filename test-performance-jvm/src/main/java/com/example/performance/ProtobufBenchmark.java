@@ -0,0 +1,85 @@
+package com.example.performance;
+
+import xyz.jphil.datahelper.DataHelper_I;
+import xyz.jphil.datahelper.DataHelper_IR;
+import xyz.jphil.datahelper.json.MinimalJsonParser;
+import xyz.jphil.datahelper.json.MinimalJsonWriter;
+import xyz.jphil.datahelper.protobuf.ProtobufReader;
+import xyz.jphil.datahelper.protobuf.ProtobufWriter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.Supplier;
+
+/**
+ * Protobuf trait vs JSON trait: encode, decode and size for the Simple and Complex DTOs.
+ *
+ * The protobuf codecs are generated only for DTOs compiled next to the protobuf module, so this
+ * uses the JVM-only copies of the shared DTOs, filled with the same sample data as {@link CborBenchmark}.
+ *
+ * Run: cd xyz-jphil-datahelper-test-performance-jvm && mvn clean compile exec:java -Dexec.mainClass="com.example.performance.ProtobufBenchmark"
+ */
+public class ProtobufBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 20000;
+    private static final int TEST_ITERATIONS = 20000;
+
+    public static void main(String[] args) {
+        System.out.println("=== Protobuf vs JSON (DataHelper traits) ===\n");
+
+        SimpleDTO simple = CborBenchmark.createSimpleDTO();
+        run("Simple DTO (5 fields)", copy(simple, new JvmSimpleDTO()), JvmSimpleDTO::new);
+
+        run("Complex DTO (nested objects, lists, maps)",
+                copy(CborBenchmark.createComplexDTO(simple), new JvmComplexDTO()), JvmComplexDTO::new);
+    }
+
+    /** Copies the sample data into the JVM-only DTO of the same shape. */
+    static <T extends DataHelper_I<?>> T copy(DataHelper_IR<?> sample, T target) {
+        MinimalJsonParser.parseInto(MinimalJsonWriter.write(sample, true), target);
+        return target;
+    }
+
+    private static <T extends DataHelper_I<?>> void run(String title, DataHelper_IR<?> sample, Supplier<T> factory) {
+        System.out.println("--- " + title + " ---");
+        String json = MinimalJsonWriter.write(sample, true);
+        byte[] protobuf = ProtobufWriter.write(sample);
+
+        // Warmup both formats equally
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            MinimalJsonWriter.write(sample, true);
+            ProtobufWriter.write(sample);
+            MinimalJsonParser.parseInto(json, factory.get());
+            ProtobufReader.read(protobuf, 0, protobuf.length, factory.get());
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < TEST_ITERATIONS; i++) {
+            MinimalJsonWriter.write(sample, true);
+        }
+        long jsonEncode = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < TEST_ITERATIONS; i++) {
+            ProtobufWriter.write(sample);
+        }
+        long protobufEncode = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < TEST_ITERATIONS; i++) {
+            MinimalJsonParser.parseInto(json, factory.get());
+        }
+        long jsonDecode = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < TEST_ITERATIONS; i++) {
+            ProtobufReader.read(protobuf, 0, protobuf.length, factory.get());
+        }
+        long protobufDecode = System.nanoTime() - start;
+
+        BinaryBenchmark.printResults("Encode (Object → bytes)", "JSON", jsonEncode, "Protobuf", protobufEncode);
+        BinaryBenchmark.printResults("Decode (bytes → Object)", "JSON", jsonDecode, "Protobuf", protobufDecode);
+        int jsonSize = json.getBytes(StandardCharsets.UTF_8).length;
+        System.out.printf("  %-24s: JSON=%5d B, Protobuf=%5d B (%.1fx smaller)\n\n", "Size",
+                jsonSize, protobuf.length, (double) jsonSize / protobuf.length);
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.performance;
+
+import xyz.jphil.datahelper.binary.MappedRecordLog;
+import xyz.jphil.datahelper.json.MinimalJsonParser;
+import xyz.jphil.datahelper.json.MinimalJsonWriter;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * Restart cost of a local event store: reopening a MappedRecordLog and iterating it vs re-reading
+ * the same records from a JSON-lines file.
+ *
+ * Each round opens the store from disk and materializes every record as a ComplexDTO, the way a
+ * service rebuilds its state on startup. The files stay in the page cache, so this measures the
+ * decoding and indexing work rather than the disk.
+ *
+ * Run: cd xyz-jphil-datahelper-test-performance-jvm && mvn clean compile exec:java -Dexec.mainClass="com.example.performance.RecordLogBenchmark"
+ */
+public class RecordLogBenchmark {
+
+    private static final int RECORDS = 20000;
+    private static final int WARMUP_ROUNDS = 20;
+    private static final int TEST_ROUNDS = 20;
+
+    public static void main(String[] args) throws IOException {
+        System.out.println("=== Record log vs JSON lines (" + RECORDS + " records) ===\n");
+
+        Path directory = Files.createTempDirectory("record-log-benchmark");
+        Path logDirectory = directory.resolve("log");
+        Path jsonLines = directory.resolve("records.jsonl");
+        try {
+            SimpleDTO simple = CborBenchmark.createSimpleDTO();
+            ComplexDTO record = CborBenchmark.createComplexDTO(simple);
+            try (var log = MappedRecordLog.open(logDirectory, ComplexDTO::new);
+                 BufferedWriter out = Files.newBufferedWriter(jsonLines, StandardCharsets.UTF_8)) {
+                for (int i = 0; i < RECORDS; i++) {
+                    record.setId("complex-" + i);
+                    record.setVersion(i);
+                    log.append(record);
+                    out.write(MinimalJsonWriter.write(record, true));
+                    out.newLine();
+                }
+            }
+
+            // Warmup both stores equally
+            for (int i = 0; i < WARMUP_ROUNDS; i++) {
+                readLog(logDirectory);
+                readJsonLines(jsonLines);
+            }
+
+            long start = System.nanoTime();
+            for (int i = 0; i < TEST_ROUNDS; i++) {
+                check(readLog(logDirectory));
+            }
+            long logNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < TEST_ROUNDS; i++) {
+                check(readJsonLines(jsonLines));
+            }
+            long jsonNanos = System.nanoTime() - start;
+
+            BinaryBenchmark.printResults("Reopen and read all", "JSON lines", jsonNanos / TEST_ROUNDS,
+                    "Log", logNanos / TEST_ROUNDS);
+            System.out.println();
+        } finally {
+            try (Stream<Path> files = Files.walk(directory)) {
+                for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    private static int readLog(Path logDirectory) throws IOException {
+        int count = 0;
+        try (var log = MappedRecordLog.open(logDirectory, ComplexDTO::new)) {
+            for (ComplexDTO record : log) {
+                count += record.getVersion() >= 0 ? 1 : 0;
+            }
+        }
+        return count;
+    }
+
+    private static int readJsonLines(Path jsonLines) throws IOException {
+        int count = 0;
+        try (BufferedReader in = Files.newBufferedReader(jsonLines, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                ComplexDTO record = new ComplexDTO();
+                MinimalJsonParser.parseInto(line, record);
+                count += record.getVersion() >= 0 ? 1 : 0;
+            }
+        }
+        return count;
+    }
+
+    private static void check(int count) {
+        if (count != RECORDS) throw new AssertionError("read " + count + " of " + RECORDS + " records");
+    }
+}
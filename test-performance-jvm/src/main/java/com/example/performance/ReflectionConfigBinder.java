@@ -0,0 +1,114 @@
+package com.example.performance;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Minimal reflection-based config binder for performance testing: the approach of the usual
+ * config libraries, with the same relaxed key matching as {@code ConfigBinder}.
+ * NOT production-ready - just for benchmarking DataHelper's ConfigBinder against reflection.
+ *
+ * Per class, the declared fields are scanned once, made accessible and indexed by relaxed name;
+ * values are set through {@link Field#set}, nested objects created through their no-arg
+ * constructor, list and map element types read from the generic signature.
+ *
+ * Limitations:
+ * - No prefix or strict mode
+ * - Map values must be scalars
+ */
+public class ReflectionConfigBinder {
+
+    private static final Map<Class<?>, Map<String, Field>> FIELDS = new ConcurrentHashMap<>();
+
+    public static <T> T bind(T target, Map<?, ?> source) {
+        for (Map.Entry<?, ?> e : source.entrySet()) {
+            if (e.getKey() instanceof String key && e.getValue() != null) {
+                List<String> words = new ArrayList<>();
+                for (String w : key.split("[._-]")) {
+                    if (!w.isEmpty()) words.add(w);
+                }
+                try {
+                    bind(target, words, 0, e.getValue().toString());
+                } catch (ReflectiveOperationException ex) {
+                    throw new IllegalStateException("Cannot bind " + key, ex);
+                }
+            }
+        }
+        return target;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static boolean bind(Object target, List<String> words, int from, String value) throws ReflectiveOperationException {
+        Map<String, Field> fields = FIELDS.computeIfAbsent(target.getClass(), ReflectionConfigBinder::index);
+        StringBuilder name = new StringBuilder();
+        for (int end = from + 1; end <= words.size(); end++) {
+            name.append(words.get(end - 1).toLowerCase(Locale.ROOT));
+            Field field = fields.get(name.toString());
+            if (field == null) continue;
+            Class<?> type = field.getType();
+            if (Map.class.isAssignableFrom(type)) {
+                if (end == words.size()) continue;
+                Map<Object, Object> map = (Map<Object, Object>) field.get(target);
+                if (map == null) {
+                    map = new LinkedHashMap<>();
+                    field.set(target, map);
+                }
+                map.put(String.join("-", words.subList(end, words.size())), convert(value, typeArgument(field, 1)));
+                return true;
+            } else if (end == words.size()) {
+                if (List.class.isAssignableFrom(type)) {
+                    List<Object> list = new ArrayList<>();
+                    for (String item : value.split(",")) {
+                        if (!item.isBlank()) list.add(convert(item.strip(), typeArgument(field, 0)));
+                    }
+                    field.set(target, list);
+                } else {
+                    field.set(target, convert(value, type));
+                }
+                return true;
+            } else if (!type.isPrimitive() && !type.getName().startsWith("java.")) {
+                Object nested = field.get(target);
+                boolean created = nested == null;
+                if (created) nested = type.getDeclaredConstructor().newInstance();
+                if (bind(nested, words, end, value)) {
+                    if (created) field.set(target, nested);
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static Map<String, Field> index(Class<?> type) {
+        Map<String, Field> fields = new HashMap<>();
+        for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+            for (Field f : c.getDeclaredFields()) {
+                if (Modifier.isStatic(f.getModifiers())) continue;
+                f.setAccessible(true);
+                fields.putIfAbsent(f.getName().toLowerCase(Locale.ROOT), f);
+            }
+        }
+        return fields;
+    }
+
+    private static Class<?> typeArgument(Field field, int index) {
+        Type generic = field.getGenericType();
+        if (generic instanceof ParameterizedType p && p.getActualTypeArguments()[index] instanceof Class<?> c) {
+            return c;
+        }
+        return String.class;
+    }
+
+    private static Object convert(String value, Class<?> type) {
+        String s = value.strip();
+        if (type == int.class || type == Integer.class) return Integer.parseInt(s);
+        if (type == long.class || type == Long.class) return Long.parseLong(s);
+        if (type == double.class || type == Double.class) return Double.parseDouble(s);
+        if (type == boolean.class || type == Boolean.class) return Boolean.parseBoolean(s);
+        return value;
+    }
+}
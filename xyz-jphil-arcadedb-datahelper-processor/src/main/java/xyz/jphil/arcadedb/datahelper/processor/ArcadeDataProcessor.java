@@ -6,6 +6,7 @@ import xyz.jphil.arcadedb.datahelper.ArcadeData;
 import xyz.jphil.arcadedb.datahelper.ArcadeDoc_I;
 import xyz.jphil.datahelper.processor.util.CodeGeneratorUtils;
 import xyz.jphil.datahelper.processor.util.FieldAnalyzer;
+import xyz.jphil.datahelper.processor.util.FieldIdLock;
 import xyz.jphil.datahelper.processor.util.FieldInfo;
 import xyz.jphil.datahelper.processor.util.ProcessorUtils;
 
@@ -68,19 +69,23 @@ public class ArcadeDataProcessor extends AbstractProcessor {
 
     @Override
     public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        FieldIdLock lock = FieldIdLock.load(processingEnv);
         for (TypeElement annotation : annotations) {
             for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
                 if (element.getKind() == ElementKind.CLASS) {
                     processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
                             "Processing @ArcadeData on " + element);
-                    generateAbstractClass((TypeElement) element);
+                    generateAbstractClass((TypeElement) element, lock);
                 }
             }
         }
+        if (lock != null) {
+            lock.save(processingEnv);
+        }
         return true;
     }
 
-    private void generateAbstractClass(TypeElement element) {
+    private void generateAbstractClass(TypeElement element, FieldIdLock lock) {
         String packageName = processingEnv.getElementUtils().getPackageOf(element).toString();
         String className = element.getSimpleName().toString();
         String abstractClassName = className + "_A";
@@ -95,7 +100,7 @@ public class ArcadeDataProcessor extends AbstractProcessor {
         arcadeAnnotations.add("xyz.jphil.arcadedb.datahelper.ArcadeData");
 
         ProcessorUtils utils = new ProcessorUtils(processingEnv, arcadeAnnotations);
-        FieldAnalyzer analyzer = new FieldAnalyzer(processingEnv, utils);
+        FieldAnalyzer analyzer = new FieldAnalyzer(processingEnv, utils, lock);
 
         // Analyze fields (includes validation)
         List<FieldInfo> fields = analyzer.analyzeFields(element);
@@ -136,8 +141,10 @@ public class ArcadeDataProcessor extends AbstractProcessor {
         // chaining symbols reference <Nested>_A.FIELDS.
         CodeGeneratorUtils.addFieldSymbols(classBuilder, fields, packageName, className, "_A");
 
-        // Add FIELDS list
+        // Add FIELDS list (and FIELD_NAMES, which backs fieldNames())
         CodeGeneratorUtils.addFieldsList(classBuilder, fields, packageName, className);
+        CodeGeneratorUtils.addFieldNamesList(classBuilder, fields);
+        CodeGeneratorUtils.addFieldNameTokens(classBuilder, fields);
 
         // Add static __ field for class name (terminal indicator pattern)
         FieldSpec classNameField = FieldSpec.builder(
@@ -227,6 +234,7 @@ public class ArcadeDataProcessor extends AbstractProcessor {
 
         // 1. fieldNames()
         classBuilder.addMethod(CodeGeneratorUtils.createFieldNamesMethod(false));
+        classBuilder.addMethod(CodeGeneratorUtils.createFieldNameTokensMethod(false));
 
         // 2. getPropertyByName(String)
         classBuilder.addMethod(CodeGeneratorUtils.createGetPropertyByNameMethod(fields, utils, false));
@@ -234,6 +242,19 @@ public class ArcadeDataProcessor extends AbstractProcessor {
         // 3. setPropertyByName(String, Object)
         classBuilder.addMethod(CodeGeneratorUtils.createSetPropertyByNameMethod(fields, utils, false));
 
+        // 3a. Ordinal dispatch: getPropertyByOrdinal, setPropertyByOrdinal (+ long/double), fieldOrdinal, fieldId
+        classBuilder.addMethod(CodeGeneratorUtils.createGetPropertyByOrdinalMethod(fields, false));
+        classBuilder.addMethod(CodeGeneratorUtils.createGetNumberByOrdinalMethod(fields, false, false));
+        classBuilder.addMethod(CodeGeneratorUtils.createGetNumberByOrdinalMethod(fields, true, false));
+        classBuilder.addMethod(CodeGeneratorUtils.createIsPrimitiveNumberFieldMethod(fields, false, false));
+        classBuilder.addMethod(CodeGeneratorUtils.createIsPrimitiveNumberFieldMethod(fields, true, false));
+        classBuilder.addMethod(CodeGeneratorUtils.createSetPropertyByOrdinalMethod(fields, false));
+        classBuilder.addMethod(CodeGeneratorUtils.createSetNumberByOrdinalMethod(fields, false, false));
+        classBuilder.addMethod(CodeGeneratorUtils.createSetNumberByOrdinalMethod(fields, true, false));
+        classBuilder.addMethod(CodeGeneratorUtils.createFieldOrdinalMethod(fields, false));
+        classBuilder.addMethod(CodeGeneratorUtils.createFieldIdMethod(fields, false));
+        classBuilder.addMethod(CodeGeneratorUtils.createRelaxedFieldOrdinalMethod(fields, false));
+
         // 4. getPropertyType(String)
         classBuilder.addMethod(CodeGeneratorUtils.createGetPropertyTypeMethod(fields, false));
 
@@ -245,6 +266,7 @@ public class ArcadeDataProcessor extends AbstractProcessor {
 
         // 7. isListField(String)
         classBuilder.addMethod(CodeGeneratorUtils.createIsListFieldMethod(fields, false));
+        classBuilder.addMethod(CodeGeneratorUtils.createGetListElementTypeMethod(fields, false));
 
         // 8. isNestedObjectField(String)
         classBuilder.addMethod(CodeGeneratorUtils.createIsNestedObjectFieldMethod(fields, false));